@@ -0,0 +1,17 @@
+package com.nt.course_service_lms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} method execution.
+ * <p>
+ * Tasks run on Spring Boot's {@code applicationTaskExecutor}, which is a bounded platform
+ * thread pool by default and switches to virtual threads when
+ * {@code spring.threads.virtual.enabled=true} is set on a Java 21 runtime.
+ * </p>
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,74 @@
+package com.nt.course_service_lms.config;
+
+import com.nt.course_service_lms.service.MediaStore;
+import com.nt.course_service_lms.service.serviceImpl.FakeS3AsyncClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+/**
+ * Creates the {@link S3AsyncClient} of the non-blocking streaming engine, active with
+ * {@code lms.media.streaming.engine=async}.
+ * <p>
+ * {@code lms.media.streaming.async.client} selects the real client ({@code s3}, the default) or the
+ * in-process {@link FakeS3AsyncClient} ({@code fake}) serving the configured media store, so the
+ * engine can be load-tested without AWS. The fake client is only created under the
+ * {@value #LOAD_TEST_PROFILE} profile, so a deployment selecting it by mistake fails at startup
+ * instead of serving media from the fake.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.media.streaming.engine", havingValue = "async")
+@Slf4j
+public class AsyncStreamingConfig {
+
+    /**
+     * Profile under which the fake async client may be created.
+     */
+    public static final String LOAD_TEST_PROFILE = "load-test";
+
+    /**
+     * Creates the S3 async client on a Netty event loop; connections are capped by
+     * {@code lms.media.streaming.async.max-concurrency}.
+     *
+     * @param region     the AWS region
+     * @param properties the streaming settings
+     * @return the S3 async client
+     */
+    @Bean
+    @ConditionalOnProperty(name = "lms.media.streaming.async.client", havingValue = "s3", matchIfMissing = true)
+    public S3AsyncClient s3AsyncClient(@Value("${aws.secretsmanager.region}") final String region,
+                                       final MediaStreamingProperties properties) {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(properties.getAsync().getMaxConcurrency()))
+                .build();
+    }
+
+    /**
+     * Creates the in-process fake async client, for load tests under the {@value #LOAD_TEST_PROFILE} profile.
+     *
+     * @param mediaStore the media store serving the objects
+     * @param properties the streaming settings
+     * @return the fake async client
+     */
+    @Bean
+    @Profile(LOAD_TEST_PROFILE)
+    @ConditionalOnProperty(name = "lms.media.streaming.async.client", havingValue = "fake")
+    public S3AsyncClient fakeS3AsyncClient(final MediaStore mediaStore, final MediaStreamingProperties properties) {
+        MediaStreamingProperties.Async async = properties.getAsync();
+        log.info("Async streaming runs on the in-process fake S3 client ({} ms first-byte delay)",
+                async.getFakeFirstByteDelayMs());
+        return new FakeS3AsyncClient(mediaStore, async.getFakeFirstByteDelayMs(), async.getFakeChunkSize(),
+                async.getFakeThreads());
+    }
+}
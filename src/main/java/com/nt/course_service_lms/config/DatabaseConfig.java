@@ -2,8 +2,10 @@ package com.nt.course_service_lms.config;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -20,10 +22,50 @@ import javax.sql.DataSource;
  * AWS Secrets Manager to retrieve sensitive credentials.
  * <p>
  * This configuration is activated only when the 'local' and 'test' profiles are not active.
+ * <p>
+ * The connection pool is an explicitly sized HikariCP pool. Unless {@code lms.datasource.pool.max-size}
+ * is set, the size is derived from the CPU count ({@code cores * 2 + 1}, the usual PostgreSQL
+ * starting point) and capped by the expected number of concurrent database users, since a pool larger
+ * than the real concurrency only adds idle backends. PgJDBC is configured for server-side prepared
+ * statement caching and for rewriting batched inserts into multi-row statements, which together with
+ * the Hibernate batching settings of the profile turns {@code saveAll} into a few round trips.
+ * </p>
  */
 @Configuration
 @Profile("!local & !test")
+@Slf4j
 public class DatabaseConfig {
+    /**
+     * Executions after which PgJDBC switches a statement to a named server-side prepared statement.
+     */
+    private static final int DEFAULT_PREPARE_THRESHOLD = 3;
+
+    /**
+     * Number of prepared statements PgJDBC caches per connection.
+     */
+    private static final int DEFAULT_STATEMENT_CACHE_QUERIES = 256;
+
+    /**
+     * Upper bound, in MiB, of the per-connection prepared statement cache.
+     */
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE_MIB = 5;
+
+    /**
+     * Expected number of requests concurrently needing a connection.
+     */
+    private static final int DEFAULT_EXPECTED_CONCURRENCY = 20;
+
+    /**
+     * Default connection timeout in milliseconds.
+     */
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 30_000L;
+
+    /**
+     * Default maximum connection lifetime in milliseconds, below typical proxy/RDS idle cut-offs.
+     */
+    private static final long DEFAULT_MAX_LIFETIME_MS = 1_740_000L;
+
+
     /**
      * Spring {@link Environment} object used to access environment-specific properties.
      * <p>
@@ -38,7 +80,7 @@ public class DatabaseConfig {
      * Creates and configures a {@link DataSource} bean using credentials retrieved
      * from AWS Secrets Manager.
      *
-     * @return a configured Postgres SQL {@link DataSource} instance
+     * @return a configured, pooled Postgres SQL {@link DataSource} instance
      * @throws Exception if an error occurs while retrieving or parsing the secret
      */
     @Bean
@@ -53,12 +95,65 @@ public class DatabaseConfig {
 
         String jdbcUrl = String.format("jdbc:postgresql://%s:5432/%s?currentSchema=%s", hostname, dbName, schema);
 
-        return DataSourceBuilder.create()
-                .username(username)
-                .password(password)
-                .url(jdbcUrl)
-                .driverClassName("org.postgresql.Driver")
-                .build();
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("course-service-primary");
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setJdbcUrl(jdbcUrl);
+        config.setDriverClassName("org.postgresql.Driver");
+        applyPoolSettings(config, "lms.datasource");
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Applies pool sizing and PgJDBC driver tuning read from properties under the given prefix.
+     *
+     * @param config the Hikari configuration to populate
+     * @param prefix property prefix, e.g. {@code lms.datasource}
+     */
+    void applyPoolSettings(final HikariConfig config, final String prefix) {
+        int maxPoolSize = resolveMaxPoolSize(
+                environment.getProperty(prefix + ".pool.max-size", Integer.class, 0),
+                environment.getProperty(prefix + ".pool.expected-concurrency", Integer.class, DEFAULT_EXPECTED_CONCURRENCY),
+                Runtime.getRuntime().availableProcessors());
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(environment.getProperty(prefix + ".pool.min-idle", Integer.class, maxPoolSize));
+        config.setConnectionTimeout(environment.getProperty(
+                prefix + ".pool.connection-timeout-ms", Long.class, DEFAULT_CONNECTION_TIMEOUT_MS));
+        config.setMaxLifetime(environment.getProperty(
+                prefix + ".pool.max-lifetime-ms", Long.class, DEFAULT_MAX_LIFETIME_MS));
+
+        config.addDataSourceProperty("prepareThreshold", environment.getProperty(
+                prefix + ".pgjdbc.prepare-threshold", Integer.class, DEFAULT_PREPARE_THRESHOLD));
+        config.addDataSourceProperty("preparedStatementCacheQueries", environment.getProperty(
+                prefix + ".pgjdbc.prepared-statement-cache-queries", Integer.class, DEFAULT_STATEMENT_CACHE_QUERIES));
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", environment.getProperty(
+                prefix + ".pgjdbc.prepared-statement-cache-size-mib", Integer.class, DEFAULT_STATEMENT_CACHE_SIZE_MIB));
+        config.addDataSourceProperty("reWriteBatchedInserts", environment.getProperty(
+                prefix + ".pgjdbc.rewrite-batched-inserts", Boolean.class, Boolean.TRUE));
+
+        log.info("Configured {} pool: maximumPoolSize={}, minimumIdle={}",
+                prefix, config.getMaximumPoolSize(), config.getMinimumIdle());
+    }
+
+    /**
+     * Determines the maximum pool size.
+     * <p>
+     * An explicit size wins; otherwise {@code cores * 2 + 1} capped by the expected concurrency,
+     * never below two connections.
+     * </p>
+     *
+     * @param configuredSize        explicitly configured size, {@code 0} to derive it
+     * @param expectedConcurrency   expected number of concurrent database users
+     * @param availableProcessors   CPU cores visible to the JVM
+     * @return the pool size to use
+     */
+    static int resolveMaxPoolSize(final int configuredSize, final int expectedConcurrency, final int availableProcessors) {
+        if (configuredSize > 0) {
+            return configuredSize;
+        }
+        int cpuBound = availableProcessors * 2 + 1;
+        return Math.max(2, Math.min(cpuBound, expectedConcurrency));
     }
 
     /**
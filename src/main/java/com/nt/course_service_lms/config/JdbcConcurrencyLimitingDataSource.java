@@ -0,0 +1,180 @@
+package com.nt.course_service_lms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} decorator that bounds the number of connections handed out concurrently.
+ * <p>
+ * With virtual threads the number of request threads is effectively unbounded, so every
+ * request that needs JDBC would otherwise pile up inside the connection pool's own wait
+ * queue. A fair {@link Semaphore} sized to the pool keeps waiters parked cheaply in front
+ * of the pool and fails fast with a transient exception once the acquire timeout elapses.
+ * </p>
+ * <p>
+ * The permit is returned when the handed out connection is closed, exactly once per connection.
+ * </p>
+ */
+@Slf4j
+public class JdbcConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    /**
+     * Permits guarding access to the underlying pool.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum time in milliseconds a caller waits for a permit.
+     */
+    private final long acquireTimeoutMs;
+
+    /**
+     * Creates a limiting data source around the given target.
+     *
+     * @param targetDataSource the pooled data source being protected
+     * @param maxConcurrent    number of connections allowed to be checked out at once
+     * @param acquireTimeoutMs maximum wait for a permit in milliseconds
+     */
+    public JdbcConcurrencyLimitingDataSource(final DataSource targetDataSource,
+                                             final int maxConcurrent,
+                                             final long acquireTimeoutMs) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Acquires a permit and then a connection from the target data source.
+     *
+     * @return a connection whose {@code close()} returns the permit
+     * @throws SQLException if no permit becomes available in time or the target fails
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquirePermit();
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Acquires a permit and then a connection for the given credentials.
+     *
+     * @param username the database user
+     * @param password the user's password
+     * @return a connection whose {@code close()} returns the permit
+     * @throws SQLException if no permit becomes available in time or the target fails
+     */
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        acquirePermit();
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of permits currently available.
+     *
+     * @return available permits
+     */
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Waits for a permit up to the configured timeout.
+     *
+     * @throws SQLException if interrupted or the timeout elapses
+     */
+    private void acquirePermit() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("JDBC concurrency limit reached, no connection permit within {} ms", acquireTimeoutMs);
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeoutMs + " ms waiting for a JDBC connection permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a JDBC connection permit", e);
+        }
+    }
+
+    /**
+     * Wraps the connection so that closing it releases the permit once.
+     *
+     * @param target the physical (pooled) connection
+     * @return proxied connection
+     */
+    private Connection wrap(final Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PermitReleasingHandler(target));
+    }
+
+    /**
+     * Invocation handler that releases the permit on the first {@code close()} call.
+     */
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        /**
+         * Connection the calls are delegated to.
+         */
+        private final Connection target;
+
+        /**
+         * Guards against releasing the permit more than once.
+         */
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        /**
+         * Creates a handler for the given connection.
+         *
+         * @param target the delegate connection
+         */
+        PermitReleasingHandler(final Connection target) {
+            this.target = target;
+        }
+
+        /**
+         * Delegates every call and releases the permit when the connection is closed.
+         *
+         * @param proxy  the proxy instance
+         * @param method the invoked method
+         * @param args   the call arguments
+         * @return the delegate's result
+         * @throws Throwable whatever the delegate throws
+         */
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.nt.course_service_lms.config;
+
+import com.nt.course_service_lms.service.MediaStore;
+import com.nt.course_service_lms.service.serviceImpl.LocalMediaStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Stores course media on the local filesystem instead of S3.
+ * <p>
+ * Selected with {@code lms.media.store=local} for on-premises installations without AWS,
+ * benchmarks and integration tests; the directory is set by {@code lms.media.local.root}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.media.store", havingValue = "local")
+@Slf4j
+public class LocalMediaStoreConfig {
+
+    /**
+     * Creates the filesystem-backed media store.
+     *
+     * @param root directory holding the media objects
+     * @return the local media store
+     * @throws IOException if the directory cannot be created
+     */
+    @Bean
+    public MediaStore localMediaStore(@Value("${lms.media.local.root}") final String root) throws IOException {
+        log.info("Storing course media on the local filesystem under {}", root);
+        return new LocalMediaStore(Path.of(root));
+    }
+}
@@ -0,0 +1,12 @@
+package com.nt.course_service_lms.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link MediaStreamingProperties} used by the streaming services.
+ */
+@Configuration
+@EnableConfigurationProperties(MediaStreamingProperties.class)
+public class MediaStreamingConfig {
+}
@@ -0,0 +1,274 @@
+package com.nt.course_service_lms.config;
+
+import com.nt.course_service_lms.constants.S3Constants;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of media streaming, bound from {@code lms.media.streaming}.
+ */
+@Data
+@ConfigurationProperties(prefix = "lms.media.streaming")
+public class MediaStreamingProperties {
+
+    /**
+     * Streaming engine: {@code blocking} writes ranges from the servlet thread, {@code async}
+     * streams through the S3 async client with non-blocking servlet output.
+     */
+    private String engine = "blocking";
+
+    /**
+     * Read-ahead of the next range for viewers playing a video sequentially.
+     */
+    private Prefetch prefetch = new Prefetch();
+
+    /**
+     * Settings of the async streaming engine.
+     */
+    private Async async = new Async();
+
+    /**
+     * Sizing of the chunks served for open-ended range requests.
+     */
+    private Chunking chunking = new Chunking();
+
+    /**
+     * How media bytes reach the client: proxied through this service or fetched from S3 directly.
+     */
+    private Delivery delivery = new Delivery();
+
+    /**
+     * Settings of the sequential read-ahead.
+     */
+    @Data
+    public static class Prefetch {
+
+        /**
+         * Whether the next range is fetched in the background.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Upper bound of bytes held by all pending and completed read-aheads together.
+         */
+        private long maxBufferedBytes = S3Constants.PREFETCH_MAX_BUFFERED_BYTES;
+
+        /**
+         * Largest range fetched ahead for a single viewer.
+         */
+        private int maxRangeBytes = S3Constants.PREFETCH_MAX_RANGE_BYTES;
+
+        /**
+         * Largest number of viewers tracked at once; further viewers are served without read-ahead.
+         */
+        private int maxViewers = S3Constants.PREFETCH_MAX_VIEWERS;
+
+        /**
+         * Time after which a viewer without requests is forgotten and its read-ahead dropped.
+         */
+        private long idleTimeoutMs = S3Constants.PREFETCH_IDLE_TIMEOUT_MS;
+
+        /**
+         * Longest wait for an in-flight read-ahead before the range is fetched directly instead.
+         */
+        private long awaitTimeoutMs = S3Constants.PREFETCH_AWAIT_TIMEOUT_MS;
+    }
+
+    /**
+     * Settings of the async streaming engine.
+     */
+    @Data
+    public static class Async {
+
+        /**
+         * Async client used by the engine: {@code s3} for Amazon S3, or {@code fake} for an
+         * in-process client serving the configured media store, for load tests without AWS;
+         * {@code fake} requires the load-test profile.
+         */
+        private String client = "s3";
+
+        /**
+         * Longest time a single range response may take before it is aborted.
+         */
+        private long timeoutMs = S3Constants.ASYNC_TIMEOUT_MS;
+
+        /**
+         * Maximum number of concurrent connections of the S3 async client.
+         */
+        private int maxConcurrency = S3Constants.ASYNC_MAX_CONCURRENCY;
+
+        /**
+         * First-byte latency simulated by the fake client.
+         */
+        private long fakeFirstByteDelayMs = S3Constants.FAKE_FIRST_BYTE_DELAY_MS;
+
+        /**
+         * Size of the buffers emitted by the fake client.
+         */
+        private int fakeChunkSize = S3Constants.FAKE_CHUNK_SIZE;
+
+        /**
+         * Threads of the fake client reading from the media store.
+         */
+        private int fakeThreads = S3Constants.FAKE_THREADS;
+    }
+
+    /**
+     * Settings of the per-viewer chunk sizing.
+     */
+    @Data
+    public static class Chunking {
+
+        /**
+         * Whether chunk sizes adapt to viewer and content; otherwise every chunk is 5 MB.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Smallest chunk served.
+         */
+        private long minBytes = S3Constants.CHUNK_MIN_BYTES;
+
+        /**
+         * Largest chunk served.
+         */
+        private long maxBytes = S3Constants.CHUNK_MAX_BYTES;
+
+        /**
+         * Chunk size for content other than video and PDF when the viewer's throughput is unknown.
+         */
+        private long defaultBytes = S3Constants.CHUNK_DEFAULT_BYTES;
+
+        /**
+         * Time one chunk should take to reach the viewer; with a measured throughput, the chunk
+         * is what the viewer's link moves in this time.
+         */
+        private long targetTransferMs = S3Constants.CHUNK_TARGET_TRANSFER_MS;
+
+        /**
+         * Weight of the newest measurement in the viewer's smoothed throughput.
+         */
+        private double throughputWeight = S3Constants.CHUNK_THROUGHPUT_WEIGHT;
+
+        /**
+         * Transfers smaller than this are dominated by latency and not measured.
+         */
+        private long minSampleBytes = S3Constants.CHUNK_MIN_SAMPLE_BYTES;
+
+        /**
+         * Bitrate assumed for videos whose duration cannot be read, in bits per second.
+         */
+        private long videoDefaultBitrate = S3Constants.VIDEO_DEFAULT_BITRATE;
+
+        /**
+         * Seconds of video per chunk when the viewer's throughput is unknown.
+         */
+        private int videoTargetSeconds = S3Constants.VIDEO_TARGET_SECONDS;
+
+        /**
+         * Fewest seconds of video per chunk, however slow the viewer's link.
+         */
+        private int videoMinSeconds = S3Constants.VIDEO_MIN_SECONDS;
+
+        /**
+         * Most seconds of video per chunk, however fast the viewer's link; bounds the bytes wasted
+         * when the viewer seeks.
+         */
+        private int videoMaxSeconds = S3Constants.VIDEO_MAX_SECONDS;
+
+        /**
+         * Page size PDF chunks are aligned to, matching the range size of PDF viewers.
+         */
+        private long pdfPageBytes = S3Constants.PDF_PAGE_BYTES;
+
+        /**
+         * PDF chunk size when the viewer's throughput is unknown; small, so the first page renders quickly.
+         */
+        private long pdfDefaultBytes = S3Constants.PDF_DEFAULT_BYTES;
+
+        /**
+         * Largest PDF chunk.
+         */
+        private long pdfMaxBytes = S3Constants.PDF_MAX_BYTES;
+
+        /**
+         * Largest number of viewers whose throughput is tracked.
+         */
+        private int maxViewers = S3Constants.CHUNK_MAX_VIEWERS;
+
+        /**
+         * Time after which a viewer's throughput measurement is forgotten.
+         */
+        private long idleTimeoutMs = S3Constants.CHUNK_IDLE_TIMEOUT_MS;
+
+        /**
+         * Largest number of videos whose bitrate is cached.
+         */
+        private int bitrateCacheSize = S3Constants.BITRATE_CACHE_SIZE;
+    }
+
+    /**
+     * How a streaming endpoint hands out an object.
+     */
+    public enum DeliveryMode {
+
+        /**
+         * Bytes are read from the media store and written by this service.
+         */
+        PROXY,
+
+        /**
+         * The endpoint redirects to a presigned S3 URL.
+         */
+        REDIRECT,
+
+        /**
+         * The endpoint returns a presigned S3 URL as JSON for the player to load.
+         */
+        JSON
+    }
+
+    /**
+     * Settings of presigned-URL delivery.
+     */
+    @Data
+    public static class Delivery {
+
+        /**
+         * Delivery mode per content type ({@code video}, {@code pdf}); types not listed are proxied.
+         * Presigned modes fall back to proxying when the media store is not S3.
+         */
+        private Map<String, DeliveryMode> modes = new HashMap<>(Map.of(
+                "video", DeliveryMode.PROXY,
+                "pdf", DeliveryMode.PROXY));
+
+        /**
+         * Shortest remaining validity of a handed-out URL.
+         */
+        private long urlTtlSeconds = S3Constants.DELIVERY_URL_TTL_SECONDS;
+
+        /**
+         * Length of the time window in which the same URL is reused for a viewer; URLs are signed
+         * for the TTL plus this window, so every one handed out is valid for at least the TTL.
+         */
+        private long signingWindowSeconds = S3Constants.DELIVERY_SIGNING_WINDOW_SECONDS;
+
+        /**
+         * Largest number of cached URLs; beyond it, URLs are signed per request.
+         */
+        private int maxCachedUrls = S3Constants.DELIVERY_MAX_CACHED_URLS;
+
+        /**
+         * Returns the delivery mode of a content type.
+         *
+         * @param contentType the content type, e.g. {@code video}
+         * @return the configured mode, {@link DeliveryMode#PROXY} if none
+         */
+        public DeliveryMode modeFor(final String contentType) {
+            return modes.getOrDefault(contentType, DeliveryMode.PROXY);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nt.course_service_lms.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the per-request SQL statement counting used by {@link QueryBudgetFilter}.
+ */
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryBudgetConfig {
+
+    /**
+     * Hibernate property naming the session factory wide statement inspector.
+     */
+    private static final String STATEMENT_INSPECTOR = "hibernate.session_factory.statement_inspector";
+
+    /**
+     * Installs the {@link QueryCountInspector} on the entity manager factory.
+     *
+     * @return customizer adding the statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    /**
+     * Registers the {@link QueryBudgetFilter} ahead of the security filters, so that statements
+     * issued during authentication are counted too.
+     *
+     * @param properties    the budget settings
+     * @param meterRegistry registry for the statement count metric
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(final QueryBudgetProperties properties,
+                                                                       final MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,198 @@
+package com.nt.course_service_lms.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements issued while serving each HTTP request.
+ * <p>
+ * The count is recorded in the {@code lms.http.request.queries} distribution (tagged with method and
+ * URI pattern), returned in the {@value #QUERY_COUNT_HEADER} response header, and compared with the
+ * endpoint's budget from {@link QueryBudgetProperties}; requests over budget are logged as likely N+1s.
+ * The header is written just before the response is committed, so it covers every statement issued
+ * before the body starts streaming.
+ * </p>
+ * <p>
+ * Registered by {@link QueryBudgetConfig} rather than component scanning, so that sliced web tests
+ * do not need the metrics infrastructure.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    /**
+     * Response header carrying the statement count.
+     */
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    /**
+     * Name of the statement count metric.
+     */
+    static final String METRIC_NAME = "lms.http.request.queries";
+
+    /**
+     * Budget settings.
+     */
+    private final QueryBudgetProperties properties;
+
+    /**
+     * Registry the statement counts are published to.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Counts statements around the filter chain and evaluates the budget.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the remaining filter chain
+     * @throws ServletException if a downstream filter fails
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        QueryCountInspector.start();
+        HttpServletResponse wrapped = properties.isExposeHeader() ? new QueryCountResponseWrapper(response) : response;
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            if (wrapped instanceof QueryCountResponseWrapper countingResponse) {
+                countingResponse.writeQueryCountHeader();
+            }
+            record(request, QueryCountInspector.stop());
+        }
+    }
+
+    /**
+     * Publishes the count and warns when the endpoint's budget is exceeded.
+     *
+     * @param request the served request
+     * @param count   number of statements issued
+     */
+    private void record(final HttpServletRequest request, final long count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMAPPED";
+        String endpoint = request.getMethod() + " " + uri;
+
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count);
+
+        int budget = properties.budgetFor(endpoint);
+        if (count > budget) {
+            log.warn("Query budget exceeded for {}: {} statements (budget {}), possible N+1", endpoint, count, budget);
+        }
+    }
+
+    /**
+     * Response wrapper that adds the statement count header right before the response is committed.
+     */
+    private static final class QueryCountResponseWrapper extends HttpServletResponseWrapper {
+
+        /**
+         * Whether the header has been written.
+         */
+        private boolean headerWritten;
+
+        /**
+         * Wraps the given response.
+         *
+         * @param response the response to wrap
+         */
+        QueryCountResponseWrapper(final HttpServletResponse response) {
+            super(response);
+        }
+
+        /**
+         * Writes the header once, if the response is still uncommitted.
+         */
+        void writeQueryCountHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, Long.toString(QueryCountInspector.currentCount()));
+            }
+            headerWritten = true;
+        }
+
+        /**
+         * Writes the header before handing out the output stream.
+         *
+         * @return the output stream
+         * @throws IOException if the stream cannot be obtained
+         */
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeQueryCountHeader();
+            return super.getOutputStream();
+        }
+
+        /**
+         * Writes the header before handing out the writer.
+         *
+         * @return the writer
+         * @throws IOException if the writer cannot be obtained
+         */
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeQueryCountHeader();
+            return super.getWriter();
+        }
+
+        /**
+         * Writes the header before flushing.
+         *
+         * @throws IOException if flushing fails
+         */
+        @Override
+        public void flushBuffer() throws IOException {
+            writeQueryCountHeader();
+            super.flushBuffer();
+        }
+
+        /**
+         * Writes the header before sending an error.
+         *
+         * @param sc  the status code
+         * @param msg the message
+         * @throws IOException if sending fails
+         */
+        @Override
+        public void sendError(final int sc, final String msg) throws IOException {
+            writeQueryCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        /**
+         * Writes the header before sending an error.
+         *
+         * @param sc the status code
+         * @throws IOException if sending fails
+         */
+        @Override
+        public void sendError(final int sc) throws IOException {
+            writeQueryCountHeader();
+            super.sendError(sc);
+        }
+    }
+}
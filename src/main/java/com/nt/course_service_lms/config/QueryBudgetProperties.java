@@ -0,0 +1,50 @@
+package com.nt.course_service_lms.config;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of the per-request SQL statement budget.
+ * <p>
+ * Endpoint budgets are keyed by {@code "<METHOD> <path pattern>"}, matching the handler mapping
+ * pattern, e.g. {@code "[GET /api/service-api/quiz-attempt/quiz-attempt-details/course/{courseId}]": 5}.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "lms.query-budget")
+public class QueryBudgetProperties {
+
+    /**
+     * Whether statements are counted at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether the count is returned to clients in the {@code X-Query-Count} header.
+     */
+    private boolean exposeHeader = true;
+
+    /**
+     * Budget applied to endpoints without an explicit entry.
+     */
+    private int defaultBudget = CommonConstants.NUMBER_TWENTY;
+
+    /**
+     * Budgets per endpoint.
+     */
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    /**
+     * Returns the budget for the given endpoint key.
+     *
+     * @param endpoint the {@code "<METHOD> <pattern>"} key
+     * @return the endpoint's budget or the default budget
+     */
+    public int budgetFor(final String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,62 @@
+package com.nt.course_service_lms.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements prepared on the current thread.
+ * <p>
+ * Every statement Hibernate sends (JPQL, derived queries, native queries, inserts, updates, lazy
+ * loads) passes through here, which makes the per-request count a reliable N+1 signal. Counting is
+ * only active between {@link #start()} and {@link #stop()}, normally driven by {@link QueryBudgetFilter}.
+ * </p>
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    /**
+     * Statement counter of the current thread; {@code null} when counting is inactive.
+     */
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    /**
+     * Counts the statement and returns it unchanged.
+     *
+     * @param sql the SQL about to be prepared
+     * @return the same SQL
+     */
+    @Override
+    public String inspect(final String sql) {
+        long[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts (or restarts) counting on the current thread.
+     */
+    public static void start() {
+        COUNTER.set(new long[1]);
+    }
+
+    /**
+     * Returns the number of statements counted since {@link #start()}.
+     *
+     * @return statement count, {@code 0} when counting is inactive
+     */
+    public static long currentCount() {
+        long[] counter = COUNTER.get();
+        return counter == null ? 0 : counter[0];
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the final statement count
+     */
+    public static long stop() {
+        long count = currentCount();
+        COUNTER.remove();
+        return count;
+    }
+}
@@ -0,0 +1,164 @@
+package com.nt.course_service_lms.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Enables read-replica routing for {@code @Transactional(readOnly = true)} service methods.
+ * <p>
+ * Active when {@code lms.datasource.replica.enabled=true}. The application's data source, whichever
+ * profile created it, becomes the primary of a {@link ReplicaRoutingDataSource}; the replica pool is
+ * built from {@code lms.datasource.replica.*}, inheriting credentials and driver properties from the
+ * primary when they are not set. Locally this can be exercised with two H2 databases or two
+ * PostgreSQL containers by pointing {@code lms.datasource.replica.url} at the second one.
+ * </p>
+ * <p>
+ * Hibernate releases its JDBC connection after every transaction while routing is enabled. The
+ * default mode holds the connection until the entity manager closes, which with open-in-view is the
+ * end of the request, so a write following a read-only transaction would reuse the replica connection.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "lms.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Registers the post processor that installs the routing data source.
+     *
+     * @param environment the Spring environment holding the replica settings
+     * @return the routing post processor
+     */
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(final Environment environment) {
+        return new ReplicaRoutingPostProcessor(environment);
+    }
+
+    /**
+     * Makes Hibernate return its connection after each transaction, so every transaction of a request
+     * is routed on its own.
+     *
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Wraps the primary data source into a lazily connecting replica router.
+     * <p>
+     * Runs before other data source decorators so that it sees the raw primary pool.
+     * </p>
+     */
+    @Slf4j
+    static final class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        /**
+         * Default replica pool size.
+         */
+        private static final int DEFAULT_REPLICA_POOL_SIZE = 10;
+
+        /**
+         * Default back-off after a replica failure in milliseconds.
+         */
+        private static final long DEFAULT_RETRY_BACKOFF_MS = 30_000L;
+
+        /**
+         * Default replica connection timeout; kept short so fallback to the primary is quick.
+         */
+        private static final long DEFAULT_REPLICA_CONNECTION_TIMEOUT_MS = 2_000L;
+
+        /**
+         * Environment holding the replica settings.
+         */
+        private final Environment environment;
+
+        /**
+         * Creates the post processor.
+         *
+         * @param environment the Spring environment
+         */
+        ReplicaRoutingPostProcessor(final Environment environment) {
+            this.environment = environment;
+        }
+
+        /**
+         * Replaces the primary data source with the routing proxy.
+         *
+         * @param bean     the initialized bean
+         * @param beanName the bean name
+         * @return the routing proxy for data sources, the bean itself otherwise
+         * @throws BeansException never
+         */
+        @Override
+        public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+            if (!(bean instanceof DataSource primary)
+                    || bean instanceof LazyConnectionDataSourceProxy
+                    || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            DataSource replica = buildReplica(primary);
+            long backoffMs = environment.getProperty(
+                    "lms.datasource.replica.retry-backoff-ms", Long.class, DEFAULT_RETRY_BACKOFF_MS);
+            log.info("Routing read-only transactions of '{}' to replica {}",
+                    beanName, environment.getProperty("lms.datasource.replica.url"));
+            return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, backoffMs));
+        }
+
+        /**
+         * Builds the replica pool.
+         *
+         * @param primary the primary data source, used for defaults
+         * @return the replica data source
+         */
+        private DataSource buildReplica(final DataSource primary) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("course-service-replica");
+            config.setJdbcUrl(environment.getRequiredProperty("lms.datasource.replica.url"));
+            config.setReadOnly(true);
+            config.setMaximumPoolSize(environment.getProperty(
+                    "lms.datasource.replica.pool.max-size", Integer.class, DEFAULT_REPLICA_POOL_SIZE));
+            config.setConnectionTimeout(environment.getProperty(
+                    "lms.datasource.replica.pool.connection-timeout-ms", Long.class, DEFAULT_REPLICA_CONNECTION_TIMEOUT_MS));
+            // Do not fail startup when the replica is down; the router falls back to the primary.
+            config.setInitializationFailTimeout(-1);
+
+            String username = environment.getProperty("lms.datasource.replica.username");
+            String password = environment.getProperty("lms.datasource.replica.password");
+            if (primary instanceof HikariDataSource hikari) {
+                config.setDataSourceProperties(hikari.getDataSourceProperties());
+                config.setDriverClassName(hikari.getDriverClassName());
+                username = username != null ? username : hikari.getUsername();
+                password = password != null ? password : hikari.getPassword();
+            }
+            config.setUsername(username);
+            config.setPassword(password);
+            return new HikariDataSource(config);
+        }
+
+        /**
+         * Runs before the other data source post processors.
+         *
+         * @return highest precedence
+         */
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.nt.course_service_lms.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound hints that override read-replica routing for the current request.
+ * <p>
+ * A request is pinned to the primary either explicitly (the {@code X-Read-Your-Writes} header or
+ * {@link #callOnPrimary(Supplier)}) or implicitly once it has opened a read-write transaction, so
+ * that a read following a write in the same request never observes replica lag.
+ * The state is cleared by {@link ReadRoutingFilter} at the end of each request.
+ * </p>
+ */
+public final class ReadRoutingContext {
+
+    /**
+     * Whether the current thread must read from the primary.
+     */
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Whether the current thread is serving an HTTP request.
+     */
+    private static final ThreadLocal<Boolean> IN_REQUEST = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * Throws an {@link UnsupportedOperationException} if attempted.
+     */
+    private ReadRoutingContext() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Marks the start of an HTTP request on this thread.
+     */
+    public static void beginRequest() {
+        IN_REQUEST.set(Boolean.TRUE);
+    }
+
+    /**
+     * Records that a read-write transaction ran; inside a request this pins later reads to the primary.
+     * Outside a request (schedulers, async workers) there is no request boundary to reset the pin,
+     * so the call is ignored.
+     */
+    public static void onReadWriteTransaction() {
+        if (IN_REQUEST.get()) {
+            FORCE_PRIMARY.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Routes every subsequent read on this thread to the primary until {@link #clear()} is called.
+     */
+    public static void forcePrimary() {
+        FORCE_PRIMARY.set(Boolean.TRUE);
+    }
+
+    /**
+     * Returns whether reads on this thread are pinned to the primary.
+     *
+     * @return {@code true} if the replica must not be used
+     */
+    public static boolean isPrimaryForced() {
+        return FORCE_PRIMARY.get();
+    }
+
+    /**
+     * Runs the given action with reads pinned to the primary, restoring the previous state afterwards.
+     *
+     * @param action the action to run
+     * @param <T>    result type
+     * @return the action's result
+     */
+    public static <T> T callOnPrimary(final Supplier<T> action) {
+        boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    /**
+     * Clears all routing hints of the current thread.
+     */
+    public static void clear() {
+        FORCE_PRIMARY.remove();
+        IN_REQUEST.remove();
+    }
+}
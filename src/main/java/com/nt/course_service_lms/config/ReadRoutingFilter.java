@@ -0,0 +1,51 @@
+package com.nt.course_service_lms.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the per-request "read your writes" override and resets routing state afterwards.
+ * <p>
+ * Clients that have just written (for example after submitting a quiz) can send
+ * {@code X-Read-Your-Writes: true} so that the reads of this request are served by the primary.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "lms.datasource.replica.enabled", havingValue = "true")
+public class ReadRoutingFilter extends OncePerRequestFilter {
+
+    /**
+     * Header requesting that all reads of the request go to the primary.
+     */
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    /**
+     * Pins the request to the primary when asked to, and always clears the routing state.
+     *
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     * @param filterChain the remaining filter chain
+     * @throws ServletException if a downstream filter fails
+     * @throws IOException      if an I/O error occurs
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        try {
+            ReadRoutingContext.beginRequest();
+            if (Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER))) {
+                ReadRoutingContext.forcePrimary();
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRoutingContext.clear();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.nt.course_service_lms.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Routing {@link DataSource} that sends read-only transactions to a replica.
+ * <p>
+ * A connection is taken from the replica when the current transaction is
+ * {@code @Transactional(readOnly = true)}, the request has not been pinned to the primary
+ * (see {@link ReadRoutingContext}) and the replica is not in its failure back-off window.
+ * Everything else, including work outside a transaction, goes to the primary.
+ * </p>
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the JPA transaction manager opens the connection before it publishes the read-only flag, so the
+ * routing decision has to be deferred to the first statement.
+ * </p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup key of the primary data source.
+     */
+    static final String PRIMARY = "primary";
+
+    /**
+     * Lookup key of the replica data source.
+     */
+    static final String REPLICA = "replica";
+
+    /**
+     * Primary (read-write) data source.
+     */
+    private final DataSource primary;
+
+    /**
+     * Replica (read-only) data source.
+     */
+    private final DataSource replica;
+
+    /**
+     * Time in milliseconds the replica is skipped after a failed connection attempt.
+     */
+    private final long replicaRetryBackoffMs;
+
+    /**
+     * Epoch millis until which the replica is considered unavailable.
+     */
+    private volatile long replicaUnavailableUntil;
+
+    /**
+     * Creates a routing data source.
+     *
+     * @param primary               the read-write data source
+     * @param replica               the read-only data source
+     * @param replicaRetryBackoffMs back-off after a replica connection failure, in milliseconds
+     */
+    public ReplicaRoutingDataSource(final DataSource primary, final DataSource replica, final long replicaRetryBackoffMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaRetryBackoffMs = replicaRetryBackoffMs;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Chooses the replica for read-only transactions unless routing is overridden.
+     * A read-write transaction pins the rest of the request to the primary.
+     *
+     * @return {@link #PRIMARY} or {@link #REPLICA}
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (inTransaction && !readOnly) {
+            ReadRoutingContext.onReadWriteTransaction();
+            return PRIMARY;
+        }
+        if (readOnly && !ReadRoutingContext.isPrimaryForced() && isReplicaAvailable()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Obtains a connection from the routed target, falling back to the primary if the replica fails.
+     *
+     * @return a JDBC connection
+     * @throws SQLException if the primary cannot provide a connection
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!REPLICA.equals(determineCurrentLookupKey())) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markReplicaUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Obtains a connection for explicit credentials, with the same fallback as {@link #getConnection()}.
+     *
+     * @param username the database user
+     * @param password the user's password
+     * @return a JDBC connection
+     * @throws SQLException if the primary cannot provide a connection
+     */
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        if (!REPLICA.equals(determineCurrentLookupKey())) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            markReplicaUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Returns whether the replica is outside its failure back-off window.
+     *
+     * @return {@code true} if the replica may be used
+     */
+    boolean isReplicaAvailable() {
+        return System.currentTimeMillis() >= replicaUnavailableUntil;
+    }
+
+    /**
+     * Starts the back-off window after a replica failure.
+     *
+     * @param cause the connection failure
+     */
+    private void markReplicaUnavailable(final SQLException cause) {
+        replicaUnavailableUntil = System.currentTimeMillis() + replicaRetryBackoffMs;
+        log.warn("Read replica unavailable, routing reads to primary for {} ms: {}", replicaRetryBackoffMs, cause.getMessage());
+    }
+}
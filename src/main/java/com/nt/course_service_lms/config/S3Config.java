@@ -1,19 +1,31 @@
 package com.nt.course_service_lms.config;
 
+import com.nt.course_service_lms.service.MediaStore;
+import com.nt.course_service_lms.service.serviceImpl.S3MediaStore;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 /**
  * Configuration class for creating AWS S3 client beans based on the active Spring profile.
  * <p>
  * Provides separate S3 clients for local and non-local (e.g. production) environments.
+ * Active unless another media backend is selected with {@code lms.media.store}.
  * </p>
  */
 @Configuration
+@ConditionalOnProperty(name = "lms.media.store", havingValue = "s3", matchIfMissing = true)
 public class S3Config {
 
     /**
@@ -25,19 +37,99 @@ public class S3Config {
     @Value("${aws.secretsmanager.region}")
     private String region;
 
+    /**
+     * Maximum number of pooled HTTP connections the S3 client keeps open.
+     * <p>
+     * In virtual-thread mode the number of concurrent callers is no longer capped by the
+     * Tomcat pool, so this becomes the effective limit on parallel S3 reads and is raised
+     * by the {@code virtual-threads} profile.
+     * </p>
+     */
+    @Value("${aws.s3.max-connections:50}")
+    private int maxConnections;
+
+    /**
+     * Maximum time in milliseconds a caller waits for a pooled S3 connection.
+     */
+    @Value("${aws.s3.connection-acquisition-timeout-ms:10000}")
+    private long connectionAcquisitionTimeoutMs;
+
+    /**
+     * Endpoint of an S3-compatible store (e.g. MinIO or LocalStack) replacing AWS; empty for AWS.
+     */
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    /**
+     * Whether buckets are addressed in the path instead of the host name, as most S3-compatible
+     * stores require.
+     */
+    @Value("${aws.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+
     /**
      * Creates an {@link S3Client} bean for non-local environments (e.g., development, staging, production).
      * <p>
      * Uses the default AWS credentials provider chain, which supports IAM roles, environment variables, etc.
+     * The synchronous client blocks the calling thread, which is cheap when that thread is virtual;
+     * the connection pool is sized from {@code aws.s3.max-connections}.
      * </p>
      *
      * @return an {@link S3Client} instance configured for production environments
      */
     @Bean
     public S3Client s3ClientProd() {
-        return S3Client.builder()
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .serviceConfiguration(serviceConfiguration())
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionAcquisitionTimeout(Duration.ofMillis(connectionAcquisitionTimeoutMs)));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the {@link S3Presigner} signing the GET URLs of presigned media delivery.
+     * Signing is a local computation; the presigner makes no network calls.
+     *
+     * @return the presigner, pointing at the same endpoint as the S3 client
+     */
+    @Bean
+    public S3Presigner s3Presigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .serviceConfiguration(serviceConfiguration());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Exposes the configured bucket as the application's {@link MediaStore}.
+     *
+     * @param s3Client   the S3 client
+     * @param bucketName the bucket holding course media
+     * @return the S3-backed media store
+     */
+    @Bean
+    public MediaStore s3MediaStore(final S3Client s3Client, @Value("${aws.s3.bucket-name}") final String bucketName) {
+        return new S3MediaStore(s3Client, bucketName);
+    }
+
+    /**
+     * Builds the S3 settings shared by the client and the presigner.
+     *
+     * @return the S3 service configuration
+     */
+    private S3Configuration serviceConfiguration() {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
                 .build();
     }
 }
@@ -0,0 +1,12 @@
+package com.nt.course_service_lms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as respacing question rank keys.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
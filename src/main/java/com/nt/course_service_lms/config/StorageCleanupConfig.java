@@ -0,0 +1,12 @@
+package com.nt.course_service_lms.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link StorageCleanupProperties} used by the storage cleanup worker.
+ */
+@Configuration
+@EnableConfigurationProperties(StorageCleanupProperties.class)
+public class StorageCleanupConfig {
+}
@@ -0,0 +1,28 @@
+package com.nt.course_service_lms.config;
+
+import com.nt.course_service_lms.constants.S3Constants;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the storage cleanup outbox drained by the {@code StorageCleanupWorker}.
+ */
+@Data
+@ConfigurationProperties(prefix = "lms.media.cleanup")
+public class StorageCleanupProperties {
+
+    /**
+     * Maximum number of tasks locked per transaction.
+     */
+    private int batchSize = S3Constants.CLEANUP_BATCH_SIZE;
+
+    /**
+     * Delay before the first retry in milliseconds, doubled with every failure.
+     */
+    private long retryBaseMs = S3Constants.CLEANUP_RETRY_BASE_MS;
+
+    /**
+     * Longest delay between retries in milliseconds.
+     */
+    private long retryMaxMs = S3Constants.CLEANUP_RETRY_MAX_MS;
+}
@@ -0,0 +1,108 @@
+package com.nt.course_service_lms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Guardrails for the opt-in virtual-thread execution mode.
+ * <p>
+ * The mode itself is switched on with {@code spring.threads.virtual.enabled=true} (see the
+ * {@code virtual-threads} profile) and requires a Java 21 runtime; Spring Boot then runs Tomcat
+ * request handling and the {@code applicationTaskExecutor} used by {@code @Async} on virtual
+ * threads. Because blocking calls no longer tie up a platform thread, the number of callers
+ * reaching JDBC is no longer bounded by the Tomcat pool, so this configuration:
+ * <ul>
+ *   <li>fronts every {@link DataSource} with a {@link JdbcConcurrencyLimitingDataSource} sized to
+ *   the connection pool, and</li>
+ *   <li>starts a {@link VirtualThreadPinningMonitor} that logs carrier-thread pinning.</li>
+ * </ul>
+ * </p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Default number of JDBC permits when the pool size cannot be determined.
+     */
+    private static final int DEFAULT_JDBC_PERMITS = 10;
+
+    /**
+     * Default wait for a JDBC permit, aligned with Hikari's connection timeout.
+     */
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 30_000L;
+
+    /**
+     * Wraps data sources in a concurrency-limiting decorator.
+     * <p>
+     * Declared static so the post processor is registered before the data source is created.
+     * </p>
+     *
+     * @param environment the Spring environment holding the guardrail settings
+     * @return bean post processor applying the JDBC semaphore
+     */
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiterPostProcessor(final Environment environment) {
+        final int configuredPermits = environment.getProperty(
+                "lms.virtual-threads.jdbc.max-concurrent", Integer.class, 0);
+        final long acquireTimeoutMs = environment.getProperty(
+                "lms.virtual-threads.jdbc.acquire-timeout-ms", Long.class, DEFAULT_ACQUIRE_TIMEOUT_MS);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) throws BeansException {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof JdbcConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int permits = configuredPermits > 0 ? configuredPermits : resolvePoolSize(dataSource);
+                log.info("Limiting concurrent JDBC connections of '{}' to {} permits", beanName, permits);
+                return new JdbcConcurrencyLimitingDataSource(dataSource, permits, acquireTimeoutMs);
+            }
+        };
+    }
+
+    /**
+     * Starts JFR-based detection of virtual threads pinned to their carrier.
+     *
+     * @param thresholdMs minimum pinned duration worth reporting, in milliseconds
+     * @return the pinning monitor
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${lms.virtual-threads.pinning.threshold-ms:20}") final long thresholdMs) {
+        return new VirtualThreadPinningMonitor(thresholdMs);
+    }
+
+    /**
+     * Determines the maximum pool size of the given data source.
+     *
+     * @param dataSource the data source to inspect
+     * @return pool size used as permit count
+     */
+    private static int resolvePoolSize(final DataSource dataSource) {
+        try {
+            // Unwrap so a routing proxy in front of the primary pool is sized like the pool itself.
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (size > 0) {
+                    return size;
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("Could not determine pool size of data source: {}", e.getMessage());
+        }
+        return DEFAULT_JDBC_PERMITS;
+    }
+}
@@ -0,0 +1,128 @@
+package com.nt.course_service_lms.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically while blocking
+ * inside a {@code synchronized} block or a native frame.
+ * <p>
+ * Listens to the JDK Flight Recorder {@code jdk.VirtualThreadPinned} event in-process and logs
+ * the top of the offending stack, so pinning introduced by a library upgrade shows up in the
+ * service logs instead of as an unexplained throughput drop.
+ * </p>
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    /**
+     * JFR event emitted by the JDK when a virtual thread blocks while pinned.
+     */
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Number of stack frames included in the log line.
+     */
+    private static final int LOGGED_FRAMES = 8;
+
+    /**
+     * Minimum pinned duration that is reported.
+     */
+    private final Duration threshold;
+
+    /**
+     * Total pinning events observed since start.
+     */
+    private final AtomicLong pinnedEvents = new AtomicLong();
+
+    /**
+     * Active JFR stream, {@code null} when stopped.
+     */
+    private RecordingStream stream;
+
+    /**
+     * Creates a monitor reporting pins longer than the given threshold.
+     *
+     * @param thresholdMs threshold in milliseconds
+     */
+    public VirtualThreadPinningMonitor(final long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    /**
+     * Starts the JFR stream asynchronously.
+     */
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Virtual thread pinning detection enabled (threshold {} ms)", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("Virtual thread pinning detection unavailable: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    /**
+     * Stops the JFR stream.
+     */
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    /**
+     * Returns the number of pinning events observed.
+     *
+     * @return pinned event count
+     */
+    public long getPinnedEventCount() {
+        return pinnedEvents.get();
+    }
+
+    /**
+     * Logs a single pinning event.
+     *
+     * @param event the recorded JFR event
+     */
+    private void onPinned(final RecordedEvent event) {
+        pinnedEvents.incrementAndGet();
+        log.warn("Virtual thread pinned for {} ms:{}", event.getDuration().toMillis(), formatStack(event.getStackTrace()));
+    }
+
+    /**
+     * Renders the top frames of a recorded stack trace.
+     *
+     * @param stackTrace the recorded stack trace, may be {@code null}
+     * @return formatted frames, one per line
+     */
+    private static String formatStack(final RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " <no stack trace>";
+        }
+        StringBuilder sb = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append(System.lineSeparator())
+                    .append("\tat ")
+                    .append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.nt.course_service_lms.constants;
+
+/**
+ * Names of the Hibernate second-level cache regions.
+ * <p>
+ * Every region listed here must have a bounded entry in {@code ehcache.xml}.
+ * </p>
+ */
+public final class CacheConstants {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * Throws an {@link UnsupportedOperationException} if attempted.
+     */
+    private CacheConstants() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Entity region holding {@code Quiz} rows.
+     */
+    public static final String QUIZ_REGION = "quiz";
+
+    /**
+     * Entity region holding {@code QuizQuestion} rows.
+     */
+    public static final String QUIZ_QUESTION_REGION = "quizQuestion";
+
+    /**
+     * Query-result region for cached queries on {@code Quiz}.
+     */
+    public static final String QUIZ_QUERY_REGION = "quizQueries";
+
+    /**
+     * Query-result region for cached queries on {@code QuizQuestion}.
+     */
+    public static final String QUIZ_QUESTION_QUERY_REGION = "quizQuestionQueries";
+
+    /**
+     * JPA query hint enabling the query cache.
+     */
+    public static final String HINT_CACHEABLE = "org.hibernate.cacheable";
+
+    /**
+     * JPA query hint selecting the query cache region.
+     */
+    public static final String HINT_CACHE_REGION = "org.hibernate.cacheRegion";
+
+    /**
+     * Hibernate query hint naming the table a native statement modifies. Without it a native
+     * update invalidates every second-level cache region, including the quiz regions.
+     */
+    public static final String HINT_NATIVE_SPACES = "org.hibernate.query.native.spaces";
+}
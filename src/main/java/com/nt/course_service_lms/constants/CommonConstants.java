@@ -190,6 +190,41 @@ public final class CommonConstants {
      */
     public static final int NUMBER_TEN_THOUSAND = 10000;
 
+    /**
+     * Allocation size of pooled ID sequences; must match the sequence INCREMENT BY
+     * and should not be lower than the Hibernate JDBC batch size.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Numeric precision of stored attempt scores (NUMERIC(10,2)).
+     */
+    public static final int SCORE_PRECISION = 10;
+
+    /**
+     * Numeric precision of stored percentage scores (NUMERIC(5,2)).
+     */
+    public static final int PERCENTAGE_PRECISION = 5;
+
+    /**
+     * Maximum length of a client-supplied idempotency key.
+     */
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+
+    /**
+     * Length of a hex-encoded SHA-256 content hash.
+     */
+    public static final int CONTENT_HASH_LENGTH = 64;
+
+    /**
+     * Spacing between the rank keys of consecutive quiz questions when a quiz is (re)spaced.
+     */
+    public static final long QUESTION_RANK_GAP = 65_536L;
+
+    /**
+     * Smallest gap between neighbouring question rank keys left alone by the background rebalancer.
+     */
+    public static final long QUESTION_RANK_MIN_GAP = 256L;
 
     /**
      * acknowledgement true constant.
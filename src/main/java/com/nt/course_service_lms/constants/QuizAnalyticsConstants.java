@@ -0,0 +1,37 @@
+package com.nt.course_service_lms.constants;
+
+/**
+ * Utility class that contains constant values used by the quiz analytics module.
+ * <p>
+ * This class is not meant to be instantiated.
+ */
+public final class QuizAnalyticsConstants {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * Throws an {@link UnsupportedOperationException} if attempted.
+     */
+    private QuizAnalyticsConstants() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Numeric precision of the running percentage sum (NUMERIC(16,2)).
+     */
+    public static final int PERCENTAGE_SUM_PRECISION = 16;
+
+    /**
+     * Maximum stored length of an answer option key; longer answers are truncated.
+     */
+    public static final int MAX_ANSWER_KEY_LENGTH = 255;
+
+    /**
+     * Highest score histogram bucket (a perfect score).
+     */
+    public static final int MAX_SCORE_BUCKET = 100;
+
+    /**
+     * Question type whose answers are free text and therefore not counted per option.
+     */
+    public static final String FREE_TEXT_QUESTION_TYPE = "SHORT_ANSWER";
+}
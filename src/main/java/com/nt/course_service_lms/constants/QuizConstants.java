@@ -161,4 +161,14 @@ public final class QuizConstants {
      * Maximum fractional digits allowed in the points field.
      */
     public static final int MAX_FRACTION_DIGITS_FOR_POINTS = 2;
+
+    /**
+     * Parent type of quizzes attached to a course.
+     */
+    public static final String PARENT_TYPE_COURSE = "course";
+
+    /**
+     * Parent type of quizzes attached to a course content.
+     */
+    public static final String PARENT_TYPE_COURSE_CONTENT = "course-content";
 }
@@ -113,4 +113,208 @@ public final class S3Constants {
      * Used to calculate part sizes for very large files.
      */
     public static final long MAX_PARTS_LIMIT = 9000L; // Using 9000 instead of 10000 for safety margin
+
+    // MP4 faststart
+
+    /**
+     * Folder (course content type) holding uploaded videos.
+     */
+    public static final String VIDEO_FOLDER = "video";
+
+    /**
+     * MIME type of MP4 videos.
+     */
+    public static final String MP4_CONTENT_TYPE = "video/mp4";
+
+    /**
+     * File name suffix of MP4 videos.
+     */
+    public static final String MP4_SUFFIX = ".mp4";
+
+    /**
+     * File name suffix of MPEG-4 videos using the Apple extension.
+     */
+    public static final String M4V_SUFFIX = ".m4v";
+
+    /**
+     * Prefix of the temporary files used while rewriting MP4 videos.
+     */
+    public static final String FASTSTART_TEMP_PREFIX = "lms-faststart-";
+
+    // Content deduplication
+
+    /**
+     * Digest algorithm identifying identical uploads.
+     */
+    public static final String CONTENT_HASH_ALGORITHM = "SHA-256";
+
+    // Media streaming read-ahead
+
+    /**
+     * Default memory cap shared by all pending and completed read-aheads (256MB).
+     */
+    public static final long PREFETCH_MAX_BUFFERED_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * Default largest range fetched ahead for a single viewer (8MB).
+     */
+    public static final int PREFETCH_MAX_RANGE_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * Default largest number of viewers tracked by the read-ahead.
+     */
+    public static final int PREFETCH_MAX_VIEWERS = 10_000;
+
+    /**
+     * Default time after which an idle viewer's read-ahead is dropped (1 minute).
+     */
+    public static final long PREFETCH_IDLE_TIMEOUT_MS = 60_000L;
+
+    /**
+     * Default longest wait for an in-flight read-ahead (5 seconds).
+     */
+    public static final long PREFETCH_AWAIT_TIMEOUT_MS = 5_000L;
+
+    // Async streaming engine
+
+    /**
+     * Default longest time a single async range response may take (2 minutes).
+     */
+    public static final long ASYNC_TIMEOUT_MS = 120_000L;
+
+    /**
+     * Default number of concurrent connections of the S3 async client.
+     */
+    public static final int ASYNC_MAX_CONCURRENCY = 500;
+
+    /**
+     * Default first-byte latency simulated by the load-test S3 client.
+     */
+    public static final long FAKE_FIRST_BYTE_DELAY_MS = 50L;
+
+    /**
+     * Default size of the buffers emitted by the load-test S3 client (64KB).
+     */
+    public static final int FAKE_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Default number of threads of the load-test S3 client.
+     */
+    public static final int FAKE_THREADS = 4;
+
+    // Adaptive streaming chunks
+
+    /**
+     * Default smallest adaptive streaming chunk (256KB).
+     */
+    public static final long CHUNK_MIN_BYTES = 256L * 1024;
+
+    /**
+     * Default largest adaptive streaming chunk (16MB).
+     */
+    public static final long CHUNK_MAX_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Default chunk of other content while the viewer's throughput is unknown (5MB).
+     */
+    public static final long CHUNK_DEFAULT_BYTES = 5L * 1024 * 1024;
+
+    /**
+     * Default time one chunk should take to reach the viewer (2 seconds).
+     */
+    public static final long CHUNK_TARGET_TRANSFER_MS = 2_000L;
+
+    /**
+     * Default weight of the newest measurement in a viewer's smoothed throughput.
+     */
+    public static final double CHUNK_THROUGHPUT_WEIGHT = 0.3;
+
+    /**
+     * Default size below which transfers are not measured (64KB).
+     */
+    public static final long CHUNK_MIN_SAMPLE_BYTES = 64L * 1024;
+
+    /**
+     * Default bitrate assumed for videos of unknown duration, in bits per second.
+     */
+    public static final long VIDEO_DEFAULT_BITRATE = 2_500_000L;
+
+    /**
+     * Default seconds of video per chunk while the viewer's throughput is unknown.
+     */
+    public static final int VIDEO_TARGET_SECONDS = 10;
+
+    /**
+     * Default fewest seconds of video per chunk.
+     */
+    public static final int VIDEO_MIN_SECONDS = 4;
+
+    /**
+     * Default most seconds of video per chunk.
+     */
+    public static final int VIDEO_MAX_SECONDS = 30;
+
+    /**
+     * Default page size PDF chunks are aligned to (64KB).
+     */
+    public static final long PDF_PAGE_BYTES = 64L * 1024;
+
+    /**
+     * Default PDF chunk while the viewer's throughput is unknown (256KB).
+     */
+    public static final long PDF_DEFAULT_BYTES = 256L * 1024;
+
+    /**
+     * Default largest PDF chunk (1MB).
+     */
+    public static final long PDF_MAX_BYTES = 1024L * 1024;
+
+    /**
+     * Default largest number of viewers whose throughput is tracked.
+     */
+    public static final int CHUNK_MAX_VIEWERS = 10_000;
+
+    /**
+     * Default time after which a viewer's throughput is forgotten (5 minutes).
+     */
+    public static final long CHUNK_IDLE_TIMEOUT_MS = 300_000L;
+
+    /**
+     * Default largest number of videos whose bitrate is cached.
+     */
+    public static final int BITRATE_CACHE_SIZE = 1_000;
+
+    // Presigned media delivery
+
+    /**
+     * Default shortest remaining validity of a presigned media URL (5 minutes).
+     */
+    public static final long DELIVERY_URL_TTL_SECONDS = 300L;
+
+    /**
+     * Default window in which the same presigned URL is reused for a viewer (1 minute).
+     */
+    public static final long DELIVERY_SIGNING_WINDOW_SECONDS = 60L;
+
+    /**
+     * Default largest number of cached presigned URLs.
+     */
+    public static final int DELIVERY_MAX_CACHED_URLS = 50_000;
+
+    // Storage cleanup outbox
+
+    /**
+     * Default number of cleanup tasks locked and deleted per transaction.
+     */
+    public static final int CLEANUP_BATCH_SIZE = 50;
+
+    /**
+     * Default delay before the first retry of a failed delete (1 minute).
+     */
+    public static final long CLEANUP_RETRY_BASE_MS = 60_000L;
+
+    /**
+     * Default longest delay between retries of a failed delete (6 hours).
+     */
+    public static final long CLEANUP_RETRY_MAX_MS = 21_600_000L;
 }
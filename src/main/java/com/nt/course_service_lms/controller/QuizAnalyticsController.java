@@ -0,0 +1,59 @@
+package com.nt.course_service_lms.controller;
+
+import com.nt.course_service_lms.dto.outDTO.QuizAnalyticsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
+import com.nt.course_service_lms.service.QuizAnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller exposing precomputed quiz analytics in the Course Service of the LMS.
+ * Exception handling is managed by GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/service-api/quiz-analytics")
+@Slf4j
+public class QuizAnalyticsController {
+
+    /**
+     * Service for reading and rebuilding quiz analytics.
+     */
+    @Autowired
+    private QuizAnalyticsService quizAnalyticsService;
+
+    /**
+     * Retrieves the aggregated analytics of a quiz.
+     *
+     * @param quizId The ID of the quiz.
+     * @return ResponseEntity containing StandardResponseOutDTO with the QuizAnalyticsOutDTO.
+     */
+    @GetMapping("/{quizId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StandardResponseOutDTO<QuizAnalyticsOutDTO>> getQuizAnalytics(@PathVariable final Long quizId) {
+        log.info("Received request to fetch analytics for quiz ID: {}", quizId);
+        QuizAnalyticsOutDTO analytics = quizAnalyticsService.getQuizAnalytics(quizId);
+        return ResponseEntity.ok(StandardResponseOutDTO.success(analytics, "Quiz analytics retrieved successfully"));
+    }
+
+    /**
+     * Recomputes the analytics of a quiz from its stored attempts, e.g. after the passing score changed.
+     *
+     * @param quizId The ID of the quiz.
+     * @return ResponseEntity containing StandardResponseOutDTO with the rebuilt QuizAnalyticsOutDTO.
+     */
+    @PostMapping("/{quizId}/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StandardResponseOutDTO<QuizAnalyticsOutDTO>> rebuildQuizAnalytics(@PathVariable final Long quizId) {
+        log.info("Received request to rebuild analytics for quiz ID: {}", quizId);
+        QuizAnalyticsOutDTO analytics = quizAnalyticsService.rebuildQuizAnalytics(quizId);
+        log.info("Rebuilt analytics for quiz ID: {} from {} attempts", quizId, analytics.getAttemptCount());
+        return ResponseEntity.ok(StandardResponseOutDTO.success(analytics, "Quiz analytics rebuilt successfully"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.nt.course_service_lms.controller;
+
+import com.nt.course_service_lms.dto.inDTO.AnswerDraftSaveInDTO;
+import com.nt.course_service_lms.dto.outDTO.AnswerDraftOutDTO;
+import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
+import com.nt.course_service_lms.service.QuizAnswerDraftService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for autosaving answers while a quiz attempt is in progress.
+ * Exception handling is managed by GlobalExceptionHandler.
+ */
+@RestController
+@RequestMapping("/api/service-api/quiz-drafts")
+@Slf4j
+public class QuizAnswerDraftController {
+
+    /**
+     * Service for autosaved answer drafts.
+     */
+    @Autowired
+    private QuizAnswerDraftService quizAnswerDraftService;
+
+    /**
+     * Upserts the answers changed since the last autosave.
+     *
+     * @param quizAttemptId The ID of the quiz attempt in progress.
+     * @param saveInDTO     DTO containing the changed answers.
+     * @return ResponseEntity containing StandardResponseOutDTO with all drafts of the attempt.
+     */
+    @PutMapping("/{quizAttemptId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<StandardResponseOutDTO<List<AnswerDraftOutDTO>>> saveDrafts(
+            @PathVariable final Long quizAttemptId,
+            @Valid @RequestBody final AnswerDraftSaveInDTO saveInDTO) {
+        log.debug("Autosave request for attempt {} with {} answers", quizAttemptId, saveInDTO.getAnswers().size());
+        List<AnswerDraftOutDTO> drafts = quizAnswerDraftService.saveDrafts(quizAttemptId, saveInDTO.getAnswers());
+        return ResponseEntity.ok(StandardResponseOutDTO.success(drafts, "Answers saved successfully"));
+    }
+
+    /**
+     * Retrieves the autosaved answers of an attempt, e.g. to restore them after a reload.
+     *
+     * @param quizAttemptId The ID of the quiz attempt.
+     * @return ResponseEntity containing StandardResponseOutDTO with the drafts ordered by question ID.
+     */
+    @GetMapping("/{quizAttemptId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<StandardResponseOutDTO<List<AnswerDraftOutDTO>>> getDrafts(@PathVariable final Long quizAttemptId) {
+        log.info("Received request to fetch autosaved answers for attempt {}", quizAttemptId);
+        List<AnswerDraftOutDTO> drafts = quizAnswerDraftService.getDrafts(quizAttemptId);
+        return ResponseEntity.ok(StandardResponseOutDTO.success(drafts, "Saved answers retrieved successfully"));
+    }
+}
@@ -3,11 +3,14 @@ package com.nt.course_service_lms.controller;
 import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptCreateInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
+import com.nt.course_service_lms.dto.outDTO.CourseQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByCourseIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByUserIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizStartOutDTO;
 import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptDetailsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.service.QuizAttemptService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -66,6 +69,25 @@ public class QuizAttemptController {
         return new ResponseEntity<>(createdAttempt, HttpStatus.OK);
     }
 
+    /**
+     * Starts a quiz: admits the attempt and returns it with its questions and deadline.
+     * <p>
+     * Replaces the attempt creation call followed by the question fetch of the attempt. Correct answers
+     * and explanations are not included in the questions.
+     * </p>
+     *
+     * @param dto the quiz and user starting the attempt
+     * @return ResponseEntity with the attempt, its questions and its deadline
+     */
+    @PostMapping("/start")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<QuizStartOutDTO> startQuizAttempt(@Valid @RequestBody final QuizAttemptCreateInDTO dto) {
+        log.info("REST request to start quiz: {} for user: {}", dto.getQuizId(), dto.getUserId());
+
+        final QuizStartOutDTO started = quizAttemptService.startQuizAttempt(dto);
+        return ResponseEntity.ok(started);
+    }
+
     /**
      * Updates an existing quiz attempt.
      *
@@ -353,6 +375,37 @@ public class QuizAttemptController {
                 quizAttemptService.getQuizAttemptDetailsByCourseID(courseId, userRole);
         return StandardResponseOutDTO.success(quizAttemptDetailsByUserIDOutDTOS, "User Attempt Details Fetched Successfully");
     }
+    /**
+     * Retrieves the compact quiz attempt report of a user across all courses.
+     * Question text, options and correct answers are returned once in a question dictionary.
+     *
+     * @param userId the ID of the user whose quiz attempt details are to be retrieved
+     * @return StandardResponseOutDTO containing the UserQuizAttemptReportOutDTO
+     */
+    @GetMapping("/quiz-attempt-details/{userId}/compact")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public StandardResponseOutDTO<UserQuizAttemptReportOutDTO> getCompactQuizAttemptReportByUserId(
+            @PathVariable final Long userId) {
+        String userRole = getCurrentUserRole();
+        UserQuizAttemptReportOutDTO report = quizAttemptService.getCompactQuizAttemptReportByUserID(userId, userRole);
+        return StandardResponseOutDTO.success(report, "User Attempt Details Fetched Successfully");
+    }
+    /**
+     * Retrieves the compact quiz attempt report of all users for a specific course.
+     * Question text, options and correct answers are returned once in a question dictionary.
+     * Only accessible by users with the ADMIN role.
+     *
+     * @param courseId the ID of the course for which attempt details are to be fetched
+     * @return StandardResponseOutDTO containing the CourseQuizAttemptReportOutDTO
+     */
+    @GetMapping("/quiz-attempt-details/course/{courseId}/compact")
+    @PreAuthorize("hasRole('ADMIN')")
+    public StandardResponseOutDTO<CourseQuizAttemptReportOutDTO> getCompactQuizAttemptReportByCourseId(
+            @PathVariable final Long courseId) {
+        String userRole = getCurrentUserRole();
+        CourseQuizAttemptReportOutDTO report = quizAttemptService.getCompactQuizAttemptReportByCourseID(courseId, userRole);
+        return StandardResponseOutDTO.success(report, "User Attempt Details Fetched Successfully");
+    }
     /**
      * Extracts the current user's role from Spring Security context.
      * @return the user's highest role (ADMIN takes precedence over EMPLOYEE)
@@ -1,6 +1,7 @@
 package com.nt.course_service_lms.controller;
 
 import com.nt.course_service_lms.converters.QuizQuestionConverter;
+import com.nt.course_service_lms.dto.inDTO.QuestionReorderInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizQuestionInDTO;
 import com.nt.course_service_lms.dto.inDTO.UpdateQuizQuestionInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
@@ -145,6 +146,26 @@ public class QuizQuestionController {
         return ResponseEntity.ok(StandardResponseOutDTO.success(null, "Question deleted successfully"));
     }
 
+    /**
+     * Reorders the questions of a quiz.
+     *
+     * @param quizId       The ID of the quiz whose questions are reordered
+     * @param reorderInDTO The DTO containing the question IDs in their new order
+     * @return ResponseEntity containing all questions of the quiz in their new order
+     */
+    @PutMapping("/quiz/{quizId}/reorder")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StandardResponseOutDTO<List<QuizQuestionOutDTO>>> reorderQuestions(
+            @PathVariable final Long quizId,
+            @Valid @RequestBody final QuestionReorderInDTO reorderInDTO) {
+        log.info("Received request to reorder questions of quiz ID: {}", quizId);
+
+        List<QuizQuestionOutDTO> questions = quizQuestionService.reorderQuestions(quizId, reorderInDTO);
+
+        log.info("Questions reordered successfully for quiz ID: {}", quizId);
+        return ResponseEntity.ok(StandardResponseOutDTO.success(questions, "Questions reordered successfully"));
+    }
+
     /**
      * Retrieves a list of quiz questions for a user attempting a quiz.
      *
@@ -14,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -68,6 +69,7 @@ public class QuizSubmissionController {
      * @param quizAttemptId  The unique identifier of the quiz attempt being submitted
      * @param submissionDTO  The data transfer object containing user responses and submission details
      * @param submissionType The type of submission (defaults to "MANUAL" if not specified)
+     * @param idempotencyKey Optional client-generated key; retries with the same key replay the original result
      * @return ResponseEntity containing the quiz submission result wrapped in a standard response format
      * @throws jakarta.validation.ConstraintViolationException if the submission data is invalid
      */
@@ -76,12 +78,13 @@ public class QuizSubmissionController {
     public ResponseEntity<StandardResponseOutDTO<QuizSubmissionResultOutDTO>> submitQuiz(
             @PathVariable final Long quizAttemptId,
             @Valid @RequestBody final QuizSubmissionInDTO submissionDTO,
-            @RequestParam(defaultValue = "MANUAL") final String submissionType) {
+            @RequestParam(defaultValue = "MANUAL") final String submissionType,
+            @RequestHeader(value = "Idempotency-Key", required = false) final String idempotencyKey) {
 
         log.info("Quiz submission request for attempt: {}, type: {}", quizAttemptId, submissionType);
 
         QuizSubmissionResultOutDTO result = quizSubmissionService.submitQuiz(
-                quizAttemptId, submissionDTO.getUserResponses(), submissionType);
+                quizAttemptId, submissionDTO.getUserResponses(), submissionType, idempotencyKey);
 
         StandardResponseOutDTO<QuizSubmissionResultOutDTO> response =
                 StandardResponseOutDTO.success(result, "Quiz submitted successfully");
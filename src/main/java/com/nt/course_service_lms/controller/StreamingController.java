@@ -1,13 +1,23 @@
 package com.nt.course_service_lms.controller;
 
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.config.ServicePrincipal;
 import com.nt.course_service_lms.dto.inDTO.FileMetadata;
+import com.nt.course_service_lms.dto.outDTO.MediaUrlOutDTO;
 import com.nt.course_service_lms.exception.FileStreamingException;
 import com.nt.course_service_lms.service.S3StreamingService;
+import com.nt.course_service_lms.service.serviceImpl.AsyncMediaStreamer;
+import com.nt.course_service_lms.service.serviceImpl.PresignedUrlService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +25,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -32,21 +45,56 @@ public class StreamingController {
     @Autowired
     private S3StreamingService s3StreamingService;
 
+    /**
+     * Non-blocking streaming engine; present only with {@code lms.media.streaming.engine=async}.
+     */
+    @Autowired(required = false)
+    private AsyncMediaStreamer asyncMediaStreamer;
+
+    /**
+     * Signs the URLs of presigned delivery.
+     */
+    @Autowired
+    private PresignedUrlService presignedUrlService;
+
+    /**
+     * Streaming settings, selecting the delivery mode per content type.
+     */
+    @Autowired
+    private MediaStreamingProperties mediaStreamingProperties;
+
     /**
      * Stream video/audio content with range support for ReactPlayer.
      * Supports HTTP Range requests for efficient streaming.
      *
+     * The following range is fetched ahead for viewers that play sequentially, and open-ended
+     * ranges are sized to the viewer's measured throughput and the video's bitrate.
+     * With presigned delivery configured for videos, the client is sent to S3 instead.
+     *
      * @param fileName    The name of the video file to stream.
      * @param rangeHeader Optional HTTP Range header to enable byte-range streaming.
-     * @return ResponseEntity with partial or full content stream.
+     * @param request     The HTTP request, identifying the viewer.
+     * @param response    The HTTP response, written directly by the async engine.
+     * @return ResponseEntity with partial or full content stream, a redirect or a presigned URL;
+     *         null when the async engine responds.
      */
     @GetMapping("/video/{fileName:.+}")
     public ResponseEntity<?> streamVideo(
             @PathVariable final String fileName,
-            @RequestHeader(value = "Range", required = false) final String rangeHeader) {
+            @RequestHeader(value = "Range", required = false) final String rangeHeader,
+            final HttpServletRequest request,
+            final HttpServletResponse response) {
         try {
             String objectKey = "video/" + fileName;
-            return s3StreamingService.streamFileChunk(objectKey, rangeHeader);
+            ResponseEntity<?> presigned = presignedDelivery("video", objectKey, request);
+            if (presigned != null) {
+                return presigned;
+            }
+            if (asyncMediaStreamer != null) {
+                asyncMediaStreamer.streamFileChunk(objectKey, rangeHeader, viewerId(request), request, response);
+                return null;
+            }
+            return s3StreamingService.streamFileChunk(objectKey, rangeHeader, viewerId(request));
         } catch (FileStreamingException e) {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
@@ -64,19 +112,35 @@ public class StreamingController {
      * Stream PDF content with optional range support.
      * If Range header is present, returns partial content.
      * Otherwise, returns full PDF content.
+     * Viewers that load the document progressively get the following range fetched ahead, and
+     * open-ended ranges are cut to page-aligned chunks sized to the viewer's measured throughput.
+     * With presigned delivery configured for PDFs, the client is sent to S3 instead.
      *
      * @param filename    The name of the PDF file to stream.
      * @param rangeHeader Optional HTTP Range header to enable byte-range streaming.
-     * @return ResponseEntity with partial or full content stream.
+     * @param request     The HTTP request, identifying the viewer.
+     * @param response    The HTTP response, written directly by the async engine.
+     * @return ResponseEntity with partial or full content stream, a redirect or a presigned URL;
+     *         null when the async engine responds.
      */
     @GetMapping("/pdf/{filename:.+}")
     public ResponseEntity<?> streamPdf(
             @PathVariable final String filename,
-            @RequestHeader(value = "Range", required = false) final String rangeHeader) {
+            @RequestHeader(value = "Range", required = false) final String rangeHeader,
+            final HttpServletRequest request,
+            final HttpServletResponse response) {
 
         try {
             String objectKey = "pdf/" + filename;
-            return s3StreamingService.streamFileChunk(objectKey, rangeHeader);
+            ResponseEntity<?> presigned = presignedDelivery("pdf", objectKey, request);
+            if (presigned != null) {
+                return presigned;
+            }
+            if (asyncMediaStreamer != null) {
+                asyncMediaStreamer.streamFileChunk(objectKey, rangeHeader, viewerId(request), request, response);
+                return null;
+            }
+            return s3StreamingService.streamFileChunk(objectKey, rangeHeader, viewerId(request));
         } catch (FileStreamingException e) {
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
@@ -158,4 +222,62 @@ public class StreamingController {
     public ResponseEntity<InputStreamResource> downloadFile(@PathVariable final String objectKey) {
         return s3StreamingService.streamFullFile(objectKey);
     }
+
+    /**
+     * Identifies the viewer of a streaming request by client address and user agent.
+     * Streaming endpoints are not authenticated, so no user ID is available.
+     *
+     * @param request the HTTP request
+     * @return the viewer ID
+     */
+    private String viewerId(final HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        String client = forwardedFor != null && !forwardedFor.isBlank()
+                ? forwardedFor.split(",")[0].trim()
+                : request.getRemoteAddr();
+        return client + "|" + request.getHeader(HttpHeaders.USER_AGENT);
+    }
+
+    /**
+     * Answers with a presigned S3 URL when the content type is configured for presigned delivery.
+     * The redirect may be cached by the client until shortly before the URL expires.
+     *
+     * @param contentType the content type, {@code video} or {@code pdf}
+     * @param objectKey   the object key
+     * @param request     the HTTP request
+     * @return the redirect or URL response, or null if the content is proxied
+     */
+    private ResponseEntity<?> presignedDelivery(final String contentType, final String objectKey,
+                                                final HttpServletRequest request) {
+        MediaStreamingProperties.DeliveryMode mode = mediaStreamingProperties.getDelivery().modeFor(contentType);
+        if (mode == MediaStreamingProperties.DeliveryMode.PROXY || !presignedUrlService.isAvailable()) {
+            return null;
+        }
+        String user = userId();
+        MediaUrlOutDTO url = presignedUrlService.presign(objectKey, user != null ? user : viewerId(request));
+        if (mode == MediaStreamingProperties.DeliveryMode.JSON) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(url);
+        }
+        long maxAge = Math.max(0, Duration.between(Instant.now(), url.getExpiresAt()).toSeconds()
+                - mediaStreamingProperties.getDelivery().getSigningWindowSeconds());
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(url.getUrl()))
+                .header(HttpHeaders.CACHE_CONTROL, "private, max-age=" + maxAge)
+                .build();
+    }
+
+    /**
+     * Returns the ID of the authenticated user, if the request carries one.
+     *
+     * @return the user ID, or null for anonymous requests
+     */
+    private String userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof ServicePrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
 }
@@ -1,11 +1,14 @@
 package com.nt.course_service_lms.controller;
 
 import com.nt.course_service_lms.config.ServicePrincipal;
+import com.nt.course_service_lms.dto.inDTO.UserProgressBatchInDTO;
+import com.nt.course_service_lms.dto.outDTO.CoursePlayerOutDTO;
 import com.nt.course_service_lms.dto.outDTO.CourseProgressWithMetaDTO;
 import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserProgressOutDTO;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.service.UserProgressService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,6 +47,18 @@ public class UserProgressController {
         userProgressService.updateProgress(progressDTO);
     }
 
+    /**
+     * Applies several progress updates of one user in a single request, e.g. after an offline client
+     * reconnects or when a page tracks more than one content.
+     *
+     * @param batchInDTO the user and the progress updates, in the order they were recorded
+     * @return the course completion percentage of each affected course, keyed by course ID
+     */
+    @PostMapping("/update/batch")
+    public Map<Long, Double> updateProgressBatch(@Valid @RequestBody final UserProgressBatchInDTO batchInDTO) {
+        return userProgressService.updateProgressBatch(batchInDTO);
+    }
+
     /**
      * Retrieves course progress with metadata for a specific user and course.
      *
@@ -79,6 +94,24 @@ public class UserProgressController {
         return userProgressService.getCourseProgressWithMeta(Long.parseLong(userId), (long) courseId);
     }
 
+    /**
+     * Retrieves the course player bootstrap for the currently authenticated user: the course contents with
+     * progress, last position and acknowledgement, the course completion and the quiz summaries.
+     *
+     * @param courseId the unique identifier of the course
+     * @return CoursePlayerOutDTO with everything needed to open the course
+     * @throws ResourceNotFoundException if authentication fails
+     */
+    @GetMapping("/course-player")
+    public CoursePlayerOutDTO getCoursePlayer(@RequestParam final Long courseId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (!(authentication.getPrincipal() instanceof ServicePrincipal principal)) {
+            throw new ResourceNotFoundException("Authentication failed");
+        }
+        return userProgressService.getCoursePlayer(Long.parseLong(principal.getUserId()), courseId);
+    }
+
     /**
      * Retrieves the last position of a user in specific content within a course.
      *
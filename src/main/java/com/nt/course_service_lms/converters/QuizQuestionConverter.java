@@ -80,4 +80,18 @@ public class QuizQuestionConverter {
                 question.getUpdatedAt()
         );
     }
+
+    /**
+     * Converts a QuizQuestion entity to a QuizQuestionOutDTO shown to a learner during an attempt.
+     * The correct answer and the explanation are left out.
+     *
+     * @param question The QuizQuestion entity to convert.
+     * @return A QuizQuestionOutDTO without answer data.
+     */
+    public static QuizQuestionOutDTO convertToAttemptOutDTO(final QuizQuestion question) {
+        QuizQuestionOutDTO questionOutDTO = convertToOutDTO(question);
+        questionOutDTO.setCorrectAnswer(null);
+        questionOutDTO.setExplanation(null);
+        return questionOutDTO;
+    }
 }
@@ -0,0 +1,62 @@
+package com.nt.course_service_lms.dto.inDTO;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Objects;
+
+/**
+ * DTO for autosaving the current answer to a single question of an attempt in progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnswerDraftInDTO {
+
+    /**
+     * ID of the answered question.
+     */
+    @NotNull(message = "Question ID is required")
+    @Positive(message = "Question ID must be a positive number")
+    private Long questionId;
+
+    /**
+     * The current answer, replacing any previously saved answer to the question.
+     */
+    @NotBlank(message = "User answer is required")
+    @Size(max = CommonConstants.NUMBER_TWO_HUNDRED, message = "User answer cannot exceed 200 characters")
+    private String userAnswer;
+
+    /**
+     * Checks equality between this object and another.
+     *
+     * @param o the object to compare with
+     * @return true if both objects are equal based on their fields; false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AnswerDraftInDTO that = (AnswerDraftInDTO) o;
+        return Objects.equals(questionId, that.questionId) && Objects.equals(userAnswer, that.userAnswer);
+    }
+
+    /**
+     * Generates a hash code based on the object's fields.
+     *
+     * @return hash code of the object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(questionId, userAnswer);
+    }
+}
@@ -0,0 +1,53 @@
+package com.nt.course_service_lms.dto.inDTO;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO carrying the answers changed since the last autosave of an attempt.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnswerDraftSaveInDTO {
+
+    /**
+     * Answers to upsert; each must be valid according to {@link AnswerDraftInDTO} validation constraints.
+     */
+    @NotEmpty(message = "At least one answer is required")
+    @Valid
+    private List<AnswerDraftInDTO> answers;
+
+    /**
+     * Checks equality between this object and another.
+     *
+     * @param o the object to compare with
+     * @return true if both objects are equal based on their fields; false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AnswerDraftSaveInDTO that = (AnswerDraftSaveInDTO) o;
+        return Objects.equals(answers, that.answers);
+    }
+
+    /**
+     * Generates a hash code based on the object's fields.
+     *
+     * @return hash code of the object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(answers);
+    }
+}
@@ -0,0 +1,56 @@
+package com.nt.course_service_lms.dto.inDTO;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO carrying the desired order of questions within a quiz.
+ * <p>
+ * The list may cover every question of the quiz or only some of them; a partial list
+ * rearranges the listed questions among the positions they currently occupy.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionReorderInDTO {
+
+    /**
+     * Question IDs in their new order.
+     */
+    @NotEmpty(message = "At least one question ID is required")
+    private List<@NotNull(message = "Question ID cannot be null") Long> questionIds;
+
+    /**
+     * Checks equality between this object and another.
+     *
+     * @param o the object to compare with
+     * @return true if both objects are equal based on their fields; false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        QuestionReorderInDTO that = (QuestionReorderInDTO) o;
+        return Objects.equals(questionIds, that.questionIds);
+    }
+
+    /**
+     * Generates a hash code based on the object's fields.
+     *
+     * @return hash code of the object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(questionIds);
+    }
+}
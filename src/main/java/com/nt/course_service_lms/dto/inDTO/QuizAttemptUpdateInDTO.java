@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -28,6 +29,41 @@ public class QuizAttemptUpdateInDTO {
      */
     private String scoreDetails;
 
+    /**
+     * Total points earned in the attempt.
+     */
+    private BigDecimal totalScore;
+
+    /**
+     * Maximum points achievable in the attempt.
+     */
+    private BigDecimal maxScore;
+
+    /**
+     * Number of correctly answered questions.
+     */
+    private Integer correctCount;
+
+    /**
+     * Number of questions in the attempt.
+     */
+    private Integer questionCount;
+
+    /**
+     * Score as a percentage of the maximum score.
+     */
+    private BigDecimal percentageScore;
+
+    /**
+     * How the attempt was submitted (e.g., MANUAL, AUTO_TIMEOUT).
+     */
+    private String submissionType;
+
+    /**
+     * Timestamp when the attempt was submitted for scoring.
+     */
+    private LocalDateTime submittedAt;
+
     /**
      * The status of the quiz attempt.
      * <p>
@@ -56,16 +92,21 @@ public class QuizAttemptUpdateInDTO {
         }
         QuizAttemptUpdateInDTO that = (QuizAttemptUpdateInDTO) o;
         return Objects.equals(finishedAt, that.finishedAt) && Objects.equals(scoreDetails, that.scoreDetails)
+                && Objects.equals(totalScore, that.totalScore) && Objects.equals(maxScore, that.maxScore)
+                && Objects.equals(correctCount, that.correctCount) && Objects.equals(questionCount, that.questionCount)
+                && Objects.equals(percentageScore, that.percentageScore)
+                && Objects.equals(submissionType, that.submissionType) && Objects.equals(submittedAt, that.submittedAt)
                 && Objects.equals(status, that.status);
     }
 
     /**
      * Generates a hash code for this DTO.
      *
-     * @return hash code based on finishedAt, scoreDetails, and status
+     * @return hash code based on finishedAt, score fields, and status
      */
     @Override
     public int hashCode() {
-        return Objects.hash(finishedAt, scoreDetails, status);
+        return Objects.hash(finishedAt, scoreDetails, totalScore, maxScore, correctCount, questionCount,
+                percentageScore, submissionType, submittedAt, status);
     }
 }
@@ -0,0 +1,61 @@
+package com.nt.course_service_lms.dto.inDTO;
+
+import com.nt.course_service_lms.dto.outDTO.UserProgressOutDTO;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * DTO carrying several progress updates of one user, e.g. the updates queued by a client while offline.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProgressBatchInDTO {
+
+    /**
+     * The ID of the user the updates belong to; the user IDs of the individual updates are ignored.
+     */
+    @NotNull(message = "User ID is required")
+    @Positive(message = "User ID must be positive")
+    private Long userId;
+
+    /**
+     * Progress updates in the order they were recorded; each needs a content ID and a course ID.
+     */
+    @NotEmpty(message = "At least one progress update is required")
+    private List<UserProgressOutDTO> updates;
+
+    /**
+     * Checks equality between this object and another.
+     *
+     * @param o the object to compare with
+     * @return true if both objects are equal based on their fields; false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        UserProgressBatchInDTO that = (UserProgressBatchInDTO) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(updates, that.updates);
+    }
+
+    /**
+     * Generates a hash code based on the object's fields.
+     *
+     * @return hash code of the object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, updates);
+    }
+}
@@ -0,0 +1,33 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing an autosaved answer of an attempt in progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnswerDraftOutDTO {
+
+    /**
+     * ID of the answered question.
+     */
+    private Long questionId;
+
+    /**
+     * The saved answer.
+     */
+    private String userAnswer;
+
+    /**
+     * Timestamp of the last save of this answer.
+     */
+    private LocalDateTime savedAt;
+}
@@ -0,0 +1,73 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing one course content in the course player, together with the user's progress on it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoursePlayerContentOutDTO {
+
+    /**
+     * ID of the course content.
+     */
+    private long courseContentId;
+
+    /**
+     * Title of the content.
+     */
+    private String title;
+
+    /**
+     * Description of the content.
+     */
+    private String description;
+
+    /**
+     * Type of the content, e.g. video or pdf.
+     */
+    private String contentType;
+
+    /**
+     * Stored file name or external link of the content.
+     */
+    private String resourceLink;
+
+    /**
+     * Whether the content is active.
+     */
+    private boolean isActive;
+
+    /**
+     * Completion percentage required before the content can be acknowledged.
+     */
+    private float minCompletionPercentage;
+
+    /**
+     * The user's completion percentage of the content, 0.0 if not started.
+     */
+    private double contentCompletionPercentage;
+
+    /**
+     * Position to resume from, i.e. video second or PDF page; 0 if not started.
+     */
+    private int lastPosition;
+
+    /**
+     * Whether the user marked the content as done, or {@code null} if the user has not started it.
+     */
+    private Boolean acknowledged;
+
+    /**
+     * Active quizzes attached to the content.
+     */
+    private List<QuizSummaryOutDTO> quizzes;
+}
@@ -0,0 +1,50 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO carrying everything the course player needs to open a course for a user in one response:
+ * the contents with the user's progress on each, the course completion and the quizzes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoursePlayerOutDTO {
+
+    /**
+     * ID of the course.
+     */
+    private long courseId;
+
+    /**
+     * The user's completion percentage of the course, between 0.0 and 100.0.
+     */
+    private double courseCompletionPercentage;
+
+    /**
+     * Whether the user completed the course.
+     */
+    private boolean courseCompleted;
+
+    /**
+     * Timestamp when the user first completed the course, or {@code null}.
+     */
+    private LocalDateTime firstCompletedAt;
+
+    /**
+     * Contents of the course with the user's progress on each.
+     */
+    private List<CoursePlayerContentOutDTO> contents;
+
+    /**
+     * Active quizzes attached to the course itself.
+     */
+    private List<QuizSummaryOutDTO> quizzes;
+}
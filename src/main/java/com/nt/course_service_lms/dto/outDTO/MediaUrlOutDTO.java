@@ -0,0 +1,26 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Presigned URL the player loads a media object from directly.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaUrlOutDTO {
+
+    /**
+     * The presigned GET URL.
+     */
+    private String url;
+
+    /**
+     * Time after which the URL is rejected by S3.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,44 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Data Transfer Object carrying the precomputed analytics of a single quiz question.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionAnalyticsOutDTO {
+
+    /**
+     * The ID of the question.
+     */
+    private Long questionId;
+
+    /**
+     * Number of responses given to the question.
+     */
+    private Long responseCount;
+
+    /**
+     * Number of correct responses.
+     */
+    private Long correctCount;
+
+    /**
+     * Share of correct responses (0-1), the item difficulty; {@code null} without responses.
+     */
+    private BigDecimal correctRatio;
+
+    /**
+     * Number of responses per selected option; empty for free-text questions.
+     */
+    private Map<String, Long> answerDistribution;
+}
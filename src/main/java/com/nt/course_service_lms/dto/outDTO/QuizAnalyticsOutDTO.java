@@ -0,0 +1,65 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object carrying the precomputed analytics of a quiz.
+ * <p>
+ * Scores are percentages (0-100). Values are read from running aggregates, not computed from the
+ * individual responses at request time.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAnalyticsOutDTO {
+
+    /**
+     * The ID of the quiz.
+     */
+    private Long quizId;
+
+    /**
+     * Number of graded attempts.
+     */
+    private Long attemptCount;
+
+    /**
+     * Mean percentage score, {@code null} without attempts.
+     */
+    private BigDecimal averageScore;
+
+    /**
+     * Median percentage score at whole-percent resolution, {@code null} without attempts.
+     */
+    private BigDecimal medianScore;
+
+    /**
+     * The quiz passing score the pass rate is measured against.
+     */
+    private BigDecimal passingScore;
+
+    /**
+     * Share of attempts at or above the passing score (0-1), {@code null} without attempts or passing score.
+     * Attempts are classified when graded; rebuild the analytics after changing the passing score.
+     */
+    private BigDecimal passRate;
+
+    /**
+     * Per-question aggregates.
+     */
+    private List<QuestionAnalyticsOutDTO> questions;
+
+    /**
+     * Timestamp of the last aggregate update.
+     */
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object returned when a user starts a quiz.
+ * <p>
+ * Combines the admitted attempt, the questions selected for it and the time by which it must be
+ * submitted, so the quiz page opens with a single request.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizStartOutDTO {
+
+    /**
+     * The attempt that was started, or the attempt already in progress.
+     */
+    private QuizAttemptOutDTO attempt;
+
+    /**
+     * The questions selected for the attempt, without correct answers and explanations.
+     */
+    private List<QuizQuestionOutDTO> questions;
+
+    /**
+     * Time limit of the quiz in minutes, or null if the quiz is untimed.
+     */
+    private Integer timeLimit;
+
+    /**
+     * Time by which the attempt must be submitted, or null if the quiz is untimed.
+     */
+    private LocalDateTime deadline;
+}
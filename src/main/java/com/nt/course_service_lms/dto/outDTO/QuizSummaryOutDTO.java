@@ -0,0 +1,53 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO summarizing a quiz for listing in the course player.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSummaryOutDTO {
+
+    /**
+     * ID of the quiz.
+     */
+    private Long quizId;
+
+    /**
+     * Title of the quiz.
+     */
+    private String title;
+
+    /**
+     * Description of the quiz.
+     */
+    private String description;
+
+    /**
+     * Time limit in minutes, or {@code null} if unlimited.
+     */
+    private Integer timeLimit;
+
+    /**
+     * Number of attempts a user may make.
+     */
+    private Integer attemptsAllowed;
+
+    /**
+     * Score needed to pass.
+     */
+    private BigDecimal passingScore;
+
+    /**
+     * Number of questions shown per attempt, or {@code null} for all.
+     */
+    private Integer questionsToShow;
+}
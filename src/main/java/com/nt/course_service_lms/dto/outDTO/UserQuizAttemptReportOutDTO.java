@@ -0,0 +1,33 @@
+package com.nt.course_service_lms.dto.outDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact quiz attempt report for a single user across courses.
+ * <p>
+ * Question text, options and correct answers are listed once in {@link #questions}; the responses
+ * inside {@link #courses} only carry the question ID and leave those fields out.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserQuizAttemptReportOutDTO {
+
+    /**
+     * Dictionary of every question of the quizzes in the report, including unanswered ones, keyed by question ID.
+     */
+    private Map<Long, QuizQuestionOutDTO> questions;
+
+    /**
+     * Quiz attempt details grouped by course.
+     */
+    private List<QuizAttemptDetailsByUserIDOutDTO> courses;
+}
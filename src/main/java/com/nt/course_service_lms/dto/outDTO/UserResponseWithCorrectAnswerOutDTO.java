@@ -1,6 +1,7 @@
 package com.nt.course_service_lms.dto.outDTO;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -46,7 +47,9 @@ public class UserResponseWithCorrectAnswerOutDTO {
 
     /**
      * The text of the quiz question.
+     * Omitted in compact reports, which carry it once in the question dictionary.
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String questionText;
 
     /**
@@ -59,6 +62,7 @@ public class UserResponseWithCorrectAnswerOutDTO {
      * The possible options for the question, if applicable.
      * Typically, a serialized list or JSON string.
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String options;
 
     /**
@@ -71,6 +75,7 @@ public class UserResponseWithCorrectAnswerOutDTO {
      * The correct answer to the question.
      * Used for comparison and feedback.
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String correctAnswer;
 
     /**
@@ -0,0 +1,113 @@
+package com.nt.course_service_lms.entity;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Stored media object shared by course contents with identical files.
+ * Maps to the media_object table; uploads are deduplicated by the SHA-256 of their bytes, and the
+ * object is deleted from storage only when its reference count drops to zero.
+ */
+@Entity
+@Table(name = "media_object", uniqueConstraints = @UniqueConstraint(name = "uk_media_object_folder_hash",
+        columnNames = {"folder", "content_hash"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaObject {
+
+    /**
+     * Storage key of the object, {@code <folder>/<fileName>}.
+     */
+    @Id
+    @Column(name = "object_key")
+    private String objectKey;
+
+    /**
+     * Folder the object is stored in, i.e. the course content type.
+     */
+    @Column(name = "folder", nullable = false)
+    private String folder;
+
+    /**
+     * Generated file name, stored as the resource link of the referencing course contents.
+     */
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    /**
+     * Hex-encoded SHA-256 of the uploaded bytes.
+     */
+    @Column(name = "content_hash", nullable = false, length = CommonConstants.CONTENT_HASH_LENGTH)
+    private String contentHash;
+
+    /**
+     * Size of the uploaded file in bytes.
+     */
+    @Column(name = "content_length", nullable = false)
+    private long contentLength;
+
+    /**
+     * Number of course contents referencing the object.
+     */
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    /**
+     * Timestamp of the first upload.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp of the last reference change.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Equality check based on the object fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MediaObject that)) {
+            return false;
+        }
+        return contentLength == that.contentLength
+                && refCount == that.refCount
+                && Objects.equals(objectKey, that.objectKey)
+                && Objects.equals(folder, that.folder)
+                && Objects.equals(fileName, that.fileName)
+                && Objects.equals(contentHash, that.contentHash)
+                && Objects.equals(createdAt, that.createdAt)
+                && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    /**
+     * Hash code based on the object fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(objectKey, folder, fileName, contentHash, contentLength, refCount, createdAt, updatedAt);
+    }
+}
@@ -1,6 +1,8 @@
 package com.nt.course_service_lms.entity;
 
+import com.nt.course_service_lms.constants.CacheConstants;
 import com.nt.course_service_lms.constants.CommonConstants;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -11,6 +13,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -21,12 +25,18 @@ import java.util.Objects;
  * This entity holds the details of a quiz including configuration settings
  * such as time limits, attempts allowed, and scoring parameters.
  * This class maps to the quiz table in the database.
+ * <p>
+ * Quizzes are read on every attempt and submission but edited rarely, so they are held in the
+ * second-level cache; see {@code QuizCacheService} for eviction on writes.
+ * </p>
  *
  * @version 1.0
  * @since 1.0
  */
 @Entity
 @Table(name = "quiz")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConstants.QUIZ_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -38,10 +39,12 @@ public class QuizActivityLog {
 
     /**
      * Primary key for the quiz activity log entry.
-     * Auto-generated using database identity strategy.
+     * Drawn from a pooled sequence so that inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quiz_activity_log_seq")
+    @SequenceGenerator(name = "quiz_activity_log_seq", sequenceName = "quiz_activity_log_seq",
+            allocationSize = CommonConstants.ID_ALLOCATION_SIZE)
     @Column(name = "log_id")
     private Integer logId;
 
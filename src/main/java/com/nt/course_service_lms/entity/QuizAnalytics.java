@@ -0,0 +1,107 @@
+package com.nt.course_service_lms.entity;
+
+import com.nt.course_service_lms.constants.QuizAnalyticsConstants;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Running score aggregates of a quiz, maintained incrementally on every submission.
+ * Maps to the quiz_analytics table; the score histogram lives in quiz_score_histogram.
+ */
+@Entity
+@Table(name = "quiz_analytics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAnalytics {
+
+    /**
+     * ID of the quiz these aggregates belong to.
+     */
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    /**
+     * Number of graded attempts.
+     */
+    @Column(name = "attempt_count", nullable = false)
+    private long attemptCount;
+
+    /**
+     * Number of graded attempts at or above the quiz passing score.
+     */
+    @Column(name = "pass_count", nullable = false)
+    private long passCount;
+
+    /**
+     * Sum of the percentage scores of all graded attempts.
+     */
+    @Column(name = "percentage_sum", nullable = false,
+            precision = QuizAnalyticsConstants.PERCENTAGE_SUM_PRECISION, scale = 2)
+    private BigDecimal percentageSum;
+
+    /**
+     * Number of attempts per whole-percent score bucket (0-100), used for the median.
+     */
+    @ElementCollection
+    @CollectionTable(name = "quiz_score_histogram", joinColumns = @JoinColumn(name = "quiz_id"))
+    @MapKeyColumn(name = "bucket")
+    @Column(name = "attempt_count", nullable = false)
+    @Builder.Default
+    private Map<Integer, Long> scoreHistogram = new HashMap<>();
+
+    /**
+     * Timestamp of the last update.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Equality check based on the aggregate fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuizAnalytics that)) {
+            return false;
+        }
+        return attemptCount == that.attemptCount
+                && passCount == that.passCount
+                && Objects.equals(quizId, that.quizId)
+                && Objects.equals(percentageSum, that.percentageSum)
+                && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    /**
+     * Hash code based on the aggregate fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(quizId, attemptCount, passCount, percentageSum, updatedAt);
+    }
+}
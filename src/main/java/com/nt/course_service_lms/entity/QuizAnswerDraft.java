@@ -0,0 +1,84 @@
+package com.nt.course_service_lms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Autosaved answer of an attempt that is still in progress.
+ * Maps to the quiz_answer_draft staging table; drafts are graded and promoted to user responses on submit.
+ */
+@Entity
+@Table(name = "quiz_answer_draft")
+@IdClass(QuizAnswerDraftId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAnswerDraft {
+
+    /**
+     * ID of the quiz attempt.
+     */
+    @Id
+    @Column(name = "quiz_attempt_id")
+    private Long quizAttemptId;
+
+    /**
+     * ID of the answered question.
+     */
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    /**
+     * The latest answer given to the question.
+     */
+    @Column(name = "user_answer", nullable = false, columnDefinition = "TEXT")
+    private String userAnswer;
+
+    /**
+     * Timestamp of the last save of this answer.
+     */
+    @Column(name = "saved_at", nullable = false)
+    private LocalDateTime savedAt;
+
+    /**
+     * Equality check based on all fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuizAnswerDraft that)) {
+            return false;
+        }
+        return Objects.equals(quizAttemptId, that.quizAttemptId)
+                && Objects.equals(questionId, that.questionId)
+                && Objects.equals(userAnswer, that.userAnswer)
+                && Objects.equals(savedAt, that.savedAt);
+    }
+
+    /**
+     * Hash code based on all fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(quizAttemptId, questionId, userAnswer, savedAt);
+    }
+}
@@ -0,0 +1,26 @@
+package com.nt.course_service_lms.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link QuizAnswerDraft}: one draft answer per attempt and question.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizAnswerDraftId implements Serializable {
+
+    /**
+     * ID of the quiz attempt.
+     */
+    private Long quizAttemptId;
+
+    /**
+     * ID of the answered question.
+     */
+    private Long questionId;
+}
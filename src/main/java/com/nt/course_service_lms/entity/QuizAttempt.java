@@ -12,6 +12,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -67,10 +68,63 @@ public class QuizAttempt {
 
     /**
      * JSON or text representation of the score details.
+     * <p>
+     * Kept for API compatibility only; reports and aggregates read the typed score columns below.
+     * </p>
      */
     @Column(name = "score_details", columnDefinition = "TEXT")
     private String scoreDetails;
 
+    /**
+     * Total points earned in the attempt.
+     */
+    @Column(name = "total_score", precision = CommonConstants.SCORE_PRECISION, scale = 2)
+    private BigDecimal totalScore;
+
+    /**
+     * Maximum points achievable in the attempt.
+     */
+    @Column(name = "max_score", precision = CommonConstants.SCORE_PRECISION, scale = 2)
+    private BigDecimal maxScore;
+
+    /**
+     * Number of correctly answered questions.
+     */
+    @Column(name = "correct_count")
+    private Integer correctCount;
+
+    /**
+     * Number of questions in the attempt.
+     */
+    @Column(name = "question_count")
+    private Integer questionCount;
+
+    /**
+     * Score as a percentage of the maximum score, 0-100.
+     */
+    @Column(name = "percentage_score", precision = CommonConstants.PERCENTAGE_PRECISION, scale = 2)
+    private BigDecimal percentageScore;
+
+    /**
+     * How the attempt was submitted (e.g., MANUAL, AUTO_TIMEOUT).
+     */
+    @Column(name = "submission_type", length = CommonConstants.NUMBER_TWENTY)
+    private String submissionType;
+
+    /**
+     * Timestamp when the attempt was submitted for scoring.
+     */
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+
+    /**
+     * Whether the graded attempt is included in the quiz analytics aggregates.
+     * Only set by the analytics bulk updates, never written through the entity.
+     */
+    @Column(name = "analytics_applied", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean analyticsApplied;
+
     /**
      * Status of the quiz attempt (e.g., IN_PROGRESS, COMPLETED).
      */
@@ -110,6 +164,13 @@ public class QuizAttempt {
                 && Objects.equals(startedAt, that.startedAt)
                 && Objects.equals(finishedAt, that.finishedAt)
                 && Objects.equals(scoreDetails, that.scoreDetails)
+                && Objects.equals(totalScore, that.totalScore)
+                && Objects.equals(maxScore, that.maxScore)
+                && Objects.equals(correctCount, that.correctCount)
+                && Objects.equals(questionCount, that.questionCount)
+                && Objects.equals(percentageScore, that.percentageScore)
+                && Objects.equals(submissionType, that.submissionType)
+                && Objects.equals(submittedAt, that.submittedAt)
                 && Objects.equals(status, that.status)
                 && Objects.equals(createdAt, that.createdAt)
                 && Objects.equals(updatedAt, that.updatedAt);
@@ -123,6 +184,7 @@ public class QuizAttempt {
     @Override
     public int hashCode() {
         return Objects.hash(quizAttemptId, attempt, quizId, userId, startedAt, finishedAt,
-                scoreDetails, status, createdAt, updatedAt);
+                scoreDetails, totalScore, maxScore, correctCount, questionCount, percentageScore,
+                submissionType, submittedAt, status, createdAt, updatedAt);
     }
 }
@@ -0,0 +1,99 @@
+package com.nt.course_service_lms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Per-(user, quiz) attempt bookkeeping used to admit new attempts.
+ * Maps to the quiz_attempt_counter table; admission is a conditional UPDATE on this row,
+ * so it does not depend on the length of the attempt history and is safe under concurrent starts.
+ */
+@Entity
+@Table(name = "quiz_attempt_counter")
+@IdClass(QuizAttemptCounterId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAttemptCounter {
+
+    /**
+     * ID of the user taking the quiz.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * ID of the quiz being attempted.
+     */
+    @Id
+    @Column(name = "quiz_id")
+    private Long quizId;
+
+    /**
+     * Number of attempts started and counted against the quiz attempt limit, including the active one.
+     */
+    @Column(name = "attempts_used", nullable = false)
+    private int attemptsUsed;
+
+    /**
+     * Highest attempt number handed out so far; the next attempt gets this value plus one.
+     */
+    @Column(name = "last_attempt", nullable = false)
+    private long lastAttempt;
+
+    /**
+     * ID of the attempt currently in progress, or {@code null} when none is active.
+     */
+    @Column(name = "active_attempt_id")
+    private Long activeAttemptId;
+
+    /**
+     * Timestamp of the last update.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Equality check based on the counter fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuizAttemptCounter that)) {
+            return false;
+        }
+        return attemptsUsed == that.attemptsUsed
+                && lastAttempt == that.lastAttempt
+                && Objects.equals(userId, that.userId)
+                && Objects.equals(quizId, that.quizId)
+                && Objects.equals(activeAttemptId, that.activeAttemptId)
+                && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    /**
+     * Hash code based on the counter fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, quizId, attemptsUsed, lastAttempt, activeAttemptId, updatedAt);
+    }
+}
@@ -0,0 +1,26 @@
+package com.nt.course_service_lms.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite primary key of {@link QuizAttemptCounter}: one counter row per user and quiz.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuizAttemptCounterId implements Serializable {
+
+    /**
+     * ID of the user taking the quiz.
+     */
+    private Long userId;
+
+    /**
+     * ID of the quiz being attempted.
+     */
+    private Long quizId;
+}
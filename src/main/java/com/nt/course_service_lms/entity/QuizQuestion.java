@@ -1,16 +1,21 @@
 package com.nt.course_service_lms.entity;
 
+import com.nt.course_service_lms.constants.CacheConstants;
 import com.nt.course_service_lms.constants.CommonConstants;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,9 +24,12 @@ import java.util.Objects;
 /**
  * Entity representing a question within a quiz.
  * Maps to the quiz_question table.
+ * Cached in the second-level cache alongside {@link Quiz}.
  */
 @Entity
 @Table(name = "quiz_question")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConstants.QUIZ_QUESTION_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -85,9 +93,18 @@ public class QuizQuestion {
     private Boolean required;
 
     /**
-     * Position of the question within the quiz (ordering).
+     * Sparse sort key of the question within the quiz. Keys are spaced by
+     * {@link CommonConstants#QUESTION_RANK_GAP}, so an insert or move takes a key between its new
+     * neighbours and writes no other row. Unique per quiz; the database checks uniqueness at commit.
      */
-    @Column(name = "question_position", nullable = false)
+    @Column(name = "rank_key", nullable = false)
+    private Long rankKey;
+
+    /**
+     * 1-based position of the question within the quiz (ordering).
+     * Derived from {@link #rankKey} when questions are read in order; not stored.
+     */
+    @Transient
     private Integer position;
 
     /**
@@ -125,6 +142,7 @@ public class QuizQuestion {
                 && Objects.equals(points, that.points)
                 && Objects.equals(explanation, that.explanation)
                 && Objects.equals(required, that.required)
+                && Objects.equals(rankKey, that.rankKey)
                 && Objects.equals(position, that.position)
                 && Objects.equals(createdAt, that.createdAt)
                 && Objects.equals(updatedAt, that.updatedAt);
@@ -138,6 +156,6 @@ public class QuizQuestion {
     @Override
     public int hashCode() {
         return Objects.hash(questionId, quizId, questionText, questionType, options, correctAnswer,
-                points, explanation, required, position, createdAt, updatedAt);
+                points, explanation, required, rankKey, position, createdAt, updatedAt);
     }
 }
@@ -0,0 +1,105 @@
+package com.nt.course_service_lms.entity;
+
+import com.nt.course_service_lms.constants.QuizAnalyticsConstants;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Running response aggregates of a single quiz question.
+ * Maps to the quiz_question_analytics table; answer counts live in quiz_question_answer_analytics.
+ */
+@Entity
+@Table(name = "quiz_question_analytics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizQuestionAnalytics {
+
+    /**
+     * ID of the question these aggregates belong to.
+     */
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    /**
+     * ID of the quiz the question belongs to.
+     */
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    /**
+     * Number of responses given to the question.
+     */
+    @Column(name = "response_count", nullable = false)
+    private long responseCount;
+
+    /**
+     * Number of correct responses.
+     */
+    @Column(name = "correct_count", nullable = false)
+    private long correctCount;
+
+    /**
+     * Number of responses per selected option; empty for free-text questions.
+     */
+    @ElementCollection
+    @CollectionTable(name = "quiz_question_answer_analytics", joinColumns = @JoinColumn(name = "question_id"))
+    @MapKeyColumn(name = "answer", length = QuizAnalyticsConstants.MAX_ANSWER_KEY_LENGTH)
+    @Column(name = "response_count", nullable = false)
+    @Builder.Default
+    private Map<String, Long> answerCounts = new HashMap<>();
+
+    /**
+     * Timestamp of the last update.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Equality check based on the aggregate fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuizQuestionAnalytics that)) {
+            return false;
+        }
+        return responseCount == that.responseCount
+                && correctCount == that.correctCount
+                && Objects.equals(questionId, that.questionId)
+                && Objects.equals(quizId, that.quizId)
+                && Objects.equals(updatedAt, that.updatedAt);
+    }
+
+    /**
+     * Hash code based on the aggregate fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(questionId, quizId, responseCount, correctCount, updatedAt);
+    }
+}
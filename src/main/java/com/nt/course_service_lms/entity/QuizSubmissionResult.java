@@ -0,0 +1,83 @@
+package com.nt.course_service_lms.entity;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Final result of a quiz submission, stored once per attempt so that retried submissions can be
+ * answered with the original result instead of failing.
+ * Maps to the quiz_submission_result table.
+ */
+@Entity
+@Table(name = "quiz_submission_result")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizSubmissionResult {
+
+    /**
+     * ID of the submitted quiz attempt.
+     */
+    @Id
+    @Column(name = "quiz_attempt_id")
+    private Long quizAttemptId;
+
+    /**
+     * Idempotency key sent with the original submission, if any.
+     */
+    @Column(name = "idempotency_key", length = CommonConstants.IDEMPOTENCY_KEY_MAX_LENGTH)
+    private String idempotencyKey;
+
+    /**
+     * The submission result as returned to the client, serialized as JSON.
+     */
+    @Column(name = "result", nullable = false, columnDefinition = "TEXT")
+    private String result;
+
+    /**
+     * Timestamp when the submission was recorded.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Equality check based on all fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuizSubmissionResult that)) {
+            return false;
+        }
+        return Objects.equals(quizAttemptId, that.quizAttemptId)
+                && Objects.equals(idempotencyKey, that.idempotencyKey)
+                && Objects.equals(result, that.result)
+                && Objects.equals(createdAt, that.createdAt);
+    }
+
+    /**
+     * Hash code based on all fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(quizAttemptId, idempotencyKey, result, createdAt);
+    }
+}
@@ -0,0 +1,89 @@
+package com.nt.course_service_lms.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Pending deletion of a media object from storage.
+ * Maps to the storage_cleanup_task outbox table; rows are written in the same transaction as the
+ * database change that made the object unused and processed by a background worker.
+ */
+@Entity
+@Table(name = "storage_cleanup_task")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StorageCleanupTask {
+
+    /**
+     * Storage key of the object to delete, {@code <folder>/<fileName>}.
+     */
+    @Id
+    @Column(name = "object_key")
+    private String objectKey;
+
+    /**
+     * Number of failed delete attempts.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * Earliest time of the next delete attempt.
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Error of the last failed attempt.
+     */
+    @Column(name = "last_error")
+    private String lastError;
+
+    /**
+     * Timestamp when the deletion was requested.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Equality check based on the task fields.
+     *
+     * @param o Object to compare
+     * @return true if objects are equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StorageCleanupTask that)) {
+            return false;
+        }
+        return attempts == that.attempts
+                && Objects.equals(objectKey, that.objectKey)
+                && Objects.equals(nextAttemptAt, that.nextAttemptAt)
+                && Objects.equals(lastError, that.lastError)
+                && Objects.equals(createdAt, that.createdAt);
+    }
+
+    /**
+     * Hash code based on the task fields.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(objectKey, attempts, nextAttemptAt, lastError, createdAt);
+    }
+}
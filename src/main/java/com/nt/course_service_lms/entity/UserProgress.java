@@ -1,10 +1,12 @@
 package com.nt.course_service_lms.entity;
 
+import com.nt.course_service_lms.constants.CommonConstants;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,9 +30,12 @@ public class UserProgress {
 
     /**
      * Unique identifier for the user progress record.
+     * Drawn from a pooled sequence so that inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_progress_seq")
+    @SequenceGenerator(name = "user_progress_seq", sequenceName = "user_progress_seq",
+            allocationSize = CommonConstants.ID_ALLOCATION_SIZE)
     private Long progressId;
 
     /**
@@ -6,6 +6,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,9 +31,12 @@ public class UserResponse {
 
     /**
      * Unique identifier for the user response.
+     * Drawn from a pooled sequence so that bulk inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_response_seq")
+    @SequenceGenerator(name = "user_response_seq", sequenceName = "user_response_seq",
+            allocationSize = CommonConstants.ID_ALLOCATION_SIZE)
     @Column(name = "response_id")
     private Long responseId;
 
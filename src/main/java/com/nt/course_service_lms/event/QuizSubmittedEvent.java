@@ -0,0 +1,26 @@
+package com.nt.course_service_lms.event;
+
+import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Published when a quiz attempt has been graded and completed.
+ * <p>
+ * Listeners receive it after the submitting transaction commits, so the attempt and its responses
+ * are visible to them.
+ * </p>
+ *
+ * @param quizAttemptId   the completed attempt
+ * @param quizId          the quiz the attempt belongs to
+ * @param percentageScore the graded percentage score, 0-100
+ * @param responses       the responses saved with the submission, may be empty
+ */
+public record QuizSubmittedEvent(
+        Long quizAttemptId,
+        Long quizId,
+        BigDecimal percentageScore,
+        List<UserResponseOutDTO> responses
+) {
+}
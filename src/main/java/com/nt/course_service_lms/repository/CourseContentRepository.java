@@ -2,6 +2,8 @@ package com.nt.course_service_lms.repository;
 
 import com.nt.course_service_lms.entity.CourseContent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -43,4 +45,30 @@ public interface CourseContentRepository extends JpaRepository<CourseContent, Lo
      * or an empty Optional if no match exists
      */
     Optional<CourseContent> findByCourseIdAndCourseContentId(Long courseId, Long courseContentId);
+
+    /**
+     * Checks whether any course content links to a stored file.
+     *
+     * @param contentType  the content type, i.e. the storage folder
+     * @param resourceLink the stored file name
+     * @return true if the file is referenced
+     */
+    boolean existsByContentTypeAndResourceLink(String contentType, String resourceLink);
+
+    /**
+     * Retrieves the distinct content types, i.e. the storage folders in use.
+     *
+     * @return the content types
+     */
+    @Query("SELECT DISTINCT c.contentType FROM CourseContent c WHERE c.contentType IS NOT NULL")
+    List<String> findDistinctContentTypes();
+
+    /**
+     * Retrieves the stored file names linked by the course contents of one type.
+     *
+     * @param contentType the content type, i.e. the storage folder
+     * @return the file names
+     */
+    @Query("SELECT c.resourceLink FROM CourseContent c WHERE c.contentType = :contentType AND c.resourceLink IS NOT NULL")
+    List<String> findResourceLinksByContentType(@Param("contentType") String contentType);
 }
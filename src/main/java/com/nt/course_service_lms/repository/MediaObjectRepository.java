@@ -0,0 +1,92 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.MediaObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link MediaObject} entities.
+ * <p>
+ * The updates are transactional on their own so they also work when called outside a service
+ * transaction; inside one they join it.
+ * </p>
+ */
+@Repository
+public interface MediaObjectRepository extends JpaRepository<MediaObject, String> {
+
+    /**
+     * Retrieves the stored object with the given content in a folder.
+     *
+     * @param folder      the folder, i.e. the course content type
+     * @param contentHash the hex-encoded SHA-256 of the content
+     * @return the object if identical content was uploaded before
+     */
+    Optional<MediaObject> findByFolderAndContentHash(String folder, String contentHash);
+
+    /**
+     * Records the first reference to a newly uploaded object unless identical content was
+     * registered concurrently; the UNIQUE (folder, content_hash) constraint arbitrates. The
+     * conflict target is left out, as the H2 PostgreSQL mode used by the tests only accepts the bare
+     * form; the primary key cannot conflict since object keys are generated from a random UUID.
+     *
+     * @param objectKey     the storage key
+     * @param folder        the folder
+     * @param fileName      the generated file name
+     * @param contentHash   the hex-encoded SHA-256 of the content
+     * @param contentLength the size in bytes
+     * @param now           the creation timestamp
+     * @return 1 if registered, 0 if another upload of the same content won
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO media_object (object_key, folder, file_name, content_hash, content_length, ref_count,"
+            + " created_at, updated_at) VALUES (:objectKey, :folder, :fileName, :contentHash, :contentLength, 1, :now, :now)"
+            + " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("objectKey") String objectKey, @Param("folder") String folder,
+                       @Param("fileName") String fileName, @Param("contentHash") String contentHash,
+                       @Param("contentLength") long contentLength, @Param("now") LocalDateTime now);
+
+    /**
+     * Adds a reference to an object. The UPDATE locks the row, so it waits for a concurrent
+     * release and then sees whether the object still exists.
+     *
+     * @param objectKey the storage key
+     * @param now       the update timestamp
+     * @return 1 if the reference was added, 0 if the object is no longer tracked
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount + 1, m.updatedAt = :now WHERE m.objectKey = :objectKey")
+    int addReference(@Param("objectKey") String objectKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Removes a reference from an object.
+     *
+     * @param objectKey the storage key
+     * @param now       the update timestamp
+     * @return 1 if the object is tracked, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount - 1, m.updatedAt = :now"
+            + " WHERE m.objectKey = :objectKey AND m.refCount > 0")
+    int removeReference(@Param("objectKey") String objectKey, @Param("now") LocalDateTime now);
+
+    /**
+     * Stops tracking an object once nothing references it.
+     *
+     * @param objectKey the storage key
+     * @return 1 if the object was unreferenced and its row removed, 0 if it is still referenced
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM MediaObject m WHERE m.objectKey = :objectKey AND m.refCount <= 0")
+    int deleteUnreferenced(@Param("objectKey") String objectKey);
+}
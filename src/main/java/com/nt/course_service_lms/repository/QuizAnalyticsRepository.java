@@ -0,0 +1,56 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.QuizAnalytics;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link QuizAnalytics} entities.
+ */
+@Repository
+public interface QuizAnalyticsRepository extends JpaRepository<QuizAnalytics, Long> {
+
+    /**
+     * Loads the aggregates of a quiz with a row lock, serializing concurrent incremental updates.
+     *
+     * @param quizId the ID of the quiz
+     * @return the locked aggregates if the row exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM QuizAnalytics a WHERE a.quizId = :quizId")
+    Optional<QuizAnalytics> findForUpdate(@Param("quizId") Long quizId);
+
+    /**
+     * Creates the empty aggregates of a quiz unless they exist, in the caller's transaction.
+     * A concurrent insert of the same row makes this one wait for it and then do nothing.
+     *
+     * @param quizId the ID of the quiz
+     * @param now    the update timestamp
+     * @return 1 if the row was created, 0 if it already existed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = CacheConstants.HINT_NATIVE_SPACES, value = "quiz_analytics"))
+    @Query(value = "INSERT INTO quiz_analytics (quiz_id, attempt_count, pass_count, percentage_sum, updated_at)"
+            + " VALUES (:quizId, 0, 0, 0, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("quizId") Long quizId, @Param("now") LocalDateTime now);
+
+    /**
+     * Loads the aggregates of a quiz together with its score histogram.
+     *
+     * @param quizId the ID of the quiz
+     * @return the aggregates if the row exists
+     */
+    @EntityGraph(attributePaths = "scoreHistogram")
+    Optional<QuizAnalytics> findWithHistogramByQuizId(Long quizId);
+}
@@ -0,0 +1,37 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
+import com.nt.course_service_lms.entity.QuizAnswerDraftId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link QuizAnswerDraft} entities.
+ */
+@Repository
+public interface QuizAnswerDraftRepository extends JpaRepository<QuizAnswerDraft, QuizAnswerDraftId>,
+        QuizAnswerDraftRepositoryCustom {
+
+    /**
+     * Retrieves the autosaved answers of an attempt.
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @return drafts ordered by question ID
+     */
+    List<QuizAnswerDraft> findByQuizAttemptIdOrderByQuestionId(Long quizAttemptId);
+
+    /**
+     * Removes the autosaved answers of an attempt in a single statement.
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @return number of drafts removed
+     */
+    @Modifying
+    @Query("DELETE FROM QuizAnswerDraft d WHERE d.quizAttemptId = :quizAttemptId")
+    int deleteByQuizAttemptId(@Param("quizAttemptId") Long quizAttemptId);
+}
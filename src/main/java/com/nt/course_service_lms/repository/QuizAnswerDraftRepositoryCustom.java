@@ -0,0 +1,23 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
+
+import java.util.Collection;
+
+/**
+ * Custom statements on {@code quiz_answer_draft} that {@link org.springframework.data.jpa.repository.JpaRepository}
+ * does not offer.
+ */
+public interface QuizAnswerDraftRepositoryCustom {
+
+    /**
+     * Persists drafts known to be new.
+     * <p>
+     * Drafts have assigned composite IDs, so {@code saveAll} would merge them and issue a SELECT per
+     * draft to find out whether it exists. The caller must have checked that none of them does.
+     * </p>
+     *
+     * @param drafts the new drafts
+     */
+    void persistAll(Collection<QuizAnswerDraft> drafts);
+}
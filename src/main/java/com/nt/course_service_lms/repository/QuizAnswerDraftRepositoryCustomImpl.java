@@ -0,0 +1,27 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.Collection;
+
+/**
+ * Persists new drafts as declared in {@link QuizAnswerDraftRepositoryCustom}.
+ */
+public class QuizAnswerDraftRepositoryCustomImpl implements QuizAnswerDraftRepositoryCustom {
+
+    /**
+     * Entity manager bound to the current transaction.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void persistAll(final Collection<QuizAnswerDraft> drafts) {
+        drafts.forEach(entityManager::persist);
+    }
+}
@@ -0,0 +1,106 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.constants.CacheConstants;
+import com.nt.course_service_lms.entity.QuizAttemptCounter;
+import com.nt.course_service_lms.entity.QuizAttemptCounterId;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link QuizAttemptCounter} entities.
+ */
+@Repository
+public interface QuizAttemptCounterRepository extends JpaRepository<QuizAttemptCounter, QuizAttemptCounterId> {
+
+    /**
+     * Retrieves the counter of a user and quiz.
+     *
+     * @param userId the ID of the user
+     * @param quizId the ID of the quiz
+     * @return the counter if the user has started the quiz before
+     */
+    Optional<QuizAttemptCounter> findByUserIdAndQuizId(Long userId, Long quizId);
+
+    /**
+     * Checks whether a counter row exists for a user and quiz.
+     *
+     * @param userId the ID of the user
+     * @param quizId the ID of the quiz
+     * @return true if the row exists
+     */
+    boolean existsByUserIdAndQuizId(Long userId, Long quizId);
+
+    /**
+     * Creates the empty counter of a user and quiz unless it exists.
+     * <p>
+     * Runs in the caller's transaction. If a concurrent transaction inserted the same row and has not
+     * committed yet, the insert waits for it and then does nothing. The conflict target is left out because
+     * the primary key is the only unique constraint and H2's PostgreSQL mode accepts no target.
+     * </p>
+     *
+     * @param userId the ID of the user
+     * @param quizId the ID of the quiz
+     * @param now    the creation timestamp
+     * @return 1 if the row was created, 0 if it already existed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = CacheConstants.HINT_NATIVE_SPACES, value = "quiz_attempt_counter"))
+    @Query(value = "INSERT INTO quiz_attempt_counter (user_id, quiz_id, attempts_used, last_attempt, updated_at)"
+            + " VALUES (:userId, :quizId, 0, 0, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("quizId") Long quizId, @Param("now") LocalDateTime now);
+
+    /**
+     * Claims the next attempt if no attempt is active and the limit is not reached.
+     * <p>
+     * The conditional UPDATE locks the row, so a concurrent claim waits for this transaction and then
+     * re-evaluates the condition against the committed active attempt.
+     * </p>
+     *
+     * @param userId          the ID of the user
+     * @param quizId          the ID of the quiz
+     * @param attemptsAllowed the attempt limit of the quiz
+     * @param now             the update timestamp
+     * @return 1 if the attempt was admitted, 0 otherwise
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE QuizAttemptCounter c SET c.attemptsUsed = c.attemptsUsed + 1, c.lastAttempt = c.lastAttempt + 1,"
+            + " c.updatedAt = :now WHERE c.userId = :userId AND c.quizId = :quizId"
+            + " AND c.activeAttemptId IS NULL AND c.attemptsUsed < :attemptsAllowed")
+    int claimAttempt(@Param("userId") Long userId, @Param("quizId") Long quizId,
+                     @Param("attemptsAllowed") int attemptsAllowed, @Param("now") LocalDateTime now);
+
+    /**
+     * Clears the active attempt pointer once that attempt leaves IN_PROGRESS.
+     *
+     * @param quizAttemptId the ID of the finished attempt
+     * @param now           the update timestamp
+     * @return number of counters updated
+     */
+    @Modifying
+    @Query("UPDATE QuizAttemptCounter c SET c.activeAttemptId = NULL, c.updatedAt = :now"
+            + " WHERE c.activeAttemptId = :quizAttemptId")
+    int releaseActiveAttempt(@Param("quizAttemptId") Long quizAttemptId, @Param("now") LocalDateTime now);
+
+    /**
+     * Gives back the attempt of a deleted quiz attempt, clearing the active pointer if it referenced it.
+     * Must run before the attempt row itself is deleted.
+     *
+     * @param quizAttemptId the ID of the attempt being deleted
+     * @param now           the update timestamp
+     * @return number of counters updated
+     */
+    @Modifying
+    @Query("UPDATE QuizAttemptCounter c SET c.attemptsUsed = c.attemptsUsed - 1,"
+            + " c.activeAttemptId = CASE WHEN c.activeAttemptId = :quizAttemptId THEN NULL ELSE c.activeAttemptId END,"
+            + " c.updatedAt = :now WHERE c.attemptsUsed > 0 AND EXISTS (SELECT 1 FROM QuizAttempt qa"
+            + " WHERE qa.quizAttemptId = :quizAttemptId AND qa.userId = c.userId AND qa.quizId = c.quizId)")
+    int releaseDeletedAttempt(@Param("quizAttemptId") Long quizAttemptId, @Param("now") LocalDateTime now);
+}
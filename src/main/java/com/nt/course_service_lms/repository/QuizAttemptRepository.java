@@ -1,11 +1,18 @@
 package com.nt.course_service_lms.repository;
 
+import com.nt.course_service_lms.constants.CacheConstants;
 import com.nt.course_service_lms.entity.QuizAttempt;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -111,6 +118,17 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     @Query("SELECT qa FROM QuizAttempt qa WHERE qa.userId = :userId AND qa.quizId = :quizId AND qa.status IN ('IN_PROGRESS')")
     Optional<QuizAttempt> findActiveAttemptByUserAndQuiz(@Param("userId") Long userId, @Param("quizId") Long quizId);
 
+    /**
+     * Locks the row of a quiz attempt for the rest of the transaction, serializing concurrent submissions
+     * and answer autosaves of the same attempt.
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @return the ID if the attempt exists
+     */
+    @Query(value = "SELECT quiz_attempt_id FROM quiz_attempt WHERE quiz_attempt_id = :quizAttemptId FOR UPDATE",
+            nativeQuery = true)
+    Optional<Long> lockForSubmission(@Param("quizAttemptId") Long quizAttemptId);
+
     /**
      * Retrieves user quiz attempt details along with quiz metadata for a given course.
      *
@@ -121,7 +139,9 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
     @Query(value = """
             SELECT qa.quiz_attempt_id, qa.attempt, qa.quiz_id, qa.started_at, qa.finished_at,
                    qa.score_details, qa.status, qa.created_at, qa.updated_at,
-                   q.title, q.description, q.time_limit, q.attempts_allowed, q.passing_score
+                   q.title, q.description, q.time_limit, q.attempts_allowed, q.passing_score,
+                   qa.total_score, qa.max_score, qa.correct_count, qa.question_count,
+                   qa.percentage_score, qa.submission_type, qa.submitted_at
             FROM quiz_attempt qa
             JOIN quiz q ON qa.quiz_id = q.quiz_id
             WHERE qa.user_id = :userId
@@ -171,7 +191,14 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
                 c.level as course_level,
                 c.is_active as course_active,
                 c.created_at as course_created_at,
-                c.updated_at as course_updated_at
+                c.updated_at as course_updated_at,
+                qa.total_score,
+                qa.max_score,
+                qa.correct_count,
+                qa.question_count,
+                qa.percentage_score,
+                qa.submission_type,
+                qa.submitted_at
             FROM quiz_attempt qa
             LEFT JOIN user_response ur ON (
                 qa.user_id = ur.user_id
@@ -186,7 +213,7 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
             ORDER BY
                 qa.quiz_id,
                 qa.attempt,
-                qq.question_position,
+                qq.rank_key,
                 ur.answered_at""", nativeQuery = true)
     List<Object[]> findQuizAttemptDetailsByUserId(@Param("userId") Long userId);
 
@@ -220,7 +247,14 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
                 ur.points_earned,
                 ur.answered_at,
                 qq.options,
-                qq.correct_answer
+                qq.correct_answer,
+                qa.total_score,
+                qa.max_score,
+                qa.correct_count,
+                qa.question_count,
+                qa.percentage_score,
+                qa.submission_type,
+                qa.submitted_at
             FROM quiz q
             INNER JOIN quiz_attempt qa ON q.quiz_id = qa.quiz_id
             INNER JOIN users u ON qa.user_id = u.user_id
@@ -235,11 +269,165 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
             ORDER BY
                 qa.quiz_attempt_id,
                 qa.attempt,
-                qq.question_position,
+                qq.rank_key,
                 ur.answered_at
             """, nativeQuery = true)
     List<Object[]> findQuizAttemptDetailsByCourseId(@Param("courseId") Long courseId);
 
+    /**
+     * Retrieves completed quiz attempt rows for a user without question bodies, for the compact report.
+     * <p>
+     * Columns 0-14 share the layout of {@link #findCompactQuizAttemptDetailsByCourseId(Long)}; question text,
+     * options and correct answers are resolved once per question from a separate dictionary lookup.
+     * </p>
+     *
+     * @param userId the ID of the user
+     * @return list of object arrays, one per response (or one per attempt without responses)
+     */
+    @Query(value = """
+            SELECT
+                qa.quiz_attempt_id,
+                qa.attempt,
+                qa.quiz_id,
+                qa.user_id,
+                qa.started_at,
+                qa.finished_at,
+                qa.status,
+                qa.created_at,
+                qa.updated_at,
+                ur.response_id,
+                ur.question_id,
+                ur.user_answer,
+                ur.is_correct,
+                ur.points_earned,
+                ur.answered_at,
+                q.parent_id AS course_id,
+                qa.total_score,
+                qa.max_score,
+                qa.correct_count,
+                qa.question_count,
+                qa.percentage_score,
+                qa.submission_type,
+                qa.submitted_at
+            FROM quiz_attempt qa
+            JOIN quiz q ON qa.quiz_id = q.quiz_id AND q.parent_type = 'course'
+            LEFT JOIN user_response ur ON (
+                qa.user_id = ur.user_id
+                AND qa.quiz_id = ur.quiz_id
+                AND qa.attempt = ur.attempt
+            )
+            WHERE qa.user_id = :userId
+                AND qa.status = 'COMPLETED'
+            ORDER BY
+                q.parent_id,
+                qa.quiz_id,
+                qa.attempt,
+                ur.question_id""", nativeQuery = true)
+    List<Object[]> findCompactQuizAttemptDetailsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retrieves completed quiz attempt rows for a course without question bodies, for the compact report.
+     * <p>
+     * Columns 0-14 share the layout of {@link #findCompactQuizAttemptDetailsByUserId(Long)}.
+     * </p>
+     *
+     * @param courseId the ID of the course
+     * @return list of object arrays, one per response (or one per attempt without responses)
+     */
+    @Query(value = """
+            SELECT
+                qa.quiz_attempt_id,
+                qa.attempt,
+                qa.quiz_id,
+                qa.user_id,
+                qa.started_at,
+                qa.finished_at,
+                qa.status,
+                qa.created_at,
+                qa.updated_at,
+                ur.response_id,
+                ur.question_id,
+                ur.user_answer,
+                ur.is_correct,
+                ur.points_earned,
+                ur.answered_at,
+                u.username,
+                u.firstname,
+                u.lastname,
+                qa.total_score,
+                qa.max_score,
+                qa.correct_count,
+                qa.question_count,
+                qa.percentage_score,
+                qa.submission_type,
+                qa.submitted_at
+            FROM quiz q
+            INNER JOIN quiz_attempt qa ON q.quiz_id = qa.quiz_id
+            INNER JOIN users u ON qa.user_id = u.user_id
+            LEFT JOIN user_response ur ON qa.quiz_id = ur.quiz_id
+                AND qa.user_id = ur.user_id
+                AND qa.attempt = ur.attempt
+            WHERE q.parent_type = 'course'
+                AND q.parent_id = :courseId
+                AND q.is_active = TRUE
+                AND qa.status = 'COMPLETED'
+            ORDER BY
+                qa.user_id,
+                qa.quiz_attempt_id,
+                ur.question_id
+            """, nativeQuery = true)
+    List<Object[]> findCompactQuizAttemptDetailsByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Retrieves the percentage score of every graded attempt of a quiz that is marked as applied to its
+     * analytics, for rebuilding them.
+     *
+     * @param quizId the ID of the quiz
+     * @return percentage scores of applied completed and timed-out attempts
+     */
+    @Query("SELECT qa.percentageScore FROM QuizAttempt qa WHERE qa.quizId = :quizId AND qa.analyticsApplied = true"
+            + " AND qa.percentageScore IS NOT NULL AND qa.status IN ('COMPLETED', 'TIMED_OUT')")
+    List<BigDecimal> findAppliedPercentagesByQuizId(@Param("quizId") Long quizId);
+
+    /**
+     * Marks a graded attempt as applied to its quiz analytics unless it already is.
+     * The caller must hold the quiz_analytics row lock of the attempt's quiz.
+     *
+     * @param quizAttemptId the ID of the attempt
+     * @return 1 if the attempt still had to be applied, 0 otherwise
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = CacheConstants.HINT_NATIVE_SPACES, value = "quiz_attempt"))
+    @Query(value = "UPDATE quiz_attempt SET analytics_applied = TRUE WHERE quiz_attempt_id = :quizAttemptId"
+            + " AND analytics_applied = FALSE AND percentage_score IS NOT NULL"
+            + " AND status IN ('COMPLETED', 'TIMED_OUT')", nativeQuery = true)
+    int markAnalyticsApplied(@Param("quizAttemptId") Long quizAttemptId);
+
+    /**
+     * Marks every graded attempt of a quiz as applied to its analytics, before a rebuild recounts them.
+     * The caller must hold the quiz_analytics row lock of the quiz.
+     *
+     * @param quizId the ID of the quiz
+     * @return number of attempts newly marked
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = CacheConstants.HINT_NATIVE_SPACES, value = "quiz_attempt"))
+    @Query(value = "UPDATE quiz_attempt SET analytics_applied = TRUE WHERE quiz_id = :quizId"
+            + " AND analytics_applied = FALSE AND percentage_score IS NOT NULL"
+            + " AND status IN ('COMPLETED', 'TIMED_OUT')", nativeQuery = true)
+    int markGradedAnalyticsApplied(@Param("quizId") Long quizId);
+
+    /**
+     * Retrieves graded attempts whose analytics update has not been applied, oldest first.
+     *
+     * @param before   only attempts last updated before this time, leaving in-flight updates alone
+     * @param pageable the maximum number of attempts
+     * @return the pending attempts
+     */
+    @Query("SELECT qa FROM QuizAttempt qa WHERE qa.analyticsApplied = false AND qa.percentageScore IS NOT NULL"
+            + " AND qa.status IN ('COMPLETED', 'TIMED_OUT') AND qa.updatedAt < :before ORDER BY qa.updatedAt")
+    List<QuizAttempt> findAnalyticsPending(@Param("before") LocalDateTime before, Pageable pageable);
+
     /**
      * Checks if quiz results should be shown based on quiz configuration.
      *
@@ -247,6 +435,10 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
      * @return true if results should be shown, false otherwise
      */
     @Query("SELECT q.showResults FROM Quiz q WHERE q.quizId = :quizId")
+    @QueryHints({
+            @QueryHint(name = CacheConstants.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheConstants.HINT_CACHE_REGION, value = CacheConstants.QUIZ_QUERY_REGION)
+    })
     Boolean shouldShowQuizResults(@Param("quizId") Long quizId);
 
 }
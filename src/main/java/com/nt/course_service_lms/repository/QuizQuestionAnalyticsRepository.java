@@ -0,0 +1,24 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.QuizQuestionAnalytics;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link QuizQuestionAnalytics} entities.
+ */
+@Repository
+public interface QuizQuestionAnalyticsRepository extends JpaRepository<QuizQuestionAnalytics, Long> {
+
+    /**
+     * Loads the aggregates of every question of a quiz together with their answer counts.
+     *
+     * @param quizId the ID of the quiz
+     * @return question aggregates ordered by question ID
+     */
+    @EntityGraph(attributePaths = "answerCounts")
+    List<QuizQuestionAnalytics> findByQuizIdOrderByQuestionId(Long quizId);
+}
@@ -1,39 +1,51 @@
 package com.nt.course_service_lms.repository;
 
+import com.nt.course_service_lms.constants.CacheConstants;
 import com.nt.course_service_lms.entity.QuizQuestion;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 
 /**
  * Repository interface for QuizQuestion entity operations.
  *
  * <p>This interface provides CRUD operations and custom query methods
  * for managing quiz questions in the database.</p>
+ *
+ * <p>Questions are stored in {@code rankKey} order. Methods named after {@code position}
+ * read in that order and number the returned questions 1..n per quiz.</p>
  */
 @Repository
-public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long> {
+public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long>, QuizQuestionRepositoryCustom {
 
     /**
-     * Find all questions for a specific quiz, ordered by position.
+     * Find all questions for a specific quiz, ordered by rank key.
+     * Served from the query cache; invalidated whenever {@code quiz_question} is written.
      *
      * @param quizId the quiz ID
-     * @return list of questions ordered by position
+     * @return list of questions ordered by rank key
      */
-    List<QuizQuestion> findByQuizIdOrderByPosition(Long quizId);
+    @QueryHints({
+            @QueryHint(name = CacheConstants.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheConstants.HINT_CACHE_REGION, value = CacheConstants.QUIZ_QUESTION_QUERY_REGION)
+    })
+    List<QuizQuestion> findByQuizIdOrderByRankKey(Long quizId);
 
     /**
-     * Find a question by quiz ID and position.
+     * Find all questions for a specific quiz, ordered by position, with their positions filled in.
      *
-     * @param quizId   the quiz ID
-     * @param position the question position
-     * @return optional question
+     * @param quizId the quiz ID
+     * @return list of questions ordered by position
      */
-    Optional<QuizQuestion> findByQuizIdAndPosition(Long quizId, Integer position);
+    default List<QuizQuestion> findByQuizIdOrderByPosition(final Long quizId) {
+        return numberPositions(findByQuizIdOrderByRankKey(quizId));
+    }
 
     /**
      * Count total questions for a specific quiz.
@@ -41,53 +53,114 @@ public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long
      * @param quizId the quiz ID
      * @return count of questions
      */
+    @QueryHints({
+            @QueryHint(name = CacheConstants.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheConstants.HINT_CACHE_REGION, value = CacheConstants.QUIZ_QUESTION_QUERY_REGION)
+    })
     long countByQuizId(Long quizId);
 
     /**
-     * Find questions by quiz ID and position range.
+     * Count the questions of a quiz ordered before the given rank key.
      *
-     * @param quizId        the quiz ID
-     * @param startPosition start position (inclusive)
-     * @param endPosition   end position (inclusive)
-     * @return list of questions in the position range
+     * @param quizId  the quiz ID
+     * @param rankKey the rank key threshold (exclusive)
+     * @return count of questions before the rank key
      */
-    @Query("SELECT q FROM QuizQuestion q WHERE q.quizId = :quizId"
-            + " AND q.position BETWEEN :startPosition AND :endPosition ORDER BY q.position")
-    List<QuizQuestion> findByQuizIdAndPositionBetween(@Param("quizId") Long quizId,
-                                                      @Param("startPosition") Integer startPosition,
-                                                      @Param("endPosition") Integer endPosition);
+    long countByQuizIdAndRankKeyLessThan(Long quizId, Long rankKey);
 
     /**
-     * Find questions by quiz ID with position greater than specified position.
+     * Find all questions for a specific quiz.
      *
-     * @param quizId   the quiz ID
-     * @param position the position threshold
-     * @return list of questions with position greater than specified
+     * @param quizId the quiz ID
+     * @return list of all questions for the quiz
      */
-    List<QuizQuestion> findByQuizIdAndPositionGreaterThan(Long quizId, Integer position);
+    @QueryHints({
+            @QueryHint(name = CacheConstants.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheConstants.HINT_CACHE_REGION, value = CacheConstants.QUIZ_QUESTION_QUERY_REGION)
+    })
+    List<QuizQuestion> findByQuizId(Long quizId);
 
     /**
-     * Find questions by quiz ID with position greater than or equal to specified position.
+     * Find all questions, ordered by quiz ID ascending and then rank key ascending.
      *
-     * @param quizId   the quiz ID
-     * @param position the position threshold
-     * @return list of questions with position greater than or equal to specified
+     * @return list of all questions ordered by quiz and rank key
      */
-    List<QuizQuestion> findByQuizIdAndPositionGreaterThanEqual(Long quizId, Integer position);
+    List<QuizQuestion> findAllByOrderByQuizIdAscRankKeyAsc();
 
     /**
-     * Find all questions for a specific quiz.
+     * Find all questions ordered by quiz and position, with their positions filled in.
      *
-     * @param quizId the quiz ID
-     * @return list of all questions for the quiz
+     * @return list of all questions ordered by quiz and position
      */
-    List<QuizQuestion> findByQuizId(Long quizId);
+    default List<QuizQuestion> findAllOrderByQuizIdAndPosition() {
+        return numberPositions(findAllByOrderByQuizIdAscRankKeyAsc());
+    }
+
+    /**
+     * Find questions for multiple quizzes, ordered by quiz ID ascending and then rank key ascending.
+     *
+     * @param quizIds the list of quiz IDs
+     * @return list of quiz questions ordered by quiz and rank key
+     */
+    List<QuizQuestion> findByQuizIdInOrderByQuizIdAscRankKeyAsc(List<Long> quizIds);
 
     /**
-     * Find questions for multiple quizzes, ordered by quiz ID ascending and then position ascending.
+     * Find questions for multiple quizzes, ordered by quiz ID ascending and then position ascending,
+     * with their positions filled in.
      *
      * @param quizIds the list of quiz IDs
      * @return list of quiz questions ordered by quiz and position
      */
-    List<QuizQuestion> findByQuizIdInOrderByQuizIdAscPositionAsc(List<Long> quizIds);
+    default List<QuizQuestion> findByQuizIdInOrderByQuizIdAscPositionAsc(final List<Long> quizIds) {
+        return numberPositions(findByQuizIdInOrderByQuizIdAscRankKeyAsc(quizIds));
+    }
+
+    /**
+     * Find the given questions of a quiz; IDs belonging to other quizzes are not returned.
+     *
+     * @param quizId      the quiz ID
+     * @param questionIds the question IDs to look up
+     * @return the matching questions
+     */
+    List<QuizQuestion> findByQuizIdAndQuestionIdIn(Long quizId, List<Long> questionIds);
+
+    /**
+     * Get the highest rank key of a quiz.
+     *
+     * @param quizId the quiz ID
+     * @return the highest rank key, or 0 if the quiz has no questions
+     */
+    @Query("SELECT COALESCE(MAX(q.rankKey), 0) FROM QuizQuestion q WHERE q.quizId = :quizId")
+    long findMaxRankKeyByQuizId(@Param("quizId") Long quizId);
+
+    /**
+     * Find the quizzes in which two neighbouring questions have rank keys closer than the given gap.
+     *
+     * @param minGap the smallest acceptable gap between neighbouring rank keys
+     * @return IDs of the quizzes that need respacing
+     */
+    @Query(value = "SELECT DISTINCT g.quiz_id FROM ("
+            + "SELECT quiz_id, rank_key - LAG(rank_key) OVER (PARTITION BY quiz_id ORDER BY rank_key) AS gap"
+            + " FROM quiz_question) g WHERE g.gap < :minGap",
+            nativeQuery = true)
+    List<Long> findQuizIdsWithRankGapBelow(@Param("minGap") long minGap);
+
+    /**
+     * Numbers questions ordered by quiz and rank key 1..n, restarting for every quiz.
+     *
+     * @param ordered questions ordered by quiz and rank key
+     * @return the same list, with positions filled in
+     */
+    private static List<QuizQuestion> numberPositions(final List<QuizQuestion> ordered) {
+        Long currentQuizId = null;
+        int position = 0;
+        for (QuizQuestion question : ordered) {
+            if (!Objects.equals(currentQuizId, question.getQuizId())) {
+                currentQuizId = question.getQuizId();
+                position = 0;
+            }
+            question.setPosition(++position);
+        }
+        return ordered;
+    }
 }
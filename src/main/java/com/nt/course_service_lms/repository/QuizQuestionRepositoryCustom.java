@@ -0,0 +1,24 @@
+package com.nt.course_service_lms.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Custom statements on {@code quiz_question} that cannot be expressed as a static query.
+ */
+public interface QuizQuestionRepositoryCustom {
+
+    /**
+     * Assigns new rank keys to the given questions of a quiz with a single {@code UPDATE ... CASE} statement.
+     * <p>
+     * Relies on the deferred {@code (quiz_id, rank_key)} uniqueness check, so keys may be
+     * swapped freely within the statement. The persistence context is flushed before and cleared after.
+     * </p>
+     *
+     * @param quizId   the quiz the questions belong to
+     * @param rankKeys new rank key keyed by question ID
+     * @param now      timestamp written to {@code updated_at}
+     * @return number of rows updated
+     */
+    int applyRankKeys(Long quizId, Map<Long, Long> rankKeys, LocalDateTime now);
+}
@@ -0,0 +1,54 @@
+package com.nt.course_service_lms.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the set-based rank key update declared in {@link QuizQuestionRepositoryCustom}.
+ */
+public class QuizQuestionRepositoryCustomImpl implements QuizQuestionRepositoryCustom {
+
+    /**
+     * Entity manager bound to the current transaction.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int applyRankKeys(final Long quizId, final Map<Long, Long> rankKeys, final LocalDateTime now) {
+        if (rankKeys.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder jpql = new StringBuilder("UPDATE QuizQuestion q SET q.rankKey = CASE q.questionId");
+        List<Long> questionIds = new ArrayList<>(rankKeys.keySet());
+        for (int i = 0; i < questionIds.size(); i++) {
+            jpql.append(" WHEN :id").append(i).append(" THEN :key").append(i);
+        }
+        jpql.append(" ELSE q.rankKey END, q.updatedAt = :now")
+                .append(" WHERE q.quizId = :quizId AND q.questionId IN :questionIds");
+
+        entityManager.flush();
+        Query query = entityManager.createQuery(jpql.toString());
+        for (int i = 0; i < questionIds.size(); i++) {
+            query.setParameter("id" + i, questionIds.get(i));
+            query.setParameter("key" + i, rankKeys.get(questionIds.get(i)));
+        }
+        query.setParameter("now", now);
+        query.setParameter("quizId", quizId);
+        query.setParameter("questionIds", questionIds);
+
+        int updated = query.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
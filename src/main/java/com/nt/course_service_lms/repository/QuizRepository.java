@@ -1,10 +1,17 @@
 package com.nt.course_service_lms.repository;
 
+import com.nt.course_service_lms.constants.CacheConstants;
 import com.nt.course_service_lms.entity.Quiz;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Quiz entity operations.
@@ -28,8 +35,29 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
      * @param parentId   The parent ID
      * @return List of quizzes for the given parent
      */
+    @QueryHints({
+            @QueryHint(name = CacheConstants.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheConstants.HINT_CACHE_REGION, value = CacheConstants.QUIZ_QUERY_REGION)
+    })
     List<Quiz> findByParentTypeAndParentIdAndIsActiveTrue(String parentType, Long parentId);
 
+    /**
+     * Find the active quizzes of a course and of its contents with one query.
+     *
+     * @param courseId   The course ID
+     * @param contentIds The IDs of the course's contents; must not be empty
+     * @return List of quizzes whose parent is the course or one of the contents
+     */
+    @QueryHints({
+            @QueryHint(name = CacheConstants.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheConstants.HINT_CACHE_REGION, value = CacheConstants.QUIZ_QUERY_REGION)
+    })
+    @Query("SELECT q FROM Quiz q WHERE q.isActive = true"
+            + " AND ((q.parentType = 'course' AND q.parentId = :courseId)"
+            + " OR (q.parentType = 'course-content' AND q.parentId IN :contentIds))")
+    List<Quiz> findActiveByCourseAndContents(@Param("courseId") Long courseId,
+                                             @Param("contentIds") Collection<Long> contentIds);
+
     /**
      * Check if a quiz with the same title exists for the same parent.
      *
@@ -39,5 +67,14 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
      * @return true if quiz with same title exists for the parent
      */
     boolean existsByTitleAndParentTypeAndParentId(String title, String parentType, Long parentId);
-}
 
+    /**
+     * Locks the row of a quiz for the rest of the transaction, serializing writers that assign
+     * question rank keys within the same quiz.
+     *
+     * @param quizId the ID of the quiz
+     * @return the ID if the quiz exists
+     */
+    @Query(value = "SELECT quiz_id FROM quiz WHERE quiz_id = :quizId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockForQuestionOrdering(@Param("quizId") Long quizId);
+}
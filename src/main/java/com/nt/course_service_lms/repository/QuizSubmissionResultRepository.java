@@ -0,0 +1,12 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.QuizSubmissionResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing {@link QuizSubmissionResult} entities, keyed by quiz attempt ID.
+ */
+@Repository
+public interface QuizSubmissionResultRepository extends JpaRepository<QuizSubmissionResult, Long> {
+}
@@ -0,0 +1,46 @@
+package com.nt.course_service_lms.repository;
+
+import com.nt.course_service_lms.entity.StorageCleanupTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link StorageCleanupTask} entities.
+ */
+@Repository
+public interface StorageCleanupTaskRepository extends JpaRepository<StorageCleanupTask, String> {
+
+    /**
+     * Queues the deletion of an object unless it is already queued.
+     *
+     * @param objectKey the storage key
+     * @param notBefore the earliest time of the first attempt
+     * @param now       the creation timestamp
+     * @return 1 if queued, 0 if the object was already queued
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO storage_cleanup_task (object_key, attempts, next_attempt_at, created_at)"
+            + " VALUES (:objectKey, 0, :notBefore, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int enqueue(@Param("objectKey") String objectKey, @Param("notBefore") LocalDateTime notBefore,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Locks the oldest due tasks for the rest of the transaction, skipping tasks locked by other
+     * instances so several workers can drain the queue concurrently.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of tasks
+     * @return the locked tasks
+     */
+    @Query(value = "SELECT * FROM storage_cleanup_task WHERE next_attempt_at <= :now"
+            + " ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<StorageCleanupTask> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
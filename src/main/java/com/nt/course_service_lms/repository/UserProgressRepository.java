@@ -2,6 +2,7 @@ package com.nt.course_service_lms.repository;
 
 import com.nt.course_service_lms.entity.UserProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -81,11 +82,15 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Inte
     UserProgress findContentProgress(Long userId, Long courseId, Long contentId);
 
     /**
-     * Deletes all user progress records associated with a specific content ID.
+     * Deletes all user progress records associated with a specific content ID with a single statement,
+     * without loading the rows.
      *
      * @param contentId the ID of the content
+     * @return number of progress records deleted
      */
-    void deleteByContentId(Long contentId);
+    @Modifying
+    @Query("DELETE FROM UserProgress u WHERE u.contentId = :contentId")
+    int deleteByContentId(@Param("contentId") Long contentId);
 
 
     /**
@@ -133,4 +133,16 @@ public interface UserResponseRepository extends JpaRepository<UserResponse, Long
     List<UserResponse> findByUserIdAndQuizIdInAndAttemptIn(@Param("userId") Long userId,
                                                            @Param("quizIds") List<Long> quizIds,
                                                            @Param("attempts") List<Long> attempts);
+
+    /**
+     * Retrieves question ID, correctness and answer of every response to a quiz given in an attempt that is
+     * marked as applied to the quiz analytics, for rebuilding them.
+     *
+     * @param quizId the ID of the quiz
+     * @return rows of [questionId, isCorrect, userAnswer]
+     */
+    @Query("SELECT ur.questionId, ur.isCorrect, ur.userAnswer FROM UserResponse ur, QuizAttempt qa"
+            + " WHERE ur.quizId = :quizId AND qa.quizId = ur.quizId AND qa.userId = ur.userId"
+            + " AND qa.attempt = ur.attempt AND qa.analyticsApplied = true")
+    List<Object[]> findAppliedAnswerRowsByQuizId(@Param("quizId") Long quizId);
 }
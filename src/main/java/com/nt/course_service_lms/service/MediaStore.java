@@ -0,0 +1,124 @@
+package com.nt.course_service_lms.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage backend for uploaded course media (videos, PDFs).
+ *
+ * <p>Keys are slash-separated paths such as {@code video/<name>.mp4}. Upload and streaming code
+ * only talks to this interface, so the same code runs against Amazon S3 in the cloud and against
+ * a local filesystem on-premises, in benchmarks and in integration tests. The backend is selected
+ * with {@code lms.media.store} ({@code s3} by default, or {@code local}).</p>
+ */
+public interface MediaStore {
+
+    /**
+     * Stores an object in a single request, replacing any object with the same key.
+     *
+     * @param key           the object key
+     * @param content       the object content; read to the end but not closed
+     * @param contentLength the number of bytes in {@code content}
+     * @param contentType   the MIME type, may be {@code null}
+     * @throws IOException if the object cannot be written
+     */
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    /**
+     * Starts a multipart upload. The object only becomes visible once the upload is completed.
+     *
+     * @param key         the object key
+     * @param contentType the MIME type, may be {@code null}
+     * @return the upload handle
+     * @throws IOException if the upload cannot be started
+     */
+    MultipartUpload startMultipartUpload(String key, String contentType) throws IOException;
+
+    /**
+     * Opens a byte range of an object.
+     *
+     * @param key   the object key
+     * @param start first byte, inclusive
+     * @param end   last byte, inclusive
+     * @return a stream over the requested range; the caller closes it
+     * @throws IOException if the object cannot be read
+     */
+    InputStream get(String key, long start, long end) throws IOException;
+
+    /**
+     * Opens a whole object.
+     *
+     * @param key the object key
+     * @return a stream over the object; the caller closes it
+     * @throws IOException if the object cannot be read
+     */
+    InputStream get(String key) throws IOException;
+
+    /**
+     * Looks up the size and content type of an object without reading it.
+     *
+     * @param key the object key
+     * @return the object info, or empty if no object exists under the key
+     * @throws IOException if the backend cannot be queried
+     */
+    Optional<ObjectInfo> head(String key) throws IOException;
+
+    /**
+     * Deletes an object.
+     *
+     * @param key the object key
+     * @return true if an object was deleted, false if none existed
+     * @throws IOException if the object cannot be deleted
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * Lists object keys starting with a prefix, in lexicographical order.
+     *
+     * @param prefix  the key prefix, empty for all objects
+     * @param maxKeys the maximum number of keys returned
+     * @return the matching keys
+     * @throws IOException if the backend cannot be listed
+     */
+    List<String> list(String prefix, int maxKeys) throws IOException;
+
+    /**
+     * Size and content type of a stored object.
+     *
+     * @param key           the object key
+     * @param contentLength the object size in bytes
+     * @param contentType   the MIME type, {@code null} if unknown
+     */
+    record ObjectInfo(String key, long contentLength, String contentType) { }
+
+    /**
+     * An in-progress multipart upload. Parts are numbered from 1 and may be uploaded in any order;
+     * every part but the last should be at least {@link com.nt.course_service_lms.constants.S3Constants#MIN_PART_SIZE}.
+     */
+    interface MultipartUpload {
+
+        /**
+         * Uploads one part.
+         *
+         * @param partNumber the 1-based part number
+         * @param data       buffer holding the part
+         * @param length     number of bytes of {@code data} belonging to the part
+         * @throws IOException if the part cannot be stored
+         */
+        void uploadPart(int partNumber, byte[] data, int length) throws IOException;
+
+        /**
+         * Assembles the uploaded parts in part-number order and publishes the object.
+         *
+         * @throws IOException if the object cannot be assembled
+         */
+        void complete() throws IOException;
+
+        /**
+         * Discards the uploaded parts. Never throws; failures are logged.
+         */
+        void abort();
+    }
+}
@@ -0,0 +1,38 @@
+package com.nt.course_service_lms.service;
+
+import com.nt.course_service_lms.dto.outDTO.QuizAnalyticsOutDTO;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+
+/**
+ * Service interface for the precomputed quiz analytics.
+ *
+ * <p>Per-quiz and per-question aggregates are updated incrementally whenever an attempt is graded
+ * and can be rebuilt from the stored attempts and responses at any time.
+ */
+public interface QuizAnalyticsService {
+
+    /**
+     * Folds a graded submission into the aggregates of its quiz and questions.
+     *
+     * @param event the submission that was just committed
+     */
+    void recordSubmission(QuizSubmittedEvent event);
+
+    /**
+     * Returns the current aggregates of a quiz.
+     *
+     * @param quizId the ID of the quiz
+     * @return the quiz analytics, with zero counts if nothing was recorded yet
+     * @throws com.nt.course_service_lms.exception.ResourceNotFoundException if the quiz does not exist
+     */
+    QuizAnalyticsOutDTO getQuizAnalytics(Long quizId);
+
+    /**
+     * Recomputes the aggregates of a quiz from quiz_attempt and user_response.
+     *
+     * @param quizId the ID of the quiz
+     * @return the rebuilt quiz analytics
+     * @throws com.nt.course_service_lms.exception.ResourceNotFoundException if the quiz does not exist
+     */
+    QuizAnalyticsOutDTO rebuildQuizAnalytics(Long quizId);
+}
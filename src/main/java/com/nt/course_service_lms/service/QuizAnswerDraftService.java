@@ -0,0 +1,36 @@
+package com.nt.course_service_lms.service;
+
+import com.nt.course_service_lms.dto.inDTO.AnswerDraftInDTO;
+import com.nt.course_service_lms.dto.outDTO.AnswerDraftOutDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for autosaving answers while a quiz attempt is in progress.
+ *
+ * <p>Drafts are upserted per question and promoted to user responses when the attempt is submitted,
+ * so answers survive client crashes and are written gradually instead of all at once at the deadline.
+ */
+public interface QuizAnswerDraftService {
+
+    /**
+     * Upserts the given answers of an attempt in progress.
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @param answers       the changed answers; the last answer wins if a question appears twice
+     * @return all drafts of the attempt after the save
+     * @throws com.nt.course_service_lms.exception.ResourceNotFoundException if the attempt does not exist
+     * @throws com.nt.course_service_lms.exception.ResourceNotValidException if the attempt is not in progress
+     *                                                                      or a question is not part of its quiz
+     */
+    List<AnswerDraftOutDTO> saveDrafts(Long quizAttemptId, List<AnswerDraftInDTO> answers);
+
+    /**
+     * Returns the autosaved answers of an attempt, e.g. to restore them after a reload.
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @return drafts ordered by question ID
+     * @throws com.nt.course_service_lms.exception.ResourceNotFoundException if the attempt does not exist
+     */
+    List<AnswerDraftOutDTO> getDrafts(Long quizAttemptId);
+}
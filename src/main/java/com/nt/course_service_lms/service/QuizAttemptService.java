@@ -2,10 +2,13 @@ package com.nt.course_service_lms.service;
 
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptCreateInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
+import com.nt.course_service_lms.dto.outDTO.CourseQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByCourseIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByUserIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizStartOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptDetailsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptReportOutDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -44,6 +47,21 @@ public interface QuizAttemptService {
      */
     QuizAttemptOutDTO createQuizAttempt(QuizAttemptCreateInDTO dto);
 
+    /**
+     * Starts a quiz attempt and selects its questions in one transaction.
+     *
+     * <p>Admits the attempt like {@link #createQuizAttempt(QuizAttemptCreateInDTO)}, returning the attempt
+     * already in progress if there is one, then selects the questions of that attempt from the quiz
+     * loaded for admission.
+     *
+     * @param dto the quiz and user starting the attempt. Cannot be null.
+     * @return the attempt, its questions without answers and its deadline
+     * @throws com.nt.course_service_lms.exception.ResourceNotFoundException if the quiz does not exist
+     * @throws com.nt.course_service_lms.exception.ResourceNotValidException if the quiz has no questions
+     *         or the attempt limit is reached
+     */
+    QuizStartOutDTO startQuizAttempt(QuizAttemptCreateInDTO dto);
+
     /**
      * Updates an existing quiz attempt with new information.
      *
@@ -265,6 +283,30 @@ public interface QuizAttemptService {
      */
     List<QuizAttemptDetailsByCourseIDOutDTO> getQuizAttemptDetailsByCourseID(Long courseId, String userRole);
 
+    /**
+     * Retrieves the compact quiz attempt report for a user across all courses.
+     *
+     * <p>Same content as {@link #getQuizAttemptDetailsByUserID(Long, String)}, but question text, options
+     * and correct answers are returned once in a question dictionary instead of on every response.
+     *
+     * @param userId   the unique identifier of the user
+     * @param userRole the role of the user making the request (e.g., ADMIN, EMPLOYEE)
+     * @return UserQuizAttemptReportOutDTO with the question dictionary and attempts grouped by course
+     */
+    UserQuizAttemptReportOutDTO getCompactQuizAttemptReportByUserID(Long userId, String userRole);
+
+    /**
+     * Retrieves the compact quiz attempt report for all users of a course.
+     *
+     * <p>Same content as {@link #getQuizAttemptDetailsByCourseID(Long, String)}, but question text, options
+     * and correct answers are returned once in a question dictionary instead of on every response.
+     *
+     * @param courseId the unique identifier of the course
+     * @param userRole the role of the user making the request (e.g., ADMIN, EMPLOYEE)
+     * @return CourseQuizAttemptReportOutDTO with the question dictionary and attempts grouped by user
+     */
+    CourseQuizAttemptReportOutDTO getCompactQuizAttemptReportByCourseID(Long courseId, String userRole);
+
     /**
      * Checks whether a quiz attempt exists with the given identifier.
      *
@@ -1,5 +1,6 @@
 package com.nt.course_service_lms.service;
 
+import com.nt.course_service_lms.dto.inDTO.QuestionReorderInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizQuestionInDTO;
 import com.nt.course_service_lms.dto.inDTO.UpdateQuizQuestionInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
@@ -57,4 +58,13 @@ public interface QuizQuestionService {
      * @param questionId the question ID to delete
      */
     void deleteQuestion(Long questionId);
+
+    /**
+     * Applies a full or partial order to the questions of a quiz.
+     *
+     * @param quizId       the quiz ID
+     * @param reorderInDTO the question IDs in their new order
+     * @return all questions of the quiz in their new order
+     */
+    List<QuizQuestionOutDTO> reorderQuestions(Long quizId, QuestionReorderInDTO reorderInDTO);
 }
@@ -29,6 +29,19 @@ public interface S3StreamingService {
      */
     ResponseEntity<InputStreamResource> streamFileChunk(String objectKey, String rangeHeader);
 
+    /**
+     * Streams a byte range chunk of a file for an identified viewer.
+     *
+     * <p>Consecutive ranges requested by the same viewer are detected, and the following range is
+     * fetched ahead in the background so the viewer's next request is served from memory.
+     *
+     * @param objectKey   the unique key identifying the file in S3 storage.
+     * @param rangeHeader the HTTP Range header value specifying the byte range to stream.
+     * @param viewerId    identifies the client playing the file; null disables read-ahead.
+     * @return a {@link ResponseEntity} containing an {@link InputStreamResource} for the requested file chunk.
+     */
+    ResponseEntity<InputStreamResource> streamFileChunk(String objectKey, String rangeHeader, String viewerId);
+
     /**
      * Streams the entire file from S3.
      *
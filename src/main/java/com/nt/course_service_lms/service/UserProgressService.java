@@ -1,5 +1,7 @@
 package com.nt.course_service_lms.service;
 
+import com.nt.course_service_lms.dto.inDTO.UserProgressBatchInDTO;
+import com.nt.course_service_lms.dto.outDTO.CoursePlayerOutDTO;
 import com.nt.course_service_lms.dto.outDTO.CourseProgressWithMetaDTO;
 import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserProgressOutDTO;
@@ -28,6 +30,16 @@ public interface UserProgressService {
      */
     void updateProgress(UserProgressOutDTO progressDTO);
 
+    /**
+     * Applies several progress updates of one user at once.
+     * Updates are merged per content and written together, and course completion is recomputed once
+     * per affected course.
+     *
+     * @param batchInDTO the user and the progress updates to apply
+     * @return the course completion percentage of each affected course, keyed by course ID
+     */
+    Map<Long, Double> updateProgressBatch(UserProgressBatchInDTO batchInDTO);
+
     /**
      * Retrieves comprehensive course progress information along with metadata for a specific user and course.
      * This method returns detailed progress data including completion status, overall progress percentage,
@@ -40,6 +52,17 @@ public interface UserProgressService {
      */
     CourseProgressWithMetaDTO getCourseProgressWithMeta(Long userId, Long courseId);
 
+    /**
+     * Retrieves everything the course player needs to open a course in one call: the contents with the
+     * user's completion, last position and acknowledgement on each, the course completion, and the
+     * active quizzes of the course and its contents.
+     *
+     * @param userId   the unique identifier of the user
+     * @param courseId the unique identifier of the course
+     * @return CoursePlayerOutDTO with the contents, progress and quiz summaries
+     */
+    CoursePlayerOutDTO getCoursePlayer(Long userId, Long courseId);
+
     /**
      * Retrieves the last position (timestamp or sequence number) where the user left off
      * in a specific content item within a course.
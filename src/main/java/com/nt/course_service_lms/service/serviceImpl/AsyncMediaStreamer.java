@@ -0,0 +1,453 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking streaming engine for range requests, selected with {@code lms.media.streaming.engine=async}.
+ * <p>
+ * The blocking engine copies each range from an S3 input stream on the servlet thread, so every
+ * active viewer holds a thread for the whole transfer. This engine puts the request into async
+ * mode, fetches metadata and content with the {@link S3AsyncClient}, and writes the received
+ * buffers with Servlet non-blocking I/O. A buffer is only requested from S3 once the previous one
+ * has been written and the connection can take more, so slow clients slow down the download
+ * instead of piling up memory. No thread waits on either side; a few event-loop and container
+ * threads serve thousands of concurrent streams.
+ * </p>
+ * <p>
+ * Responses match the blocking engine: 206 with {@code Content-Range} and a chunk sized by the
+ * {@link ChunkSizer}, 404 with a JSON error for
+ * missing objects. With {@code lms.media.streaming.async.client=fake} the engine runs against the
+ * in-process {@link FakeS3AsyncClient} for load tests.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "lms.media.streaming.engine", havingValue = "async")
+@Slf4j
+public class AsyncMediaStreamer {
+
+    /**
+     * Async S3 client (or its in-process fake).
+     */
+    private final S3AsyncClient s3AsyncClient;
+
+    /**
+     * The bucket holding the media objects.
+     */
+    private final String bucketName;
+
+    /**
+     * Async engine settings.
+     */
+    private final MediaStreamingProperties.Async properties;
+
+    /**
+     * Writes JSON error bodies.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Per-viewer sizing of open-ended range chunks.
+     */
+    private final ChunkSizer chunkSizer;
+
+    /**
+     * Creates the engine.
+     *
+     * @param s3AsyncClient the async S3 client
+     * @param bucketName    the bucket holding the media objects
+     * @param properties    the streaming settings
+     * @param objectMapper  mapper for JSON error bodies
+     * @param chunkSizer    per-viewer sizing of range chunks
+     */
+    public AsyncMediaStreamer(final S3AsyncClient s3AsyncClient,
+                              @Value("${aws.s3.bucket-name:}") final String bucketName,
+                              final MediaStreamingProperties properties,
+                              final ObjectMapper objectMapper,
+                              final ChunkSizer chunkSizer) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucketName = bucketName;
+        this.properties = properties.getAsync();
+        this.objectMapper = objectMapper;
+        this.chunkSizer = chunkSizer;
+    }
+
+    /**
+     * Streams a range of an object into the response without blocking the calling thread.
+     * The request is in async mode when this method returns; the response is completed once
+     * the range has been written or the transfer failed.
+     *
+     * @param objectKey   the object key
+     * @param rangeHeader the HTTP Range header value (e.g., "bytes=0-1023"), may be null
+     * @param viewerId    the client playing the file, or null to disable adaptive sizing
+     * @param request     the HTTP request
+     * @param response    the HTTP response
+     */
+    public void streamFileChunk(final String objectKey, final String rangeHeader, final String viewerId,
+                                final HttpServletRequest request, final HttpServletResponse response) {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(properties.getTimeoutMs());
+
+        s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(bucketName).key(objectKey).build())
+                .thenCompose(head -> {
+                    long contentLength = head.contentLength();
+                    MediaRange range = MediaRange.parse(rangeHeader, contentLength, start ->
+                            chunkSizer.chunkSize(viewerId, objectKey, head.contentType(), contentLength, start));
+
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(contentLength));
+                    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+                    response.setContentLengthLong(range.length());
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+                    if (head.contentType() != null) {
+                        response.setContentType(head.contentType());
+                    }
+
+                    return s3AsyncClient.getObject(GetObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(objectKey)
+                            .range("bytes=" + range.getStart() + "-" + range.getEnd())
+                            .build(), AsyncResponseTransformer.toPublisher());
+                })
+                .whenComplete((publisher, error) -> {
+                    if (error != null) {
+                        fail(asyncContext, objectKey, error);
+                    } else {
+                        publisher.subscribe(new ResponseWriter(asyncContext, objectKey, viewerId));
+                    }
+                });
+    }
+
+    /**
+     * Answers a failed request with the same JSON errors as the blocking endpoints.
+     *
+     * @param asyncContext the request's async context
+     * @param objectKey    the object key
+     * @param error        the failure
+     */
+    private void fail(final AsyncContext asyncContext, final String objectKey, final Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+        try {
+            if (!response.isCommitted()) {
+                boolean missing = cause instanceof NoSuchKeyException
+                        || (cause instanceof S3Exception s3Exception
+                        && s3Exception.statusCode() == HttpStatus.NOT_FOUND.value());
+                response.reset();
+                response.setStatus(missing ? HttpStatus.NOT_FOUND.value() : HttpStatus.INTERNAL_SERVER_ERROR.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                String message = missing ? "File not found in media store: " + objectKey : "Unexpected streaming error";
+                objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+                if (!missing) {
+                    log.error("Async streaming of {} failed: {}", objectKey, cause.toString());
+                }
+            } else {
+                log.warn("Async streaming of {} aborted mid-response: {}", objectKey, cause.toString());
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Could not send streaming error for {}: {}", objectKey, e.getMessage());
+        } finally {
+            asyncContext.complete();
+        }
+    }
+
+    /**
+     * Bridges the S3 content publisher to the non-blocking servlet output stream.
+     * <p>
+     * One buffer is requested at a time, and only when the output stream reports it is ready.
+     * Writing runs on the SDK thread delivering a buffer and on the container thread signalling
+     * writability, serialized on this object.
+     * </p>
+     */
+    private final class ResponseWriter implements Subscriber<ByteBuffer>, AsyncListener {
+
+        /**
+         * The request's async context, completed when the transfer ends.
+         */
+        private final AsyncContext asyncContext;
+
+        /**
+         * The object key, for logging.
+         */
+        private final String objectKey;
+
+        /**
+         * The viewer whose throughput the transfer is measured for, may be null.
+         */
+        private final String viewerId;
+
+        /**
+         * Buffers received but not yet written.
+         */
+        private final Queue<ByteBuffer> pending = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The S3 content subscription.
+         */
+        private Subscription subscription;
+
+        /**
+         * The non-blocking response stream.
+         */
+        private ServletOutputStream output;
+
+        /**
+         * Whether a buffer has been requested and not yet received.
+         */
+        private boolean requested;
+
+        /**
+         * Set once S3 has delivered the whole range.
+         */
+        private volatile boolean upstreamComplete;
+
+        /**
+         * Set once the async context has been completed.
+         */
+        private boolean finished;
+
+        /**
+         * Bytes handed to the output stream.
+         */
+        private long written;
+
+        /**
+         * Time the first buffer was written in nanoseconds, or 0 before it.
+         */
+        private long firstWriteAt;
+
+        /**
+         * Creates a writer for one response.
+         *
+         * @param asyncContext the request's async context
+         * @param objectKey    the object key
+         * @param viewerId     the viewer, may be null
+         */
+        ResponseWriter(final AsyncContext asyncContext, final String objectKey, final String viewerId) {
+            this.asyncContext = asyncContext;
+            this.objectKey = objectKey;
+            this.viewerId = viewerId;
+        }
+
+        /**
+         * Registers for write readiness; the container then signals when writing is possible.
+         *
+         * @param s the S3 content subscription
+         */
+        @Override
+        public void onSubscribe(final Subscription s) {
+            synchronized (this) {
+                subscription = s;
+            }
+            asyncContext.addListener(this);
+            try {
+                ServletOutputStream stream = asyncContext.getResponse().getOutputStream();
+                synchronized (this) {
+                    output = stream;
+                }
+                stream.setWriteListener(new OutputListener());
+            } catch (IOException | IllegalStateException e) {
+                s.cancel();
+                finish();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onNext(final ByteBuffer buffer) {
+            pending.add(buffer);
+            synchronized (this) {
+                requested = false;
+            }
+            drain();
+        }
+
+        /**
+         * Ends the response when the download fails mid-transfer; the 206 headers are already
+         * set, so the client sees a short response and retries the range.
+         *
+         * @param t the download failure
+         */
+        @Override
+        public void onError(final Throwable t) {
+            log.warn("Async streaming of {} aborted mid-response: {}", objectKey, t.toString());
+            finish();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onComplete() {
+            upstreamComplete = true;
+            drain();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onComplete(final AsyncEvent event) {
+            // Nothing to release
+        }
+
+        /**
+         * Stops the download when the response takes longer than the configured timeout.
+         *
+         * @param event the timeout event
+         */
+        @Override
+        public void onTimeout(final AsyncEvent event) {
+            log.warn("Async streaming of {} timed out", objectKey);
+            cancelAndFinish();
+        }
+
+        /**
+         * Stops the download when the async cycle fails.
+         *
+         * @param event the error event
+         */
+        @Override
+        public void onError(final AsyncEvent event) {
+            cancelAndFinish();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onStartAsync(final AsyncEvent event) {
+            // Not restarted
+        }
+
+        /**
+         * Writes pending buffers while the connection accepts data, then requests the next buffer
+         * or completes the response.
+         */
+        private synchronized void drain() {
+            if (finished || output == null) {
+                return;
+            }
+            try {
+                while (output.isReady()) {
+                    ByteBuffer buffer = pending.poll();
+                    if (buffer == null) {
+                        if (upstreamComplete) {
+                            chunkSizer.recordTransfer(viewerId, written, System.nanoTime() - firstWriteAt);
+                            finish();
+                        } else if (!requested) {
+                            requested = true;
+                            subscription.request(1);
+                        }
+                        return;
+                    }
+                    write(buffer);
+                }
+            } catch (IOException e) {
+                log.debug("Client stopped reading {}: {}", objectKey, e.getMessage());
+                cancelAndFinish();
+            }
+        }
+
+        /**
+         * Writes a buffer to the output stream.
+         *
+         * @param buffer the buffer to write
+         * @throws IOException if the connection fails
+         */
+        private void write(final ByteBuffer buffer) throws IOException {
+            if (firstWriteAt == 0) {
+                firstWriteAt = System.nanoTime();
+            }
+            written += buffer.remaining();
+            if (buffer.hasArray()) {
+                output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                output.write(bytes);
+            }
+        }
+
+        /**
+         * Cancels the download and completes the response.
+         */
+        private void cancelAndFinish() {
+            Subscription current;
+            synchronized (this) {
+                current = subscription;
+            }
+            if (current != null) {
+                current.cancel();
+            }
+            finish();
+        }
+
+        /**
+         * Completes the async context once.
+         */
+        private synchronized void finish() {
+            if (!finished) {
+                finished = true;
+                pending.clear();
+                asyncContext.complete();
+            }
+        }
+
+        /**
+         * Container callbacks of the non-blocking output stream.
+         */
+        private final class OutputListener implements WriteListener {
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void onWritePossible() {
+                drain();
+            }
+
+            /**
+             * Stops the download when the client connection fails.
+             *
+             * @param t the write failure
+             */
+            @Override
+            public void onError(final Throwable t) {
+                log.debug("Client stopped reading {}: {}", objectKey, t.getMessage());
+                cancelAndFinish();
+            }
+        }
+    }
+}
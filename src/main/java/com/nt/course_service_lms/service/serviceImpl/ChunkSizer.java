@@ -0,0 +1,476 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.service.MediaStore;
+import com.nt.course_service_lms.utils.Mp4Faststart;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.nt.course_service_lms.constants.S3Constants.DEFAULT_CHUNK_SIZE;
+import static com.nt.course_service_lms.constants.S3Constants.M4V_SUFFIX;
+import static com.nt.course_service_lms.constants.S3Constants.MP4_CONTENT_TYPE;
+import static com.nt.course_service_lms.constants.S3Constants.MP4_SUFFIX;
+
+/**
+ * Chooses the size of the chunk served for an open-ended range request.
+ * <p>
+ * A fixed 5 MB chunk is too large for a slow mobile link and too small for a fast one. The sizer
+ * keeps a smoothed throughput per viewer, measured on the ranges it was served, and sizes each
+ * chunk to what that viewer moves in {@code target-transfer-ms}. Content type then bounds the
+ * result: video chunks hold between {@code video-min-seconds} and {@code video-max-seconds} of
+ * playback at the video's bitrate (read from the MP4 movie header), so a seek wastes little;
+ * PDF chunks stay below {@code pdf-max-bytes} and end on a {@code pdf-page-bytes} boundary, the
+ * range size PDF viewers request. All other chunks are clamped to {@code min-bytes} and
+ * {@code max-bytes}.
+ * </p>
+ * <p>
+ * Bitrates are probed in the background, so a request never waits for one. Each decision is
+ * recorded in the {@code lms.media.chunk.size} distribution tagged with the content kind and the
+ * basis of the decision.
+ * </p>
+ */
+@Service
+@Slf4j
+public class ChunkSizer {
+
+    /**
+     * Name of the chunk size distribution.
+     */
+    private static final String METRIC_NAME = "lms.media.chunk.size";
+
+    /**
+     * Milliseconds per second.
+     */
+    private static final long MILLIS_PER_SECOND = 1_000L;
+
+    /**
+     * Nanoseconds per second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    /**
+     * Bits per byte.
+     */
+    private static final long BITS_PER_BYTE = 8L;
+
+    /**
+     * Content type of PDF documents.
+     */
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    /**
+     * Load factor of the bitrate cache.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Cached bitrate of a video whose duration could not be read.
+     */
+    private static final long UNKNOWN_BITRATE = -1L;
+
+    /**
+     * Storage backend the video headers are read from.
+     */
+    private final MediaStore mediaStore;
+
+    /**
+     * Chunk sizing settings.
+     */
+    private final MediaStreamingProperties.Chunking properties;
+
+    /**
+     * Registry receiving the sizing decisions.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Executor running the bitrate probes.
+     */
+    private final Executor executor;
+
+    /**
+     * Smoothed throughput of each viewer.
+     */
+    private final Map<String, ViewerThroughput> viewers = new ConcurrentHashMap<>();
+
+    /**
+     * Video bitrates in bytes per second keyed by object key and size, least recently used first.
+     */
+    private final Map<String, Long> bitrates;
+
+    /**
+     * Videos whose bitrate is being probed.
+     */
+    private final Set<String> probing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the sizer.
+     *
+     * @param mediaStore    the storage backend
+     * @param properties    the streaming settings
+     * @param meterRegistry registry for the sizing metrics
+     * @param executor      executor running the bitrate probes
+     */
+    public ChunkSizer(final MediaStore mediaStore, final MediaStreamingProperties properties,
+                      final MeterRegistry meterRegistry,
+                      @Qualifier("applicationTaskExecutor") final Executor executor) {
+        this.mediaStore = mediaStore;
+        this.properties = properties.getChunking();
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+        int cacheSize = this.properties.getBitrateCacheSize();
+        this.bitrates = Collections.synchronizedMap(new LinkedHashMap<>(cacheSize, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Chooses the chunk size for a range starting at {@code start}.
+     *
+     * @param viewerId      the viewer, or null if unknown
+     * @param objectKey     the object key
+     * @param contentType   the object's MIME type, may be null
+     * @param contentLength the object size in bytes
+     * @param start         first byte of the range
+     * @return the number of bytes to serve
+     */
+    public long chunkSize(final String viewerId, final String objectKey, final String contentType,
+                          final long contentLength, final long start) {
+        if (!properties.isEnabled()) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+        double throughput = getThroughput(viewerId);
+        String kind = kindOf(objectKey, contentType);
+        String basis = throughput > 0 ? "throughput" : "default";
+        long size = throughput > 0
+                ? (long) (throughput * properties.getTargetTransferMs() / MILLIS_PER_SECOND)
+                : properties.getDefaultBytes();
+
+        if ("video".equals(kind)) {
+            long bytesPerSecond = bytesPerSecond(objectKey, contentType, contentLength);
+            if (bytesPerSecond <= 0) {
+                bytesPerSecond = properties.getVideoDefaultBitrate() / BITS_PER_BYTE;
+            } else if (throughput <= 0) {
+                basis = "bitrate";
+            }
+            size = throughput > 0
+                    ? clamp(size, bytesPerSecond * properties.getVideoMinSeconds(),
+                            bytesPerSecond * properties.getVideoMaxSeconds())
+                    : bytesPerSecond * properties.getVideoTargetSeconds();
+        }
+
+        if ("pdf".equals(kind)) {
+            long page = properties.getPdfPageBytes();
+            size = clamp(throughput > 0 ? size : properties.getPdfDefaultBytes(), page, properties.getPdfMaxBytes());
+            // End the chunk on a page boundary, so following requests stay aligned
+            long end = (start + size + page - 1) / page * page;
+            size = end - start;
+        } else {
+            size = clamp(size, properties.getMinBytes(), properties.getMaxBytes());
+        }
+
+        DistributionSummary.builder(METRIC_NAME)
+                .description("Size of the chunks served for open-ended range requests")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .tag("basis", basis)
+                .register(meterRegistry)
+                .record(size);
+        return size;
+    }
+
+    /**
+     * Wraps a range stream so that the time the viewer takes to consume it is recorded as the
+     * viewer's throughput. Timing starts at the first byte, leaving out the first-byte latency of
+     * the media store.
+     *
+     * @param viewerId the viewer, or null to skip measuring
+     * @param input    the range content
+     * @return the measuring stream
+     */
+    public InputStream measure(final String viewerId, final InputStream input) {
+        return viewerId == null || !properties.isEnabled() ? input : new MeasuredInputStream(viewerId, input);
+    }
+
+    /**
+     * Folds a completed transfer into the viewer's smoothed throughput. Transfers below
+     * {@code min-sample-bytes} are ignored, as their duration is mostly latency.
+     *
+     * @param viewerId     the viewer, or null if unknown
+     * @param bytes        bytes transferred
+     * @param elapsedNanos transfer duration in nanoseconds
+     */
+    public void recordTransfer(final String viewerId, final long bytes, final long elapsedNanos) {
+        if (viewerId == null || bytes < properties.getMinSampleBytes() || elapsedNanos <= 0) {
+            return;
+        }
+        if (!viewers.containsKey(viewerId) && viewers.size() >= properties.getMaxViewers()) {
+            return;
+        }
+        double sample = bytes * NANOS_PER_SECOND / elapsedNanos;
+        double weight = properties.getThroughputWeight();
+        viewers.compute(viewerId, (id, current) -> current == null
+                ? new ViewerThroughput(sample)
+                : new ViewerThroughput(weight * sample + (1 - weight) * current.bytesPerSecond));
+    }
+
+    /**
+     * Returns the smoothed throughput of a viewer.
+     *
+     * @param viewerId the viewer, or null if unknown
+     * @return bytes per second, or 0 if nothing was measured yet
+     */
+    public double getThroughput(final String viewerId) {
+        ViewerThroughput throughput = viewerId == null ? null : viewers.get(viewerId);
+        return throughput == null ? 0 : throughput.bytesPerSecond;
+    }
+
+    /**
+     * Forgets viewers that have not completed a transfer within the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${lms.media.streaming.chunking.idle-timeout-ms:300000}")
+    public void evictIdleViewers() {
+        long cutoff = System.currentTimeMillis() - properties.getIdleTimeoutMs();
+        viewers.values().removeIf(throughput -> throughput.updatedAt < cutoff);
+    }
+
+    /**
+     * Returns the cached bitrate of a video, starting a background probe on a cache miss.
+     *
+     * @param objectKey     the object key
+     * @param contentType   the object's MIME type, may be null
+     * @param contentLength the object size in bytes
+     * @return bytes per second, or a non-positive value while unknown
+     */
+    private long bytesPerSecond(final String objectKey, final String contentType, final long contentLength) {
+        String cacheKey = objectKey + '\n' + contentLength;
+        Long cached = bitrates.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        if (!isMp4(objectKey, contentType)) {
+            return UNKNOWN_BITRATE;
+        }
+        if (probing.add(cacheKey)) {
+            try {
+                executor.execute(() -> probeBitrate(objectKey, contentLength, cacheKey));
+            } catch (RejectedExecutionException e) {
+                probing.remove(cacheKey);
+            }
+        }
+        Long probed = bitrates.get(cacheKey);
+        return probed == null ? UNKNOWN_BITRATE : probed;
+    }
+
+    /**
+     * Reads a video's duration from its movie header and caches the resulting bitrate.
+     *
+     * @param objectKey     the object key
+     * @param contentLength the object size in bytes
+     * @param cacheKey      the bitrate cache key
+     */
+    private void probeBitrate(final String objectKey, final long contentLength, final String cacheKey) {
+        try {
+            double seconds = Mp4Faststart.readDurationSeconds(
+                    (target, position) -> readRange(objectKey, target, position), contentLength);
+            bitrates.put(cacheKey, seconds > 0 ? (long) (contentLength / seconds) : UNKNOWN_BITRATE);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read the duration of {}: {}", objectKey, e.toString());
+            bitrates.put(cacheKey, UNKNOWN_BITRATE);
+        } finally {
+            probing.remove(cacheKey);
+        }
+    }
+
+    /**
+     * Reads a byte range of a stored object into a buffer.
+     *
+     * @param objectKey the object key
+     * @param target    buffer receiving the bytes
+     * @param position  offset of the first byte
+     * @return the number of bytes read, or -1 past the end of the object
+     * @throws IOException if the media store cannot be read
+     */
+    private int readRange(final String objectKey, final ByteBuffer target, final long position) throws IOException {
+        try (InputStream input = mediaStore.get(objectKey, position, position + target.remaining() - 1)) {
+            byte[] bytes = input.readNBytes(target.remaining());
+            if (bytes.length == 0) {
+                return -1;
+            }
+            target.put(bytes);
+            return bytes.length;
+        }
+    }
+
+    /**
+     * Classifies an object for sizing.
+     *
+     * @param objectKey   the object key
+     * @param contentType the object's MIME type, may be null
+     * @return {@code video}, {@code pdf} or {@code other}
+     */
+    private static String kindOf(final String objectKey, final String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.startsWith("video/")) {
+            return "video";
+        }
+        if (type.equals(PDF_CONTENT_TYPE) || objectKey.toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+            return "pdf";
+        }
+        return "other";
+    }
+
+    /**
+     * Tells whether a video is an MP4 whose movie header can be read.
+     *
+     * @param objectKey   the object key
+     * @param contentType the object's MIME type, may be null
+     * @return true for MP4 videos
+     */
+    private static boolean isMp4(final String objectKey, final String contentType) {
+        String name = objectKey.toLowerCase(Locale.ROOT);
+        return MP4_CONTENT_TYPE.equalsIgnoreCase(contentType) || name.endsWith(MP4_SUFFIX) || name.endsWith(M4V_SUFFIX);
+    }
+
+    /**
+     * Limits a value to a range; the lower bound wins if the bounds cross.
+     *
+     * @param value the value
+     * @param min   the lower bound
+     * @param max   the upper bound
+     * @return the clamped value
+     */
+    private static long clamp(final long value, final long min, final long max) {
+        return Math.max(min, Math.min(value, max));
+    }
+
+    /**
+     * Smoothed throughput of one viewer.
+     */
+    private static final class ViewerThroughput {
+
+        /**
+         * Bytes per second.
+         */
+        private final double bytesPerSecond;
+
+        /**
+         * Time of the last measurement in epoch milliseconds.
+         */
+        private final long updatedAt = System.currentTimeMillis();
+
+        /**
+         * Creates a measurement.
+         *
+         * @param bytesPerSecond bytes per second
+         */
+        ViewerThroughput(final double bytesPerSecond) {
+            this.bytesPerSecond = bytesPerSecond;
+        }
+    }
+
+    /**
+     * Range stream reporting the bytes read and the time taken once it is closed.
+     */
+    private final class MeasuredInputStream extends FilterInputStream {
+
+        /**
+         * The viewer consuming the stream.
+         */
+        private final String viewerId;
+
+        /**
+         * Time of the first byte in nanoseconds, or 0 before it.
+         */
+        private long firstByteAt;
+
+        /**
+         * Bytes read so far.
+         */
+        private long bytes;
+
+        /**
+         * Set once the transfer was recorded.
+         */
+        private boolean recorded;
+
+        /**
+         * Wraps a range stream.
+         *
+         * @param viewerId the viewer consuming the stream
+         * @param input    the range content
+         */
+        MeasuredInputStream(final String viewerId, final InputStream input) {
+            super(input);
+            this.viewerId = viewerId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int n = super.read(b, off, len);
+            count(n);
+            return n;
+        }
+
+        /**
+         * Records the transfer and closes the underlying stream.
+         *
+         * @throws IOException if the underlying stream fails to close
+         */
+        @Override
+        public void close() throws IOException {
+            if (!recorded && firstByteAt != 0) {
+                recorded = true;
+                recordTransfer(viewerId, bytes, System.nanoTime() - firstByteAt);
+            }
+            super.close();
+        }
+
+        /**
+         * Accounts for a read.
+         *
+         * @param n bytes read, or -1 at the end of the stream
+         */
+        private void count(final int n) {
+            if (n > 0) {
+                if (firstByteAt == 0) {
+                    firstByteAt = System.nanoTime();
+                }
+                bytes += n;
+            }
+        }
+    }
+}
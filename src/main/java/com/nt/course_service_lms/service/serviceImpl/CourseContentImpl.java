@@ -66,6 +66,11 @@ public class CourseContentImpl implements CourseContentService {
      */
     private final UserProgressRepository userProgressRepository;
 
+    /**
+     * Deletes the files of deleted course contents from S3 after the transaction commits.
+     */
+    private final StorageCleanupWorker storageCleanupWorker;
+
     /**
      * Constructor-based dependency injection for better testability and immutability.
      *
@@ -73,15 +78,18 @@ public class CourseContentImpl implements CourseContentService {
      * @param courseRepository        repository for course operations
      * @param s3FileService           service for S3 file operations
      * @param userProgressRepository  repository for user progress operations
+     * @param storageCleanupWorker    worker deleting unused files from S3
      */
     @Autowired
     public CourseContentImpl(final CourseContentRepository courseContentRepository,
                              final CourseRepository courseRepository, final S3FileService s3FileService,
-                             final UserProgressRepository userProgressRepository) {
+                             final UserProgressRepository userProgressRepository,
+                             final StorageCleanupWorker storageCleanupWorker) {
         this.courseContentRepository = courseContentRepository;
         this.courseRepository = courseRepository;
         this.s3FileService = s3FileService;
         this.userProgressRepository = userProgressRepository;
+        this.storageCleanupWorker = storageCleanupWorker;
     }
 
     /**
@@ -215,6 +223,8 @@ public class CourseContentImpl implements CourseContentService {
 
     /**
      * Deletes a course content by its ID.
+     * Progress records are removed with one bulk statement; the stored file is queued for deletion
+     * from S3 once the transaction commits, unless another course content links to it.
      *
      * @param courseContentId the ID of the course content to delete
      * @return success message upon deletion
@@ -232,10 +242,13 @@ public class CourseContentImpl implements CourseContentService {
 
             String fileS3 = courseContent.getContentType() + "/" + courseContent.getResourceLink();
 
-            if (s3FileService.deleteFile(fileS3)) {
-                log.info("Successfully deleted file from S3 with named: {}", fileS3);
+            if (courseContent.getResourceLink() == null) {
+                log.info("Course content has no stored file, deleting data from the database");
+            } else if (s3FileService.releaseReference(fileS3)) {
+                log.info("File {} is still used by other course content, keeping it in S3", fileS3);
             } else {
-                log.info("file is not present at S3, deleting data from the database");
+                storageCleanupWorker.scheduleDeletion(fileS3);
+                log.info("Scheduled deletion of file from S3 with named: {}", fileS3);
             }
 
 //            courseContent.setActive(false);
@@ -244,9 +257,9 @@ public class CourseContentImpl implements CourseContentService {
 //            log.info("Deleting Data from the database");
             log.info("Deleting user progress from user_progress table for respective content with id : {}",
                     courseContent.getCourseContentId());
-            userProgressRepository.deleteByContentId(courseContent.getCourseContentId());
-            log.info("Successfully Deleted user progress for respective content with id : {}",
-                    courseContent.getCourseContentId());
+            int deletedProgress = userProgressRepository.deleteByContentId(courseContent.getCourseContentId());
+            log.info("Successfully Deleted {} user progress records for respective content with id : {}",
+                    deletedProgress, courseContent.getCourseContentId());
             log.info("Deleting course content from course_content table for respective content with id : {}",
                     courseContent.getCourseContentId());
             courseContentRepository.delete(courseContent);
@@ -19,6 +19,7 @@ import com.nt.course_service_lms.service.CourseService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -348,6 +349,7 @@ public class CourseServiceImpl implements CourseService {
      * @return a {@link DashboardDataOutDTO} containing recent course summaries and bundle summaries
      */
     @Override
+    @Transactional(readOnly = true)
     public DashboardDataOutDTO getRecentDashboardData() {
         log.info("Fetching recent dashboard data with optimized query");
 
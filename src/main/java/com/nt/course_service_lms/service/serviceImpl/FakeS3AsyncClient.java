@@ -0,0 +1,371 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.service.MediaStore;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.http.HttpStatus;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process {@link S3AsyncClient} serving objects from a {@link MediaStore}, for load tests of the
+ * async streaming engine without AWS.
+ * <p>
+ * Only {@code headObject} and ranged {@code getObject} are implemented. Responses are delayed by a
+ * configurable first-byte latency on a scheduler, so thousands of waiting requests hold no thread,
+ * as with the real client. Object content is emitted in fixed-size buffers strictly on demand,
+ * honouring the subscriber's back-pressure. The bucket name is ignored.
+ * </p>
+ * <p>
+ * Only wired under the load-test profile, see {@link com.nt.course_service_lms.config.AsyncStreamingConfig}.
+ * </p>
+ */
+@Slf4j
+public class FakeS3AsyncClient implements S3AsyncClient {
+
+    /**
+     * Backend holding the objects.
+     */
+    private final MediaStore mediaStore;
+
+    /**
+     * Simulated first-byte latency in milliseconds.
+     */
+    private final long firstByteDelayMs;
+
+    /**
+     * Size of the emitted buffers.
+     */
+    private final int chunkSize;
+
+    /**
+     * Runs delayed responses and the reads feeding subscribers.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Creates a fake client.
+     *
+     * @param mediaStore       backend holding the objects
+     * @param firstByteDelayMs simulated first-byte latency in milliseconds
+     * @param chunkSize        size of the emitted buffers
+     * @param threads          number of threads reading from the media store
+     */
+    public FakeS3AsyncClient(final MediaStore mediaStore, final long firstByteDelayMs, final int chunkSize,
+                             final int threads) {
+        this.mediaStore = mediaStore;
+        this.firstByteDelayMs = firstByteDelayMs;
+        this.chunkSize = chunkSize;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fake-s3-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Looks up an object's size and content type after the simulated latency.
+     *
+     * @param request the head request
+     * @return the object metadata, failing with {@link NoSuchKeyException} for missing keys
+     */
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(final HeadObjectRequest request) {
+        CompletableFuture<HeadObjectResponse> result = new CompletableFuture<>();
+        executor.schedule(() -> {
+            try {
+                MediaStore.ObjectInfo info = lookup(request.key());
+                result.complete(HeadObjectResponse.builder()
+                        .contentLength(info.contentLength())
+                        .contentType(info.contentType())
+                        .build());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }, firstByteDelayMs, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * Streams an object, or the range given by {@code request.range()}, after the simulated latency.
+     *
+     * @param request     the get request
+     * @param transformer receives the response and the content publisher
+     * @param <T>         the transformer's result type
+     * @return the transformer's result
+     */
+    @Override
+    public <T> CompletableFuture<T> getObject(final GetObjectRequest request,
+                                              final AsyncResponseTransformer<GetObjectResponse, T> transformer) {
+        CompletableFuture<T> result = transformer.prepare();
+        executor.schedule(() -> {
+            try {
+                MediaStore.ObjectInfo info = lookup(request.key());
+                long start = 0;
+                long end = info.contentLength() - 1;
+                String range = request.range();
+                if (range != null && range.startsWith("bytes=")) {
+                    String[] parts = range.substring("bytes=".length()).split("-");
+                    start = Long.parseLong(parts[0]);
+                    if (parts.length > 1 && !parts[1].isEmpty()) {
+                        end = Math.min(end, Long.parseLong(parts[1]));
+                    }
+                }
+                transformer.onResponse(GetObjectResponse.builder()
+                        .contentLength(end - start + 1)
+                        .contentType(info.contentType())
+                        .contentRange("bytes " + start + "-" + end + "/" + info.contentLength())
+                        .build());
+                transformer.onStream(SdkPublisher.adapt(new RangePublisher(request.key(), start, end)));
+            } catch (Exception e) {
+                transformer.exceptionOccurred(e);
+            }
+        }, firstByteDelayMs, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * Reads object metadata, failing like S3 for missing keys.
+     *
+     * @param key the object key
+     * @return the object metadata
+     * @throws IOException if the media store cannot be queried
+     */
+    private MediaStore.ObjectInfo lookup(final String key) throws IOException {
+        return mediaStore.head(key).orElseThrow(() -> NoSuchKeyException.builder()
+                .message("The specified key does not exist: " + key)
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .build());
+    }
+
+    /**
+     * Publisher of a byte range, giving each subscriber its own read of the media store.
+     */
+    private final class RangePublisher implements Publisher<ByteBuffer> {
+
+        /**
+         * The object key.
+         */
+        private final String key;
+
+        /**
+         * First byte, inclusive.
+         */
+        private final long start;
+
+        /**
+         * Last byte, inclusive.
+         */
+        private final long end;
+
+        /**
+         * Creates a publisher of {@code [start, end]}.
+         *
+         * @param key   the object key
+         * @param start first byte, inclusive
+         * @param end   last byte, inclusive
+         */
+        RangePublisher(final String key, final long start, final long end) {
+            this.key = key;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new RangeSubscription(subscriber, key, start, end));
+        }
+    }
+
+    /**
+     * Emits buffers read from the media store while the subscriber has outstanding demand.
+     * At most one drain runs at a time; signals are therefore never concurrent.
+     */
+    private final class RangeSubscription implements Subscription {
+
+        /**
+         * The subscriber receiving the buffers.
+         */
+        private final Subscriber<? super ByteBuffer> subscriber;
+
+        /**
+         * The object key.
+         */
+        private final String key;
+
+        /**
+         * Next byte to emit.
+         */
+        private long position;
+
+        /**
+         * Last byte, inclusive.
+         */
+        private final long end;
+
+        /**
+         * Buffers requested but not yet emitted.
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * Whether a drain is scheduled or running.
+         */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * Set once the subscriber cancelled.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Set once a terminal signal was sent; only touched by the drain.
+         */
+        private boolean done;
+
+        /**
+         * Stream over the range, opened by the first drain.
+         */
+        private InputStream input;
+
+        /**
+         * Creates the subscription.
+         *
+         * @param subscriber the subscriber
+         * @param key        the object key
+         * @param start      first byte, inclusive
+         * @param end        last byte, inclusive
+         */
+        RangeSubscription(final Subscriber<? super ByteBuffer> subscriber, final String key,
+                          final long start, final long end) {
+            this.subscriber = subscriber;
+            this.key = key;
+            this.position = start;
+            this.end = end;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Demand must be positive: " + n));
+                return;
+            }
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            scheduleDrain();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            scheduleDrain();
+        }
+
+        /**
+         * Schedules a drain unless one is already pending.
+         */
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Emits buffers while there is demand, then completes at the end of the range.
+         */
+        private void drain() {
+            try {
+                if (input == null && !cancelled && !done) {
+                    input = mediaStore.get(key, position, end);
+                }
+                while (!cancelled && !done && demand.get() > 0) {
+                    byte[] chunk = input.readNBytes((int) Math.min(chunkSize, end - position + 1));
+                    if (chunk.length == 0) {
+                        done = true;
+                        subscriber.onComplete();
+                        break;
+                    }
+                    position += chunk.length;
+                    demand.decrementAndGet();
+                    subscriber.onNext(ByteBuffer.wrap(chunk));
+                    if (position > end) {
+                        done = true;
+                        subscriber.onComplete();
+                    }
+                }
+            } catch (IOException e) {
+                done = true;
+                subscriber.onError(e);
+            } finally {
+                if (cancelled || done) {
+                    closeInput();
+                }
+                draining.set(false);
+            }
+            // Demand or a cancel may have arrived after the loop ended
+            if ((!done && !cancelled && demand.get() > 0) || (cancelled && input != null)) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * Closes the range stream, ignoring failures.
+         */
+        private void closeInput() {
+            if (input == null) {
+                return;
+            }
+            try {
+                input.close();
+            } catch (IOException e) {
+                log.debug("Failed to close fake S3 stream of {}: {}", key, e.getMessage());
+            }
+            input = null;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.service.MediaStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.nt.course_service_lms.constants.S3Constants.STREAMING_CHUNK_SIZE;
+
+/**
+ * {@link MediaStore} on a local directory, for on-premises installations, benchmarks and integration tests.
+ *
+ * <p>Objects are plain files below the root directory, named by their key. Writes go to a temporary
+ * file in the target directory and are published with an atomic rename, so readers never see a
+ * partially written object. Reads use positional {@link FileChannel} reads, which need no seek and
+ * let concurrent range requests share nothing but the file. The content type is derived from the
+ * key's file extension.</p>
+ */
+@Slf4j
+public class LocalMediaStore implements MediaStore {
+
+    /**
+     * Directory below the root holding in-progress multipart uploads; never listed.
+     */
+    static final String STAGING_DIR = ".staging";
+
+    /**
+     * Suffix of temporary files that are renamed into place once written.
+     */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Mask turning a signed byte into an unsigned stream value.
+     */
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * Absolute, normalized root directory of the store.
+     */
+    private final Path root;
+
+    /**
+     * Creates a store rooted at the given directory, creating it if necessary.
+     *
+     * @param root the root directory
+     * @throws IOException if the directory cannot be created
+     */
+    public LocalMediaStore(final Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        Files.createDirectories(this.root.resolve(STAGING_DIR));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(final String key, final InputStream content, final long contentLength,
+                    final String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), TEMP_SUFFIX);
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 ReadableByteChannel in = Channels.newChannel(content)) {
+                long written = 0;
+                while (written < contentLength) {
+                    long transferred = out.transferFrom(in, written, Math.min(STREAMING_CHUNK_SIZE, contentLength - written));
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of content for " + key + " after " + written + " bytes");
+                    }
+                    written += transferred;
+                }
+            }
+            publish(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MultipartUpload startMultipartUpload(final String key, final String contentType) throws IOException {
+        Path target = resolve(key);
+        Path staging = Files.createDirectory(root.resolve(STAGING_DIR).resolve(UUID.randomUUID().toString()));
+        return new LocalMultipartUpload(target, staging);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream get(final String key, final long start, final long end) throws IOException {
+        FileChannel channel = open(key);
+        return new ChannelRangeInputStream(channel, start, Math.min(end + 1, channel.size()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream get(final String key) throws IOException {
+        FileChannel channel = open(key);
+        return new ChannelRangeInputStream(channel, 0, channel.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ObjectInfo> head(final String key) throws IOException {
+        Path file = resolve(key);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        String contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .map(MediaType::toString)
+                .orElse(null);
+        return Optional.of(new ObjectInfo(key, Files.size(file), contentType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(final String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> list(final String prefix, final int maxKeys) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .map(this::toKey)
+                    .filter(key -> !key.startsWith(STAGING_DIR + "/") && !key.endsWith(TEMP_SUFFIX))
+                    .filter(key -> prefix == null || key.startsWith(prefix))
+                    .sorted()
+                    .limit(maxKeys)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Maps a key to its file, rejecting keys that would escape the root directory.
+     *
+     * @param key the object key
+     * @return the file path
+     */
+    private Path resolve(final String key) {
+        if (key == null || key.isBlank()) {
+            throw new ResourceNotValidException("Media key cannot be empty");
+        }
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root) || file.equals(root) || file.startsWith(root.resolve(STAGING_DIR))) {
+            throw new ResourceNotValidException("Invalid media key: " + key);
+        }
+        return file;
+    }
+
+    /**
+     * Maps a file below the root back to its slash-separated key.
+     *
+     * @param file the file path
+     * @return the object key
+     */
+    private String toKey(final Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+
+    /**
+     * Opens an object for positional reads.
+     *
+     * @param key the object key
+     * @return the read channel
+     * @throws IOException if the object is missing or cannot be opened
+     */
+    private FileChannel open(final String key) throws IOException {
+        try {
+            return FileChannel.open(resolve(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw (IOException) new FileNotFoundException("Media object not found: " + key).initCause(e);
+        }
+    }
+
+    /**
+     * Moves a fully written temporary file over the target in one atomic rename.
+     *
+     * @param temp   the written file, in the target's directory
+     * @param target the object file
+     * @throws IOException if the rename fails
+     */
+    private static void publish(final Path temp, final Path target) throws IOException {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Multipart upload staging every part as its own file until completion.
+     */
+    private final class LocalMultipartUpload implements MultipartUpload {
+
+        /**
+         * The object file written on completion.
+         */
+        private final Path target;
+
+        /**
+         * Directory holding the uploaded parts.
+         */
+        private final Path staging;
+
+        /**
+         * Creates a handle for a started upload.
+         *
+         * @param target  the object file
+         * @param staging the part directory
+         */
+        LocalMultipartUpload(final Path target, final Path staging) {
+            this.target = target;
+            this.staging = staging;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void uploadPart(final int partNumber, final byte[] data, final int length) throws IOException {
+            try (FileChannel out = FileChannel.open(partFile(partNumber),
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * <p>Parts are concatenated with {@link FileChannel#transferTo}, letting the kernel copy the data.</p>
+         */
+        @Override
+        public void complete() throws IOException {
+            List<Path> parts;
+            try (Stream<Path> files = Files.list(staging)) {
+                parts = files.sorted(Comparator.comparingInt(this::partNumberOf)).collect(Collectors.toList());
+            }
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), TEMP_SUFFIX);
+            try {
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    long position = 0;
+                    for (Path part : parts) {
+                        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                            long size = in.size();
+                            long copied = 0;
+                            while (copied < size) {
+                                copied += in.transferTo(copied, size - copied, out);
+                            }
+                            position += size;
+                        }
+                    }
+                    log.debug("Assembled {} from {} parts, {} bytes", target, parts.size(), position);
+                }
+                publish(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+                abort();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void abort() {
+            try (Stream<Path> files = Files.list(staging)) {
+                List<Path> parts = files.collect(Collectors.toCollection(ArrayList::new));
+                for (Path part : parts) {
+                    Files.deleteIfExists(part);
+                }
+                Files.deleteIfExists(staging);
+            } catch (NoSuchFileException e) {
+                log.debug("Multipart staging directory already removed: {}", staging);
+            } catch (IOException e) {
+                log.error("Failed to remove multipart staging directory {} - Error: {}", staging, e.getMessage());
+            }
+        }
+
+        /**
+         * Returns the staging file of a part.
+         *
+         * @param partNumber the 1-based part number
+         * @return the part file
+         */
+        private Path partFile(final int partNumber) {
+            return staging.resolve(String.valueOf(partNumber));
+        }
+
+        /**
+         * Parses the part number from a part file name.
+         *
+         * @param part the part file
+         * @return the part number
+         */
+        private int partNumberOf(final Path part) {
+            return Integer.parseInt(part.getFileName().toString());
+        }
+    }
+
+    /**
+     * Input stream over a byte range of a file channel, using positional reads only.
+     */
+    private static final class ChannelRangeInputStream extends InputStream {
+
+        /**
+         * The channel being read; closed with the stream.
+         */
+        private final FileChannel channel;
+
+        /**
+         * Position one past the last byte of the range.
+         */
+        private final long limit;
+
+        /**
+         * Position of the next byte to read.
+         */
+        private long position;
+
+        /**
+         * Creates a stream over {@code [start, limit)}.
+         *
+         * @param channel the channel to read
+         * @param start   the first position, inclusive
+         * @param limit   the last position, exclusive
+         */
+        ChannelRangeInputStream(final FileChannel channel, final long start, final long limit) {
+            this.channel = channel;
+            this.position = start;
+            this.limit = limit;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & BYTE_MASK;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (position >= limit) {
+                return -1;
+            }
+            int toRead = (int) Math.min(len, limit - position);
+            int read = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long skip(final long n) {
+            long skipped = Math.max(0, Math.min(n, limit - position));
+            position += skipped;
+            return skipped;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, limit - position);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Byte range of a media object served for an HTTP range request, shared by the streaming engines.
+ */
+final class MediaRange {
+
+    /**
+     * The starting byte position (inclusive) of the range.
+     */
+    private final long start;
+
+    /**
+     * The ending byte position (inclusive) of the range.
+     */
+    private final long end;
+
+    /**
+     * Whether the end was chosen by the server rather than requested by the client.
+     */
+    private final boolean openEnded;
+
+    /**
+     * Constructs a new range with the specified start and end positions.
+     *
+     * @param start     the starting byte position (inclusive)
+     * @param end       the ending byte position (inclusive)
+     * @param openEnded true if the end was chosen by the server
+     */
+    MediaRange(final long start, final long end, final boolean openEnded) {
+        this.start = start;
+        this.end = end;
+        this.openEnded = openEnded;
+    }
+
+    /**
+     * Parses the HTTP Range header to determine the byte range to be streamed.
+     * Open-ended ranges, and requests without a valid range header, are cut to the
+     * chunk size chosen for their start position.
+     *
+     * @param rangeHeader   the HTTP Range header value (e.g., "bytes=0-1023")
+     * @param contentLength the total length of the file content in bytes
+     * @param chunkSizeAt   chunk size in bytes for a range starting at the given position
+     * @return the start and end byte positions
+     */
+    static MediaRange parse(final String rangeHeader, final long contentLength, final LongUnaryOperator chunkSizeAt) {
+        if (rangeHeader == null || !rangeHeader.startsWith("bytes=")) {
+            return new MediaRange(0, Math.min(chunkSizeAt.applyAsLong(0) - 1, contentLength - 1), true);
+        }
+
+        try {
+            String range = rangeHeader.substring(CommonConstants.NUMBER_SIX); // Remove "bytes="
+            String[] parts = range.split("-");
+
+            long start = Long.parseLong(parts[0]);
+            long end;
+            boolean openEnded = parts.length < 2 || parts[1].isEmpty();
+
+            if (!openEnded) {
+                end = Long.parseLong(parts[1]);
+            } else {
+                end = Math.min(start + chunkSizeAt.applyAsLong(start) - 1, contentLength - 1);
+            }
+
+            return new MediaRange(start, Math.min(end, contentLength - 1), openEnded);
+        } catch (Exception e) {
+            return new MediaRange(0, Math.min(chunkSizeAt.applyAsLong(0) - 1, contentLength - 1), true);
+        }
+    }
+
+    /**
+     * Gets the starting byte position of the range.
+     *
+     * @return the starting byte position (inclusive)
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the ending byte position of the range.
+     *
+     * @return the ending byte position (inclusive)
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Tells whether the client left the end of the range to the server.
+     *
+     * @return true for open-ended ranges and requests without a usable range header
+     */
+    boolean isOpenEnded() {
+        return openEnded;
+    }
+
+    /**
+     * Gets the number of bytes in the range.
+     *
+     * @return the range length
+     */
+    long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Formats the {@code Content-Range} header value of the range.
+     *
+     * @param contentLength the total length of the file content in bytes
+     * @return the header value, e.g. {@code bytes 0-1023/4096}
+     */
+    String contentRange(final long contentLength) {
+        return "bytes " + start + "-" + end + "/" + contentLength;
+    }
+}
@@ -0,0 +1,75 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+import static com.nt.course_service_lms.constants.S3Constants.M4V_SUFFIX;
+import static com.nt.course_service_lms.constants.S3Constants.MP4_SUFFIX;
+import static com.nt.course_service_lms.constants.S3Constants.VIDEO_FOLDER;
+
+/**
+ * One-off job rewriting videos uploaded before faststart support into faststart layout.
+ * <p>
+ * Runs in the background once the application is ready, when
+ * {@code lms.media.faststart.backfill.enabled=true}. Each video's top-level box headers are read
+ * with small range requests; only videos whose index trails the media data are downloaded,
+ * rewritten and stored again under the same key. Enable it on a single instance and switch it
+ * off again once a run has finished; later runs find nothing to rewrite.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "lms.media.faststart.backfill.enabled", havingValue = "true")
+public class Mp4FaststartBackfill {
+
+    /**
+     * Service listing, reading and rewriting stored media.
+     */
+    private final S3FileService s3FileService;
+
+    /**
+     * Starts the backfill in the background after startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill();
+    }
+
+    /**
+     * Rewrites every stored MP4 video that is not yet in faststart layout.
+     *
+     * @return the number of rewritten videos
+     */
+    public int backfill() {
+        List<String> keys = s3FileService.listFiles(VIDEO_FOLDER + "/", Integer.MAX_VALUE);
+        log.info("Faststart backfill checking {} stored videos", keys.size());
+
+        int rewritten = 0;
+        for (String key : keys) {
+            String name = key.toLowerCase(Locale.ROOT);
+            if (!name.endsWith(MP4_SUFFIX) && !name.endsWith(M4V_SUFFIX)) {
+                continue;
+            }
+            try {
+                if (s3FileService.rewriteForFaststart(key)) {
+                    rewritten++;
+                    log.info("Faststart backfill rewrote {}", key);
+                }
+            } catch (Exception e) {
+                log.warn("Faststart backfill failed for {} - Error: {}", key, e.getMessage());
+            }
+        }
+        log.info("Faststart backfill finished: {} of {} videos rewritten", rewritten, keys.size());
+        return rewritten;
+    }
+}
@@ -0,0 +1,167 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.dto.outDTO.MediaUrlOutDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signs short-lived GET URLs so clients fetch media straight from S3 instead of through this
+ * service.
+ * <p>
+ * Signing costs an HMAC chain per URL, so URLs are cached per object, viewer and time window of
+ * {@code signing-window-seconds}: every request of a viewer within the window gets the same URL.
+ * URLs are signed for {@code url-ttl-seconds} plus the window, so a cached URL always has at least
+ * the TTL left. The cache is emptied when the window rolls over. Signing outcomes are counted in
+ * {@code lms.media.presign} tagged {@code result=hit|signed}.
+ * </p>
+ * <p>
+ * Only available with the S3 media store; {@link #isAvailable()} is false otherwise.
+ * </p>
+ */
+@Service
+public class PresignedUrlService {
+
+    /**
+     * Name of the signing outcome counter.
+     */
+    private static final String METRIC_NAME = "lms.media.presign";
+
+    /**
+     * Signer of the URLs, or null without the S3 media store.
+     */
+    private final S3Presigner presigner;
+
+    /**
+     * The bucket holding the media objects.
+     */
+    private final String bucketName;
+
+    /**
+     * Presigned delivery settings.
+     */
+    private final MediaStreamingProperties.Delivery properties;
+
+    /**
+     * URLs of the current window keyed by object and viewer.
+     */
+    private final Map<String, MediaUrlOutDTO> urls = new ConcurrentHashMap<>();
+
+    /**
+     * Window the cached URLs belong to.
+     */
+    private volatile long cachedWindow = -1;
+
+    /**
+     * Requests answered from the cache.
+     */
+    private final Counter hits;
+
+    /**
+     * Requests that signed a new URL.
+     */
+    private final Counter signed;
+
+    /**
+     * Creates the service.
+     *
+     * @param presigner     the S3 presigner, absent without the S3 media store
+     * @param bucketName    the bucket holding the media objects
+     * @param properties    the streaming settings
+     * @param meterRegistry registry for the signing metrics
+     */
+    public PresignedUrlService(final ObjectProvider<S3Presigner> presigner,
+                               @Value("${aws.s3.bucket-name:}") final String bucketName,
+                               final MediaStreamingProperties properties,
+                               final MeterRegistry meterRegistry) {
+        this.presigner = presigner.getIfAvailable();
+        this.bucketName = bucketName;
+        this.properties = properties.getDelivery();
+        this.hits = outcomeCounter(meterRegistry, "hit");
+        this.signed = outcomeCounter(meterRegistry, "signed");
+    }
+
+    /**
+     * Tells whether URLs can be signed, i.e. the media store is S3.
+     *
+     * @return true if presigned delivery is possible
+     */
+    public boolean isAvailable() {
+        return presigner != null;
+    }
+
+    /**
+     * Returns a presigned GET URL of an object for a viewer, reusing the one signed earlier in
+     * the current window.
+     *
+     * @param objectKey the object key
+     * @param viewerId  the user or client the URL is handed to
+     * @return the URL and its expiry
+     * @throws IllegalStateException if the media store is not S3
+     */
+    public MediaUrlOutDTO presign(final String objectKey, final String viewerId) {
+        if (presigner == null) {
+            throw new IllegalStateException("Presigned URLs require the S3 media store");
+        }
+        long window = System.currentTimeMillis() / Duration.ofSeconds(properties.getSigningWindowSeconds()).toMillis();
+        if (window != cachedWindow) {
+            synchronized (this) {
+                if (window != cachedWindow) {
+                    urls.clear();
+                    cachedWindow = window;
+                }
+            }
+        }
+
+        String cacheKey = objectKey + '\n' + viewerId;
+        MediaUrlOutDTO cached = urls.get(cacheKey);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        MediaUrlOutDTO url = sign(objectKey);
+        signed.increment();
+        if (urls.size() < properties.getMaxCachedUrls()) {
+            cached = urls.putIfAbsent(cacheKey, url);
+        }
+        return cached != null ? cached : url;
+    }
+
+    /**
+     * Signs a GET URL valid for the TTL plus one window.
+     *
+     * @param objectKey the object key
+     * @return the URL and its expiry
+     */
+    private MediaUrlOutDTO sign(final String objectKey) {
+        PresignedGetObjectRequest request = presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(properties.getUrlTtlSeconds() + properties.getSigningWindowSeconds()))
+                .getObjectRequest(get -> get.bucket(bucketName).key(objectKey))
+                .build());
+        return new MediaUrlOutDTO(request.url().toString(), request.expiration());
+    }
+
+    /**
+     * Registers the counter for one signing outcome.
+     *
+     * @param meterRegistry the registry
+     * @param result        the outcome tag
+     * @return the counter
+     */
+    private static Counter outcomeCounter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("Presigned media URLs served from cache or newly signed")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -57,11 +57,28 @@ public class QuestionPoolService {
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz not found"));
 
         List<QuizQuestion> allQuestions = quizQuestionRepository.findByQuizIdOrderByPosition(quizId);
+        return selectQuestions(quiz, allQuestions, attemptNumber);
+    }
 
+    /**
+     * Selects the questions of an attempt from a quiz and its questions already loaded by the caller.
+     * <p>
+     * Applies the same rules as {@link #getQuestionsForAttempt(Long, Long, Long)} without querying the
+     * database, so callers that hold the quiz and its ordered question list do not load them twice.
+     *
+     * @param quiz          the quiz being attempted
+     * @param allQuestions  all questions of the quiz, ordered by position
+     * @param attemptNumber Attempt number (used for sequential selection)
+     * @return List of {@link QuizQuestion} selected for the attempt
+     * @throws ResourceNotFoundException if the quiz has no questions
+     */
+    public List<QuizQuestion> selectQuestions(final Quiz quiz, final List<QuizQuestion> allQuestions,
+                                              final Long attemptNumber) {
         if (allQuestions.isEmpty()) {
             throw new ResourceNotFoundException("No questions found for quiz");
         }
 
+        Long quizId = quiz.getQuizId();
         int totalQuestions = allQuestions.size();
         int questionsToShow = determineQuestionsToShow(quiz.getQuestionsToShow(), totalQuestions);
 
@@ -0,0 +1,109 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.repository.QuizRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Respaces the rank keys of quiz questions.
+ * <p>
+ * Inserts and moves take the midpoint between the keys of their new neighbours, so repeated edits
+ * at the same spot halve the gap each time. A scheduled sweep respaces every quiz whose smallest gap
+ * dropped below {@link CommonConstants#QUESTION_RANK_MIN_GAP}; an edit that finds no gap at all
+ * respaces its quiz inline through {@link #respace(Long, List)}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionRankRebalancer {
+
+    /**
+     * Repository for reading and rewriting question rank keys.
+     */
+    private final QuizQuestionRepository quizQuestionRepository;
+
+    /**
+     * Repository used to lock the quiz whose questions are respaced.
+     */
+    private final QuizRepository quizRepository;
+
+    /**
+     * Evicts cached question rows and queries after respacing.
+     */
+    private final QuizCacheService quizCacheService;
+
+    /**
+     * Transaction manager for the per-quiz transactions of the sweep.
+     */
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Respaces all quizzes whose neighbouring rank keys came too close, one transaction per quiz.
+     */
+    @Scheduled(fixedDelayString = "${lms.question-rank.rebalance-delay-ms:600000}",
+            initialDelayString = "${lms.question-rank.rebalance-delay-ms:600000}")
+    public void rebalanceCrowdedQuizzes() {
+        List<Long> quizIds = quizQuestionRepository.findQuizIdsWithRankGapBelow(CommonConstants.QUESTION_RANK_MIN_GAP);
+        if (quizIds.isEmpty()) {
+            return;
+        }
+
+        log.info("Respacing question rank keys of {} quizzes", quizIds.size());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Long quizId : quizIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalanceQuiz(quizId));
+            } catch (RuntimeException e) {
+                log.warn("Failed to respace question rank keys of quiz ID {}: {}", quizId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Locks a quiz and respaces its questions in their current order.
+     *
+     * @param quizId the quiz to respace
+     */
+    public void rebalanceQuiz(final Long quizId) {
+        if (quizRepository.lockForQuestionOrdering(quizId).isEmpty()) {
+            return;
+        }
+        respace(quizId, quizQuestionRepository.findByQuizIdOrderByPosition(quizId));
+    }
+
+    /**
+     * Assigns evenly spaced rank keys to the questions of a quiz in the given order with one statement.
+     * <p>
+     * The caller must hold the quiz lock. The persistence context is cleared afterwards, so loaded
+     * questions become detached.
+     * </p>
+     *
+     * @param quizId  the quiz the questions belong to
+     * @param ordered every question of the quiz in the desired order
+     * @return the new rank key keyed by question ID
+     */
+    public Map<Long, Long> respace(final Long quizId, final List<QuizQuestion> ordered) {
+        Map<Long, Long> rankKeys = new LinkedHashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            rankKeys.put(ordered.get(i).getQuestionId(), (i + 1) * CommonConstants.QUESTION_RANK_GAP);
+        }
+
+        int updated = quizQuestionRepository.applyRankKeys(quizId, rankKeys, LocalDateTime.now());
+        quizCacheService.evictQuizQuestions(quizId);
+        log.info("Respaced rank keys of {} questions of quiz ID: {}", updated, quizId);
+        return rankKeys;
+    }
+}
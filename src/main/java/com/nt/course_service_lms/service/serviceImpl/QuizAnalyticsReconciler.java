@@ -0,0 +1,121 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.converters.UserResponseConverter;
+import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+import com.nt.course_service_lms.entity.QuizAttempt;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.UserResponseRepository;
+import com.nt.course_service_lms.service.QuizAnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Applies graded attempts whose asynchronous analytics update never completed.
+ * <p>
+ * The update after a submission runs on the async executor and is lost if it fails or the instance
+ * stops before it runs. A scheduled sweep re-applies graded attempts that are still not marked as
+ * applied once a grace period has passed, one transaction per attempt. The applied flag makes this
+ * safe against the original update finishing late or a concurrent rebuild.
+ * </p>
+ */
+@Service
+@Slf4j
+public class QuizAnalyticsReconciler {
+
+    /**
+     * Repository used to find the pending attempts.
+     */
+    private final QuizAttemptRepository quizAttemptRepository;
+
+    /**
+     * Repository used to load the responses of a pending attempt.
+     */
+    private final UserResponseRepository userResponseRepository;
+
+    /**
+     * Converts the loaded responses into the event payload.
+     */
+    private final UserResponseConverter userResponseConverter;
+
+    /**
+     * Service applying an attempt to the aggregates in its own transaction.
+     */
+    private final QuizAnalyticsService quizAnalyticsService;
+
+    /**
+     * Time in milliseconds an attempt is left to its own update before it is reconciled.
+     */
+    private final long graceMs;
+
+    /**
+     * Maximum number of attempts reconciled per sweep.
+     */
+    private final int batchSize;
+
+    /**
+     * Creates the reconciler.
+     *
+     * @param quizAttemptRepository  repository of the quiz attempts
+     * @param userResponseRepository repository of the user responses
+     * @param userResponseConverter  converter of the user responses
+     * @param quizAnalyticsService   service maintaining the aggregates
+     * @param graceMs                time an attempt is left to its own update in milliseconds
+     * @param batchSize              maximum number of attempts per sweep
+     */
+    public QuizAnalyticsReconciler(final QuizAttemptRepository quizAttemptRepository,
+                                   final UserResponseRepository userResponseRepository,
+                                   final UserResponseConverter userResponseConverter,
+                                   final QuizAnalyticsService quizAnalyticsService,
+                                   @Value("${lms.quiz-analytics.reconcile.grace-ms:300000}") final long graceMs,
+                                   @Value("${lms.quiz-analytics.reconcile.batch-size:100}") final int batchSize) {
+        this.quizAttemptRepository = quizAttemptRepository;
+        this.userResponseRepository = userResponseRepository;
+        this.userResponseConverter = userResponseConverter;
+        this.quizAnalyticsService = quizAnalyticsService;
+        this.graceMs = graceMs;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Re-applies the oldest graded attempts whose analytics update is overdue.
+     *
+     * @return number of attempts applied by this sweep
+     */
+    @Scheduled(fixedDelayString = "${lms.quiz-analytics.reconcile.delay-ms:60000}",
+            initialDelayString = "${lms.quiz-analytics.reconcile.delay-ms:60000}")
+    public int reconcile() {
+        LocalDateTime before = LocalDateTime.now().minus(graceMs, ChronoUnit.MILLIS);
+        List<QuizAttempt> pending = quizAttemptRepository.findAnalyticsPending(before, PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        log.info("Reconciling analytics of {} graded quiz attempts", pending.size());
+        int applied = 0;
+        for (QuizAttempt attempt : pending) {
+            try {
+                List<UserResponseOutDTO> responses = userResponseRepository
+                        .findByUserIdAndQuizIdAndAttempt(attempt.getUserId(), attempt.getQuizId(), attempt.getAttempt())
+                        .stream()
+                        .map(userResponseConverter::convertToOutDTO)
+                        .collect(Collectors.toList());
+                quizAnalyticsService.recordSubmission(new QuizSubmittedEvent(attempt.getQuizAttemptId(),
+                        attempt.getQuizId(), attempt.getPercentageScore(), responses));
+                applied++;
+            } catch (RuntimeException e) {
+                log.warn("Failed to reconcile analytics of quiz attempt ID {}: {}",
+                        attempt.getQuizAttemptId(), e.getMessage());
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,433 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.course_service_lms.constants.QuizAnalyticsConstants;
+import com.nt.course_service_lms.dto.outDTO.QuestionAnalyticsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizAnalyticsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+import com.nt.course_service_lms.entity.Quiz;
+import com.nt.course_service_lms.entity.QuizAnalytics;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.entity.QuizQuestionAnalytics;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.repository.QuizAnalyticsRepository;
+import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.QuizQuestionAnalyticsRepository;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.repository.QuizRepository;
+import com.nt.course_service_lms.repository.UserResponseRepository;
+import com.nt.course_service_lms.service.QuizAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-quiz and per-question analytics aggregates.
+ * <p>
+ * Graded submissions are folded in asynchronously after the submitting transaction commits, so
+ * grading latency is unaffected. Updates to the same quiz are serialized by a row lock on its
+ * quiz_analytics row; reads only touch the aggregate tables, independent of the number of attempts.
+ * </p>
+ * <p>
+ * Each graded attempt carries an analytics_applied flag that is set under that lock, so an attempt is
+ * counted once whether it arrives through its own update, a rebuild or the reconciler re-applying a
+ * failed update.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuizAnalyticsServiceImpl implements QuizAnalyticsService {
+
+    /**
+     * Scale used for averages and ratios.
+     */
+    private static final int RESULT_SCALE = 4;
+
+    /**
+     * Repository for quiz-level aggregates.
+     */
+    private final QuizAnalyticsRepository quizAnalyticsRepository;
+
+    /**
+     * Repository for question-level aggregates.
+     */
+    private final QuizQuestionAnalyticsRepository quizQuestionAnalyticsRepository;
+
+    /**
+     * Repository for quizzes, used for the passing score.
+     */
+    private final QuizRepository quizRepository;
+
+    /**
+     * Repository for quiz questions, used for question types.
+     */
+    private final QuizQuestionRepository quizQuestionRepository;
+
+    /**
+     * Repository for quiz attempts, used when rebuilding.
+     */
+    private final QuizAttemptRepository quizAttemptRepository;
+
+    /**
+     * Repository for user responses, used when rebuilding.
+     */
+    private final UserResponseRepository userResponseRepository;
+
+    /**
+     * Parses JSON-encoded answers into option keys.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Applies a committed submission to the aggregates on the async executor.
+     *
+     * @param event the submission that was just committed
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onQuizSubmitted(final QuizSubmittedEvent event) {
+        recordSubmission(event);
+    }
+
+    /**
+     * Folds a graded submission into the aggregates of its quiz and questions.
+     *
+     * @param event the submission that was just committed
+     */
+    @Override
+    @Transactional
+    public void recordSubmission(final QuizSubmittedEvent event) {
+        Quiz quiz = quizRepository.findById(event.quizId()).orElse(null);
+        if (quiz == null) {
+            log.warn("Skipping analytics for attempt {}: quiz {} no longer exists", event.quizAttemptId(), event.quizId());
+            quizAttemptRepository.markAnalyticsApplied(event.quizAttemptId());
+            return;
+        }
+
+        QuizAnalytics analytics = lockAnalytics(event.quizId());
+        if (quizAttemptRepository.markAnalyticsApplied(event.quizAttemptId()) == 0) {
+            log.debug("Analytics for attempt {} of quiz {} were already applied", event.quizAttemptId(), event.quizId());
+            return;
+        }
+        addScore(analytics, event.percentageScore() != null ? event.percentageScore() : BigDecimal.ZERO,
+                quiz.getPassingScore());
+        analytics.setUpdatedAt(LocalDateTime.now());
+
+        List<UserResponseOutDTO> responses = event.responses() != null ? event.responses() : Collections.emptyList();
+        if (!responses.isEmpty()) {
+            Map<Long, QuizQuestion> questions = questionsById(event.quizId());
+            Map<Long, QuizQuestionAnalytics> stats = quizQuestionAnalyticsRepository
+                    .findByQuizIdOrderByQuestionId(event.quizId()).stream()
+                    .collect(Collectors.toMap(QuizQuestionAnalytics::getQuestionId, Function.identity()));
+            for (UserResponseOutDTO response : responses) {
+                addResponse(stats, event.quizId(), questions.get(response.getQuestionId()),
+                        response.getQuestionId(), response.getIsCorrect(), response.getUserAnswer());
+            }
+            quizQuestionAnalyticsRepository.saveAll(stats.values());
+        }
+        log.debug("Recorded analytics for attempt {} of quiz {}", event.quizAttemptId(), event.quizId());
+    }
+
+    /**
+     * Returns the current aggregates of a quiz.
+     *
+     * @param quizId the ID of the quiz
+     * @return the quiz analytics
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public QuizAnalyticsOutDTO getQuizAnalytics(final Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
+        QuizAnalytics analytics = quizAnalyticsRepository.findWithHistogramByQuizId(quizId)
+                .orElseGet(() -> emptyAnalytics(quizId));
+        return toOutDTO(quiz, analytics, quizQuestionAnalyticsRepository.findByQuizIdOrderByQuestionId(quizId));
+    }
+
+    /**
+     * Recomputes the aggregates of a quiz from the stored attempts and responses.
+     * <p>
+     * Every graded attempt is marked as applied first, so submissions whose update is still in flight
+     * are counted here and skipped by their own update instead of being counted twice.
+     * </p>
+     *
+     * @param quizId the ID of the quiz
+     * @return the rebuilt quiz analytics
+     */
+    @Override
+    @Transactional
+    public QuizAnalyticsOutDTO rebuildQuizAnalytics(final Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz not found with ID: " + quizId));
+        log.info("Rebuilding analytics for quiz {}", quizId);
+
+        QuizAnalytics analytics = lockAnalytics(quizId);
+        quizAttemptRepository.markGradedAnalyticsApplied(quizId);
+        analytics.setAttemptCount(0);
+        analytics.setPassCount(0);
+        analytics.setPercentageSum(BigDecimal.ZERO);
+        analytics.getScoreHistogram().clear();
+        for (BigDecimal percentage : quizAttemptRepository.findAppliedPercentagesByQuizId(quizId)) {
+            addScore(analytics, percentage, quiz.getPassingScore());
+        }
+        analytics.setUpdatedAt(LocalDateTime.now());
+
+        Map<Long, QuizQuestion> questions = questionsById(quizId);
+        Map<Long, QuizQuestionAnalytics> stats = new HashMap<>();
+        List<QuizQuestionAnalytics> existing = quizQuestionAnalyticsRepository.findByQuizIdOrderByQuestionId(quizId);
+        for (QuizQuestionAnalytics questionStats : existing) {
+            questionStats.setResponseCount(0);
+            questionStats.setCorrectCount(0);
+            questionStats.getAnswerCounts().clear();
+            stats.put(questionStats.getQuestionId(), questionStats);
+        }
+        for (Object[] row : userResponseRepository.findAppliedAnswerRowsByQuizId(quizId)) {
+            Long questionId = (Long) row[0];
+            addResponse(stats, quizId, questions.get(questionId), questionId, (Boolean) row[1], (String) row[2]);
+        }
+
+        List<QuizQuestionAnalytics> stale = stats.values().stream()
+                .filter(questionStats -> questionStats.getResponseCount() == 0)
+                .collect(Collectors.toList());
+        quizQuestionAnalyticsRepository.deleteAll(stale);
+        stale.forEach(questionStats -> stats.remove(questionStats.getQuestionId()));
+        List<QuizQuestionAnalytics> rebuilt = new ArrayList<>(quizQuestionAnalyticsRepository.saveAll(stats.values()));
+        rebuilt.sort(Comparator.comparing(QuizQuestionAnalytics::getQuestionId));
+
+        return toOutDTO(quiz, analytics, rebuilt);
+    }
+
+    /**
+     * Locks the aggregate row of a quiz, creating it first if needed.
+     * <p>
+     * A missing row is inserted with ON CONFLICT DO NOTHING in the current transaction, so losing the
+     * insert race to a concurrent submission neither fails the transaction nor needs a second connection.
+     * </p>
+     *
+     * @param quizId the ID of the quiz
+     * @return the locked aggregates
+     */
+    private QuizAnalytics lockAnalytics(final Long quizId) {
+        return quizAnalyticsRepository.findForUpdate(quizId).orElseGet(() -> {
+            quizAnalyticsRepository.insertIfAbsent(quizId, LocalDateTime.now());
+            return quizAnalyticsRepository.findForUpdate(quizId)
+                    .orElseThrow(() -> new IllegalStateException("Analytics row missing for quiz " + quizId));
+        });
+    }
+
+    /**
+     * Adds one graded score to the quiz aggregates.
+     *
+     * @param analytics    the locked aggregates
+     * @param percentage   the percentage score, 0-100
+     * @param passingScore the quiz passing score, may be {@code null}
+     */
+    private void addScore(final QuizAnalytics analytics, final BigDecimal percentage, final BigDecimal passingScore) {
+        analytics.setAttemptCount(analytics.getAttemptCount() + 1);
+        analytics.setPercentageSum(analytics.getPercentageSum().add(percentage));
+        if (passingScore != null && percentage.compareTo(passingScore) >= 0) {
+            analytics.setPassCount(analytics.getPassCount() + 1);
+        }
+        analytics.getScoreHistogram().merge(bucketOf(percentage), 1L, Long::sum);
+    }
+
+    /**
+     * Adds one response to the aggregates of its question, creating them if needed.
+     *
+     * @param stats      question aggregates of the quiz, keyed by question ID
+     * @param quizId     the ID of the quiz
+     * @param question   the answered question, {@code null} if it was deleted
+     * @param questionId the ID of the answered question
+     * @param isCorrect  whether the response was correct
+     * @param userAnswer the raw answer
+     */
+    private void addResponse(final Map<Long, QuizQuestionAnalytics> stats, final Long quizId, final QuizQuestion question,
+                             final Long questionId, final Boolean isCorrect, final String userAnswer) {
+        if (questionId == null) {
+            return;
+        }
+        QuizQuestionAnalytics questionStats = stats.computeIfAbsent(questionId, id -> QuizQuestionAnalytics.builder()
+                .questionId(id)
+                .quizId(quizId)
+                .build());
+        questionStats.setResponseCount(questionStats.getResponseCount() + 1);
+        if (Boolean.TRUE.equals(isCorrect)) {
+            questionStats.setCorrectCount(questionStats.getCorrectCount() + 1);
+        }
+        if (question != null && !QuizAnalyticsConstants.FREE_TEXT_QUESTION_TYPE.equals(question.getQuestionType())) {
+            for (String option : optionKeys(userAnswer)) {
+                questionStats.getAnswerCounts().merge(option, 1L, Long::sum);
+            }
+        }
+        questionStats.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Splits an answer into the option keys it selects.
+     * JSON strings select one option, JSON arrays one per element; anything else is taken verbatim.
+     *
+     * @param userAnswer the raw answer
+     * @return the selected option keys
+     */
+    private List<String> optionKeys(final String userAnswer) {
+        if (userAnswer == null || userAnswer.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>();
+        try {
+            JsonNode node = objectMapper.readTree(userAnswer);
+            if (node.isArray()) {
+                node.forEach(element -> keys.add(truncate(element.asText())));
+            } else {
+                keys.add(truncate(node.isValueNode() ? node.asText() : userAnswer.trim()));
+            }
+        } catch (JsonProcessingException e) {
+            keys.add(truncate(userAnswer.trim()));
+        }
+        return keys;
+    }
+
+    /**
+     * Limits an option key to the stored column length.
+     *
+     * @param key the option key
+     * @return the key, truncated if necessary
+     */
+    private static String truncate(final String key) {
+        return key.length() > QuizAnalyticsConstants.MAX_ANSWER_KEY_LENGTH
+                ? key.substring(0, QuizAnalyticsConstants.MAX_ANSWER_KEY_LENGTH) : key;
+    }
+
+    /**
+     * Maps a percentage score to its whole-percent histogram bucket.
+     *
+     * @param percentage the percentage score
+     * @return bucket between 0 and 100
+     */
+    private static int bucketOf(final BigDecimal percentage) {
+        int bucket = percentage.setScale(0, RoundingMode.FLOOR).intValue();
+        return Math.max(0, Math.min(QuizAnalyticsConstants.MAX_SCORE_BUCKET, bucket));
+    }
+
+    /**
+     * Loads the questions of a quiz keyed by ID, served from the question query cache.
+     *
+     * @param quizId the ID of the quiz
+     * @return questions keyed by question ID
+     */
+    private Map<Long, QuizQuestion> questionsById(final Long quizId) {
+        return quizQuestionRepository.findByQuizId(quizId).stream()
+                .collect(Collectors.toMap(QuizQuestion::getQuestionId, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Creates empty aggregates for a quiz.
+     *
+     * @param quizId the ID of the quiz
+     * @return zeroed aggregates
+     */
+    private static QuizAnalytics emptyAnalytics(final Long quizId) {
+        return QuizAnalytics.builder()
+                .quizId(quizId)
+                .percentageSum(BigDecimal.ZERO)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Computes the median from the score histogram.
+     *
+     * @param histogram  attempts per whole-percent bucket
+     * @param totalCount total number of attempts
+     * @return the median bucket value, averaged for an even count
+     */
+    static BigDecimal medianOf(final Map<Integer, Long> histogram, final long totalCount) {
+        long lowerRank = (totalCount + 1) / 2;
+        long upperRank = totalCount / 2 + 1;
+        Integer lower = null;
+        Integer upper = null;
+        long seen = 0;
+        for (int bucket = 0; bucket <= QuizAnalyticsConstants.MAX_SCORE_BUCKET && upper == null; bucket++) {
+            seen += histogram.getOrDefault(bucket, 0L);
+            if (lower == null && seen >= lowerRank) {
+                lower = bucket;
+            }
+            if (seen >= upperRank) {
+                upper = bucket;
+            }
+        }
+        if (lower == null || upper == null) {
+            return null;
+        }
+        return BigDecimal.valueOf(lower + upper).divide(BigDecimal.valueOf(2), 1, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Converts the aggregates into the outbound DTO.
+     *
+     * @param quiz          the quiz
+     * @param analytics     the quiz aggregates
+     * @param questionStats the question aggregates
+     * @return the analytics DTO
+     */
+    private QuizAnalyticsOutDTO toOutDTO(final Quiz quiz, final QuizAnalytics analytics,
+                                         final List<QuizQuestionAnalytics> questionStats) {
+        long attempts = analytics.getAttemptCount();
+        BigDecimal count = BigDecimal.valueOf(attempts);
+        return QuizAnalyticsOutDTO.builder()
+                .quizId(quiz.getQuizId())
+                .attemptCount(attempts)
+                .averageScore(attempts > 0
+                        ? analytics.getPercentageSum().divide(count, 2, RoundingMode.HALF_UP) : null)
+                .medianScore(attempts > 0 ? medianOf(analytics.getScoreHistogram(), attempts) : null)
+                .passingScore(quiz.getPassingScore())
+                .passRate(attempts > 0 && quiz.getPassingScore() != null
+                        ? BigDecimal.valueOf(analytics.getPassCount()).divide(count, RESULT_SCALE, RoundingMode.HALF_UP)
+                        : null)
+                .questions(questionStats.stream()
+                        .map(this::toQuestionOutDTO)
+                        .collect(Collectors.toList()))
+                .updatedAt(analytics.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Converts question aggregates into the outbound DTO.
+     *
+     * @param stats the question aggregates
+     * @return the question analytics DTO
+     */
+    private QuestionAnalyticsOutDTO toQuestionOutDTO(final QuizQuestionAnalytics stats) {
+        return QuestionAnalyticsOutDTO.builder()
+                .questionId(stats.getQuestionId())
+                .responseCount(stats.getResponseCount())
+                .correctCount(stats.getCorrectCount())
+                .correctRatio(stats.getResponseCount() > 0
+                        ? BigDecimal.valueOf(stats.getCorrectCount())
+                        .divide(BigDecimal.valueOf(stats.getResponseCount()), RESULT_SCALE, RoundingMode.HALF_UP)
+                        : null)
+                .answerDistribution(new HashMap<>(stats.getAnswerCounts()))
+                .build();
+    }
+}
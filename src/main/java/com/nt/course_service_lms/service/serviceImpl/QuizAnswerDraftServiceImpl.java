@@ -0,0 +1,154 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.dto.inDTO.AnswerDraftInDTO;
+import com.nt.course_service_lms.dto.outDTO.AnswerDraftOutDTO;
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
+import com.nt.course_service_lms.entity.QuizAttempt;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.repository.QuizAnswerDraftRepository;
+import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.service.QuizAnswerDraftService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for autosaving answers of quiz attempts in progress.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuizAnswerDraftServiceImpl implements QuizAnswerDraftService {
+
+    /**
+     * Repository for draft answers.
+     */
+    private final QuizAnswerDraftRepository quizAnswerDraftRepository;
+
+    /**
+     * Repository for quiz attempts, used to lock and validate the attempt.
+     */
+    private final QuizAttemptRepository quizAttemptRepository;
+
+    /**
+     * Repository for quiz questions, used to validate the answered questions.
+     */
+    private final QuizQuestionRepository quizQuestionRepository;
+
+    /**
+     * Upserts the given answers of an attempt in progress.
+     * <p>
+     * The attempt row is locked first, so an autosave racing with the final submission either lands
+     * before it and is graded, or sees the attempt already submitted and is rejected.
+     * </p>
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @param answers       the changed answers
+     * @return all drafts of the attempt after the save
+     */
+    @Override
+    @Transactional
+    public List<AnswerDraftOutDTO> saveDrafts(final Long quizAttemptId, final List<AnswerDraftInDTO> answers) {
+        if (quizAttemptId == null) {
+            throw new ResourceNotValidException("Quiz attempt ID cannot be null");
+        }
+        if (answers == null || answers.isEmpty()) {
+            throw new ResourceNotValidException("At least one answer is required");
+        }
+
+        quizAttemptRepository.lockForSubmission(quizAttemptId);
+        QuizAttempt attempt = quizAttemptRepository.findById(quizAttemptId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz attempt not found with ID: " + quizAttemptId));
+        if (!QuizAttemptServiceImpl.IN_PROGRESS.equals(attempt.getStatus())) {
+            throw new ResourceNotValidException("Answers can only be saved while the attempt is in progress. Current status: "
+                    + attempt.getStatus());
+        }
+
+        Set<Long> quizQuestionIds = quizQuestionRepository.findByQuizId(attempt.getQuizId()).stream()
+                .map(QuizQuestion::getQuestionId)
+                .collect(Collectors.toSet());
+        Map<Long, String> latestAnswers = new LinkedHashMap<>();
+        for (AnswerDraftInDTO answer : answers) {
+            if (!quizQuestionIds.contains(answer.getQuestionId())) {
+                throw new ResourceNotValidException("Question " + answer.getQuestionId()
+                        + " does not belong to quiz " + attempt.getQuizId());
+            }
+            latestAnswers.put(answer.getQuestionId(), answer.getUserAnswer());
+        }
+
+        Map<Long, QuizAnswerDraft> drafts = quizAnswerDraftRepository.findByQuizAttemptIdOrderByQuestionId(quizAttemptId)
+                .stream()
+                .collect(Collectors.toMap(QuizAnswerDraft::getQuestionId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<QuizAnswerDraft> created = new ArrayList<>();
+        latestAnswers.forEach((questionId, userAnswer) -> {
+            QuizAnswerDraft draft = drafts.get(questionId);
+            if (draft == null) {
+                draft = QuizAnswerDraft.builder()
+                        .quizAttemptId(quizAttemptId)
+                        .questionId(questionId)
+                        .build();
+                drafts.put(questionId, draft);
+                created.add(draft);
+            }
+            // Loaded drafts are managed, so updating them is enough; only new ones need persisting
+            draft.setUserAnswer(userAnswer);
+            draft.setSavedAt(now);
+        });
+        quizAnswerDraftRepository.persistAll(created);
+        log.debug("Autosaved {} answers ({} new) for attempt {}", latestAnswers.size(), created.size(), quizAttemptId);
+
+        return drafts.values().stream()
+                .sorted(Comparator.comparing(QuizAnswerDraft::getQuestionId))
+                .map(this::toOutDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the autosaved answers of an attempt.
+     *
+     * @param quizAttemptId the ID of the quiz attempt
+     * @return drafts ordered by question ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnswerDraftOutDTO> getDrafts(final Long quizAttemptId) {
+        if (quizAttemptId == null) {
+            throw new ResourceNotValidException("Quiz attempt ID cannot be null");
+        }
+        if (!quizAttemptRepository.existsById(quizAttemptId)) {
+            throw new ResourceNotFoundException("Quiz attempt not found with ID: " + quizAttemptId);
+        }
+        return quizAnswerDraftRepository.findByQuizAttemptIdOrderByQuestionId(quizAttemptId).stream()
+                .map(this::toOutDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts a draft entity to its outbound DTO.
+     *
+     * @param draft the draft entity
+     * @return the draft DTO
+     */
+    private AnswerDraftOutDTO toOutDTO(final QuizAnswerDraft draft) {
+        return AnswerDraftOutDTO.builder()
+                .questionId(draft.getQuestionId())
+                .userAnswer(draft.getUserAnswer())
+                .savedAt(draft.getSavedAt())
+                .build();
+    }
+}
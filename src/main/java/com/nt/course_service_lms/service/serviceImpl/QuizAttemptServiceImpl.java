@@ -1,27 +1,42 @@
 package com.nt.course_service_lms.service.serviceImpl;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptCreateInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
+import com.nt.course_service_lms.converters.CourseConvertors;
+import com.nt.course_service_lms.converters.QuizQuestionConverter;
 import com.nt.course_service_lms.dto.outDTO.CourseOutDTO;
+import com.nt.course_service_lms.dto.outDTO.CourseQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByCourseIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByUserIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizStartOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptDetailsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserResponseWithCorrectAnswerOutDTO;
+import com.nt.course_service_lms.entity.Course;
 import com.nt.course_service_lms.entity.Quiz;
 import com.nt.course_service_lms.entity.QuizAttempt;
+import com.nt.course_service_lms.entity.QuizAttemptCounter;
 import com.nt.course_service_lms.entity.QuizQuestion;
 import com.nt.course_service_lms.entity.UserResponse;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.repository.CourseRepository;
+import com.nt.course_service_lms.repository.QuizAttemptCounterRepository;
 import com.nt.course_service_lms.repository.QuizAttemptRepository;
 import com.nt.course_service_lms.repository.QuizQuestionRepository;
 import com.nt.course_service_lms.repository.QuizRepository;
 import com.nt.course_service_lms.repository.UserResponseRepository;
 import com.nt.course_service_lms.service.QuizAttemptService;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -38,7 +53,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +77,42 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
      */
     public static final String IN_PROGRESS = "IN_PROGRESS";
 
+    /**
+     * Index of the first typed score column in {@code findUserAttemptDetailsWithQuizInfo} rows.
+     */
+    private static final int ATTEMPT_INFO_SCORE_OFFSET = 14;
+
+    /**
+     * Index of the first typed score column in {@code findQuizAttemptDetailsByUserId} rows.
+     */
+    private static final int USER_REPORT_SCORE_OFFSET = 31;
+
+    /**
+     * Index of the first typed score column in {@code findQuizAttemptDetailsByCourseId} rows.
+     */
+    private static final int COURSE_REPORT_SCORE_OFFSET = 23;
+
+    /**
+     * Index of the course ID in {@code findCompactQuizAttemptDetailsByUserId} rows.
+     */
+    private static final int COMPACT_USER_COURSE_ID = 15;
+
+    /**
+     * Index of the first typed score column in {@code findCompactQuizAttemptDetailsByUserId} rows.
+     */
+    private static final int COMPACT_USER_SCORE_OFFSET = 16;
+
+    /**
+     * Index of the username column (followed by first and last name) in
+     * {@code findCompactQuizAttemptDetailsByCourseId} rows.
+     */
+    private static final int COMPACT_COURSE_USERNAME = 15;
+
+    /**
+     * Index of the first typed score column in {@code findCompactQuizAttemptDetailsByCourseId} rows.
+     */
+    private static final int COMPACT_COURSE_SCORE_OFFSET = 18;
+
     /**
      * Repository for quiz attempt database operations.
      * Handles CRUD operations for QuizAttempt entities.
@@ -87,9 +137,28 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
      */
     private final QuizQuestionRepository quizQuestionRepository;
 
+    /**
+     * Repository for course lookups.
+     * Resolves course metadata for the compact attempt reports.
+     */
+    private final CourseRepository courseRepository;
+
+    /**
+     * Repository for per-(user, quiz) attempt counters.
+     * Admits new attempts atomically without reading the attempt history.
+     */
+    private final QuizAttemptCounterRepository quizAttemptCounterRepository;
+
+    /**
+     * Service selecting the questions of an attempt.
+     * Used by the quiz start flow with the quiz and questions already loaded here.
+     */
+    private final QuestionPoolService questionPoolService;
+
     /**
      * Creates a new quiz attempt for a user.
-     * Validates quiz existence and enforces attempt limits.
+     * Validates quiz existence and enforces attempt limits through the attempt counter, returning the
+     * attempt already in progress instead of starting a second one.
      *
      * @param dto the quiz attempt creation data
      * @return QuizAttemptOutDTO the created attempt details
@@ -116,57 +185,125 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             }
         }
 
-        Optional<QuizAttempt> activeAttempt = quizAttemptRepository.findActiveAttemptByUserAndQuiz(
-                dto.getUserId(),
-                dto.getQuizId()
-        );
+        return openAttempt(quiz, dto);
+    }
 
-        if (activeAttempt.isPresent()) {
-            log.info("User {} already has an active attempt for quiz {}, returning existing attempt",
-                    dto.getUserId(), dto.getQuizId());
+    /**
+     * Starts a quiz attempt and selects its questions in one transaction.
+     * The quiz and its ordered question list are loaded once and reused for admission and selection;
+     * a quiz without questions is rejected before an attempt is consumed.
+     *
+     * @param dto the quiz and user starting the attempt
+     * @return QuizStartOutDTO the attempt, its questions without answers and its deadline
+     */
+    @Override
+    public QuizStartOutDTO startQuizAttempt(final QuizAttemptCreateInDTO dto) {
+        log.info("Starting quiz {} for user {}", dto.getQuizId(), dto.getUserId());
 
-            QuizAttempt existingAttempt = activeAttempt.get();
-            QuizAttemptOutDTO existingAttemptOutDTO = convertToOutDTO(existingAttempt);
-            long completedAttemptsForExisting = quizAttemptRepository.
-                    findByUserIdAndQuizIdOrderByAttemptDesc(dto.getUserId(), dto.getQuizId())
-                    .stream()
-                    .filter(attempt -> !"IN_PROGRESS".equals(attempt.getStatus()))
-                    .count();
-            existingAttemptOutDTO.setAttemptsLeft(quiz.getAttemptsAllowed() - completedAttemptsForExisting);
-            return existingAttemptOutDTO;
+        if (dto.getUserId() == null || dto.getQuizId() == null) {
+            throw new ResourceNotValidException("User ID and Quiz ID are required");
+        }
+
+        Quiz quiz = quizRepository.findById(dto.getQuizId()).orElseThrow(
+                () -> new ResourceNotFoundException("Quiz Not Found")
+        );
+        List<QuizQuestion> allQuestions = quizQuestionRepository.findByQuizIdOrderByPosition(dto.getQuizId());
+        if (allQuestions.isEmpty()) {
+            throw new ResourceNotValidException("Cannot start quiz: No questions available");
         }
 
-        List<QuizAttempt> completedAttempts = quizAttemptRepository.findByUserIdAndQuizIdOrderByAttemptDesc(
-                        dto.getUserId(),
-                        dto.getQuizId())
+        QuizAttemptOutDTO attempt = openAttempt(quiz, dto);
+        List<QuizQuestionOutDTO> questions = questionPoolService.selectQuestions(quiz, allQuestions, attempt.getAttempt())
                 .stream()
-                .filter(attempt -> !"IN_PROGRESS".equals(attempt.getStatus()))
+                .map(QuizQuestionConverter::convertToAttemptOutDTO)
                 .collect(Collectors.toList());
 
-        Long nextAttemptNumber = completedAttempts.isEmpty() ? 1L : completedAttempts.get(0).getAttempt() + 1;
+        Integer timeLimit = quiz.getTimeLimit();
+        LocalDateTime deadline = timeLimit != null && timeLimit > 0 && attempt.getStartedAt() != null
+                ? attempt.getStartedAt().plusMinutes(timeLimit)
+                : null;
+        return QuizStartOutDTO.builder()
+                .attempt(attempt)
+                .questions(questions)
+                .timeLimit(timeLimit)
+                .deadline(deadline)
+                .build();
+    }
 
-        if (completedAttempts.size() >= quiz.getAttemptsAllowed()) {
-            throw new ResourceNotValidException("User has exceeded maximum allowed attempts for this quiz");
+    /**
+     * Admits an attempt of a loaded quiz and creates its record, or returns the attempt already in progress.
+     *
+     * @param quiz the quiz being attempted
+     * @param dto  the quiz and user starting the attempt
+     * @return QuizAttemptOutDTO the new or active attempt with the attempts left
+     */
+    private QuizAttemptOutDTO openAttempt(final Quiz quiz, final QuizAttemptCreateInDTO dto) {
+        int attemptsAllowed = quiz.getAttemptsAllowed();
+        QuizAttemptCounter counter = admitAttempt(dto.getUserId(), dto.getQuizId(), attemptsAllowed);
+        if (counter.getActiveAttemptId() != null) {
+            log.info("User {} already has an active attempt for quiz {}, returning existing attempt",
+                    dto.getUserId(), dto.getQuizId());
+            QuizAttemptOutDTO existingAttemptOutDTO = convertToOutDTO(quizAttemptRepository.findById(counter.getActiveAttemptId())
+                    .orElseThrow(() -> new ResourceNotFoundException("QuizAttempt not found with ID: "
+                            + counter.getActiveAttemptId())));
+            existingAttemptOutDTO.setAttemptsLeft((long) attemptsAllowed - (counter.getAttemptsUsed() - 1));
+            return existingAttemptOutDTO;
         }
 
+        LocalDateTime now = LocalDateTime.now();
         QuizAttempt quizAttempt = new QuizAttempt();
-        quizAttempt.setAttempt(nextAttemptNumber);
+        quizAttempt.setAttempt(counter.getLastAttempt());
         quizAttempt.setQuizId(dto.getQuizId());
         quizAttempt.setUserId(dto.getUserId());
-        quizAttempt.setStartedAt(LocalDateTime.now());
-        quizAttempt.setStatus("IN_PROGRESS");
-        quizAttempt.setCreatedAt(LocalDateTime.now());
-        quizAttempt.setUpdatedAt(LocalDateTime.now());
+        quizAttempt.setStartedAt(now);
+        quizAttempt.setStatus(IN_PROGRESS);
+        quizAttempt.setCreatedAt(now);
+        quizAttempt.setUpdatedAt(now);
 
         QuizAttempt savedAttempt = quizAttemptRepository.save(quizAttempt);
-        log.info("Created quiz attempt with ID: {} (attempt number: {})", savedAttempt.getQuizAttemptId(), nextAttemptNumber);
+        counter.setActiveAttemptId(savedAttempt.getQuizAttemptId());
+        log.info("Created quiz attempt with ID: {} (attempt number: {})", savedAttempt.getQuizAttemptId(),
+                savedAttempt.getAttempt());
 
         QuizAttemptOutDTO quizAttemptOutDTO = convertToOutDTO(savedAttempt);
-        long completedCount = completedAttempts.size();
-        quizAttemptOutDTO.setAttemptsLeft(quiz.getAttemptsAllowed() - completedCount);
+        quizAttemptOutDTO.setAttemptsLeft((long) attemptsAllowed - (counter.getAttemptsUsed() - 1));
         return quizAttemptOutDTO;
     }
 
+    /**
+     * Admits a new attempt through the per-(user, quiz) counter row.
+     * <p>
+     * The returned counter is managed by the current persistence context. If a new attempt was admitted its
+     * {@code activeAttemptId} is {@code null} and {@code lastAttempt} holds the new attempt number; otherwise it
+     * points at the attempt already in progress.
+     * </p>
+     * <p>
+     * A missing counter is created with {@code INSERT ... ON CONFLICT DO NOTHING} in the caller's transaction,
+     * so admission never needs a second pooled connection. A concurrent first start makes the insert wait for
+     * the other transaction and then do nothing; the following claim sees the committed row.
+     * </p>
+     *
+     * @param userId          the user ID
+     * @param quizId          the quiz ID
+     * @param attemptsAllowed the attempt limit of the quiz
+     * @return the counter after admission
+     * @throws ResourceNotValidException if no attempt is active and the limit is reached
+     */
+    private QuizAttemptCounter admitAttempt(final Long userId, final Long quizId, final int attemptsAllowed) {
+        int claimed = quizAttemptCounterRepository.claimAttempt(userId, quizId, attemptsAllowed, LocalDateTime.now());
+        if (claimed == 0 && !quizAttemptCounterRepository.existsByUserIdAndQuizId(userId, quizId)) {
+            quizAttemptCounterRepository.insertIfAbsent(userId, quizId, LocalDateTime.now());
+            claimed = quizAttemptCounterRepository.claimAttempt(userId, quizId, attemptsAllowed, LocalDateTime.now());
+        }
+        QuizAttemptCounter counter = quizAttemptCounterRepository.findByUserIdAndQuizId(userId, quizId)
+                .orElseThrow(() -> new IllegalStateException("Attempt counter missing for user " + userId
+                        + " and quiz " + quizId));
+        if (claimed == 0 && counter.getActiveAttemptId() == null) {
+            throw new ResourceNotValidException("User has exceeded maximum allowed attempts for this quiz");
+        }
+        return counter;
+    }
+
     /**
      * Updates an existing quiz attempt with new data.
      * Validates status transitions and auto-sets finished timestamp.
@@ -203,6 +340,16 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             existingAttempt.setScoreDetails(dto.getScoreDetails());
         }
 
+        if (dto.getTotalScore() != null) {
+            existingAttempt.setTotalScore(dto.getTotalScore());
+            existingAttempt.setMaxScore(dto.getMaxScore());
+            existingAttempt.setCorrectCount(dto.getCorrectCount());
+            existingAttempt.setQuestionCount(dto.getQuestionCount());
+            existingAttempt.setPercentageScore(dto.getPercentageScore());
+            existingAttempt.setSubmissionType(dto.getSubmissionType());
+            existingAttempt.setSubmittedAt(dto.getSubmittedAt());
+        }
+
         if (dto.getStatus() != null) {
             existingAttempt.setStatus(dto.getStatus());
             // Auto-set finishedAt if status is set to COMPLETED, ABANDONED, or TIMED_OUT
@@ -210,6 +357,9 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
                     || "TIMED_OUT".equals(dto.getStatus())) && existingAttempt.getFinishedAt() == null) {
                 existingAttempt.setFinishedAt(LocalDateTime.now());
             }
+            if (!IN_PROGRESS.equals(dto.getStatus())) {
+                quizAttemptCounterRepository.releaseActiveAttempt(quizAttemptId, LocalDateTime.now());
+            }
         }
 
         existingAttempt.setUpdatedAt(LocalDateTime.now());
@@ -395,6 +545,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             throw new ResourceNotFoundException("QuizAttempt not found with ID: " + quizAttemptId);
         }
 
+        quizAttemptCounterRepository.releaseDeletedAttempt(quizAttemptId, LocalDateTime.now());
         quizAttemptRepository.deleteById(quizAttemptId);
         log.info("Deleted quiz attempt with ID: {}", quizAttemptId);
     }
@@ -425,6 +576,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
 
         attempt.setStatus("COMPLETED");
         attempt.setFinishedAt(LocalDateTime.now());
+        quizAttemptCounterRepository.releaseActiveAttempt(quizAttemptId, LocalDateTime.now());
         attempt.setScoreDetails(scoreDetails);
         attempt.setUpdatedAt(LocalDateTime.now());
 
@@ -457,6 +609,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
 
         attempt.setStatus("ABANDONED");
         attempt.setFinishedAt(LocalDateTime.now());
+        quizAttemptCounterRepository.releaseActiveAttempt(quizAttemptId, LocalDateTime.now());
         attempt.setUpdatedAt(LocalDateTime.now());
 
         QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
@@ -488,6 +641,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
 
         attempt.setStatus("TIMED_OUT");
         attempt.setFinishedAt(LocalDateTime.now());
+        quizAttemptCounterRepository.releaseActiveAttempt(quizAttemptId, LocalDateTime.now());
         attempt.setUpdatedAt(LocalDateTime.now());
 
         QuizAttempt savedAttempt = quizAttemptRepository.save(attempt);
@@ -505,6 +659,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
      * @return List<UserQuizAttemptDetailsOutDTO> detailed attempt data
      */
     @Override
+    @Transactional(readOnly = true)
     public List<UserQuizAttemptDetailsOutDTO> getUserAttemptDetails(final Long userId, final Long courseId,
                                                                     final String userRole) {
         try {
@@ -515,11 +670,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             }
 
             // 2. Extract quiz IDs and validate show results permission based on role
-            Set<Long> quizIds = dataBundle.attemptData().stream()
-                    .map(data -> (Long) data[2]) // quiz_id
-                    .collect(Collectors.toSet());
-
-            validateShowResultsForQuizzesBasedOnRole(quizIds, userRole);
+            validateShowResultsForQuizzesBasedOnRole(collectQuizIds(dataBundle.attemptData()), userRole);
 
             // 3. Continue with existing logic...
             ProcessedDataMaps dataMaps = preprocessAndMapData(dataBundle);
@@ -552,25 +703,19 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
     ) { }
 
     /**
-     * A private record to hold pre-processed data maps for efficient lookups.
-     * This organizes all the maps needed for building the final DTOs.
+     * A private record to hold pre-processed, long-keyed lookup maps.
+     * All attempts belong to one user, so responses are keyed by quiz ID and then attempt number.
      *
-     * @param responsesByAttempt         Maps attempt identifier (e.g., attemptId as String)
-     *                                   to the list of user responses for that attempt.
-     * @param questionsByQuiz            Maps quizId to the list of questions belonging to that quiz.
-     * @param correctAnswersByQuestionId Maps questionId to the correct answer for that question.
-     * @param questionTextByQuestionId   Maps questionId to the text of the question.
-     * @param optionsByQuestionId        Maps questionId to the serialized options for that question
-     *                                   (could be JSON or delimited string).
-     * @param maxScoresByQuiz            Maps quizId to the maximum achievable score for that quiz.
+     * @param responsesByQuizAndAttempt Maps quizId, then attempt number, to the responses of that attempt.
+     * @param questionsById             Maps questionId to the question (text, options, correct answer).
+     * @param questionCountByQuiz       Maps quizId to the number of questions in that quiz.
+     * @param maxScoresByQuiz           Maps quizId to the maximum achievable score for that quiz.
      */
     private record ProcessedDataMaps(
-            Map<String, List<UserResponse>> responsesByAttempt,
-            Map<Long, List<QuizQuestion>> questionsByQuiz,
-            Map<Long, String> correctAnswersByQuestionId,
-            Map<Long, String> questionTextByQuestionId,
-            Map<Long, String> optionsByQuestionId,
-            Map<Long, BigDecimal> maxScoresByQuiz
+            Long2ObjectMap<Long2ObjectMap<List<UserResponse>>> responsesByQuizAndAttempt,
+            Long2ObjectMap<QuizQuestion> questionsById,
+            Long2IntMap questionCountByQuiz,
+            Long2ObjectMap<BigDecimal> maxScoresByQuiz
     ) { }
 
 
@@ -587,9 +732,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             return new AttemptDataBundle(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
         }
 
-        Set<Long> quizIds = attemptData.stream()
-                .map(data -> (Long) data[2]) // quiz_id
-                .collect(Collectors.toSet());
+        LongSet quizIds = collectQuizIds(attemptData);
 
         List<Long> attempts = attemptData.stream()
                 .map(data -> (Long) data[1]) // attempt
@@ -605,32 +748,42 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
     }
 
     /**
-     * Pre-processes raw data into maps for efficient lookups.
+     * Pre-processes raw data into long-keyed maps in one pass over each list.
      *
      * @param dataBundle Raw data from repositories
-     * @return ProcessedDataMaps containing various lookup maps
+     * @return ProcessedDataMaps containing the lookup maps
      */
     private ProcessedDataMaps preprocessAndMapData(final AttemptDataBundle dataBundle) {
-        Map<String, List<UserResponse>> responsesByAttempt = dataBundle.allUserResponses().stream()
-                .collect(Collectors.groupingBy(r -> r.getUserId() + "_" + r.getQuizId() + "_" + r.getAttempt()));
-
-        Map<Long, List<QuizQuestion>> questionsByQuiz = dataBundle.allQuizQuestions().stream()
-                .collect(Collectors.groupingBy(QuizQuestion::getQuizId));
-
-        Map<Long, String> correctAnswers = dataBundle.allQuizQuestions().stream()
-                .collect(Collectors.toMap(QuizQuestion::getQuestionId, QuizQuestion::getCorrectAnswer));
-
-        Map<Long, String> questionTexts = dataBundle.allQuizQuestions().stream()
-                .collect(Collectors.toMap(QuizQuestion::getQuestionId, QuizQuestion::getQuestionText));
-
-        Map<Long, String> options = dataBundle.allQuizQuestions().stream()
-                .collect(Collectors.toMap(QuizQuestion::getQuestionId, q -> q.getOptions() != null ? q.getOptions() : ""));
+        List<QuizQuestion> questions = dataBundle.allQuizQuestions();
+        Long2ObjectMap<QuizQuestion> questionsById = new Long2ObjectOpenHashMap<>(questions.size());
+        Long2IntMap questionCounts = new Long2IntOpenHashMap();
+        Long2ObjectMap<BigDecimal> maxScores = new Long2ObjectOpenHashMap<>();
+        for (QuizQuestion question : questions) {
+            long quizId = question.getQuizId();
+            questionsById.put(question.getQuestionId().longValue(), question);
+            questionCounts.addTo(quizId, 1);
+            BigDecimal maxScore = maxScores.get(quizId);
+            maxScores.put(quizId, maxScore == null ? question.getPoints() : maxScore.add(question.getPoints()));
+        }
 
-        Map<Long, BigDecimal> maxScores = questionsByQuiz.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().stream()
-                        .map(QuizQuestion::getPoints).reduce(BigDecimal.ZERO, BigDecimal::add)));
+        Long2ObjectMap<Long2ObjectMap<List<UserResponse>>> responses = new Long2ObjectOpenHashMap<>();
+        for (UserResponse response : dataBundle.allUserResponses()) {
+            long quizId = response.getQuizId();
+            Long2ObjectMap<List<UserResponse>> byAttempt = responses.get(quizId);
+            if (byAttempt == null) {
+                byAttempt = new Long2ObjectOpenHashMap<>();
+                responses.put(quizId, byAttempt);
+            }
+            long attempt = response.getAttempt();
+            List<UserResponse> attemptResponses = byAttempt.get(attempt);
+            if (attemptResponses == null) {
+                attemptResponses = new ArrayList<>();
+                byAttempt.put(attempt, attemptResponses);
+            }
+            attemptResponses.add(response);
+        }
 
-        return new ProcessedDataMaps(responsesByAttempt, questionsByQuiz, correctAnswers, questionTexts, options, maxScores);
+        return new ProcessedDataMaps(responses, questionsById, questionCounts, maxScores);
     }
 
     /**
@@ -664,17 +817,22 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             final Object[] data,
             final ProcessedDataMaps dataMaps
     ) {
-        Long quizId = (Long) data[2];
-        Long attempt = (Long) data[1];
-        String attemptKey = userId + "_" + quizId + "_" + attempt;
+        long quizId = ((Number) data[2]).longValue();
+        long attempt = ((Number) data[1]).longValue();
 
-        List<UserResponse> attemptResponses = dataMaps.responsesByAttempt().getOrDefault(attemptKey, new ArrayList<>());
-        List<QuizQuestion> quizQuestions = dataMaps.questionsByQuiz().getOrDefault(quizId, new ArrayList<>());
+        Long2ObjectMap<List<UserResponse>> quizResponses = dataMaps.responsesByQuizAndAttempt().get(quizId);
+        List<UserResponse> attemptResponses = quizResponses != null ? quizResponses.get(attempt) : null;
+        if (attemptResponses == null) {
+            attemptResponses = Collections.emptyList();
+        }
 
         BigDecimal totalScore = attemptResponses.stream().map(
                         UserResponse::getPointsEarned)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal maxScore = dataMaps.maxScoresByQuiz().getOrDefault(quizId, BigDecimal.ZERO);
+        BigDecimal maxScore = dataMaps.maxScoresByQuiz().get(quizId);
+        if (maxScore == null) {
+            maxScore = BigDecimal.ZERO;
+        }
         long correctAnswers = attemptResponses.stream().filter(UserResponse::getIsCorrect).count();
         BigDecimal percentage = maxScore.compareTo(BigDecimal.ZERO) > 0
                 ? totalScore.multiply(
@@ -683,20 +841,34 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
                 : BigDecimal.ZERO;
 
         List<UserResponseWithCorrectAnswerOutDTO> responseDTOs = attemptResponses.stream()
-                .map(res -> convertToUserResponseWithCorrectAnswerOutDTO(res, dataMaps.correctAnswersByQuestionId(),
-                        dataMaps.questionTextByQuestionId(), dataMaps.optionsByQuestionId()))
+                .map(res -> convertToUserResponseWithCorrectAnswerOutDTO(res, dataMaps.questionsById()))
                 .collect(Collectors.toList());
 
         QuizAttemptOutDTO attemptDTO = buildQuizAttemptOutDTO(userId, data);
         String submissionType = determineSubmissionType(attemptDTO.getStatus());
 
+        ScoreColumns stored = ScoreColumns.fromRow(data, ATTEMPT_INFO_SCORE_OFFSET);
+        if (stored.isPresent()) {
+            return UserQuizAttemptDetailsOutDTO.builder()
+                    .quizAttempt(attemptDTO)
+                    .userResponses(responseDTOs)
+                    .totalScore(stored.totalScore())
+                    .maxPossibleScore(stored.maxScoreOrZero())
+                    .correctAnswers(stored.correctCountOrZero())
+                    .totalQuestions(stored.questionCountOrZero())
+                    .percentageScore(stored.percentageScoreOrZero())
+                    .submissionType(stored.submissionType() != null ? stored.submissionType() : submissionType)
+                    .submittedAt(stored.submittedAt() != null ? stored.submittedAt() : attemptDTO.getFinishedAt())
+                    .build();
+        }
+
         return UserQuizAttemptDetailsOutDTO.builder()
                 .quizAttempt(attemptDTO)
                 .userResponses(responseDTOs)
                 .totalScore(totalScore)
                 .maxPossibleScore(maxScore)
                 .correctAnswers(correctAnswers)
-                .totalQuestions((long) quizQuestions.size())
+                .totalQuestions((long) dataMaps.questionCountByQuiz().get(quizId))
                 .percentageScore(percentage)
                 .submissionType(submissionType)
                 .submittedAt(attemptDTO.getFinishedAt())
@@ -728,19 +900,21 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
      * Converts UserResponse entity to DTO with additional question data.
      * Includes correct answers, question text, and options for comprehensive response data.
      *
-     * @param userResponse               the user response entity
-     * @param correctAnswersByQuestionId map of question ID to correct answer
-     * @param questionTextByQuestionId   map of question ID to question text
-     * @param optionsByQuestionId        map of question ID to options
+     * @param userResponse  the user response entity
+     * @param questionsById map of question ID to question
      * @return UserResponseWithCorrectAnswerOutDTO complete response data
      */
     private UserResponseWithCorrectAnswerOutDTO convertToUserResponseWithCorrectAnswerOutDTO(
-            final UserResponse userResponse, final Map<Long, String> correctAnswersByQuestionId,
-            final Map<Long, String> questionTextByQuestionId, final Map<Long, String> optionsByQuestionId) {
-
-        String correctAnswer = correctAnswersByQuestionId.get(userResponse.getQuestionId());
-        String questionText = questionTextByQuestionId.get(userResponse.getQuestionId());
-        String options = optionsByQuestionId.get(userResponse.getQuestionId());
+            final UserResponse userResponse, final Long2ObjectMap<QuizQuestion> questionsById) {
+
+        QuizQuestion question = userResponse.getQuestionId() != null
+                ? questionsById.get(userResponse.getQuestionId().longValue()) : null;
+        String correctAnswer = question != null ? question.getCorrectAnswer() : null;
+        String questionText = question != null ? question.getQuestionText() : null;
+        String options = null;
+        if (question != null) {
+            options = question.getOptions() != null ? question.getOptions() : "";
+        }
 
         return UserResponseWithCorrectAnswerOutDTO.builder()
                 .responseId(userResponse.getResponseId())
@@ -855,50 +1029,52 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             return Collections.emptyList();
         }
 
-        // Extract quiz IDs and validate show results permission based on role
-        Set<Long> quizIds = results.stream()
-                .map(row -> ((Number) row[2]).longValue()) // quiz_id
-                .collect(Collectors.toSet());
+        // Rows of one attempt are contiguous (ordered by quiz_id, attempt), so fold them in a single pass
+        LongSet quizIds = new LongOpenHashSet();
+        Long2ObjectMap<QuizAttemptDetailsByUserIDOutDTO> byCourse = new Long2ObjectLinkedOpenHashMap<>();
+        List<Object[]> attemptRows = new ArrayList<>();
+        long currentAttemptId = 0L;
+        for (Object[] row : results) {
+            long quizAttemptId = ((Number) row[0]).longValue();
+            if (!attemptRows.isEmpty() && quizAttemptId != currentAttemptId) {
+                foldUserReportAttempt(byCourse, attemptRows);
+                attemptRows.clear();
+            }
+            if (attemptRows.isEmpty()) {
+                currentAttemptId = quizAttemptId;
+                quizIds.add(((Number) row[2]).longValue());
+            }
+            attemptRows.add(row);
+        }
+        foldUserReportAttempt(byCourse, attemptRows);
 
         validateShowResultsForQuizzesBasedOnRole(quizIds, userRole);
+        return new ArrayList<>(byCourse.values());
+    }
 
-        // Group results by course - using correct index for c.course_id
-        Map<Long, List<Object[]>> groupedByCourse = results.stream()
-                .filter(row -> row[CommonConstants.NUMBER_TWENTY_THREE] != null) // Ensure c.course_id is not null
-                .collect(
-                        Collectors.groupingBy(
-                                row -> (
-                                        (Number)
-                                                row[
-                                                        CommonConstants.NUMBER_TWENTY_THREE
-                                                        ]
-                                )
-                                        .longValue())); // c.course_id is at index 23
-
-        return groupedByCourse.entrySet().stream()
-                .map(courseEntry -> {
-                    Long courseId = courseEntry.getKey();
-                    List<Object[]> courseResults = courseEntry.getValue();
-
-                    // Build course DTO from first row
-                    Object[] firstRow = courseResults.get(0);
-                    CourseOutDTO courseOutDTO = buildCourseOutDTO(firstRow);
-
-                    // Group by quiz attempt
-                    Map<String, List<Object[]>> groupedByAttempt = courseResults.stream()
-                            .collect(Collectors.groupingBy(row ->
-                                    row[0] + "_" + row[1] + "_" + row[2])); // quiz_attempt_id + attempt + quiz_id
-
-                    List<UserQuizAttemptDetailsOutDTO> attemptDetails = groupedByAttempt.entrySet().stream()
-                            .map(attemptEntry -> buildUserQuizAttemptDetailsOutDTO(attemptEntry.getValue()))
-                            .collect(Collectors.toList());
-
-                    return QuizAttemptDetailsByUserIDOutDTO.builder()
-                            .courseOutDTO(courseOutDTO)
-                            .userQuizAttemptDetailsOutDTOS(attemptDetails)
-                            .build();
-                })
-                .collect(Collectors.toList());
+    /**
+     * Adds one attempt, given as its contiguous rows, to the course it belongs to.
+     * Attempts whose course no longer exists (c.course_id at index 23 is null) are skipped.
+     *
+     * @param byCourse    the per-course DTOs, keyed by course ID in first-seen order
+     * @param attemptRows the rows of a single attempt
+     */
+    private void foldUserReportAttempt(final Long2ObjectMap<QuizAttemptDetailsByUserIDOutDTO> byCourse,
+                                       final List<Object[]> attemptRows) {
+        if (attemptRows.isEmpty() || attemptRows.get(0)[CommonConstants.NUMBER_TWENTY_THREE] == null) {
+            return;
+        }
+        Object[] firstRow = attemptRows.get(0);
+        long courseId = ((Number) firstRow[CommonConstants.NUMBER_TWENTY_THREE]).longValue();
+        QuizAttemptDetailsByUserIDOutDTO courseDto = byCourse.get(courseId);
+        if (courseDto == null) {
+            courseDto = QuizAttemptDetailsByUserIDOutDTO.builder()
+                    .courseOutDTO(buildCourseOutDTO(firstRow))
+                    .userQuizAttemptDetailsOutDTOS(new ArrayList<>())
+                    .build();
+            byCourse.put(courseId, courseDto);
+        }
+        courseDto.getUserQuizAttemptDetailsOutDTOS().add(buildUserQuizAttemptDetailsOutDTO(attemptRows));
     }
 
     /**
@@ -910,6 +1086,7 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
      * @return List<QuizAttemptDetailsByCourseIDOutDTO> course's attempt details by user
      */
     @Override
+    @Transactional(readOnly = true)
     public List<QuizAttemptDetailsByCourseIDOutDTO> getQuizAttemptDetailsByCourseID(final Long courseId, final String userRole) {
         List<Object[]> results = quizAttemptRepository.findQuizAttemptDetailsByCourseId(courseId);
 
@@ -917,136 +1094,483 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
             return new ArrayList<>();
         }
 
-        // Extract quiz IDs and validate show results permission based on role
-        Set<Long> quizIds = results.stream()
-                .map(row -> ((Number) row[2]).longValue()) // quiz_id
-                .collect(Collectors.toSet());
-
-        validateShowResultsForQuizzesBasedOnRole(quizIds, userRole);
-
-        Map<Long, QuizAttemptDetailsByCourseIDOutDTO> userGroupedData = new LinkedHashMap<>();
-        Map<String, UserQuizAttemptDetailsOutDTO> attemptDetailsMap = new HashMap<>();
+        // Rows are ordered by quiz_attempt_id: a new attempt starts whenever the ID changes
+        LongSet quizIds = new LongOpenHashSet();
+        Long2ObjectMap<QuizAttemptDetailsByCourseIDOutDTO> userGroupedData = new Long2ObjectLinkedOpenHashMap<>();
+        UserQuizAttemptDetailsOutDTO attemptDetails = null;
+        long currentAttemptId = 0L;
 
         for (Object[] row : results) {
-            Long userId = ((Number) row[CommonConstants.NUMBER_FOUR]).longValue();
-            Long quizAttemptId = ((Number) row[0]).longValue();
-            Long attempt = ((Number) row[1]).longValue();
-
-            // Create unique key for attempt
-            String attemptKey = userId + "_" + quizAttemptId + "_" + attempt;
-
-            // Create or get user DTO (only once per user)
-            QuizAttemptDetailsByCourseIDOutDTO userDto = userGroupedData.computeIfAbsent(userId, k ->
-                    QuizAttemptDetailsByCourseIDOutDTO.builder()
-                            .userId(userId)
+            long quizAttemptId = ((Number) row[0]).longValue();
+            if (attemptDetails == null || quizAttemptId != currentAttemptId) {
+                currentAttemptId = quizAttemptId;
+                quizIds.add(((Number) row[2]).longValue());
+                attemptDetails = buildCourseReportAttemptDetails(row);
+
+                // Create or get user DTO (only once per user)
+                long userId = ((Number) row[CommonConstants.NUMBER_FOUR]).longValue();
+                QuizAttemptDetailsByCourseIDOutDTO userDto = userGroupedData.get(userId);
+                if (userDto == null) {
+                    userDto = QuizAttemptDetailsByCourseIDOutDTO.builder()
+                            .userId(attemptDetails.getQuizAttempt().getUserId())
                             .userName((String) row[CommonConstants.NUMBER_FIVE])
                             .firstName((String) row[CommonConstants.NUMBER_SEVEN])
                             .lastName((String) row[CommonConstants.NUMBER_EIGHT])
                             .userQuizAttemptDetailsOutDTOS(new ArrayList<>())
-                            .build()
-            );
-
-            // Create or get attempt details (only once per attempt)
-            UserQuizAttemptDetailsOutDTO attemptDetails = attemptDetailsMap.computeIfAbsent(attemptKey, k -> {
-                // Parse score_details JSON to extract pre-calculated values
-                String scoreDetailsJson = (String) row[CommonConstants.NUMBER_ELEVEN];
-                ScoreDetails scoreDetails = parseScoreDetails(scoreDetailsJson);
-
-                QuizAttemptOutDTO quizAttempt = QuizAttemptOutDTO.builder()
-                        .quizAttemptId(quizAttemptId)
-                        .attempt(attempt)
-                        .quizId(((Number) row[2]).longValue())
-                        .userId(userId)
-                        .startedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_NINE]))
-                        .finishedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_TEN]))
-                        .scoreDetails(scoreDetailsJson)
-                        .status((String) row[CommonConstants.NUMBER_TWELVE])
-                        .createdAt(null) // Not in your current query
-                        .updatedAt(null) // Not in your current query
-                        .build();
-
-                UserQuizAttemptDetailsOutDTO details = UserQuizAttemptDetailsOutDTO.builder()
-                        .quizAttempt(quizAttempt)
-                        .userResponses(new ArrayList<>())
-                        // Use pre-calculated values from score_details
-                        .totalScore(scoreDetails.totalScore)
-                        .maxPossibleScore(scoreDetails.maxPossibleScore)
-                        .correctAnswers(scoreDetails.correctAnswers)
-                        .totalQuestions(scoreDetails.totalQuestions)
-                        .percentageScore(scoreDetails.percentageScore)
-                        .submissionType(scoreDetails.submissionType)
-                        .submittedAt(scoreDetails.submittedAt)
-                        .build();
-
-                userDto.getUserQuizAttemptDetailsOutDTOS().add(details);
-                return details;
-            });
+                            .build();
+                    userGroupedData.put(userId, userDto);
+                }
+                userDto.getUserQuizAttemptDetailsOutDTOS().add(attemptDetails);
+            }
 
             // Add response data if present (only create response objects)
             if (row[CommonConstants.NUMBER_THIRTEEN] != null) { // response_id is not null
-                UserResponseWithCorrectAnswerOutDTO response = UserResponseWithCorrectAnswerOutDTO.builder()
-                        .responseId(((Number) row[CommonConstants.NUMBER_THIRTEEN]).longValue())
-                        .userId(userId)
-                        .quizId(((Number) row[2]).longValue())
-                        .questionId(
-                                row[CommonConstants.NUMBER_FOURTEEN] != null
-                                        ? ((Number) row[CommonConstants.NUMBER_FOURTEEN])
-                                        .longValue() : null)
-                        .attempt(attempt)
-                        .questionText((String) row[CommonConstants.NUMBER_FIFTEEN])
-                        .options((String) row[CommonConstants.NUMBER_TWENTY_ONE]) // Updated index for options
-                        .userAnswer(
-                                (String) row[CommonConstants.NUMBER_SEVENTEEN]
-                        )
-                        .correctAnswer((String) row[CommonConstants.NUMBER_TWENTY_TWO]) // Updated index for correct_answer
-                        .isCorrect((Boolean) row[CommonConstants.NUMBER_EIGHTEEN])
-                        .pointsEarned(
-                                row[CommonConstants.NUMBER_NINTEEN] != null
-                                        ? (BigDecimal) row[CommonConstants.NUMBER_NINTEEN]
-                                        : BigDecimal.ZERO)
-                        .answeredAt(convertToLocalDateTime(row[CommonConstants.NUMBER_TWENTY]))
-                        .build();
-
-                attemptDetails.getUserResponses().add(response);
+                attemptDetails.getUserResponses().add(buildCourseReportResponse(attemptDetails.getQuizAttempt(), row));
             }
         }
 
+        validateShowResultsForQuizzesBasedOnRole(quizIds, userRole);
         return new ArrayList<>(userGroupedData.values());
     }
 
     /**
-     * Helper class for parsing score details from JSON.
-     * Contains score metrics and submission information.
+     * Builds the attempt header of a course report from the first row of the attempt,
+     * using the totals stored at submission time.
+     *
+     * @param row the first course report row of the attempt
+     * @return attempt details with an empty, mutable response list
      */
-    private static final class ScoreDetails {
+    private UserQuizAttemptDetailsOutDTO buildCourseReportAttemptDetails(final Object[] row) {
+        ScoreColumns scores = ScoreColumns.fromRow(row, COURSE_REPORT_SCORE_OFFSET);
+
+        QuizAttemptOutDTO quizAttempt = QuizAttemptOutDTO.builder()
+                .quizAttemptId(((Number) row[0]).longValue())
+                .attempt(((Number) row[1]).longValue())
+                .quizId(((Number) row[2]).longValue())
+                .userId(((Number) row[CommonConstants.NUMBER_FOUR]).longValue())
+                .startedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_NINE]))
+                .finishedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_TEN]))
+                .scoreDetails((String) row[CommonConstants.NUMBER_ELEVEN])
+                .status((String) row[CommonConstants.NUMBER_TWELVE])
+                .createdAt(null) // Not in your current query
+                .updatedAt(null) // Not in your current query
+                .build();
+
+        return UserQuizAttemptDetailsOutDTO.builder()
+                .quizAttempt(quizAttempt)
+                .userResponses(new ArrayList<>())
+                .totalScore(scores.totalScoreOrZero())
+                .maxPossibleScore(scores.maxScoreOrZero())
+                .correctAnswers(scores.correctCountOrZero())
+                .totalQuestions(scores.questionCountOrZero())
+                .percentageScore(scores.percentageScoreOrZero())
+                .submissionType(scores.submissionType() != null ? scores.submissionType() : "MANUAL")
+                .submittedAt(scores.submittedAt())
+                .build();
+    }
+
+    /**
+     * Builds the response held in a course report row. User, quiz and attempt are taken from the
+     * attempt header so the boxed IDs are shared by all responses of the attempt.
+     *
+     * @param attempt the attempt the response belongs to
+     * @param row     the course report row
+     * @return the response DTO
+     */
+    private UserResponseWithCorrectAnswerOutDTO buildCourseReportResponse(final QuizAttemptOutDTO attempt,
+                                                                          final Object[] row) {
+        return UserResponseWithCorrectAnswerOutDTO.builder()
+                .responseId(((Number) row[CommonConstants.NUMBER_THIRTEEN]).longValue())
+                .userId(attempt.getUserId())
+                .quizId(attempt.getQuizId())
+                .questionId(
+                        row[CommonConstants.NUMBER_FOURTEEN] != null
+                                ? ((Number) row[CommonConstants.NUMBER_FOURTEEN])
+                                .longValue() : null)
+                .attempt(attempt.getAttempt())
+                .questionText((String) row[CommonConstants.NUMBER_FIFTEEN])
+                .options((String) row[CommonConstants.NUMBER_TWENTY_ONE]) // Updated index for options
+                .userAnswer(
+                        (String) row[CommonConstants.NUMBER_SEVENTEEN]
+                )
+                .correctAnswer((String) row[CommonConstants.NUMBER_TWENTY_TWO]) // Updated index for correct_answer
+                .isCorrect((Boolean) row[CommonConstants.NUMBER_EIGHTEEN])
+                .pointsEarned(
+                        row[CommonConstants.NUMBER_NINTEEN] != null
+                                ? (BigDecimal) row[CommonConstants.NUMBER_NINTEEN]
+                                : BigDecimal.ZERO)
+                .answeredAt(convertToLocalDateTime(row[CommonConstants.NUMBER_TWENTY]))
+                .build();
+    }
+
+    /**
+     * Builds the compact attempt report for a user, grouped by course.
+     * Question bodies are loaded once into a dictionary instead of being joined onto every response row.
+     *
+     * @param userId   the user ID to get details for
+     * @param userRole the role of the requesting user
+     * @return UserQuizAttemptReportOutDTO question dictionary plus attempts by course
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserQuizAttemptReportOutDTO getCompactQuizAttemptReportByUserID(final Long userId, final String userRole) {
+        List<Object[]> rows = quizAttemptRepository.findCompactQuizAttemptDetailsByUserId(userId);
+
+        if (rows.isEmpty()) {
+            return UserQuizAttemptReportOutDTO.builder()
+                    .questions(Collections.emptyMap())
+                    .courses(new ArrayList<>())
+                    .build();
+        }
+
+        // Rows are ordered by course, quiz and attempt: a new attempt starts whenever its ID changes
+        LongSet quizIds = new LongOpenHashSet();
+        Long2ObjectMap<List<UserQuizAttemptDetailsOutDTO>> attemptsByCourse = new Long2ObjectLinkedOpenHashMap<>();
+        List<UserQuizAttemptDetailsOutDTO> attempts = new ArrayList<>();
+        UserQuizAttemptDetailsOutDTO details = null;
+        for (Object[] row : rows) {
+            quizIds.add(((Number) row[2]).longValue());
+            if (row[COMPACT_USER_COURSE_ID] == null) {
+                continue;
+            }
+            if (details == null || ((Number) row[0]).longValue() != details.getQuizAttempt().getQuizAttemptId()) {
+                details = buildCompactAttemptDetails(row, COMPACT_USER_SCORE_OFFSET);
+                attempts.add(details);
+                long courseId = ((Number) row[COMPACT_USER_COURSE_ID]).longValue();
+                List<UserQuizAttemptDetailsOutDTO> courseAttempts = attemptsByCourse.get(courseId);
+                if (courseAttempts == null) {
+                    courseAttempts = new ArrayList<>();
+                    attemptsByCourse.put(courseId, courseAttempts);
+                }
+                courseAttempts.add(details);
+            }
+            addCompactResponse(details, row);
+        }
+
+        validateShowResultsForQuizzesBasedOnRole(quizIds, userRole);
+        Map<Long, QuizQuestionOutDTO> questions = loadQuestionDictionary(quizIds);
+        attempts.forEach(attempt -> deriveMissingTotals(attempt, questions));
+
+        Long2ObjectMap<CourseOutDTO> courses = new Long2ObjectOpenHashMap<>(attemptsByCourse.size());
+        for (Course course : courseRepository.findAllById(attemptsByCourse.keySet())) {
+            courses.put(course.getCourseId().longValue(), CourseConvertors.courseToCourseOutDTO(course));
+        }
+
+        List<QuizAttemptDetailsByUserIDOutDTO> byCourse = new ArrayList<>(attemptsByCourse.size());
+        for (Long2ObjectMap.Entry<List<UserQuizAttemptDetailsOutDTO>> entry : attemptsByCourse.long2ObjectEntrySet()) {
+            CourseOutDTO course = courses.get(entry.getLongKey());
+            if (course != null) {
+                byCourse.add(QuizAttemptDetailsByUserIDOutDTO.builder()
+                        .courseOutDTO(course)
+                        .userQuizAttemptDetailsOutDTOS(entry.getValue())
+                        .build());
+            }
+        }
+
+        return UserQuizAttemptReportOutDTO.builder()
+                .questions(questions)
+                .courses(byCourse)
+                .build();
+    }
+
+    /**
+     * Builds the compact attempt report for a course, grouped by user.
+     * Question bodies are loaded once into a dictionary instead of being joined onto every response row.
+     *
+     * @param courseId the course ID to get details for
+     * @param userRole the role of the requesting user
+     * @return CourseQuizAttemptReportOutDTO question dictionary plus attempts by user
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CourseQuizAttemptReportOutDTO getCompactQuizAttemptReportByCourseID(final Long courseId, final String userRole) {
+        List<Object[]> rows = quizAttemptRepository.findCompactQuizAttemptDetailsByCourseId(courseId);
+
+        if (rows.isEmpty()) {
+            return CourseQuizAttemptReportOutDTO.builder()
+                    .questions(Collections.emptyMap())
+                    .users(new ArrayList<>())
+                    .build();
+        }
+
+        // Rows are ordered by user and then attempt, so both groups are contiguous and need no lookup
+        LongSet quizIds = new LongOpenHashSet();
+        List<QuizAttemptDetailsByCourseIDOutDTO> users = new ArrayList<>();
+        List<UserQuizAttemptDetailsOutDTO> attempts = new ArrayList<>();
+        QuizAttemptDetailsByCourseIDOutDTO userDto = null;
+        UserQuizAttemptDetailsOutDTO details = null;
+        for (Object[] row : rows) {
+            if (details == null || ((Number) row[0]).longValue() != details.getQuizAttempt().getQuizAttemptId()) {
+                quizIds.add(((Number) row[2]).longValue());
+                details = buildCompactAttemptDetails(row, COMPACT_COURSE_SCORE_OFFSET);
+                attempts.add(details);
+                if (userDto == null || !userDto.getUserId().equals(details.getQuizAttempt().getUserId())) {
+                    userDto = QuizAttemptDetailsByCourseIDOutDTO.builder()
+                            .userId(details.getQuizAttempt().getUserId())
+                            .userName((String) row[COMPACT_COURSE_USERNAME])
+                            .firstName((String) row[COMPACT_COURSE_USERNAME + 1])
+                            .lastName((String) row[COMPACT_COURSE_USERNAME + 2])
+                            .userQuizAttemptDetailsOutDTOS(new ArrayList<>())
+                            .build();
+                    users.add(userDto);
+                }
+                userDto.getUserQuizAttemptDetailsOutDTOS().add(details);
+            }
+            addCompactResponse(details, row);
+        }
+
+        validateShowResultsForQuizzesBasedOnRole(quizIds, userRole);
+        Map<Long, QuizQuestionOutDTO> questions = loadQuestionDictionary(quizIds);
+        attempts.forEach(attempt -> deriveMissingTotals(attempt, questions));
+
+        return CourseQuizAttemptReportOutDTO.builder()
+                .questions(questions)
+                .users(users)
+                .build();
+    }
+
+    /**
+     * Collects the distinct quiz IDs (column 2) of report rows.
+     *
+     * @param rows the report rows
+     * @return the quiz IDs
+     */
+    private LongSet collectQuizIds(final List<Object[]> rows) {
+        LongSet quizIds = new LongOpenHashSet();
+        for (Object[] row : rows) {
+            quizIds.add(((Number) row[2]).longValue());
+        }
+        return quizIds;
+    }
+
+    /**
+     * Loads every question of the given quizzes once, keyed by question ID in quiz and position order.
+     * Questions no response answered are included as well: the lookup by quiz ID avoids an IN list of
+     * every answered question ID, and the dictionary can list skipped questions next to the answers.
+     *
+     * @param quizIds the quizzes of the attempts in the report
+     * @return the question dictionary
+     */
+    private Map<Long, QuizQuestionOutDTO> loadQuestionDictionary(final Set<Long> quizIds) {
+        return quizQuestionRepository.findByQuizIdInOrderByQuizIdAscPositionAsc(new ArrayList<>(quizIds)).stream()
+                .collect(Collectors.toMap(QuizQuestion::getQuestionId, QuizQuestionConverter::convertToOutDTO,
+                        (first, second) -> first, LinkedHashMap::new));
+    }
+
+    /**
+     * Builds the attempt header of a compact report from the shared leading columns (0-8) and the
+     * typed score columns. Totals stay {@code null} when the attempt predates the score columns.
+     *
+     * @param row         the compact report row
+     * @param scoreOffset index of the first typed score column
+     * @return attempt details with an empty, mutable response list
+     */
+    private UserQuizAttemptDetailsOutDTO buildCompactAttemptDetails(final Object[] row, final int scoreOffset) {
+        QuizAttemptOutDTO quizAttempt = QuizAttemptOutDTO.builder()
+                .quizAttemptId(((Number) row[0]).longValue())
+                .attempt(((Number) row[1]).longValue())
+                .quizId(((Number) row[2]).longValue())
+                .userId(((Number) row[CommonConstants.NUMBER_THREE]).longValue())
+                .startedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_FOUR]))
+                .finishedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_FIVE]))
+                .status((String) row[CommonConstants.NUMBER_SIX])
+                .createdAt(convertToLocalDateTime(row[CommonConstants.NUMBER_SEVEN]))
+                .updatedAt(convertToLocalDateTime(row[CommonConstants.NUMBER_EIGHT]))
+                .build();
+
+        ScoreColumns scores = ScoreColumns.fromRow(row, scoreOffset);
+        return UserQuizAttemptDetailsOutDTO.builder()
+                .quizAttempt(quizAttempt)
+                .userResponses(new ArrayList<>())
+                .totalScore(scores.totalScore())
+                .maxPossibleScore(scores.maxScore())
+                .correctAnswers(scores.correctCount())
+                .totalQuestions(scores.questionCount())
+                .percentageScore(scores.percentageScore())
+                .submissionType(scores.submissionType() != null ? scores.submissionType() : "COMPLETED")
+                .submittedAt(scores.submittedAt() != null ? scores.submittedAt() : quizAttempt.getFinishedAt())
+                .build();
+    }
+
+    /**
+     * Adds the response held in columns 9-14 of a compact report row, if any.
+     * Question text, options and correct answer are left out; they live in the question dictionary.
+     *
+     * @param details the attempt the response belongs to
+     * @param row     the compact report row
+     */
+    private void addCompactResponse(final UserQuizAttemptDetailsOutDTO details, final Object[] row) {
+        if (row[CommonConstants.NUMBER_NINE] == null) {
+            return;
+        }
+        QuizAttemptOutDTO attempt = details.getQuizAttempt();
+        details.getUserResponses().add(UserResponseWithCorrectAnswerOutDTO.builder()
+                .responseId(((Number) row[CommonConstants.NUMBER_NINE]).longValue())
+                .userId(attempt.getUserId())
+                .quizId(attempt.getQuizId())
+                .questionId(row[CommonConstants.NUMBER_TEN] != null
+                        ? ((Number) row[CommonConstants.NUMBER_TEN]).longValue() : null)
+                .attempt(attempt.getAttempt())
+                .userAnswer((String) row[CommonConstants.NUMBER_ELEVEN])
+                .isCorrect((Boolean) row[CommonConstants.NUMBER_TWELVE])
+                .pointsEarned(row[CommonConstants.NUMBER_THIRTEEN] != null
+                        ? (BigDecimal) row[CommonConstants.NUMBER_THIRTEEN] : BigDecimal.ZERO)
+                .answeredAt(convertToLocalDateTime(row[CommonConstants.NUMBER_FOURTEEN]))
+                .build());
+    }
+
+    /**
+     * Derives totals from the responses for attempts scored before the typed score columns existed,
+     * using the question dictionary for the points of each answered question.
+     *
+     * @param details   the attempt details to complete
+     * @param questions the question dictionary
+     */
+    private void deriveMissingTotals(final UserQuizAttemptDetailsOutDTO details,
+                                     final Map<Long, QuizQuestionOutDTO> questions) {
+        if (details.getTotalScore() != null) {
+            return;
+        }
+        List<UserResponseWithCorrectAnswerOutDTO> responses = details.getUserResponses();
+        BigDecimal totalScore = responses.stream()
+                .map(UserResponseWithCorrectAnswerOutDTO::getPointsEarned)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal maxScore = responses.stream()
+                .map(response -> questions.get(response.getQuestionId()))
+                .filter(Objects::nonNull)
+                .map(QuizQuestionOutDTO::getPoints)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        details.setTotalScore(totalScore);
+        details.setMaxPossibleScore(maxScore);
+        details.setCorrectAnswers(responses.stream().filter(r -> Boolean.TRUE.equals(r.getIsCorrect())).count());
+        details.setTotalQuestions((long) responses.size());
+        details.setPercentageScore(maxScore.compareTo(BigDecimal.ZERO) > 0
+                ? totalScore.multiply(BigDecimal.valueOf(CommonConstants.NUMBER_HUNDRED))
+                .divide(maxScore, 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+    }
+
+    /**
+     * Typed score columns of a quiz attempt as selected by the report queries.
+     * <p>
+     * The seven columns are always selected in the same order, starting at a query-specific offset:
+     * total_score, max_score, correct_count, question_count, percentage_score, submission_type, submitted_at.
+     * </p>
+     *
+     * @param totalScore      total points earned
+     * @param maxScore        maximum achievable points
+     * @param correctCount    number of correct answers
+     * @param questionCount   number of questions
+     * @param percentageScore percentage score, 0-100
+     * @param submissionType  how the attempt was submitted
+     * @param submittedAt     submission timestamp
+     */
+    private record ScoreColumns(
+            BigDecimal totalScore,
+            BigDecimal maxScore,
+            Long correctCount,
+            Long questionCount,
+            BigDecimal percentageScore,
+            String submissionType,
+            LocalDateTime submittedAt
+    ) {
+
         /**
-         * Total score achieved in the attempt.
+         * Reads the score columns from a native query row.
+         *
+         * @param row    the query row
+         * @param offset index of the total_score column
+         * @return the typed score columns, individual values may be {@code null}
          */
-        private BigDecimal totalScore = BigDecimal.ZERO;
+        static ScoreColumns fromRow(final Object[] row, final int offset) {
+            return new ScoreColumns(
+                    toBigDecimal(row[offset]),
+                    toBigDecimal(row[offset + 1]),
+                    toLong(row[offset + 2]),
+                    toLong(row[offset + CommonConstants.NUMBER_THREE]),
+                    toBigDecimal(row[offset + CommonConstants.NUMBER_FOUR]),
+                    (String) row[offset + CommonConstants.NUMBER_FIVE],
+                    row[offset + CommonConstants.NUMBER_SIX] instanceof Timestamp ts ? ts.toLocalDateTime() : null);
+        }
+
         /**
-         * Maximum possible score for the quiz.
+         * Whether the attempt was scored, i.e. the typed columns were populated.
+         *
+         * @return true if a total score is stored
          */
-        private BigDecimal maxPossibleScore = BigDecimal.ZERO;
+        boolean isPresent() {
+            return totalScore != null;
+        }
+
         /**
-         * Percentage score achieved.
+         * Returns the stored total score, or zero when the attempt was never scored.
+         *
+         * @return total score, zero when not stored
          */
-        private BigDecimal percentageScore = BigDecimal.ZERO;
+        BigDecimal totalScoreOrZero() {
+            return totalScore != null ? totalScore : BigDecimal.ZERO;
+        }
+
         /**
-         * Number of correct answers.
+         * Returns the stored maximum score, or zero when the attempt was never scored.
+         *
+         * @return max score, zero when not stored
          */
-        private Long correctAnswers = 0L;
+        BigDecimal maxScoreOrZero() {
+            return maxScore != null ? maxScore : BigDecimal.ZERO;
+        }
+
         /**
-         * Total number of questions.
+         * Returns the stored percentage score, or zero when the attempt was never scored.
+         *
+         * @return percentage score, zero when not stored
          */
-        private Long totalQuestions = 0L;
+        BigDecimal percentageScoreOrZero() {
+            return percentageScore != null ? percentageScore : BigDecimal.ZERO;
+        }
+
+        /**
+         * Returns the stored correct answer count, or zero when the attempt was never scored.
+         *
+         * @return correct answer count, zero when not stored
+         */
+        Long correctCountOrZero() {
+            return correctCount != null ? correctCount : 0L;
+        }
+
+        /**
+         * Returns the stored question count, or zero when the attempt was never scored.
+         *
+         * @return question count, zero when not stored
+         */
+        Long questionCountOrZero() {
+            return questionCount != null ? questionCount : 0L;
+        }
+
         /**
-         * Type of submission (manual, auto, etc.).
+         * Converts a numeric column value to BigDecimal.
+         *
+         * @param value the column value
+         * @return the value as BigDecimal or null
          */
-        private String submissionType = "MANUAL";
+        private static BigDecimal toBigDecimal(final Object value) {
+            if (value == null) {
+                return null;
+            }
+            return value instanceof BigDecimal bd ? bd : new BigDecimal(value.toString());
+        }
+
         /**
-         * Timestamp when attempt was submitted.
+         * Converts an integer column value to Long.
+         *
+         * @param value the column value
+         * @return the value as Long or null
          */
-        private LocalDateTime submittedAt;
+        private static Long toLong(final Object value) {
+            return value != null ? ((Number) value).longValue() : null;
+        }
     }
 
     /**
@@ -1085,44 +1609,6 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
         return null;
     }
 
-    /**
-     * Parses score details from JSON string to ScoreDetails object.
-     * Handles malformed JSON gracefully with default values.
-     *
-     * @param scoreDetailsJson the JSON string to parse
-     * @return ScoreDetails parsed score information
-     */
-    private ScoreDetails parseScoreDetails(final String scoreDetailsJson) {
-        ScoreDetails details = new ScoreDetails();
-
-        if (scoreDetailsJson == null || scoreDetailsJson.trim().isEmpty()) {
-            return details;
-        }
-
-        try {
-            // Simple JSON parsing - you might want to use Jackson or Gson for production
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode jsonNode = mapper.readTree(scoreDetailsJson);
-
-            details.totalScore = new BigDecimal(jsonNode.get("totalScore").asText());
-            details.maxPossibleScore = new BigDecimal(jsonNode.get("maxPossibleScore").asText());
-            details.percentageScore = new BigDecimal(jsonNode.get("percentageScore").asText());
-            details.correctAnswers = jsonNode.get("correctAnswers").asLong();
-            details.totalQuestions = jsonNode.get("totalQuestions").asLong();
-            details.submissionType = jsonNode.get("submissionType").asText();
-
-            if (jsonNode.has("submittedAt") && !jsonNode.get("submittedAt").isNull()) {
-                details.submittedAt = LocalDateTime.parse(jsonNode.get("submittedAt").asText());
-            }
-
-        } catch (Exception e) {
-            // Log the error and use default values
-            log.warn("Failed to parse score_details JSON: {}", scoreDetailsJson, e);
-        }
-
-        return details;
-    }
-
     /**
      * Builds CourseOutDTO from database query result row.
      * Maps course fields from Object array to structured DTO.
@@ -1192,7 +1678,22 @@ public class QuizAttemptServiceImpl implements QuizAttemptService {
                 .map(this::buildUserResponseWithCorrectAnswerOutDTO)
                 .collect(Collectors.toList());
 
-        // Calculate statistics
+        ScoreColumns stored = ScoreColumns.fromRow(firstRow, USER_REPORT_SCORE_OFFSET);
+        if (stored.isPresent()) {
+            return UserQuizAttemptDetailsOutDTO.builder()
+                    .quizAttempt(quizAttemptOutDTO)
+                    .userResponses(userResponses)
+                    .totalScore(stored.totalScore())
+                    .maxPossibleScore(stored.maxScoreOrZero())
+                    .correctAnswers(stored.correctCountOrZero())
+                    .totalQuestions(stored.questionCountOrZero())
+                    .percentageScore(stored.percentageScoreOrZero())
+                    .submissionType(stored.submissionType() != null ? stored.submissionType() : "COMPLETED")
+                    .submittedAt(stored.submittedAt() != null ? stored.submittedAt() : quizAttemptOutDTO.getFinishedAt())
+                    .build();
+        }
+
+        // Attempts scored before the typed columns existed: derive totals from the responses
         BigDecimal totalScore = userResponses.stream()
                 .map(UserResponseWithCorrectAnswerOutDTO::getPointsEarned)
                 .filter(Objects::nonNull)
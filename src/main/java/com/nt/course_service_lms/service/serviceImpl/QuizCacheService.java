@@ -0,0 +1,94 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.constants.CacheConstants;
+import com.nt.course_service_lms.entity.Quiz;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the second-level cache regions of {@link Quiz} and {@link QuizQuestion} on write paths.
+ * <p>
+ * Entity writes made through the persistence context already keep the {@code READ_WRITE}
+ * regions consistent; explicit eviction covers bulk JPQL/native updates that bypass them and
+ * drops cached query results such as the ordered question list of a quiz. When called inside a
+ * transaction the eviction runs after commit, so a concurrent reader cannot re-populate the
+ * region with rows that are about to change.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuizCacheService {
+
+    /**
+     * Entity manager factory whose Hibernate cache is evicted.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evicts a quiz and all cached quiz queries.
+     *
+     * @param quizId the quiz that changed, {@code null} for a newly created quiz
+     */
+    public void evictQuiz(final Long quizId) {
+        runAfterCommit(() -> {
+            Cache cache = hibernateCache();
+            if (quizId != null) {
+                cache.evictEntityData(Quiz.class, quizId);
+            }
+            cache.evictQueryRegion(CacheConstants.QUIZ_QUERY_REGION);
+            log.debug("Evicted quiz cache for quiz ID: {}", quizId);
+        });
+    }
+
+    /**
+     * Evicts cached questions and question queries after the questions of a quiz changed.
+     * <p>
+     * The whole entity region is dropped because reordering touches rows other than the edited one.
+     * </p>
+     *
+     * @param quizId the quiz whose questions changed
+     */
+    public void evictQuizQuestions(final Long quizId) {
+        runAfterCommit(() -> {
+            Cache cache = hibernateCache();
+            cache.evictEntityData(QuizQuestion.class);
+            cache.evictQueryRegion(CacheConstants.QUIZ_QUESTION_QUERY_REGION);
+            log.debug("Evicted quiz question cache for quiz ID: {}", quizId);
+        });
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or immediately without one.
+     *
+     * @param action the eviction to perform
+     */
+    private void runAfterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Returns the Hibernate second-level cache.
+     *
+     * @return the cache
+     */
+    private Cache hibernateCache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -2,7 +2,9 @@ package com.nt.course_service_lms.service.serviceImpl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.converters.QuizQuestionConverter;
+import com.nt.course_service_lms.dto.inDTO.QuestionReorderInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizQuestionInDTO;
 import com.nt.course_service_lms.dto.inDTO.UpdateQuizQuestionInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
@@ -18,7 +20,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static com.nt.course_service_lms.converters.QuizQuestionConverter.convertToOutDTO;
@@ -28,10 +34,12 @@ import static com.nt.course_service_lms.converters.QuizQuestionConverter.convert
  *
  * <p>This service provides comprehensive CRUD operations for quiz questions with the following features:</p>
  * <ul>
- *   <li>Automatic position management for questions within a quiz</li>
+ *   <li>Automatic position management for questions within a quiz, backed by sparse rank keys
+ *       so that an insert or move writes a single row</li>
  *   <li>JSON validation for options and correct answers</li>
  *   <li>Transactional operations for data consistency</li>
- *   <li>Position-based reordering when questions are updated or deleted</li>
+ *   <li>Position-based reordering when questions are updated</li>
+ *   <li>Bulk reordering of a full or partial question order with one set-based update</li>
  *   <li>Comprehensive validation for question data integrity</li>
  * </ul>
  *
@@ -62,13 +70,23 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * Evicts cached question rows and queries after writes.
+     */
+    private final QuizCacheService quizCacheService;
+
+    /**
+     * Respaces rank keys when an insert or move finds no gap between its neighbours.
+     */
+    private final QuestionRankRebalancer questionRankRebalancer;
+
     /**
      * Creates a new quiz question with automatic position assignment.
      *
      * <p>This method performs the following operations:</p>
      * <ul>
      *   <li>Validates that the parent quiz exists</li>
-     *   <li>Auto-assigns the next available position in the quiz</li>
+     *   <li>Auto-assigns the next available position in the quiz, ranked after the last question</li>
      *   <li>Validates question data including JSON format for options and correct answers</li>
      *   <li>Persists the question with created/updated timestamps</li>
      * </ul>
@@ -82,8 +100,8 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
     public QuizQuestionOutDTO createQuestion(final QuizQuestionInDTO questionInDTO) {
         log.info("Creating new question for quiz ID: {}", questionInDTO.getQuizId());
 
-        // Validate quiz exists
-        validateQuizExists(questionInDTO.getQuizId());
+        // Validate quiz exists and serialize rank key assignment within the quiz
+        lockQuizForOrdering(questionInDTO.getQuizId());
 
         // Auto-assign the next available position
         Integer nextPosition = getNextAvailablePosition(questionInDTO.getQuizId());
@@ -95,6 +113,8 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
         // Convert DTO to entity
         QuizQuestion question = QuizQuestionConverter.convertToEntity(questionInDTO);
         question.setPosition(nextPosition);
+        question.setRankKey(quizQuestionRepository.findMaxRankKeyByQuizId(questionInDTO.getQuizId())
+                + CommonConstants.QUESTION_RANK_GAP);
         question.setCreatedAt(LocalDateTime.now());
         question.setUpdatedAt(LocalDateTime.now());
 
@@ -118,6 +138,7 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
 
         // Save question
         QuizQuestion savedQuestion = quizQuestionRepository.save(question);
+        quizCacheService.evictQuizQuestions(savedQuestion.getQuizId());
         log.info("Successfully created question with ID: {}", savedQuestion.getQuestionId());
 
         return convertToOutDTO(savedQuestion);
@@ -136,7 +157,7 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
     public List<QuizQuestionOutDTO> getAllQuestions() {
         log.info("Retrieving all questions");
 
-        List<QuizQuestion> questions = quizQuestionRepository.findAll();
+        List<QuizQuestion> questions = quizQuestionRepository.findAllOrderByQuizIdAndPosition();
         return questions.stream()
                 .map(QuizQuestionConverter::convertToOutDTO)
                 .collect(Collectors.toList());
@@ -186,6 +207,8 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
         log.info("Retrieving question with ID: {}", questionId);
 
         QuizQuestion question = findQuestionById(questionId);
+        question.setPosition((int) quizQuestionRepository.countByQuizIdAndRankKeyLessThan(
+                question.getQuizId(), question.getRankKey()) + 1);
         return convertToOutDTO(question);
     }
 
@@ -194,7 +217,8 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
      *
      * <p>This method performs complex position management:</p>
      * <ul>
-     *   <li>If the position changes, it reorders other questions accordingly</li>
+     *   <li>If the position changes, it gives the question a rank key between its new neighbours;
+     *       other questions are only rewritten when the gap between those neighbours is exhausted</li>
      *   <li>Validates that the new position is within valid range</li>
      *   <li>Validates JSON format for updated options and correct answers</li>
      *   <li>Updates timestamps appropriately</li>
@@ -213,19 +237,30 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
         // Find existing question
         QuizQuestion existingQuestion = findQuestionById(questionId);
         Long quizId = existingQuestion.getQuizId();
-        Integer oldPosition = existingQuestion.getPosition();
         Integer newPosition = questionInDTO.getPosition();
 
         // Validate question data
         validateUpdateQuestionData(questionInDTO);
 
+        // Serialize rank key assignment within the quiz, then read the current order
+        lockQuizForOrdering(quizId);
+        List<QuizQuestion> ordered = quizQuestionRepository.findByQuizIdOrderByPosition(quizId);
+        List<QuizQuestion> otherQuestions = ordered.stream()
+                .filter(q -> !q.getQuestionId().equals(questionId))
+                .collect(Collectors.toList());
+        Integer oldPosition = ordered.stream()
+                .filter(q -> q.getQuestionId().equals(questionId))
+                .findFirst()
+                .map(QuizQuestion::getPosition)
+                .orElseThrow(() -> new ResourceNotFoundException("Question not found with ID: " + questionId));
+
         // Validate new position is valid (not beyond the max position + 1)
-        validatePositionRange(quizId, newPosition, questionId);
+        validatePositionRange(quizId, newPosition, otherQuestions.size());
 
         // Handle position reordering if position has changed
         if (!oldPosition.equals(newPosition)) {
-            log.info("Position change detected: {} -> {}. Reordering questions...", oldPosition, newPosition);
-            reorderQuestionsForUpdate(quizId, questionId, oldPosition, newPosition);
+            log.info("Position change detected: {} -> {}. Re-ranking question...", oldPosition, newPosition);
+            existingQuestion.setRankKey(rankKeyForMove(quizId, otherQuestions, existingQuestion, newPosition));
         }
 
         // Update entity fields
@@ -248,16 +283,18 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
 
         // Save updated question
         QuizQuestion updatedQuestion = quizQuestionRepository.save(existingQuestion);
+        updatedQuestion.setPosition(newPosition);
+        quizCacheService.evictQuizQuestions(quizId);
         log.info("Successfully updated question with ID: {} to position: {}", updatedQuestion.getQuestionId(), newPosition);
 
         return convertToOutDTO(updatedQuestion);
     }
 
     /**
-     * Deletes a quiz question and reorders remaining questions to fill the gap.
+     * Deletes a quiz question.
      *
-     * <p>This method ensures that question positions remain sequential after deletion
-     * by shifting all subsequent questions up by one position.</p>
+     * <p>Positions are derived from rank keys, so the remaining questions close the gap
+     * without being rewritten.</p>
      *
      * @param questionId the ID of the question to delete
      * @throws ResourceNotFoundException if the question is not found
@@ -269,15 +306,62 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
         // Verify question exists
         QuizQuestion question = findQuestionById(questionId);
         Long quizId = question.getQuizId();
-        Integer deletedPosition = question.getPosition();
 
         // Delete the question
         quizQuestionRepository.delete(question);
+        quizCacheService.evictQuizQuestions(quizId);
+
+        log.info("Successfully deleted question with ID: {}", questionId);
+    }
+
+    /**
+     * Applies a new order to the questions of a quiz with one set-based update.
+     *
+     * <p>A full list defines the complete order of the quiz. A partial list rearranges only the
+     * listed questions among the rank keys they currently occupy; all other questions keep
+     * their keys. The (quiz_id, rank_key) uniqueness check is deferred to commit, so the
+     * questions can swap keys within the single statement.</p>
+     *
+     * @param quizId       the ID of the quiz whose questions are reordered
+     * @param reorderInDTO the question IDs in their new order
+     * @return List&lt;QuizQuestionOutDTO&gt; all questions of the quiz in their new order
+     * @throws ResourceNotFoundException if the quiz is not found
+     * @throws ResourceNotValidException if the list contains duplicates or questions of another quiz
+     */
+    @Override
+    public List<QuizQuestionOutDTO> reorderQuestions(final Long quizId, final QuestionReorderInDTO reorderInDTO) {
+        List<Long> questionIds = reorderInDTO.getQuestionIds();
+        log.info("Reordering {} questions of quiz ID: {}", questionIds.size(), quizId);
+
+        lockQuizForOrdering(quizId);
+
+        if (new HashSet<>(questionIds).size() != questionIds.size()) {
+            throw new ResourceNotValidException("Question IDs must not contain duplicates");
+        }
+
+        List<QuizQuestion> questions = quizQuestionRepository.findByQuizIdAndQuestionIdIn(quizId, questionIds);
+        if (questions.size() != questionIds.size()) {
+            throw new ResourceNotValidException(
+                    String.format("All questions must exist and belong to quiz ID: %d", quizId));
+        }
+
+        // The listed questions take over the rank keys they hold today, in the requested order
+        List<Long> slots = questions.stream()
+                .map(QuizQuestion::getRankKey)
+                .sorted()
+                .collect(Collectors.toList());
+        Map<Long, Long> rankKeys = new LinkedHashMap<>();
+        for (int i = 0; i < questionIds.size(); i++) {
+            rankKeys.put(questionIds.get(i), slots.get(i));
+        }
 
-        // Reorder remaining questions to fill the gap
-        reorderQuestionsAfterDelete(quizId, deletedPosition);
+        int updated = quizQuestionRepository.applyRankKeys(quizId, rankKeys, LocalDateTime.now());
+        quizCacheService.evictQuizQuestions(quizId);
+        log.info("Successfully reordered {} questions of quiz ID: {}", updated, quizId);
 
-        log.info("Successfully deleted question with ID: {} and reordered remaining questions", questionId);
+        return quizQuestionRepository.findByQuizIdOrderByPosition(quizId).stream()
+                .map(QuizQuestionConverter::convertToOutDTO)
+                .collect(Collectors.toList());
     }
 
     // Private helper methods
@@ -285,26 +369,26 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
     /**
      * Calculates the next available position for a new question in a quiz.
      *
-     * <p>This method finds the highest position number in the quiz and returns the next number.
-     * If no questions exist in the quiz, it returns 1.</p>
+     * <p>New questions are ranked after the last question, so this is the question count plus one.</p>
      *
      * @param quizId the ID of the quiz to get the next position for
      * @return Integer the next available position number
      */
     private Integer getNextAvailablePosition(final Long quizId) {
-        List<QuizQuestion> existingQuestions = quizQuestionRepository.findByQuizIdOrderByPosition(quizId);
+        return (int) quizQuestionRepository.countByQuizId(quizId) + 1;
+    }
 
-        if (existingQuestions.isEmpty()) {
-            return 1; // First question
+    /**
+     * Locks a quiz for the rest of the transaction so that concurrent edits of the same quiz
+     * cannot hand out the same rank key.
+     *
+     * @param quizId the ID of the quiz to lock
+     * @throws ResourceNotFoundException if the quiz does not exist
+     */
+    private void lockQuizForOrdering(final Long quizId) {
+        if (quizRepository.lockForQuestionOrdering(quizId).isEmpty()) {
+            throw new ResourceNotFoundException("Quiz not found with ID: " + quizId);
         }
-
-        // Return the next position after the last question
-        Integer maxPosition = existingQuestions.stream()
-                .mapToInt(QuizQuestion::getPosition)
-                .max()
-                .orElse(0);
-
-        return maxPosition + 1;
     }
 
     /**
@@ -322,111 +406,54 @@ public class QuizQuestionServiceImpl implements QuizQuestionService {
     /**
      * Validates that a position is within the valid range for a quiz.
      *
-     * <p>Valid positions are from 1 to the total number of questions + 1 (to allow insertion).
-     * The excludeQuestionId parameter is used when updating a question to exclude it from the count.</p>
+     * <p>Valid positions are from 1 to the number of other questions in the quiz + 1.</p>
      *
-     * @param quizId            the ID of the quiz to validate position for
-     * @param newPosition       the position to validate
-     * @param excludeQuestionId the ID of a question to exclude from the count (for updates)
+     * @param quizId         the ID of the quiz to validate position for
+     * @param newPosition    the position to validate
+     * @param otherQuestions the number of questions in the quiz besides the one being moved
      * @throws ResourceNotValidException if the position is out of valid range
      */
-    private void validatePositionRange(final Long quizId, final Integer newPosition, final Long excludeQuestionId) {
-        // Get total count of questions for this quiz (excluding the current question being updated)
-        List<QuizQuestion> allQuestions = quizQuestionRepository.findByQuizIdOrderByPosition(quizId);
-        long totalQuestions = allQuestions.stream()
-                .filter(q -> !q.getQuestionId().equals(excludeQuestionId))
-                .count();
-
-        if (newPosition < 1 || newPosition > totalQuestions + 1) {
+    private void validatePositionRange(final Long quizId, final Integer newPosition, final int otherQuestions) {
+        if (newPosition < 1 || newPosition > otherQuestions + 1) {
             throw new ResourceNotValidException(
-                    String.format("Position must be between 1 and %d for quiz ID: %d", totalQuestions + 1, quizId));
+                    String.format("Position must be between 1 and %d for quiz ID: %d", otherQuestions + 1, quizId));
         }
     }
 
     /**
-     * Reorders questions when a question's position is updated.
+     * Calculates the rank key of a question moved to a new position.
      *
-     * <p>This method handles two scenarios:</p>
-     * <ul>
-     *   <li>Moving up: shifts questions down from newPosition to oldPosition-1</li>
-     *   <li>Moving down: shifts questions up from oldPosition+1 to newPosition</li>
-     * </ul>
+     * <p>The key is the midpoint between the keys of the new neighbours, so no other question is
+     * written. When the neighbours' keys are adjacent, the whole quiz is respaced in one statement
+     * with the moved question already in its new place.</p>
      *
-     * @param quizId      the ID of the quiz containing the questions
-     * @param questionId  the ID of the question being moved (excluded from reordering)
-     * @param oldPosition the current position of the question
-     * @param newPosition the desired position of the question
+     * @param quizId         the ID of the quiz containing the questions
+     * @param otherQuestions the other questions of the quiz, in order
+     * @param moved          the question being moved
+     * @param newPosition    the desired position of the question
+     * @return Long the new rank key of the moved question
      */
-    private void reorderQuestionsForUpdate(
+    private Long rankKeyForMove(
             final Long quizId,
-            final Long questionId,
-            final Integer oldPosition,
+            final List<QuizQuestion> otherQuestions,
+            final QuizQuestion moved,
             final Integer newPosition
     ) {
-        List<QuizQuestion> questions = quizQuestionRepository.findByQuizIdOrderByPosition(quizId);
-
-        // Filter out the question being updated
-        List<QuizQuestion> otherQuestions = questions.stream()
-                .filter(q -> !q.getQuestionId().equals(questionId))
-                .collect(Collectors.toList());
-
-        if (newPosition < oldPosition) {
-            // Moving up: shift questions down from newPosition to oldPosition-1
-            log.info("Moving question up from position {} to {}. Shifting questions down.", oldPosition, newPosition);
-
-            for (QuizQuestion question : otherQuestions) {
-                if (question.getPosition() >= newPosition && question.getPosition() < oldPosition) {
-                    question.setPosition(question.getPosition() + 1);
-                    question.setUpdatedAt(LocalDateTime.now());
-                    quizQuestionRepository.save(question);
-                    log.debug("Shifted question ID {} from position {} to {}",
-                            question.getQuestionId(),
-                            question.getPosition() - 1,
-                            question.getPosition()
-                    );
-                }
-            }
-        } else {
-            // Moving down: shift questions up from oldPosition+1 to newPosition
-            log.info("Moving question down from position {} to {}. Shifting questions up.", oldPosition, newPosition);
-
-            for (QuizQuestion question : otherQuestions) {
-                if (question.getPosition() > oldPosition && question.getPosition() <= newPosition) {
-                    question.setPosition(question.getPosition() - 1);
-                    question.setUpdatedAt(LocalDateTime.now());
-                    quizQuestionRepository.save(question);
-                    log.debug("Shifted question ID {} from position {} to {}",
-                            question.getQuestionId(),
-                            question.getPosition() + 1,
-                            question.getPosition()
-                    );
-                }
-            }
+        int index = newPosition - 1;
+        long lower = index > 0 ? otherQuestions.get(index - 1).getRankKey() : 0L;
+        if (index == otherQuestions.size()) {
+            return lower + CommonConstants.QUESTION_RANK_GAP;
         }
-    }
 
-    /**
-     * Reorders questions after a question has been deleted.
-     *
-     * <p>This method shifts all questions with positions greater than the deleted position
-     * up by one position to maintain sequential numbering.</p>
-     *
-     * @param quizId          the ID of the quiz containing the remaining questions
-     * @param deletedPosition the position of the deleted question
-     */
-    private void reorderQuestionsAfterDelete(final Long quizId, final Integer deletedPosition) {
-        List<QuizQuestion> questions = quizQuestionRepository.findByQuizIdOrderByPosition(quizId);
-
-        // Shift all questions with position > deletedPosition up by 1
-        for (QuizQuestion question : questions) {
-            if (question.getPosition() > deletedPosition) {
-                question.setPosition(question.getPosition() - 1);
-                question.setUpdatedAt(LocalDateTime.now());
-                quizQuestionRepository.save(question);
-                log.debug("Shifted question ID {} from position {} to {} after deletion",
-                        question.getQuestionId(), question.getPosition() + 1, question.getPosition());
-            }
+        long upper = otherQuestions.get(index).getRankKey();
+        if (upper - lower > 1) {
+            return lower + (upper - lower) / 2;
         }
+
+        log.info("No rank key left at position {} of quiz ID {}. Respacing quiz.", newPosition, quizId);
+        List<QuizQuestion> reordered = new ArrayList<>(otherQuestions);
+        reordered.add(index, moved);
+        return questionRankRebalancer.respace(quizId, reordered).get(moved.getQuestionId());
     }
 
     /**
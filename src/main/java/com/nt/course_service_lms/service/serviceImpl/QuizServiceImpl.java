@@ -63,6 +63,12 @@ public class QuizServiceImpl implements QuizService {
     @Autowired
     private CourseContentRepository courseContentRepository;
 
+    /**
+     * Evicts cached quiz rows and queries after writes.
+     */
+    @Autowired
+    private QuizCacheService quizCacheService;
+
     /**
      * Creates a new quiz based on the provided DTO.
      * <p>
@@ -119,6 +125,7 @@ public class QuizServiceImpl implements QuizService {
 
             // Save quiz entity
             Quiz savedQuiz = quizRepository.save(quiz);
+            quizCacheService.evictQuiz(null);
             log.info("Quiz '{}' created successfully with ID: {}", savedQuiz.getTitle(), savedQuiz.getQuizId());
 
             // Convert entity to output DTO
@@ -300,6 +307,7 @@ public class QuizServiceImpl implements QuizService {
             // Update the quiz entity using converter
             Quiz updatedQuiz = quizConverter.updateEntity(existingQuiz, quizUpdateInDTO);
             Quiz savedQuiz = quizRepository.save(updatedQuiz);
+            quizCacheService.evictQuiz(quizId);
 
             // Convert the saved quiz to QuizOutDTO
             QuizOutDTO quizOutDTO = quizConverter.toOutDTO(savedQuiz);
@@ -336,6 +344,7 @@ public class QuizServiceImpl implements QuizService {
             // Soft delete the quiz by setting isActive to false
             existingQuiz.setIsActive(false);
             quizRepository.save(existingQuiz);
+            quizCacheService.evictQuiz(id);
             log.info("Successfully soft deleted quiz with ID: {}", id);
 
         } catch (ResourceNotFoundException e) {
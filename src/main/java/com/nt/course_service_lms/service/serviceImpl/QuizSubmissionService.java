@@ -1,5 +1,6 @@
 package com.nt.course_service_lms.service.serviceImpl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
@@ -7,24 +8,34 @@ import com.nt.course_service_lms.dto.inDTO.UserResponseInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizSubmissionResultOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
 import com.nt.course_service_lms.entity.QuizAttempt;
 import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.entity.QuizSubmissionResult;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+import com.nt.course_service_lms.exception.ResourceAlreadyExistsException;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.repository.QuizAnswerDraftRepository;
 import com.nt.course_service_lms.repository.QuizAttemptRepository;
 import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.repository.QuizSubmissionResultRepository;
 import com.nt.course_service_lms.service.QuizAttemptService;
 import com.nt.course_service_lms.service.UserResponseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -80,15 +91,31 @@ public class QuizSubmissionService {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * Publishes {@link QuizSubmittedEvent}s consumed by the analytics aggregates after commit.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Repository for stored submission results, used to replay retried submissions.
+     */
+    private final QuizSubmissionResultRepository quizSubmissionResultRepository;
+
+    /**
+     * Repository for autosaved answers, promoted to user responses on submit.
+     */
+    private final QuizAnswerDraftRepository quizAnswerDraftRepository;
+
     /**
      * Submits a quiz attempt with user responses and processes the submission.
      * <p>
      * This method handles the complete quiz submission workflow including:
      * <ul>
      *   <li>Validating the quiz attempt exists and is in progress</li>
-     *   <li>Saving user responses (if provided)</li>
+     *   <li>Saving user responses (if provided), together with autosaved answer drafts</li>
      *   <li>Calculating scores and statistics</li>
      *   <li>Updating quiz attempt with completion details</li>
+     *   <li>Publishing a {@link QuizSubmittedEvent} for the analytics aggregates</li>
      *   <li>Creating comprehensive submission results</li>
      * </ul>
      * </p>
@@ -105,18 +132,65 @@ public class QuizSubmissionService {
     public QuizSubmissionResultOutDTO submitQuiz(final Long quizAttemptId,
                                                  final List<UserResponseInDTO> userResponses,
                                                  final String submissionType) {
+        return submitQuiz(quizAttemptId, userResponses, submissionType, null);
+    }
+
+    /**
+     * Submits a quiz attempt idempotently.
+     * <p>
+     * The first successful submission of an attempt stores its result. Retries of that submission, with the
+     * same idempotency key or without one, return the stored result in a single primary-key lookup instead of
+     * failing because the responses already exist. Concurrent duplicates are serialized by a row lock on the
+     * attempt, so only one of them grades the attempt.
+     * </p>
+     *
+     * @param quizAttemptId  the unique identifier of the quiz attempt to submit
+     * @param userResponses  list of user responses to quiz questions (can be null or empty for partial submissions)
+     * @param submissionType the type of submission ("MANUAL" for user-initiated, "AUTO_TIMEOUT" for time-based)
+     * @param idempotencyKey client-generated key identifying this submission, may be {@code null}
+     * @return QuizSubmissionResultOutDTO containing complete submission results including scores and attempt details
+     * @throws ResourceNotFoundException      if the quiz attempt is not found
+     * @throws ResourceNotValidException      if the quiz attempt is not in a valid state or the key is malformed
+     * @throws ResourceAlreadyExistsException if the attempt was already submitted under a different key
+     */
+    @Transactional
+    public QuizSubmissionResultOutDTO submitQuiz(final Long quizAttemptId,
+                                                 final List<UserResponseInDTO> userResponses,
+                                                 final String submissionType,
+                                                 final String idempotencyKey) {
         log.info("Submitting quiz attempt ID: {} with {} responses, submission type: {}",
                 quizAttemptId, userResponses != null ? userResponses.size() : 0, submissionType);
 
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > CommonConstants.IDEMPOTENCY_KEY_MAX_LENGTH)) {
+            throw new ResourceNotValidException("Idempotency key must be 1 to "
+                    + CommonConstants.IDEMPOTENCY_KEY_MAX_LENGTH + " characters");
+        }
+
+        // 0. Replay a submission that already went through
+        Optional<QuizSubmissionResultOutDTO> storedResult = findStoredResult(quizAttemptId, idempotencyKey);
+        if (storedResult.isPresent()) {
+            return storedResult.get();
+        }
+
         try {
-            // 1. Validate quiz attempt exists and is in progress
+            // 1. Serialize concurrent submissions of this attempt, then validate it exists and is in progress
+            if (quizAttemptId != null) {
+                quizAttemptRepository.lockForSubmission(quizAttemptId);
+                storedResult = findStoredResult(quizAttemptId, idempotencyKey);
+                if (storedResult.isPresent()) {
+                    return storedResult.get();
+                }
+            }
             QuizAttempt attempt = validateAndGetAttempt(quizAttemptId);
 
-            // 2. Save user responses (only if there are any)
+            // 2. Save user responses, promoting autosaved drafts the request did not override (only if there are any)
+            List<QuizAnswerDraft> drafts = quizAnswerDraftRepository.findByQuizAttemptIdOrderByQuestionId(quizAttemptId);
+            List<UserResponseInDTO> responsesToSave = mergeDrafts(attempt, drafts, userResponses);
             List<UserResponseOutDTO> savedResponses = null;
-            if (userResponses != null && !userResponses.isEmpty()) {
+            if (responsesToSave != null && !responsesToSave.isEmpty()) {
                 try {
-                    savedResponses = userResponseService.createUserResponse(userResponses);
+                    savedResponses = userResponseService.createUserResponse(responsesToSave);
                     log.info("Saved {} user responses for attempt {}", savedResponses.size(), quizAttemptId);
                 } catch (ResourceNotFoundException e) {
                     log.error("Resource not found while saving user responses for attempt {}: {}", quizAttemptId, e.getMessage());
@@ -133,6 +207,10 @@ public class QuizSubmissionService {
                 }
             }
 
+            if (!drafts.isEmpty()) {
+                quizAnswerDraftRepository.deleteByQuizAttemptId(quizAttemptId);
+            }
+
             // 3. Calculate scores and statistics
             QuizScoreCalculation scoreCalculation;
             try {
@@ -169,7 +247,11 @@ public class QuizSubmissionService {
                 throw new RuntimeException("Unexpected error while completing quiz attempt", e);
             }
 
-            // 5. Create and return submission result
+            // 5. Hand the graded attempt to the analytics aggregates (applied after commit)
+            eventPublisher.publishEvent(new QuizSubmittedEvent(quizAttemptId, attempt.getQuizId(),
+                    scoreCalculation.getPercentageScore(), savedResponses));
+
+            // 6. Create and return submission result
             QuizSubmissionResultOutDTO result = new QuizSubmissionResultOutDTO();
             result.setQuizAttempt(updatedAttempt);
             result.setUserResponses(savedResponses);
@@ -181,6 +263,9 @@ public class QuizSubmissionService {
             result.setSubmissionType(submissionType);
             result.setSubmittedAt(LocalDateTime.now());
 
+            // 7. Record the result so retries of this submission can be replayed
+            storeResult(quizAttemptId, idempotencyKey, result);
+
             log.info("Quiz submission completed successfully for attempt {}", quizAttemptId);
             return result;
 
@@ -236,6 +321,94 @@ public class QuizSubmissionService {
         }
     }
 
+    /**
+     * Combines autosaved drafts with the answers sent on submit; a submitted answer replaces the draft
+     * for the same question.
+     *
+     * @param attempt       the attempt being submitted
+     * @param drafts        the autosaved drafts of the attempt
+     * @param userResponses the answers sent with the submission, may be {@code null}
+     * @return the answers to save, or {@code userResponses} unchanged when there are no drafts
+     */
+    private List<UserResponseInDTO> mergeDrafts(final QuizAttempt attempt, final List<QuizAnswerDraft> drafts,
+                                                final List<UserResponseInDTO> userResponses) {
+        if (drafts.isEmpty()) {
+            return userResponses;
+        }
+        Map<Long, UserResponseInDTO> merged = new LinkedHashMap<>();
+        for (QuizAnswerDraft draft : drafts) {
+            merged.put(draft.getQuestionId(), UserResponseInDTO.builder()
+                    .userId(attempt.getUserId())
+                    .quizId(attempt.getQuizId())
+                    .questionId(draft.getQuestionId())
+                    .attempt(attempt.getAttempt())
+                    .userAnswer(draft.getUserAnswer())
+                    .answeredAt(draft.getSavedAt())
+                    .build());
+        }
+        if (userResponses != null) {
+            userResponses.forEach(response -> merged.put(response.getQuestionId(), response));
+        }
+        log.info("Promoting {} autosaved answers for attempt {}", drafts.size(), attempt.getQuizAttemptId());
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Looks up the stored result of an already submitted attempt.
+     *
+     * @param quizAttemptId  the quiz attempt ID, may be {@code null}
+     * @param idempotencyKey the key of the current request, may be {@code null}
+     * @return the stored result if the attempt was already submitted
+     * @throws ResourceAlreadyExistsException if the attempt was submitted under a different key
+     */
+    private Optional<QuizSubmissionResultOutDTO> findStoredResult(final Long quizAttemptId, final String idempotencyKey) {
+        if (quizAttemptId == null) {
+            return Optional.empty();
+        }
+        Optional<QuizSubmissionResult> stored = quizSubmissionResultRepository.findById(quizAttemptId);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        String storedKey = stored.get().getIdempotencyKey();
+        if (idempotencyKey != null && storedKey != null && !storedKey.equals(idempotencyKey)) {
+            throw new ResourceAlreadyExistsException("Quiz attempt " + quizAttemptId
+                    + " was already submitted with a different idempotency key");
+        }
+        try {
+            QuizSubmissionResultOutDTO result = objectMapper.readValue(stored.get().getResult(),
+                    QuizSubmissionResultOutDTO.class);
+            log.info("Replaying stored submission result for attempt {}", quizAttemptId);
+            return Optional.of(result);
+        } catch (JsonProcessingException e) {
+            log.error("Stored submission result of attempt {} is unreadable", quizAttemptId, e);
+            throw new ResourceAlreadyExistsException("Quiz attempt " + quizAttemptId + " was already submitted");
+        }
+    }
+
+    /**
+     * Stores the result of a completed submission.
+     *
+     * @param quizAttemptId  the quiz attempt ID
+     * @param idempotencyKey the key of the submission, may be {@code null}
+     * @param result         the result returned to the client
+     */
+    private void storeResult(final Long quizAttemptId, final String idempotencyKey,
+                             final QuizSubmissionResultOutDTO result) {
+        String resultJson;
+        try {
+            resultJson = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize submission result for attempt {}", quizAttemptId, e);
+            throw new RuntimeException("Failed to serialize submission result", e);
+        }
+        quizSubmissionResultRepository.save(QuizSubmissionResult.builder()
+                .quizAttemptId(quizAttemptId)
+                .idempotencyKey(idempotencyKey)
+                .result(resultJson)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
     /**
      * Validates and retrieves a quiz attempt for submission processing.
      * <p>
@@ -439,7 +612,7 @@ public class QuizSubmissionService {
      * <p>
      * This method performs the final step of quiz submission by:
      * <ul>
-     *   <li>Creating detailed score information in JSON format</li>
+     *   <li>Storing the totals in the typed score columns (plus the legacy JSON summary)</li>
      *   <li>Determining the appropriate completion status based on submission type</li>
      *   <li>Updating the quiz attempt record with completion details</li>
      *   <li>Setting the finish timestamp</li>
@@ -458,7 +631,9 @@ public class QuizSubmissionService {
                                                   final QuizScoreCalculation calculation,
                                                   final String submissionType) {
         try {
-            // Create score details JSON
+            LocalDateTime submittedAt = LocalDateTime.now();
+
+            // Legacy score details JSON, still returned to API clients
             Map<String, Object> scoreDetails = new HashMap<>();
             scoreDetails.put("totalScore", calculation.getTotalScore());
             scoreDetails.put("maxPossibleScore", calculation.getMaxPossibleScore());
@@ -466,7 +641,7 @@ public class QuizSubmissionService {
             scoreDetails.put("totalQuestions", calculation.getTotalQuestions());
             scoreDetails.put("percentageScore", calculation.getPercentageScore());
             scoreDetails.put("submissionType", submissionType);
-            scoreDetails.put("submittedAt", LocalDateTime.now());
+            scoreDetails.put("submittedAt", submittedAt);
 
             String scoreDetailsJson;
             try {
@@ -479,8 +654,15 @@ public class QuizSubmissionService {
             // Update quiz attempt
             QuizAttemptUpdateInDTO updateDTO = new QuizAttemptUpdateInDTO();
             updateDTO.setStatus(getCompletionStatus(submissionType));
-            updateDTO.setFinishedAt(LocalDateTime.now());
+            updateDTO.setFinishedAt(submittedAt);
             updateDTO.setScoreDetails(scoreDetailsJson);
+            updateDTO.setTotalScore(calculation.getTotalScore());
+            updateDTO.setMaxScore(calculation.getMaxPossibleScore());
+            updateDTO.setCorrectCount(calculation.getCorrectAnswers().intValue());
+            updateDTO.setQuestionCount(calculation.getTotalQuestions().intValue());
+            updateDTO.setPercentageScore(calculation.getPercentageScore());
+            updateDTO.setSubmissionType(submissionType);
+            updateDTO.setSubmittedAt(submittedAt);
 
             try {
                 return quizAttemptService.updateQuizAttempt(attempt.getQuizAttemptId(), updateDTO);
@@ -0,0 +1,488 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.service.MediaStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+import static com.nt.course_service_lms.constants.S3Constants.STREAMING_CHUNK_SIZE;
+
+/**
+ * Sequential read-ahead for range requests.
+ * <p>
+ * Video players fetch consecutive ranges, and every range otherwise waits a full first-byte
+ * latency of the media store. For each (viewer, object) pair the prefetcher remembers where the
+ * last served range ended; when the next request continues exactly there, the following range is
+ * fetched in the background, so the player's next request is answered from memory. A request
+ * elsewhere in the file (a seek) cancels the pending read-ahead.
+ * </p>
+ * <p>
+ * An open-ended request leaves its length to the server, and the chunk sizer's choice can change
+ * between two requests as the viewer's throughput is measured. Such a request is therefore cut to
+ * the pending read-ahead ({@link #pendingLength}), which was itself sized by the chunk sizer when
+ * it started, instead of missing it and discarding the bytes already fetched.
+ * </p>
+ * <p>
+ * All read-aheads together hold at most {@code lms.media.streaming.prefetch.max-buffered-bytes};
+ * beyond that, ranges are simply not fetched ahead. Outcomes are published as the
+ * {@code lms.media.prefetch} counter tagged {@code result=hit|miss|cancelled|rejected}, and the
+ * buffered bytes as the {@code lms.media.prefetch.buffered.bytes} gauge.
+ * </p>
+ */
+@Service
+@Slf4j
+public class RangePrefetcher {
+
+    /**
+     * Name of the prefetch outcome counter.
+     */
+    private static final String METRIC_NAME = "lms.media.prefetch";
+
+    /**
+     * Storage backend the ranges are read from.
+     */
+    private final MediaStore mediaStore;
+
+    /**
+     * Read-ahead settings.
+     */
+    private final MediaStreamingProperties.Prefetch properties;
+
+    /**
+     * Executor running the background fetches.
+     */
+    private final Executor executor;
+
+    /**
+     * Tracked viewers keyed by viewer ID and object key.
+     */
+    private final Map<String, ViewerState> viewers = new ConcurrentHashMap<>();
+
+    /**
+     * Bytes reserved by pending and completed read-aheads.
+     */
+    private final AtomicLong bufferedBytes = new AtomicLong();
+
+    /**
+     * Requests answered from a read-ahead.
+     */
+    private final Counter hits;
+
+    /**
+     * Requests of tracked viewers that had to be fetched from the media store.
+     */
+    private final Counter misses;
+
+    /**
+     * Read-aheads dropped because the viewer seeked away or went idle.
+     */
+    private final Counter cancelled;
+
+    /**
+     * Read-aheads not started because of the memory cap or a saturated executor.
+     */
+    private final Counter rejected;
+
+    /**
+     * Creates the prefetcher.
+     *
+     * @param mediaStore    the storage backend
+     * @param properties    the streaming settings
+     * @param meterRegistry registry for the prefetch metrics
+     * @param executor      executor running the background fetches
+     */
+    public RangePrefetcher(final MediaStore mediaStore, final MediaStreamingProperties properties,
+                           final MeterRegistry meterRegistry,
+                           @Qualifier("applicationTaskExecutor") final Executor executor) {
+        this.mediaStore = mediaStore;
+        this.properties = properties.getPrefetch();
+        this.executor = executor;
+        this.hits = outcomeCounter(meterRegistry, "hit");
+        this.misses = outcomeCounter(meterRegistry, "miss");
+        this.cancelled = outcomeCounter(meterRegistry, "cancelled");
+        this.rejected = outcomeCounter(meterRegistry, "rejected");
+        Gauge.builder(METRIC_NAME + ".buffered.bytes", bufferedBytes, AtomicLong::get)
+                .description("Bytes held by range read-aheads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands out the read-ahead of a viewer if it covers the requested range.
+     * <p>
+     * A read-ahead that is still in flight is awaited for at most
+     * {@code await-timeout-ms}, since it was started before this request and finishes first.
+     * A read-ahead for a different position is cancelled.
+     * </p>
+     *
+     * @param viewerId  the viewer, or null to bypass read-ahead
+     * @param objectKey the object key
+     * @param start     first requested byte, inclusive
+     * @param end       last requested byte, inclusive
+     * @return the range content, or empty if it must be fetched from the media store
+     */
+    public Optional<InputStream> take(final String viewerId, final String objectKey, final long start, final long end) {
+        if (!properties.isEnabled() || viewerId == null) {
+            return Optional.empty();
+        }
+        ViewerState state = viewers.get(viewerKey(viewerId, objectKey));
+        if (state == null) {
+            return Optional.empty();
+        }
+
+        Prefetch prefetch;
+        synchronized (state) {
+            prefetch = state.prefetch;
+            state.prefetch = null;
+            state.lastAccess = System.currentTimeMillis();
+        }
+        if (prefetch == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (prefetch.start != start || end > prefetch.end) {
+            prefetch.cancel();
+            cancelled.increment();
+            misses.increment();
+            return Optional.empty();
+        }
+
+        try {
+            byte[] data = prefetch.data.get(properties.getAwaitTimeoutMs(), TimeUnit.MILLISECONDS);
+            int length = (int) (end - start + 1);
+            if (data.length < length) {
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(new ByteArrayInputStream(data, 0, length));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            prefetch.cancel();
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            log.debug("Read-ahead of {} at {} unusable: {}", objectKey, start, e.toString());
+            prefetch.cancel();
+        } finally {
+            // The bytes now belong to the response
+            prefetch.release();
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the length of a viewer's pending read-ahead if it starts at the given position.
+     * Open-ended requests are cut to this length, so that they are answered from the read-ahead.
+     *
+     * @param viewerId  the viewer, or null to bypass read-ahead
+     * @param objectKey the object key
+     * @param start     first requested byte, inclusive
+     * @return the read-ahead length in bytes, or empty if none starts at {@code start}
+     */
+    public OptionalLong pendingLength(final String viewerId, final String objectKey, final long start) {
+        if (!properties.isEnabled() || viewerId == null) {
+            return OptionalLong.empty();
+        }
+        ViewerState state = viewers.get(viewerKey(viewerId, objectKey));
+        if (state == null) {
+            return OptionalLong.empty();
+        }
+        synchronized (state) {
+            Prefetch prefetch = state.prefetch;
+            return prefetch == null || prefetch.start != start
+                    ? OptionalLong.empty()
+                    : OptionalLong.of(prefetch.end - prefetch.start + 1);
+        }
+    }
+
+    /**
+     * Records a served range and, if the viewer reads sequentially, fetches the following range
+     * in the background.
+     * <p>
+     * A viewer counts as sequential when the range starts at the beginning of the object or
+     * exactly where its previous range ended. The range fetched ahead has the length returned by
+     * {@code nextLengthAt} for its start, capped at {@code max-range-bytes}.
+     * </p>
+     *
+     * @param viewerId      the viewer, or null to bypass read-ahead
+     * @param objectKey     the object key
+     * @param start         first served byte, inclusive
+     * @param end           last served byte, inclusive
+     * @param contentLength the object size in bytes
+     * @param nextLengthAt  expected length of the viewer's request starting at the given position;
+     *                      only called when a read-ahead is started
+     */
+    public void readAhead(final String viewerId, final String objectKey, final long start, final long end,
+                          final long contentLength, final LongUnaryOperator nextLengthAt) {
+        if (!properties.isEnabled() || viewerId == null) {
+            return;
+        }
+        String key = viewerKey(viewerId, objectKey);
+        long next = end + 1;
+        if (next >= contentLength) {
+            // Played to the end; nothing left to fetch ahead
+            forget(key);
+            return;
+        }
+
+        ViewerState state = viewers.get(key);
+        if (state == null) {
+            if (viewers.size() >= properties.getMaxViewers()) {
+                return;
+            }
+            state = viewers.computeIfAbsent(key, k -> new ViewerState());
+        }
+
+        Prefetch stale = null;
+        synchronized (state) {
+            boolean sequential = start == 0 || start == state.nextStart;
+            state.nextStart = next;
+            state.lastAccess = System.currentTimeMillis();
+            if (!sequential) {
+                stale = state.prefetch;
+                state.prefetch = null;
+            } else if (state.prefetch == null) {
+                long length = Math.min(nextLengthAt.applyAsLong(next), properties.getMaxRangeBytes());
+                state.prefetch = startFetch(objectKey, next, Math.min(next + length - 1, contentLength - 1));
+            }
+        }
+        if (stale != null) {
+            stale.cancel();
+            cancelled.increment();
+        }
+    }
+
+    /**
+     * Drops viewers that have not requested anything within the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${lms.media.streaming.prefetch.idle-timeout-ms:60000}")
+    public void evictIdleViewers() {
+        long cutoff = System.currentTimeMillis() - properties.getIdleTimeoutMs();
+        Iterator<Map.Entry<String, ViewerState>> iterator = viewers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            ViewerState state = iterator.next().getValue();
+            Prefetch stale;
+            synchronized (state) {
+                if (state.lastAccess >= cutoff) {
+                    continue;
+                }
+                stale = state.prefetch;
+                state.prefetch = null;
+            }
+            iterator.remove();
+            if (stale != null) {
+                stale.cancel();
+                cancelled.increment();
+            }
+        }
+    }
+
+    /**
+     * Returns the bytes currently reserved by read-aheads.
+     *
+     * @return the buffered bytes
+     */
+    public long getBufferedBytes() {
+        return bufferedBytes.get();
+    }
+
+    /**
+     * Reserves memory for a range and starts fetching it.
+     *
+     * @param objectKey the object key
+     * @param start     first byte, inclusive
+     * @param end       last byte, inclusive
+     * @return the started read-ahead, or null if the memory cap or the executor refused it
+     */
+    private Prefetch startFetch(final String objectKey, final long start, final long end) {
+        long size = end - start + 1;
+        if (bufferedBytes.addAndGet(size) > properties.getMaxBufferedBytes()) {
+            bufferedBytes.addAndGet(-size);
+            rejected.increment();
+            return null;
+        }
+        Prefetch prefetch = new Prefetch(start, end);
+        try {
+            executor.execute(() -> fetch(objectKey, prefetch));
+            return prefetch;
+        } catch (RejectedExecutionException e) {
+            prefetch.release();
+            rejected.increment();
+            return null;
+        }
+    }
+
+    /**
+     * Reads a read-ahead range, stopping early once the read-ahead is cancelled.
+     *
+     * @param objectKey the object key
+     * @param prefetch  the read-ahead to complete
+     */
+    private void fetch(final String objectKey, final Prefetch prefetch) {
+        int size = (int) (prefetch.end - prefetch.start + 1);
+        try (InputStream input = mediaStore.get(objectKey, prefetch.start, prefetch.end)) {
+            byte[] buffer = new byte[size];
+            int read = 0;
+            while (read < size && !prefetch.cancelled.get()) {
+                int n = input.read(buffer, read, Math.min(STREAMING_CHUNK_SIZE, size - read));
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            prefetch.data.complete(read == size ? buffer : Arrays.copyOf(buffer, read));
+        } catch (Exception e) {
+            prefetch.data.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Stops tracking a viewer and cancels its read-ahead.
+     *
+     * @param key the viewer key
+     */
+    private void forget(final String key) {
+        ViewerState state = viewers.remove(key);
+        if (state == null) {
+            return;
+        }
+        Prefetch stale;
+        synchronized (state) {
+            stale = state.prefetch;
+            state.prefetch = null;
+        }
+        if (stale != null) {
+            stale.cancel();
+            cancelled.increment();
+        }
+    }
+
+    /**
+     * Builds the key of a viewer watching an object.
+     *
+     * @param viewerId  the viewer ID
+     * @param objectKey the object key
+     * @return the tracking key
+     */
+    private static String viewerKey(final String viewerId, final String objectKey) {
+        return viewerId + '\n' + objectKey;
+    }
+
+    /**
+     * Registers the counter for one prefetch outcome.
+     *
+     * @param meterRegistry the registry
+     * @param result        the outcome tag
+     * @return the counter
+     */
+    private static Counter outcomeCounter(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("Outcome of range read-aheads")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Read position and pending read-ahead of one viewer on one object; guarded by its own monitor.
+     */
+    private static final class ViewerState {
+
+        /**
+         * First byte after the last served range.
+         */
+        private long nextStart = -1;
+
+        /**
+         * Time of the last request in epoch milliseconds.
+         */
+        private long lastAccess = System.currentTimeMillis();
+
+        /**
+         * The pending or completed read-ahead, if any.
+         */
+        private Prefetch prefetch;
+    }
+
+    /**
+     * A range fetched ahead and the memory reserved for it.
+     */
+    private final class Prefetch {
+
+        /**
+         * First byte, inclusive.
+         */
+        private final long start;
+
+        /**
+         * Last byte, inclusive.
+         */
+        private final long end;
+
+        /**
+         * The range content once fetched.
+         */
+        private final CompletableFuture<byte[]> data = new CompletableFuture<>();
+
+        /**
+         * Set when the read-ahead is no longer wanted; the fetch stops at its next read.
+         */
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        /**
+         * Set once the reserved memory has been returned.
+         */
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /**
+         * Creates a read-ahead whose memory has already been reserved.
+         *
+         * @param start first byte, inclusive
+         * @param end   last byte, inclusive
+         */
+        Prefetch(final long start, final long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Stops the fetch and returns the reserved memory.
+         */
+        void cancel() {
+            cancelled.set(true);
+            data.cancel(false);
+            release();
+        }
+
+        /**
+         * Returns the reserved memory; later calls have no effect.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                bufferedBytes.addAndGet(-(end - start + 1));
+            }
+        }
+    }
+}
@@ -2,50 +2,54 @@ package com.nt.course_service_lms.service.serviceImpl;
 
 import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.constants.S3Constants;
+import com.nt.course_service_lms.entity.MediaObject;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.repository.MediaObjectRepository;
+import com.nt.course_service_lms.service.MediaStore;
+import com.nt.course_service_lms.utils.Mp4Faststart;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
-import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
-import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
-import software.amazon.awssdk.services.s3.model.CompletedPart;
-import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
-import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
-import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
-import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
-import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
-import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.S3Exception;
-import software.amazon.awssdk.services.s3.model.S3Object;
-import software.amazon.awssdk.services.s3.model.UploadPartRequest;
-import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.nt.course_service_lms.constants.S3Constants.BUFFER_SIZE;
+import static com.nt.course_service_lms.constants.S3Constants.CONTENT_HASH_ALGORITHM;
+import static com.nt.course_service_lms.constants.S3Constants.FASTSTART_TEMP_PREFIX;
+import static com.nt.course_service_lms.constants.S3Constants.M4V_SUFFIX;
 import static com.nt.course_service_lms.constants.S3Constants.MAX_PART_SIZE;
 import static com.nt.course_service_lms.constants.S3Constants.MIN_PART_SIZE;
+import static com.nt.course_service_lms.constants.S3Constants.MP4_CONTENT_TYPE;
+import static com.nt.course_service_lms.constants.S3Constants.MP4_SUFFIX;
 import static com.nt.course_service_lms.constants.S3Constants.MULTIPART_THRESHOLD;
 import static com.nt.course_service_lms.constants.S3Constants.OPTIMAL_PART_SIZE;
 import static com.nt.course_service_lms.constants.S3Constants.STREAMING_CHUNK_SIZE;
+import static com.nt.course_service_lms.constants.S3Constants.VIDEO_FOLDER;
 
 /**
- * Service implementation for handling AWS S3 file operations including upload, download, and management.
+ * Service implementation for handling course media file operations including upload, download, and management.
  *
  * <p>This service provides optimized file upload strategies based on file size:
  * <ul>
@@ -55,7 +59,15 @@ import static com.nt.course_service_lms.constants.S3Constants.STREAMING_CHUNK_SI
  * </ul>
  *
  * <p>The service automatically handles error recovery, cleanup operations, and provides
- * comprehensive logging for monitoring upload progress and troubleshooting.
+ * comprehensive logging for monitoring upload progress and troubleshooting. Objects are written
+ * through the configured {@link MediaStore}, so the same strategies apply to S3 and local storage.
+ *
+ * <p>MP4 videos are rewritten to "faststart" layout before they are stored (see {@link Mp4Faststart}),
+ * so players find the index in the first range they fetch instead of seeking to the end of the file.
+ *
+ * <p>Uploads are deduplicated per folder by the SHA-256 of their bytes: an upload identical to a stored
+ * object is not stored again, its course content links to the existing file instead. Stored objects are
+ * reference-counted in {@link MediaObject}, see {@link #releaseReference(String)}.
  *
  * @author Course Service LMS Team
  * @version 1.0
@@ -66,17 +78,28 @@ import static com.nt.course_service_lms.constants.S3Constants.STREAMING_CHUNK_SI
 public class S3FileService {
 
     /**
-     * AWS S3 client for performing S3 operations.
+     * Storage backend holding the uploaded media.
+     */
+    @Autowired
+    private MediaStore mediaStore;
+
+    /**
+     * Whether MP4 uploads are rewritten so their index precedes the media data.
+     */
+    @Value("${lms.media.faststart.enabled:true}")
+    private boolean faststartEnabled;
+
+    /**
+     * Reference counts and content hashes of the stored objects.
      */
     @Autowired
-    private S3Client s3Client;
+    private MediaObjectRepository mediaObjectRepository;
 
     /**
-     * The name of the S3 bucket where files will be stored.
-     * Configured via application properties.
+     * Whether identical uploads are stored once and shared.
      */
-    @Value("${aws.s3.bucket-name}")
-    private String bucketName;
+    @Value("${lms.media.dedup.enabled:true}")
+    private boolean dedupEnabled;
 
     /**
      * Uploads a file to S3 using the most efficient method based on file size.
@@ -88,9 +111,12 @@ public class S3FileService {
      *   <li>Adaptive streaming for files with unknown size</li>
      * </ul>
      *
+     * <p>With deduplication enabled, the upload is hashed first; if the folder already holds an object
+     * with the same content, a reference to it is added and its filename returned without storing anything.
+     *
      * @param file   the multipart file to upload. Must not be empty.
      * @param folder the folder/prefix in the S3 bucket where the file should be stored
-     * @return the generated unique filename of the uploaded file
+     * @return the generated unique filename of the uploaded file, or the filename of the identical stored file
      * @throws IOException               if file upload fails due to I/O errors
      * @throws ResourceNotFoundException if the file is empty
      * @throws IllegalArgumentException  if file or folder parameters are invalid
@@ -101,46 +127,291 @@ public class S3FileService {
         }
 
         String fileName = generateFileName(folder, file.getOriginalFilename());
-        long fileSize = file.getSize();
+        if (!dedupEnabled) {
+            return store(file, fileName, folder);
+        }
+        String contentHash = contentHash(file);
+        String existing = reuseStoredObject(folder, contentHash);
+        if (existing != null) {
+            log.info("Upload {} is identical to stored file {}, skipping upload", file.getOriginalFilename(), existing);
+            return existing;
+        }
+        return register(store(file, fileName, folder), folder, contentHash, file.getSize());
+    }
+
+    /**
+     * Stores an upload, rewriting MP4 videos to faststart layout.
+     *
+     * @param file     the uploaded file
+     * @param fileName the generated unique filename
+     * @param folder   the S3 folder/prefix
+     * @return the uploaded filename
+     * @throws IOException if the upload fails
+     */
+    private String store(final MultipartFile file, final String fileName, final String folder) throws IOException {
+        if (faststartEnabled && isMp4Video(folder, file.getOriginalFilename(), file.getContentType())) {
+            return uploadMp4WithFaststart(file, fileName, folder);
+        }
+        return uploadContent(file, file.getSize(), file.getContentType(), fileName, folder);
+    }
+
+    /**
+     * Computes the hex-encoded SHA-256 of an upload in one streaming pass over its spooled content.
+     *
+     * @param file the uploaded file
+     * @return the content hash
+     * @throws IOException if the upload cannot be read
+     */
+    private String contentHash(final MultipartFile file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CONTENT_HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(CONTENT_HASH_ALGORITHM + " is not supported", e);
+        }
+        try (InputStream input = new DigestInputStream(file.getInputStream(), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Adds a reference to the stored object with the given content, if any.
+     *
+     * <p>A tracked object missing from the media store is forgotten so the upload stores it again.
+     *
+     * @param folder      the S3 folder/prefix
+     * @param contentHash the content hash of the upload
+     * @return the filename of the stored object, or null if the upload has to be stored
+     * @throws IOException if the media store cannot be queried
+     */
+    private String reuseStoredObject(final String folder, final String contentHash) throws IOException {
+        Optional<MediaObject> match = mediaObjectRepository.findByFolderAndContentHash(folder, contentHash);
+        if (match.isEmpty()) {
+            return null;
+        }
+        String objectKey = match.get().getObjectKey();
+        if (mediaStore.head(objectKey).isEmpty()) {
+            log.warn("Deduplicated file {} is missing from the media store, storing the upload again", objectKey);
+            mediaObjectRepository.deleteById(objectKey);
+            return null;
+        }
+        // 0 if the last reference was released since the lookup
+        if (mediaObjectRepository.addReference(objectKey, LocalDateTime.now()) == 0) {
+            return null;
+        }
+        return match.get().getFileName();
+    }
+
+    /**
+     * Starts tracking a newly stored object.
+     *
+     * <p>If an identical upload was registered concurrently, a reference to that object is taken instead
+     * and the one just stored is deleted.
+     *
+     * @param fileName      the stored filename
+     * @param folder        the S3 folder/prefix
+     * @param contentHash   the content hash of the upload
+     * @param contentLength the upload size in bytes
+     * @return the filename the course content should link to
+     */
+    private String register(final String fileName, final String folder, final String contentHash,
+                            final long contentLength) {
+        String objectKey = folder + "/" + fileName;
+        LocalDateTime now = LocalDateTime.now();
+        if (mediaObjectRepository.insertIfAbsent(objectKey, folder, fileName, contentHash, contentLength, now) == 1) {
+            return fileName;
+        }
+        Optional<MediaObject> winner = mediaObjectRepository.findByFolderAndContentHash(folder, contentHash);
+        if (winner.isEmpty() || mediaObjectRepository.addReference(winner.get().getObjectKey(), now) == 0) {
+            log.warn("Could not register {} for deduplication, keeping it untracked", objectKey);
+            return fileName;
+        }
+        try {
+            deleteFile(objectKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete duplicate upload {} - Error: {}", objectKey, e.getMessage());
+        }
+        return winner.get().getFileName();
+    }
 
+    /**
+     * Releases one reference to a stored object.
+     *
+     * <p>Objects stored before deduplication, or with it disabled, are not tracked: for them, and for the
+     * last reference of a tracked object, the caller deletes the object as before.
+     *
+     * @param objectKey the key of the object, {@code <folder>/<fileName>}
+     * @return true if other course contents still reference the object and it must be kept,
+     *         false if the caller should delete it
+     */
+    @Transactional
+    public boolean releaseReference(final String objectKey) {
+        if (mediaObjectRepository.removeReference(objectKey, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        return mediaObjectRepository.deleteUnreferenced(objectKey) == 0;
+    }
+
+    /**
+     * Stores content with the upload strategy matching its size.
+     *
+     * @param content     the content to upload
+     * @param fileSize    the content size in bytes, 0 or less if unknown
+     * @param contentType the MIME type of the content
+     * @param fileName    the generated unique filename
+     * @param folder      the S3 folder/prefix
+     * @return the uploaded filename
+     * @throws IOException if the upload fails
+     */
+    private String uploadContent(final InputStreamSource content, final long fileSize, final String contentType,
+                                 final String fileName, final String folder) throws IOException {
         // Use size-based strategy for optimal performance
         if (fileSize <= 0) {
             // Unknown size - use adaptive streaming
-            return uploadWithAdaptiveStreaming(file, fileName, folder);
+            return uploadWithAdaptiveStreaming(content, contentType, fileName, folder);
         } else if (fileSize < MULTIPART_THRESHOLD) {
             // Small files - direct upload is most efficient
-            return uploadSmallFile(file, fileName, folder);
+            return uploadSmallFile(content, fileSize, contentType, fileName, folder);
         } else {
             // Large files - optimized multipart upload
-            return uploadLargeFileOptimized(file, fileName, fileSize, folder);
+            return uploadLargeFileOptimized(content, contentType, fileName, fileSize, folder);
         }
     }
 
     /**
-     * Uploads small files (< 8MB) using direct upload for optimal performance.
+     * Uploads an MP4 video in faststart layout.
+     *
+     * <p>The upload is spooled to a temporary file, rewritten into a second temporary file if its
+     * {@code moov} box trails the media data, and the result is stored. Files that are already
+     * faststart, fragmented or not parseable are stored unchanged.
      *
-     * @param file     the multipart file to upload
+     * @param file     the uploaded video
      * @param fileName the generated unique filename
      * @param folder   the S3 folder/prefix
      * @return the uploaded filename
-     * @throws IOException if the upload fails
+     * @throws IOException if spooling or the upload fails
      */
-    private String uploadSmallFile(final MultipartFile file, final String fileName, final String folder) throws IOException {
+    private String uploadMp4WithFaststart(final MultipartFile file, final String fileName,
+                                          final String folder) throws IOException {
+        Path source = Files.createTempFile(FASTSTART_TEMP_PREFIX, MP4_SUFFIX);
+        Path rewritten = Files.createTempFile(FASTSTART_TEMP_PREFIX, MP4_SUFFIX);
         try {
+            file.transferTo(source);
+            Path upload = source;
+            try {
+                if (Mp4Faststart.rewrite(source, rewritten)) {
+                    upload = rewritten;
+                    log.info("Moved MP4 index to the front of {}", fileName);
+                }
+            } catch (IOException e) {
+                log.warn("Faststart rewrite failed for {}, storing the original - Error: {}", fileName, e.getMessage());
+            }
+            return uploadContent(new FileSystemResource(upload), Files.size(upload), file.getContentType(), fileName, folder);
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(rewritten);
+        }
+    }
+
+    /**
+     * Rewrites a stored MP4 in place so its index precedes the media data.
+     *
+     * <p>Only the top-level box headers are fetched, with small range reads, to decide whether the
+     * object needs rewriting; only then is it downloaded, rewritten and stored again under the same key.
+     *
+     * @param objectKey the key of the stored video, e.g. {@code video/<name>.mp4}
+     * @return true if the object was rewritten, false if missing, already faststart or unsupported
+     * @throws IOException if the object cannot be read or stored
+     */
+    public boolean rewriteForFaststart(final String objectKey) throws IOException {
+        MediaStore.ObjectInfo info = mediaStore.head(objectKey).orElse(null);
+        if (info == null) {
+            return false;
+        }
+        List<Mp4Faststart.Box> boxes = Mp4Faststart.readTopLevelBoxes(
+                (target, position) -> readRange(objectKey, target, position), info.contentLength());
+        if (!Mp4Faststart.needsFaststart(boxes)) {
+            return false;
+        }
+
+        Path source = Files.createTempFile(FASTSTART_TEMP_PREFIX, MP4_SUFFIX);
+        Path rewritten = Files.createTempFile(FASTSTART_TEMP_PREFIX, MP4_SUFFIX);
+        try {
+            try (InputStream input = mediaStore.get(objectKey)) {
+                Files.copy(input, source, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (!Mp4Faststart.rewrite(source, rewritten)) {
+                return false;
+            }
+            int slash = objectKey.lastIndexOf('/');
+            uploadContent(new FileSystemResource(rewritten), Files.size(rewritten), info.contentType(),
+                    objectKey.substring(slash + 1), objectKey.substring(0, Math.max(slash, 0)));
+            return true;
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(rewritten);
+        }
+    }
+
+    /**
+     * Reads a byte range of a stored object into a buffer.
+     *
+     * @param objectKey the object key
+     * @param target    the buffer to fill
+     * @param position  the first byte to read
+     * @return the number of bytes read, or -1 past the end of the object
+     * @throws IOException if the object cannot be read
+     */
+    private int readRange(final String objectKey, final ByteBuffer target, final long position) throws IOException {
+        try (InputStream input = mediaStore.get(objectKey, position, position + target.remaining() - 1)) {
+            byte[] bytes = input.readNBytes(target.remaining());
+            if (bytes.length == 0) {
+                return -1;
+            }
+            target.put(bytes);
+            return bytes.length;
+        }
+    }
+
+    /**
+     * Tells whether an upload is an MP4 video eligible for the faststart rewrite.
+     *
+     * @param folder           the target folder, i.e. the course content type
+     * @param originalFilename the uploaded file name
+     * @param contentType      the uploaded MIME type
+     * @return true for MP4 videos
+     */
+    private boolean isMp4Video(final String folder, final String originalFilename, final String contentType) {
+        if (!VIDEO_FOLDER.equalsIgnoreCase(folder)) {
+            return false;
+        }
+        String name = originalFilename == null ? "" : originalFilename.toLowerCase(Locale.ROOT);
+        return MP4_CONTENT_TYPE.equalsIgnoreCase(contentType) || name.endsWith(MP4_SUFFIX) || name.endsWith(M4V_SUFFIX);
+    }
+
+    /**
+     * Uploads small files (< 8MB) using direct upload for optimal performance.
+     *
+     * @param content     the content to upload
+     * @param fileSize    the size of the content in bytes
+     * @param contentType the MIME type of the content
+     * @param fileName    the generated unique filename
+     * @param folder      the S3 folder/prefix
+     * @return the uploaded filename
+     * @throws IOException if the upload fails
+     */
+    private String uploadSmallFile(final InputStreamSource content, final long fileSize, final String contentType,
+                                   final String fileName, final String folder) throws IOException {
+        try (InputStream input = content.getInputStream()) {
             String fileNameWithFolder = folder + "/" + fileName;
-            PutObjectRequest putRequest = PutObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileNameWithFolder)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
 
             // Direct upload with input stream - most efficient for small files
-            s3Client.putObject(putRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            mediaStore.put(fileNameWithFolder, input, fileSize, contentType);
             return fileName;
 
-        } catch (S3Exception e) {
-            log.error("S3 error during small file upload: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Storage error during small file upload: {}", e.getMessage());
             throw new IOException("Failed to upload small file: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("Unexpected error during small file upload: {}", e.getMessage());
@@ -154,33 +425,26 @@ public class S3FileService {
      * <p>This method calculates optimal part sizes based on file size to minimize
      * upload time while staying within S3 limits. Progress is logged periodically.
      *
-     * @param file     the multipart file to upload
-     * @param fileName the generated unique filename
-     * @param fileSize the size of the file in bytes
-     * @param folder   the S3 folder/prefix
+     * @param content     the content to upload
+     * @param contentType the MIME type of the content
+     * @param fileName    the generated unique filename
+     * @param fileSize    the size of the file in bytes
+     * @param folder      the S3 folder/prefix
      * @return the uploaded filename
      * @throws IOException if the upload fails
      */
-    private String uploadLargeFileOptimized(final MultipartFile file, final String fileName,
+    private String uploadLargeFileOptimized(final InputStreamSource content, final String contentType, final String fileName,
                                             final long fileSize, final String folder) throws IOException {
         // Calculate optimal part size based on file size
         long partSize = calculateOptimalPartSize(fileSize);
         String fileNameWithFolder = folder + "/" + fileName;
-        String uploadId = null;
+        MediaStore.MultipartUpload upload = null;
 
         try {
-            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileNameWithFolder)
-                    .contentType(file.getContentType())
-                    .build();
-
-            CreateMultipartUploadResponse createResponse = s3Client.createMultipartUpload(createRequest);
-            uploadId = createResponse.uploadId();
+            upload = mediaStore.startMultipartUpload(fileNameWithFolder, contentType);
+            int completedParts = 0;
 
-            List<CompletedPart> completedParts = new ArrayList<>();
-
-            try (BufferedInputStream bufferedInput = new BufferedInputStream(file.getInputStream(), BUFFER_SIZE)) {
+            try (BufferedInputStream bufferedInput = new BufferedInputStream(content.getInputStream(), BUFFER_SIZE)) {
 
                 int partNumber = 1;
                 long remainingBytes = fileSize;
@@ -195,21 +459,8 @@ public class S3FileService {
                         break;
                     }
                     // Upload part
-                    UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                            .bucket(bucketName)
-                            .key(fileNameWithFolder)
-                            .uploadId(uploadId)
-                            .partNumber(partNumber)
-                            .contentLength((long) partData.length)
-                            .build();
-
-                    UploadPartResponse uploadPartResponse = s3Client.uploadPart(uploadPartRequest,
-                            RequestBody.fromBytes(partData));
-
-                    completedParts.add(CompletedPart.builder()
-                            .partNumber(partNumber)
-                            .eTag(uploadPartResponse.eTag())
-                            .build());
+                    upload.uploadPart(partNumber, partData, partData.length);
+                    completedParts++;
 
                     remainingBytes -= partData.length;
                     partNumber++;
@@ -222,33 +473,19 @@ public class S3FileService {
                 }
 
                 // Complete upload
-                CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
-                        .bucket(bucketName)
-                        .key(fileNameWithFolder)
-                        .uploadId(uploadId)
-                        .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
-                        .build();
-
-                s3Client.completeMultipartUpload(completeRequest);
+                upload.complete();
 
                 System.out.printf("Upload completed: %s (%d parts, %d bytes)%n",
-                        fileNameWithFolder, completedParts.size(), fileSize);
+                        fileNameWithFolder, completedParts, fileSize);
 
                 return fileName;
             }
 
-        } catch (S3Exception e) {
-            log.error("S3 error during large file upload: {}", e.getMessage());
-            // Cleanup on failure
-            if (uploadId != null) {
-                abortMultipartUpload(bucketName, fileNameWithFolder, uploadId);
-            }
-            throw new IOException("Failed to upload large file: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("Unexpected error during large file upload: {}", e.getMessage());
+            log.error("Error during large file upload: {}", e.getMessage());
             // Cleanup on failure
-            if (uploadId != null) {
-                abortMultipartUpload(bucketName, fileNameWithFolder, uploadId);
+            if (upload != null) {
+                upload.abort();
             }
             throw new IOException("Failed to upload large file: " + e.getMessage(), e);
         }
@@ -260,30 +497,23 @@ public class S3FileService {
      * <p>This method reads the file in chunks and uploads parts as they become available,
      * making it suitable for streaming uploads where the total file size is not known upfront.
      *
-     * @param file     the multipart file to upload
-     * @param fileName the generated unique filename
-     * @param folder   the S3 folder/prefix
+     * @param content     the content to upload
+     * @param contentType the MIME type of the content
+     * @param fileName    the generated unique filename
+     * @param folder      the S3 folder/prefix
      * @return the uploaded filename
      * @throws IOException if the upload fails
      */
-    private String uploadWithAdaptiveStreaming(final MultipartFile file, final String fileName,
-                                               final String folder) throws IOException {
+    private String uploadWithAdaptiveStreaming(final InputStreamSource content, final String contentType,
+                                               final String fileName, final String folder) throws IOException {
         String fileNameWithFolder = folder + "/" + fileName;
-        String uploadId = null;
+        MediaStore.MultipartUpload upload = null;
 
         try {
-            CreateMultipartUploadRequest createRequest = CreateMultipartUploadRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileNameWithFolder)
-                    .contentType(file.getContentType())
-                    .build();
-
-            CreateMultipartUploadResponse createResponse = s3Client.createMultipartUpload(createRequest);
-            uploadId = createResponse.uploadId();
-
-            List<CompletedPart> completedParts = new ArrayList<>();
+            upload = mediaStore.startMultipartUpload(fileNameWithFolder, contentType);
+            int completedParts = 0;
 
-            try (BufferedInputStream bufferedInput = new BufferedInputStream(file.getInputStream(), BUFFER_SIZE)) {
+            try (BufferedInputStream bufferedInput = new BufferedInputStream(content.getInputStream(), BUFFER_SIZE)) {
 
                 int partNumber = 1;
                 long totalBytesRead = 0;
@@ -308,21 +538,8 @@ public class S3FileService {
                         }
                     }
 
-                    UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                            .bucket(bucketName)
-                            .key(fileNameWithFolder)
-                            .uploadId(uploadId)
-                            .partNumber(partNumber)
-                            .contentLength((long) partData.length)
-                            .build();
-
-                    UploadPartResponse uploadPartResponse = s3Client.uploadPart(uploadPartRequest,
-                            RequestBody.fromBytes(partData));
-
-                    completedParts.add(CompletedPart.builder()
-                            .partNumber(partNumber)
-                            .eTag(uploadPartResponse.eTag())
-                            .build());
+                    upload.uploadPart(partNumber, partData, partData.length);
+                    completedParts++;
 
                     totalBytesRead += partData.length;
                     partNumber++;
@@ -333,31 +550,18 @@ public class S3FileService {
                 }
 
                 // Complete upload
-                CompleteMultipartUploadRequest completeRequest = CompleteMultipartUploadRequest.builder()
-                        .bucket(bucketName)
-                        .key(fileNameWithFolder)
-                        .uploadId(uploadId)
-                        .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
-                        .build();
-
-                s3Client.completeMultipartUpload(completeRequest);
+                upload.complete();
 
                 System.out.printf("Adaptive upload completed: %s (%d parts, %d bytes)%n",
-                        fileNameWithFolder, completedParts.size(), totalBytesRead);
+                        fileNameWithFolder, completedParts, totalBytesRead);
 
                 return fileName;
             }
 
-        } catch (S3Exception e) {
-            log.error("S3 error during adaptive streaming upload: {}", e.getMessage());
-            if (uploadId != null) {
-                abortMultipartUpload(bucketName, fileNameWithFolder, uploadId);
-            }
-            throw new IOException("Failed adaptive upload: " + e.getMessage(), e);
         } catch (Exception e) {
-            log.error("Unexpected error during adaptive streaming upload: {}", e.getMessage());
-            if (uploadId != null) {
-                abortMultipartUpload(bucketName, fileNameWithFolder, uploadId);
+            log.error("Error during adaptive streaming upload: {}", e.getMessage());
+            if (upload != null) {
+                upload.abort();
             }
             throw new IOException("Failed adaptive upload: " + e.getMessage(), e);
         }
@@ -430,28 +634,7 @@ public class S3FileService {
     }
 
     /**
-     * Aborts a multipart upload in case of failure, cleaning up partial uploads.
-     *
-     * @param bucket   the S3 bucket name
-     * @param key      the object key
-     * @param uploadId the multipart upload ID to abort
-     */
-    private void abortMultipartUpload(final String bucket, final String key, final String uploadId) {
-        try {
-            AbortMultipartUploadRequest abortRequest = AbortMultipartUploadRequest.builder()
-                    .bucket(bucket)
-                    .key(key)
-                    .uploadId(uploadId)
-                    .build();
-            s3Client.abortMultipartUpload(abortRequest);
-            log.info("Successfully aborted multipart upload for key: {}, uploadId: {}", key, uploadId);
-        } catch (Exception e) {
-            log.error("Failed to abort multipart upload for key: {}, uploadId: {} - Error: {}", key, uploadId, e.getMessage());
-        }
-    }
-
-    /**
-     * Checks if a file exists in the S3 bucket.
+     * Checks if a file exists in the media store.
      *
      * @param fileName the key/name of the file to check
      * @return true if file exists, false otherwise
@@ -463,31 +646,25 @@ public class S3FileService {
         }
 
         try {
-            HeadObjectRequest headRequest = HeadObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileName.trim())
-                    .build();
-            s3Client.headObject(headRequest);
-            log.debug("File exists in S3: {}", fileName);
-            return true;
-        } catch (NoSuchKeyException e) {
-            log.debug("File does not exist in S3: {}", fileName);
-            return false;
-        } catch (S3Exception e) {
-            log.error("S3 error while checking file existence: {} - Error: {}", fileName, e.getMessage());
-            return false;
+            boolean exists = mediaStore.head(fileName.trim()).isPresent();
+            log.debug("File {} in media store: {}", exists ? "exists" : "does not exist", fileName);
+            return exists;
         } catch (Exception e) {
-            log.error("Unexpected error while checking file existence: {} - Error: {}", fileName, e.getMessage());
+            log.error("Error while checking file existence: {} - Error: {}", fileName, e.getMessage());
             return false;
         }
     }
 
     /**
-     * Deletes a file from the S3 bucket with comprehensive error handling.
+     * Deletes a file from the media store with comprehensive error handling.
+     * <p>
+     * A storage error while checking whether the file exists is reported like a failed deletion, so
+     * callers can retry instead of treating the file as already gone.
+     * </p>
      *
      * @param fileName the key/name of the file to delete
      * @return true if file was deleted successfully, false if file didn't exist
-     * @throws RuntimeException         if deletion fails due to S3 errors
+     * @throws RuntimeException         if the existence check or the deletion fails due to storage errors
      * @throws IllegalArgumentException if fileName is null or empty
      */
     public boolean deleteFile(final String fileName) {
@@ -499,31 +676,14 @@ public class S3FileService {
 
         String trimmedFileName = fileName.trim();
 
-        // Check if file exists before attempting deletion
-        if (!fileExists(trimmedFileName)) {
-            log.info("File does not exist in S3, skipping deletion: {}", trimmedFileName);
-            return false;
-        }
-
         try {
-            DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(trimmedFileName)
-                    .build();
-
-            DeleteObjectResponse response = s3Client.deleteObject(deleteRequest);
-
-            // S3 deleteObject always returns success even if file doesn't exist
-            // So we rely on our pre-check for accurate reporting
-            log.info("Successfully deleted file from S3: {} (RequestId: {})",
-                    trimmedFileName, response.responseMetadata().requestId());
+            if (!mediaStore.delete(trimmedFileName)) {
+                log.info("File does not exist in media store, skipping deletion: {}", trimmedFileName);
+                return false;
+            }
+            log.info("Successfully deleted file from media store: {}", trimmedFileName);
             return true;
 
-        } catch (S3Exception e) {
-            String errorMessage = String.format("S3 error while deleting file: %s - ErrorCode: %s, ErrorMessage: %s",
-                    trimmedFileName, e.awsErrorDetails().errorCode(), e.getMessage());
-            log.error(errorMessage);
-            throw new RuntimeException(errorMessage, e);
         } catch (Exception e) {
             String errorMessage = String.format("Unexpected error while deleting file: %s - Error: %s",
                     trimmedFileName, e.getMessage());
@@ -533,19 +693,18 @@ public class S3FileService {
     }
 
     /**
-     * Retrieves metadata for a file stored in S3.
+     * Retrieves metadata for a file stored in the media store.
      *
      * @param fileName the key/name of the file
-     * @return HeadObjectResponse containing file metadata
+     * @return the size and content type of the file
      * @throws RuntimeException if file is not found or metadata retrieval fails
      */
-    public HeadObjectResponse getFileMetadata(final String fileName) {
+    public MediaStore.ObjectInfo getFileMetadata(final String fileName) {
         try {
-            HeadObjectRequest headRequest = HeadObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(fileName)
-                    .build();
-            return s3Client.headObject(headRequest);
+            return mediaStore.head(fileName)
+                    .orElseThrow(() -> new ResourceNotFoundException("File not found: " + fileName));
+        } catch (ResourceNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("File not found: " + fileName, e);
         }
@@ -559,30 +718,11 @@ public class S3FileService {
      * @return list of file keys (names) found in the folder
      */
     public List<String> listFiles(final String folderPrefix, final int maxKeys) {
-        List<String> fileNames = new ArrayList<>();
-
-        ListObjectsV2Request.Builder requestBuilder = ListObjectsV2Request.builder()
-                .bucket(bucketName)
-                .prefix(folderPrefix)
-                .maxKeys(maxKeys);
-
-        ListObjectsV2Request request = requestBuilder.build();
-        ListObjectsV2Response result;
-
-        do {
-            result = s3Client.listObjectsV2(request);
-            for (S3Object s3Object : result.contents()) {
-                fileNames.add(s3Object.key());
-            }
-
-            if (result.isTruncated() && fileNames.size() < maxKeys) {
-                request = request.toBuilder()
-                        .continuationToken(result.nextContinuationToken())
-                        .build();
-            }
-        } while (result.isTruncated() && fileNames.size() < maxKeys);
-
-        return fileNames;
+        try {
+            return mediaStore.list(folderPrefix, maxKeys);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list files under " + folderPrefix + ": " + e.getMessage(), e);
+        }
     }
 
     /**
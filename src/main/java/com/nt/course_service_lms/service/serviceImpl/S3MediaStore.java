@@ -0,0 +1,290 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.service.MediaStore;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link MediaStore} backed by an Amazon S3 bucket.
+ *
+ * <p>SDK failures are reported as {@link IOException}s so callers handle both backends alike;
+ * a missing key surfaces as {@link FileNotFoundException} from {@code get} and as an empty
+ * result from {@code head}.</p>
+ */
+@Slf4j
+public class S3MediaStore implements MediaStore {
+
+    /**
+     * AWS S3 client for performing S3 operations.
+     */
+    private final S3Client s3Client;
+
+    /**
+     * The bucket holding the media objects.
+     */
+    private final String bucketName;
+
+    /**
+     * Creates a store on the given bucket.
+     *
+     * @param s3Client   the S3 client
+     * @param bucketName the bucket holding the media objects
+     */
+    public S3MediaStore(final S3Client s3Client, final String bucketName) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void put(final String key, final InputStream content, final long contentLength,
+                    final String contentType) throws IOException {
+        try {
+            PutObjectRequest putRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+            s3Client.putObject(putRequest, RequestBody.fromInputStream(content, contentLength));
+        } catch (SdkException e) {
+            throw new IOException("Failed to store " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MultipartUpload startMultipartUpload(final String key, final String contentType) throws IOException {
+        try {
+            String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .build()).uploadId();
+            return new S3MultipartUpload(key, uploadId);
+        } catch (SdkException e) {
+            throw new IOException("Failed to start multipart upload of " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream get(final String key, final long start, final long end) throws IOException {
+        return getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range("bytes=" + start + "-" + end)
+                .build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputStream get(final String key) throws IOException {
+        return getObject(GetObjectRequest.builder().bucket(bucketName).key(key).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ObjectInfo> head(final String key) throws IOException {
+        try {
+            HeadObjectResponse response = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+            return Optional.of(new ObjectInfo(key, response.contentLength(), response.contentType()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (SdkException e) {
+            throw new IOException("Failed to read metadata of " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>S3 reports success for missing keys, so existence is checked first.</p>
+     */
+    @Override
+    public boolean delete(final String key) throws IOException {
+        if (head(key).isEmpty()) {
+            return false;
+        }
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucketName).key(key).build());
+            return true;
+        } catch (SdkException e) {
+            throw new IOException("Failed to delete " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> list(final String prefix, final int maxKeys) throws IOException {
+        List<String> keys = new ArrayList<>();
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .maxKeys(maxKeys)
+                .build();
+        try {
+            ListObjectsV2Response result;
+            do {
+                result = s3Client.listObjectsV2(request);
+                for (S3Object s3Object : result.contents()) {
+                    if (keys.size() == maxKeys) {
+                        return keys;
+                    }
+                    keys.add(s3Object.key());
+                }
+                request = request.toBuilder().continuationToken(result.nextContinuationToken()).build();
+            } while (Boolean.TRUE.equals(result.isTruncated()) && keys.size() < maxKeys);
+            return keys;
+        } catch (SdkException e) {
+            throw new IOException("Failed to list " + prefix + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens an object stream, translating SDK errors.
+     *
+     * @param request the get request
+     * @return the object stream
+     * @throws IOException if the object is missing or cannot be read
+     */
+    private InputStream getObject(final GetObjectRequest request) throws IOException {
+        try {
+            return s3Client.getObject(request);
+        } catch (NoSuchKeyException e) {
+            throw (IOException) new FileNotFoundException("Media object not found: " + request.key()).initCause(e);
+        } catch (SdkException e) {
+            throw new IOException("Failed to read " + request.key() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Multipart upload backed by the S3 multipart upload API.
+     */
+    private final class S3MultipartUpload implements MultipartUpload {
+
+        /**
+         * Key of the object being uploaded.
+         */
+        private final String key;
+
+        /**
+         * S3 upload ID.
+         */
+        private final String uploadId;
+
+        /**
+         * Parts uploaded so far.
+         */
+        private final List<CompletedPart> completedParts = new ArrayList<>();
+
+        /**
+         * Creates a handle for a started upload.
+         *
+         * @param key      the object key
+         * @param uploadId the S3 upload ID
+         */
+        S3MultipartUpload(final String key, final String uploadId) {
+            this.key = key;
+            this.uploadId = uploadId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void uploadPart(final int partNumber, final byte[] data, final int length) throws IOException {
+            try {
+                UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build(),
+                        RequestBody.fromBytes(length == data.length ? data : Arrays.copyOf(data, length)));
+                completedParts.add(CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+            } catch (SdkException e) {
+                throw new IOException("Failed to upload part " + partNumber + " of " + key + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void complete() throws IOException {
+            completedParts.sort(Comparator.comparing(CompletedPart::partNumber));
+            try {
+                s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                        .build());
+            } catch (SdkException e) {
+                throw new IOException("Failed to complete multipart upload of " + key + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void abort() {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build());
+                log.info("Successfully aborted multipart upload for key: {}, uploadId: {}", key, uploadId);
+            } catch (Exception e) {
+                log.error("Failed to abort multipart upload for key: {}, uploadId: {} - Error: {}",
+                        key, uploadId, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,30 +1,25 @@
 package com.nt.course_service_lms.service.serviceImpl;
 
-import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.exception.FileStreamingException;
+import com.nt.course_service_lms.service.MediaStore;
 import com.nt.course_service_lms.service.S3StreamingService;
-import io.jsonwebtoken.io.IOException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
-import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
-import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
-import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
-
-import static com.nt.course_service_lms.constants.S3Constants.DEFAULT_CHUNK_SIZE;
+import java.util.Optional;
+import java.util.function.LongUnaryOperator;
 
 /**
- * Implementation of S3StreamingService that provides file streaming functionality from Amazon S3.
+ * Implementation of S3StreamingService that provides file streaming functionality from the configured
+ * {@link MediaStore} (Amazon S3 or the local filesystem).
  * This service supports both partial content streaming (range requests) and full file streaming.
  *
  * @author Course Service LMS Team
@@ -35,17 +30,22 @@ import static com.nt.course_service_lms.constants.S3Constants.DEFAULT_CHUNK_SIZE
 public class S3StreamingServiceImpl implements S3StreamingService {
 
     /**
-     * The name of the S3 bucket configured in application properties.
-     * Falls back to empty string if not configured.
+     * Storage backend holding the media objects.
+     */
+    @Autowired
+    private MediaStore mediaStore;
+
+    /**
+     * Sequential read-ahead of the next range for video and PDF viewers.
      */
-    @Value("${aws.s3.bucket-name}")
-    private String bucketName;
+    @Autowired
+    private RangePrefetcher rangePrefetcher;
 
     /**
-     * AWS S3 client for performing S3 operations.
+     * Per-viewer sizing of open-ended range chunks.
      */
     @Autowired
-    private S3Client s3Client;
+    private ChunkSizer chunkSizer;
 
     /**
      * Streams a specific chunk/range of a file from S3 based on the provided range header.
@@ -59,30 +59,50 @@ public class S3StreamingServiceImpl implements S3StreamingService {
      */
     @Override
     public ResponseEntity<InputStreamResource> streamFileChunk(final String objectKey, final String rangeHeader) {
+        return streamFileChunk(objectKey, rangeHeader, null);
+    }
+
+    /**
+     * Streams a range for an identified viewer, serving it from the viewer's read-ahead when one
+     * covers it and starting the read-ahead of the following range afterwards. Open-ended ranges
+     * are cut to the pending read-ahead, or else to the chunk size chosen for the viewer, and the
+     * read-ahead of an open-ended range is sized the same way. The transfer feeds the viewer's
+     * measured throughput.
+     *
+     * @param objectKey   the S3 object key (file path) to stream
+     * @param rangeHeader the HTTP Range header value (e.g., "bytes=0-1023")
+     * @param viewerId    the client playing the file, or null to disable read-ahead and adaptive sizing
+     * @return ResponseEntity containing InputStreamResource with partial content and appropriate headers
+     * @throws FileStreamingException if file is not found, S3 errors occur, or IO errors happen
+     */
+    @Override
+    public ResponseEntity<InputStreamResource> streamFileChunk(final String objectKey, final String rangeHeader,
+                                                               final String viewerId) {
         try {
-            HeadObjectResponse objectMetadata = s3Client.headObject(
-                    HeadObjectRequest.builder()
-                            .bucket(bucketName)
-                            .key(objectKey)
-                            .build()
-            );
+            MediaStore.ObjectInfo objectMetadata = headOrThrow(objectKey);
             long contentLength = objectMetadata.contentLength();
             String contentType = objectMetadata.contentType();
 
-            RangeInfo rangeInfo = parseRangeHeader(rangeHeader, contentLength);
-
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(objectKey)
-                    .range("bytes=" + rangeInfo.getStart() + "-" + rangeInfo.getEnd())
-                    .build();
-
-            InputStream inputStream = s3Client.getObject(getObjectRequest);
+            LongUnaryOperator chunkSizeAt =
+                    start -> chunkSizer.chunkSize(viewerId, objectKey, contentType, contentLength, start);
+            // An open-ended range continuing into the viewer's read-ahead is cut to it
+            MediaRange rangeInfo = MediaRange.parse(rangeHeader, contentLength,
+                    start -> rangePrefetcher.pendingLength(viewerId, objectKey, start)
+                            .orElseGet(() -> chunkSizeAt.applyAsLong(start)));
+
+            Optional<InputStream> prefetched =
+                    rangePrefetcher.take(viewerId, objectKey, rangeInfo.getStart(), rangeInfo.getEnd());
+            InputStream inputStream = prefetched.isPresent()
+                    ? prefetched.get()
+                    : mediaStore.get(objectKey, rangeInfo.getStart(), rangeInfo.getEnd());
+            long servedLength = rangeInfo.length();
+            rangePrefetcher.readAhead(viewerId, objectKey, rangeInfo.getStart(), rangeInfo.getEnd(), contentLength,
+                    rangeInfo.isOpenEnded() ? chunkSizeAt : next -> servedLength);
 
             HttpHeaders headers = new HttpHeaders();
-            headers.add("Content-Range", "bytes " + rangeInfo.getStart() + "-" + rangeInfo.getEnd() + "/" + contentLength);
+            headers.add("Content-Range", rangeInfo.contentRange(contentLength));
             headers.add("Accept-Ranges", "bytes");
-            headers.add("Content-Length", String.valueOf(rangeInfo.getEnd() - rangeInfo.getStart() + 1));
+            headers.add("Content-Length", String.valueOf(rangeInfo.length()));
             headers.add("Cache-Control", "no-cache");
 
             if (contentType != null) {
@@ -91,12 +111,12 @@ public class S3StreamingServiceImpl implements S3StreamingService {
 
             return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
                     .headers(headers)
-                    .body(new InputStreamResource(inputStream));
+                    .body(new InputStreamResource(chunkSizer.measure(viewerId, inputStream)));
 
-        } catch (NoSuchKeyException e) {
-            throw new FileStreamingException("File not found in S3: " + objectKey, e);
-        } catch (S3Exception e) {
-            throw new FileStreamingException("S3 error while streaming file: " + objectKey, e);
+        } catch (FileStreamingException e) {
+            throw e;
+        } catch (FileNotFoundException e) {
+            throw new FileStreamingException("File not found in media store: " + objectKey, e);
         } catch (IOException e) {
             throw new FileStreamingException("IO error while streaming file: " + objectKey, e);
         } catch (Exception e) {
@@ -116,20 +136,10 @@ public class S3StreamingServiceImpl implements S3StreamingService {
     public ResponseEntity<InputStreamResource> streamFullFile(final String objectKey) {
         try {
             // Get object metadata
-            HeadObjectResponse objectMetadata = s3Client.headObject(
-                    HeadObjectRequest.builder()
-                            .bucket(bucketName)
-                            .key(objectKey)
-                            .build()
-            );
+            MediaStore.ObjectInfo objectMetadata = headOrThrow(objectKey);
 
             // Get the object stream
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(bucketName)
-                    .key(objectKey)
-                    .build();
-
-            InputStream inputStream = s3Client.getObject(getObjectRequest);
+            InputStream inputStream = mediaStore.get(objectKey);
 
             // Create response headers
             HttpHeaders headers = new HttpHeaders();
@@ -144,10 +154,10 @@ public class S3StreamingServiceImpl implements S3StreamingService {
                     .headers(headers)
                     .body(new InputStreamResource(inputStream));
 
-        } catch (NoSuchKeyException e) {
-            throw new FileStreamingException("File not found in S3: " + objectKey, e);
-        } catch (S3Exception e) {
-            throw new FileStreamingException("S3 error while streaming file: " + objectKey, e);
+        } catch (FileStreamingException e) {
+            throw e;
+        } catch (FileNotFoundException e) {
+            throw new FileStreamingException("File not found in media store: " + objectKey, e);
         } catch (IOException e) {
             throw new FileStreamingException("IO error while streaming file: " + objectKey, e);
         } catch (Exception e) {
@@ -166,93 +176,22 @@ public class S3StreamingServiceImpl implements S3StreamingService {
     @Override
     public long getFileSize(final String objectKey) {
         try {
-            HeadObjectResponse objectMetadata = s3Client.headObject(
-                    HeadObjectRequest.builder()
-                            .bucket(bucketName)
-                            .key(objectKey)
-                            .build()
-            );
-            return objectMetadata.contentLength();
+            return headOrThrow(objectKey).contentLength();
         } catch (Exception e) {
             throw new FileStreamingException("Failed to retrieve file size for: " + objectKey, e);
         }
     }
 
     /**
-     * Parses the HTTP Range header to determine the byte range to be streamed.
-     * If no valid range header is provided, defaults to streaming the first chunk
-     * of the file up to DEFAULT_CHUNK_SIZE.
+     * Looks up object metadata, failing when the object does not exist.
      *
-     * @param rangeHeader   the HTTP Range header value (e.g., "bytes=0-1023")
-     * @param contentLength the total length of the file content in bytes
-     * @return RangeInfo object containing the start and end byte positions
+     * @param objectKey the object key
+     * @return the object size and content type
+     * @throws IOException            if the media store cannot be queried
+     * @throws FileStreamingException if the object does not exist
      */
-    private RangeInfo parseRangeHeader(final String rangeHeader, final long contentLength) {
-        if (rangeHeader == null || !rangeHeader.startsWith("bytes=")) {
-            return new RangeInfo(0, Math.min(DEFAULT_CHUNK_SIZE - 1, contentLength - 1));
-        }
-
-        try {
-            String range = rangeHeader.substring(CommonConstants.NUMBER_SIX); // Remove "bytes="
-            String[] parts = range.split("-");
-
-            long start = Long.parseLong(parts[0]);
-            long end;
-
-            if (parts.length > 1 && !parts[1].isEmpty()) {
-                end = Long.parseLong(parts[1]);
-            } else {
-                end = Math.min(start + DEFAULT_CHUNK_SIZE - 1, contentLength - 1);
-            }
-
-            return new RangeInfo(start, Math.min(end, contentLength - 1));
-        } catch (Exception e) {
-            return new RangeInfo(0, Math.min(DEFAULT_CHUNK_SIZE - 1, contentLength - 1));
-        }
-    }
-
-    /**
-     * Inner class to hold range information for partial content requests.
-     * Contains the start and end byte positions for the requested range.
-     */
-    private static class RangeInfo {
-        /**
-         * The starting byte position (inclusive) of the range.
-         */
-        private final long start;
-
-        /**
-         * The ending byte position (inclusive) of the range.
-         */
-        private final long end;
-
-        /**
-         * Constructs a new RangeInfo with the specified start and end positions.
-         *
-         * @param start the starting byte position (inclusive)
-         * @param end   the ending byte position (inclusive)
-         */
-        RangeInfo(final long start, final long end) {
-            this.start = start;
-            this.end = end;
-        }
-
-        /**
-         * Gets the starting byte position of the range.
-         *
-         * @return the starting byte position (inclusive)
-         */
-        public long getStart() {
-            return start;
-        }
-
-        /**
-         * Gets the ending byte position of the range.
-         *
-         * @return the ending byte position (inclusive)
-         */
-        public long getEnd() {
-            return end;
-        }
+    private MediaStore.ObjectInfo headOrThrow(final String objectKey) throws IOException {
+        return mediaStore.head(objectKey)
+                .orElseThrow(() -> new FileStreamingException("File not found in media store: " + objectKey));
     }
 }
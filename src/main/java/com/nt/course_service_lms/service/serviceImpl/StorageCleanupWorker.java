@@ -0,0 +1,218 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.config.StorageCleanupProperties;
+import com.nt.course_service_lms.entity.StorageCleanupTask;
+import com.nt.course_service_lms.repository.CourseContentRepository;
+import com.nt.course_service_lms.repository.MediaObjectRepository;
+import com.nt.course_service_lms.repository.StorageCleanupTaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Deletes unused media objects from storage through the {@link StorageCleanupTask} outbox.
+ * <p>
+ * Callers queue an object key with {@link #scheduleDeletion(String)} in the transaction that made the
+ * object unused, so the delete happens only if that transaction commits and never blocks it. A
+ * scheduled drain locks due tasks with {@code SKIP LOCKED}, so several instances can share the queue,
+ * and deletes each object unless a course content or media reference points at it again. Failed
+ * deletes are retried with exponential backoff. Outcomes are counted in {@code lms.media.cleanup}
+ * tagged {@code result=deleted|missing|kept|failed}.
+ * </p>
+ */
+@Service
+@Slf4j
+public class StorageCleanupWorker {
+
+    /**
+     * Name of the cleanup outcome counter.
+     */
+    private static final String METRIC_NAME = "lms.media.cleanup";
+
+    /**
+     * Largest exponent of the retry backoff, keeping the shift from overflowing.
+     */
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    /**
+     * Length of the last_error column.
+     */
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    /**
+     * Repository of the queued deletions.
+     */
+    private final StorageCleanupTaskRepository taskRepository;
+
+    /**
+     * Repository used to check whether a course content still links to an object.
+     */
+    private final CourseContentRepository courseContentRepository;
+
+    /**
+     * Repository used to check whether a deduplicated object is still referenced.
+     */
+    private final MediaObjectRepository mediaObjectRepository;
+
+    /**
+     * Service deleting the objects from the media store.
+     */
+    private final S3FileService s3FileService;
+
+    /**
+     * Runs each batch in its own transaction.
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Registry of the outcome counters.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Batch size and retry backoff settings.
+     */
+    private final StorageCleanupProperties properties;
+
+    /**
+     * Creates the worker.
+     *
+     * @param taskRepository          repository of the queued deletions
+     * @param courseContentRepository repository of the course contents
+     * @param mediaObjectRepository   repository of the deduplicated objects
+     * @param s3FileService           service deleting the objects
+     * @param transactionManager      transaction manager for the batches
+     * @param meterRegistry           registry for the outcome counters
+     * @param properties              batch size and retry backoff settings
+     */
+    public StorageCleanupWorker(final StorageCleanupTaskRepository taskRepository,
+                                final CourseContentRepository courseContentRepository,
+                                final MediaObjectRepository mediaObjectRepository,
+                                final S3FileService s3FileService,
+                                final PlatformTransactionManager transactionManager,
+                                final MeterRegistry meterRegistry,
+                                final StorageCleanupProperties properties) {
+        this.taskRepository = taskRepository;
+        this.courseContentRepository = courseContentRepository;
+        this.mediaObjectRepository = mediaObjectRepository;
+        this.s3FileService = s3FileService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    /**
+     * Queues an object for deletion as soon as the current transaction commits.
+     *
+     * @param objectKey the key of the object, {@code <folder>/<fileName>}
+     * @return true if queued, false if the object was already queued
+     */
+    public boolean scheduleDeletion(final String objectKey) {
+        return scheduleDeletion(objectKey, LocalDateTime.now());
+    }
+
+    /**
+     * Queues an object for deletion no earlier than the given time.
+     *
+     * @param objectKey the key of the object, {@code <folder>/<fileName>}
+     * @param notBefore the earliest time of the delete
+     * @return true if queued, false if the object was already queued
+     */
+    public boolean scheduleDeletion(final String objectKey, final LocalDateTime notBefore) {
+        return taskRepository.enqueue(objectKey, notBefore, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Processes due tasks batch by batch until fewer than a full batch is due.
+     */
+    @Scheduled(fixedDelayString = "${lms.media.cleanup.delay-ms:30000}",
+            initialDelayString = "${lms.media.cleanup.delay-ms:30000}")
+    public void processDueTasks() {
+        Integer processed;
+        do {
+            processed = transactionTemplate.execute(status -> processBatch());
+        } while (processed != null && processed == properties.getBatchSize());
+    }
+
+    /**
+     * Locks one batch of due tasks and processes them; must run in a transaction.
+     *
+     * @return the number of tasks processed
+     */
+    public int processBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StorageCleanupTask> tasks = taskRepository.lockDue(now, properties.getBatchSize());
+        for (StorageCleanupTask task : tasks) {
+            process(task, now);
+        }
+        return tasks.size();
+    }
+
+    /**
+     * Deletes the object of a task and removes the task, or schedules a retry if the delete fails.
+     *
+     * @param task the locked task
+     * @param now  the current time
+     */
+    private void process(final StorageCleanupTask task, final LocalDateTime now) {
+        String objectKey = task.getObjectKey();
+        if (isReferenced(objectKey)) {
+            log.info("File {} is referenced again, dropping its scheduled deletion", objectKey);
+            taskRepository.delete(task);
+            count("kept");
+            return;
+        }
+        try {
+            boolean deleted = s3FileService.deleteFile(objectKey);
+            taskRepository.delete(task);
+            count(deleted ? "deleted" : "missing");
+        } catch (RuntimeException e) {
+            int attempts = task.getAttempts() + 1;
+            long delayMs = Math.min(properties.getRetryMaxMs(),
+                    properties.getRetryBaseMs() << Math.min(attempts - 1, MAX_BACKOFF_SHIFT));
+            String error = String.valueOf(e.getMessage());
+            task.setAttempts(attempts);
+            task.setNextAttemptAt(now.plus(delayMs, ChronoUnit.MILLIS));
+            task.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            log.warn("Failed to delete file {} (attempt {}), retrying in {} ms - Error: {}",
+                    objectKey, attempts, delayMs, error);
+            count("failed");
+        }
+    }
+
+    /**
+     * Tells whether a course content or a deduplication reference still points at an object.
+     *
+     * @param objectKey the key of the object, {@code <folder>/<fileName>}
+     * @return true if the object is in use
+     */
+    private boolean isReferenced(final String objectKey) {
+        int slash = objectKey.indexOf('/');
+        if (slash > 0 && courseContentRepository.existsByContentTypeAndResourceLink(
+                objectKey.substring(0, slash), objectKey.substring(slash + 1))) {
+            return true;
+        }
+        return mediaObjectRepository.existsById(objectKey);
+    }
+
+    /**
+     * Counts one task outcome.
+     *
+     * @param result the outcome tag
+     */
+    private void count(final String result) {
+        Counter.builder(METRIC_NAME)
+                .description("Scheduled media deletions by outcome")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,136 @@
+package com.nt.course_service_lms.service.serviceImpl;
+
+import com.nt.course_service_lms.repository.CourseContentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Finds stored media that no course content links to and queues it for deletion.
+ * <p>
+ * Objects can be left behind by uploads whose course content was never saved, or by deletions
+ * made before the {@link StorageCleanupWorker} outbox existed. Each sweep lists the media folders
+ * (the configured ones plus every content type in use) and compares the keys with the
+ * {@code resource_link} of the course contents. Orphans are queued with a grace period, so an upload
+ * whose course content is still being saved is not touched; the worker checks the references again
+ * before it deletes anything.
+ * </p>
+ */
+@Service
+@Slf4j
+public class StorageOrphanSweeper {
+
+    /**
+     * Service listing the stored objects.
+     */
+    private final S3FileService s3FileService;
+
+    /**
+     * Repository of the course contents linking to the objects.
+     */
+    private final CourseContentRepository courseContentRepository;
+
+    /**
+     * Worker the orphans are queued with.
+     */
+    private final StorageCleanupWorker storageCleanupWorker;
+
+    /**
+     * Whether the sweep runs.
+     */
+    private final boolean enabled;
+
+    /**
+     * Folders swept even if no course content of that type exists.
+     */
+    private final List<String> folders;
+
+    /**
+     * Time in milliseconds an orphan is left alone before its deletion.
+     */
+    private final long graceMs;
+
+    /**
+     * Creates the sweeper.
+     *
+     * @param s3FileService           service listing the stored objects
+     * @param courseContentRepository repository of the course contents
+     * @param storageCleanupWorker    worker the orphans are queued with
+     * @param enabled                 whether the sweep runs
+     * @param folders                 folders swept in addition to the content types in use
+     * @param graceMs                 time in milliseconds an orphan is left alone before its deletion
+     */
+    public StorageOrphanSweeper(final S3FileService s3FileService,
+                                final CourseContentRepository courseContentRepository,
+                                final StorageCleanupWorker storageCleanupWorker,
+                                @Value("${lms.media.cleanup.orphan-sweep.enabled:true}") final boolean enabled,
+                                @Value("${lms.media.cleanup.orphan-sweep.folders:video,pdf}") final List<String> folders,
+                                @Value("${lms.media.cleanup.orphan-sweep.grace-ms:86400000}") final long graceMs) {
+        this.s3FileService = s3FileService;
+        this.courseContentRepository = courseContentRepository;
+        this.storageCleanupWorker = storageCleanupWorker;
+        this.enabled = enabled;
+        this.folders = folders;
+        this.graceMs = graceMs;
+    }
+
+    /**
+     * Queues the orphans of every media folder for deletion.
+     *
+     * @return the number of newly queued objects
+     */
+    @Scheduled(fixedDelayString = "${lms.media.cleanup.orphan-sweep.interval-ms:21600000}",
+            initialDelayString = "${lms.media.cleanup.orphan-sweep.interval-ms:21600000}")
+    public int sweep() {
+        if (!enabled) {
+            return 0;
+        }
+        Set<String> swept = new TreeSet<>(folders);
+        swept.addAll(courseContentRepository.findDistinctContentTypes());
+        LocalDateTime notBefore = LocalDateTime.now().plus(graceMs, ChronoUnit.MILLIS);
+        int queued = 0;
+        for (String folder : swept) {
+            try {
+                queued += sweepFolder(folder, notBefore);
+            } catch (RuntimeException e) {
+                log.warn("Orphan sweep of folder {} failed - Error: {}", folder, e.getMessage());
+            }
+        }
+        if (queued > 0) {
+            log.info("Queued {} orphaned media files for deletion after {}", queued, notBefore);
+        }
+        return queued;
+    }
+
+    /**
+     * Queues the objects of one folder that no course content of that type links to.
+     *
+     * @param folder    the folder, i.e. the content type
+     * @param notBefore the earliest time of the deletes
+     * @return the number of newly queued objects
+     */
+    private int sweepFolder(final String folder, final LocalDateTime notBefore) {
+        String prefix = folder + "/";
+        List<String> keys = s3FileService.listFiles(prefix, Integer.MAX_VALUE);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Set<String> linked = new HashSet<>(courseContentRepository.findResourceLinksByContentType(folder));
+        int queued = 0;
+        for (String key : keys) {
+            String fileName = key.substring(prefix.length());
+            if (!fileName.isEmpty() && !linked.contains(fileName) && storageCleanupWorker.scheduleDeletion(key, notBefore)) {
+                queued++;
+            }
+        }
+        return queued;
+    }
+}
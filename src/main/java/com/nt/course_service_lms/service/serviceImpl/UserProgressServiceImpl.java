@@ -2,24 +2,41 @@ package com.nt.course_service_lms.service.serviceImpl;
 
 import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.converters.UserProgressConverter;
+import com.nt.course_service_lms.dto.inDTO.UserProgressBatchInDTO;
 import com.nt.course_service_lms.dto.outDTO.CourseContentOutDTO;
+import com.nt.course_service_lms.dto.outDTO.CoursePlayerContentOutDTO;
+import com.nt.course_service_lms.dto.outDTO.CoursePlayerOutDTO;
 import com.nt.course_service_lms.dto.outDTO.CourseProgressWithMetaDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizSummaryOutDTO;
 import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserProgressOutDTO;
 import com.nt.course_service_lms.entity.CourseContent;
+import com.nt.course_service_lms.entity.Quiz;
 import com.nt.course_service_lms.entity.UserProgress;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.exception.ResourceNotValidException;
 import com.nt.course_service_lms.repository.CourseContentRepository;
+import com.nt.course_service_lms.repository.QuizRepository;
 import com.nt.course_service_lms.repository.UserProgressRepository;
 import com.nt.course_service_lms.service.UserProgressService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.nt.course_service_lms.constants.QuizConstants.PARENT_TYPE_COURSE;
+import static com.nt.course_service_lms.constants.QuizConstants.PARENT_TYPE_COURSE_CONTENT;
 
 /**
  * Service implementation for managing user progress in courses within the Learning Management System.
@@ -49,6 +66,12 @@ import java.util.Optional;
 @Slf4j
 public class UserProgressServiceImpl implements UserProgressService {
 
+    /**
+     * Orders progress records oldest first, the order of {@code findSingleCourseProgress}.
+     */
+    private static final Comparator<UserProgress> OLDEST_FIRST =
+            Comparator.comparing(UserProgress::getProgressId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     /**
      * Repository for accessing and managing user progress data.
      * Used for CRUD operations on UserProgress entities.
@@ -67,6 +90,11 @@ public class UserProgressServiceImpl implements UserProgressService {
      */
     private final UserProgressConverter userProgressConverter;
 
+    /**
+     * Repository for the quizzes listed in the course player.
+     */
+    private final QuizRepository quizRepository;
+
     /**
      * Updates user progress for a specific piece of course content.
      *
@@ -138,30 +166,85 @@ public class UserProgressServiceImpl implements UserProgressService {
 
         log.info("Updating all previous progress records with course completion {}", courseCompletionPercentage);
 
-        boolean shouldSetFirstCompletedAt = false;
+        // Step 4: Update each record with course-level values
+        applyCourseCompletion(allProgressRecords, courseCompletionPercentage);
+        for (UserProgress record : allProgressRecords) {
+            userProgressRepository.save(record);
+        }
 
-        if (courseCompletionPercentage >= CommonConstants.FLOAT_NINTY_FIVE) {
-            boolean alreadyCompleted = allProgressRecords.stream()
-                    .anyMatch(record -> record.getFirstCompletedAt() != null);
+        log.info("Updated Course Completion Status for all records.");
+    }
 
-            if (!alreadyCompleted) {
-                shouldSetFirstCompletedAt = true;
+    /**
+     * Applies several progress updates of one user in one transaction.
+     *
+     * <p>Updates are first merged per content, keeping the furthest position and the highest completion,
+     * so a burst of updates for the same content costs one row write. The user's progress records are then
+     * read once per affected course, the merged updates are applied to them, course completion is computed
+     * once per course from the records in memory, and all new and changed records are written with one
+     * {@code saveAll}, which the JDBC batch settings turn into batched inserts and updates.</p>
+     *
+     * <p>The result per content and per course is the same as sending the updates one by one to
+     * {@link #updateProgress(UserProgressOutDTO)}.</p>
+     *
+     * @param batchInDTO the user and the updates to apply
+     * @return the course completion percentage of each affected course, keyed by course ID
+     * @throws ResourceNotValidException if an update has no content ID or course ID
+     */
+    @Override
+    @Transactional
+    public Map<Long, Double> updateProgressBatch(final UserProgressBatchInDTO batchInDTO) {
+        Long userId = batchInDTO.getUserId();
+        Map<Long, UserProgressOutDTO> mergedByContent = new LinkedHashMap<>();
+        for (UserProgressOutDTO update : batchInDTO.getUpdates()) {
+            if (update.getContentId() == null || update.getCourseId() == null) {
+                throw new ResourceNotValidException("Content ID and course ID are required for every progress update");
             }
+            mergedByContent.merge(update.getContentId(), update, (merged, next) -> {
+                merged.setLastPosition(Math.max(merged.getLastPosition(), next.getLastPosition()));
+                merged.setContentCompletionPercentage(Math.max(merged.getContentCompletionPercentage(),
+                        next.getContentCompletionPercentage()));
+                return merged;
+            });
         }
-
-        // Step 4: Update each record with course-level values
-        for (UserProgress record : allProgressRecords) {
-            record.setCourseCompletionPercentage(courseCompletionPercentage);
-            record.setCourseCompleted(courseCompletionPercentage >= CommonConstants.NUMBER_EIGHTY);
-
-            if (shouldSetFirstCompletedAt) {
-                record.setFirstCompletedAt(LocalDateTime.now());
+        log.info("Received {} progress updates for User {} covering {} contents",
+                batchInDTO.getUpdates().size(), userId, mergedByContent.size());
+
+        Map<Long, List<UserProgressOutDTO>> updatesByCourse = mergedByContent.values().stream()
+                .collect(Collectors.groupingBy(UserProgressOutDTO::getCourseId, LinkedHashMap::new, Collectors.toList()));
+
+        Map<Long, Double> completionByCourse = new LinkedHashMap<>();
+        List<UserProgress> toSave = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, List<UserProgressOutDTO>> course : updatesByCourse.entrySet()) {
+            Long courseId = course.getKey();
+            List<UserProgress> records =
+                    new ArrayList<>(userProgressRepository.findProgressByUserIdAndCourseId(userId, courseId));
+            Map<Long, UserProgress> recordsByContent = progressByContentId(records);
+
+            for (UserProgressOutDTO update : course.getValue()) {
+                UserProgress existing = recordsByContent.get(update.getContentId());
+                if (existing == null) {
+                    update.setUserId(userId);
+                    records.add(userProgressConverter.toEntity(update));
+                } else {
+                    existing.setLastPosition(Math.max(update.getLastPosition(), existing.getLastPosition()));
+                    existing.setContentCompletionPercentage(Math.max(update.getContentCompletionPercentage(),
+                            existing.getContentCompletionPercentage()));
+                    existing.setLastUpdated(now);
+                }
             }
 
-            userProgressRepository.save(record);
+            double courseCompletionPercentage = courseCompletion(records,
+                    courseContentRepository.findByCourseId(courseId).size());
+            applyCourseCompletion(records, courseCompletionPercentage);
+            completionByCourse.put(courseId, courseCompletionPercentage);
+            toSave.addAll(records);
+            log.info("Course {} completion for User {} after batch: {}", courseId, userId, courseCompletionPercentage);
         }
 
-        log.info("Updated Course Completion Status for all records.");
+        userProgressRepository.saveAll(toSave);
+        return completionByCourse;
     }
 
     /**
@@ -190,11 +273,10 @@ public class UserProgressServiceImpl implements UserProgressService {
 
         log.info("Total Course Content items retrieved: {}", courseContents.size());
         log.info("Total User Progress records retrieved: {}", userProgressList.size());
+        Map<Long, UserProgress> progressByContent = progressByContentId(userProgressList);
 
         return courseContents.stream().map(content -> {
-            Optional<UserProgress> progressOpt = userProgressList.stream()
-                    .filter(p -> p.getContentId() == content.getCourseContentId())
-                    .findFirst();
+            Optional<UserProgress> progressOpt = Optional.ofNullable(progressByContent.get(content.getCourseContentId()));
 
             log.info("Mapped Progress for CourseContentId {}: {}", content.getCourseContentId(),
                     progressOpt.map(UserProgress::getContentCompletionPercentage).orElse(0.0));
@@ -210,6 +292,102 @@ public class UserProgressServiceImpl implements UserProgressService {
         }).toList();
     }
 
+    /**
+     * Assembles everything the course player needs to open a course for a user.
+     *
+     * <p>Replaces the separate content, last-position, content-progress, acknowledgement, course-meta and
+     * quiz calls with three set-based queries: the course contents, the user's progress records in the
+     * course, and the active quizzes of the course and its contents. Progress and quizzes are joined to
+     * the contents through maps keyed by content ID, so assembly is linear in the number of rows.</p>
+     *
+     * <p>Course completion is read from the user's first progress record, as in
+     * {@link #getCourseProgressWithMeta(Long, Long)}.</p>
+     *
+     * @param userId   the unique identifier of the user
+     * @param courseId the unique identifier of the course
+     * @return the contents with progress, the course completion and the quiz summaries
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CoursePlayerOutDTO getCoursePlayer(final Long userId, final Long courseId) {
+        List<CourseContent> contents = courseContentRepository.findByCourseId(courseId);
+        List<UserProgress> progressList = userProgressRepository.findProgressByUserIdAndCourseId(userId, courseId);
+        List<Quiz> quizzes = contents.isEmpty()
+                ? quizRepository.findByParentTypeAndParentIdAndIsActiveTrue(PARENT_TYPE_COURSE, courseId)
+                : quizRepository.findActiveByCourseAndContents(courseId,
+                        contents.stream().map(CourseContent::getCourseContentId).toList());
+        log.info("Course player for UserId: {}, CourseId: {} - {} contents, {} progress records, {} quizzes",
+                userId, courseId, contents.size(), progressList.size(), quizzes.size());
+
+        List<QuizSummaryOutDTO> courseQuizzes = new ArrayList<>();
+        Map<Long, List<QuizSummaryOutDTO>> quizzesByContent = new HashMap<>();
+        for (Quiz quiz : quizzes) {
+            if (PARENT_TYPE_COURSE_CONTENT.equals(quiz.getParentType())) {
+                quizzesByContent.computeIfAbsent(quiz.getParentId(), id -> new ArrayList<>()).add(toQuizSummary(quiz));
+            } else {
+                courseQuizzes.add(toQuizSummary(quiz));
+            }
+        }
+
+        Map<Long, UserProgress> progressByContent = progressByContentId(progressList);
+        List<CoursePlayerContentOutDTO> contentDtos = new ArrayList<>(contents.size());
+        for (CourseContent content : contents) {
+            UserProgress progress = progressByContent.get(content.getCourseContentId());
+            contentDtos.add(CoursePlayerContentOutDTO.builder()
+                    .courseContentId(content.getCourseContentId())
+                    .title(content.getTitle())
+                    .description(content.getDescription())
+                    .contentType(content.getContentType())
+                    .resourceLink(content.getResourceLink())
+                    .isActive(content.isActive())
+                    .minCompletionPercentage(content.getMinCompletionPercentage())
+                    .contentCompletionPercentage(progress != null ? progress.getContentCompletionPercentage() : 0.0)
+                    .lastPosition(progress != null ? (int) progress.getLastPosition() : 0)
+                    .acknowledged(progress != null ? progress.isAcknowledgement() : null)
+                    .quizzes(quizzesByContent.getOrDefault(content.getCourseContentId(), List.of()))
+                    .build());
+        }
+
+        Optional<UserProgress> courseProgress = progressList.stream().min(OLDEST_FIRST);
+        return CoursePlayerOutDTO.builder()
+                .courseId(courseId)
+                .courseCompletionPercentage(courseProgress.map(UserProgress::getCourseCompletionPercentage).orElse(0.0))
+                .courseCompleted(courseProgress.map(UserProgress::isCourseCompleted).orElse(false))
+                .firstCompletedAt(courseProgress.map(UserProgress::getFirstCompletedAt).orElse(null))
+                .contents(contentDtos)
+                .quizzes(courseQuizzes)
+                .build();
+    }
+
+    /**
+     * Indexes progress records by content ID, keeping the oldest record if a content has several.
+     *
+     * @param progressList the progress records of one user in one course
+     * @return the records keyed by content ID
+     */
+    private static Map<Long, UserProgress> progressByContentId(final List<UserProgress> progressList) {
+        return progressList.stream().collect(Collectors.toMap(UserProgress::getContentId, Function.identity(),
+                (first, second) -> OLDEST_FIRST.compare(first, second) <= 0 ? first : second));
+    }
+
+    /**
+     * Maps a quiz to its course player summary.
+     *
+     * @param quiz the quiz
+     * @return the summary
+     */
+    private static QuizSummaryOutDTO toQuizSummary(final Quiz quiz) {
+        return QuizSummaryOutDTO.builder()
+                .quizId(quiz.getQuizId())
+                .title(quiz.getTitle())
+                .description(quiz.getDescription())
+                .timeLimit(quiz.getTimeLimit())
+                .attemptsAllowed(quiz.getAttemptsAllowed())
+                .passingScore(quiz.getPassingScore())
+                .questionsToShow(quiz.getQuestionsToShow())
+                .build();
+    }
+
     /**
      * Calculates the overall completion percentage for a user's progress in a specific course.
      *
@@ -237,6 +415,17 @@ public class UserProgressServiceImpl implements UserProgressService {
         log.info("Total Course Contents: {}", totalContents);
         log.info("User Progress Records Retrieved: {}", progressList.size());
 
+        return courseCompletion(progressList, totalContents);
+    }
+
+    /**
+     * Computes the course completion percentage from a user's progress records in the course.
+     *
+     * @param progressList  the user's progress records in the course
+     * @param totalContents the number of contents in the course
+     * @return the completion percentage between 0.0 and 100.0
+     */
+    private static double courseCompletion(final List<UserProgress> progressList, final int totalContents) {
         boolean allAcknowledged = progressList.stream()
                 .allMatch(UserProgress::isAcknowledgement);
         if (allAcknowledged && totalContents > 0) {
@@ -253,6 +442,26 @@ public class UserProgressServiceImpl implements UserProgressService {
         return completionPercentage;
     }
 
+    /**
+     * Stamps the course-level completion on every progress record of a user in a course.
+     * The first completion time is set once, when completion reaches 95% and no record carries it yet.
+     *
+     * @param records                    the user's progress records in the course
+     * @param courseCompletionPercentage the course completion percentage
+     */
+    private static void applyCourseCompletion(final List<UserProgress> records, final double courseCompletionPercentage) {
+        boolean shouldSetFirstCompletedAt = courseCompletionPercentage >= CommonConstants.FLOAT_NINTY_FIVE
+                && records.stream().noneMatch(record -> record.getFirstCompletedAt() != null);
+        LocalDateTime now = LocalDateTime.now();
+        for (UserProgress record : records) {
+            record.setCourseCompletionPercentage(courseCompletionPercentage);
+            record.setCourseCompleted(courseCompletionPercentage >= CommonConstants.NUMBER_EIGHTY);
+            if (shouldSetFirstCompletedAt) {
+                record.setFirstCompletedAt(now);
+            }
+        }
+    }
+
     /**
      * Retrieves course progress information along with completion metadata for a specific user and course.
      *
@@ -0,0 +1,384 @@
+package com.nt.course_service_lms.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MP4 "faststart" support: moves the {@code moov} box (the index a player needs before it can
+ * decode anything) in front of the {@code mdat} media data.
+ * <p>
+ * Many encoders write {@code moov} at the end of the file. A player then fetches the first range,
+ * finds only media data, seeks to the tail for the index and only then starts playback. After the
+ * rewrite the first range request already contains the index.
+ * </p>
+ * <p>
+ * Moving {@code moov} shifts the media data by the size of {@code moov}, so the absolute chunk
+ * offsets in every {@code stco}/{@code co64} table are adjusted. Fragmented files ({@code moof}),
+ * files whose 32-bit offsets would overflow and anything that does not parse as a plain MP4 are
+ * left untouched.
+ * </p>
+ */
+public final class Mp4Faststart {
+
+    /**
+     * Size of a box header: 32-bit size and four-character type.
+     */
+    private static final int BOX_HEADER_SIZE = 8;
+
+    /**
+     * Offset of the four-character type within a box header.
+     */
+    private static final int TYPE_OFFSET = 4;
+
+    /**
+     * Length of a box type.
+     */
+    private static final int TYPE_LENGTH = 4;
+
+    /**
+     * Size of a box header carrying a 64-bit size after the type.
+     */
+    private static final int LARGE_BOX_HEADER_SIZE = 16;
+
+    /**
+     * Bytes before the entries of a chunk offset table: version/flags and entry count.
+     */
+    private static final int CHUNK_TABLE_PREAMBLE = 8;
+
+    /**
+     * Size of a 32-bit chunk offset entry ({@code stco}).
+     */
+    private static final int STCO_ENTRY_SIZE = 4;
+
+    /**
+     * Size of a 64-bit chunk offset entry ({@code co64}).
+     */
+    private static final int CO64_ENTRY_SIZE = 8;
+
+    /**
+     * Largest {@code moov} box rewritten; it is held in memory while its offsets are patched.
+     */
+    private static final long MAX_MOOV_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * Largest value a 32-bit chunk offset can hold.
+     */
+    private static final long MAX_UINT32 = 0xFFFFFFFFL;
+
+    /**
+     * Bytes of an {@code mvhd} box read to find the timescale and duration: header, version/flags,
+     * 64-bit creation and modification times, timescale and 64-bit duration.
+     */
+    private static final int MVHD_READ_SIZE = 40;
+
+    /**
+     * Offset of the timescale in a version 0 {@code mvhd} box.
+     */
+    private static final int MVHD_V0_TIMESCALE = 20;
+
+    /**
+     * Offset of the timescale in a version 1 {@code mvhd} box.
+     */
+    private static final int MVHD_V1_TIMESCALE = 28;
+
+    /**
+     * Size of the timescale field preceding the duration.
+     */
+    private static final int TIMESCALE_SIZE = 4;
+
+    /**
+     * Boxes inside {@code moov} whose children can contain chunk offset tables.
+     */
+    private static final Set<String> CONTAINERS = Set.of("moov", "trak", "mdia", "minf", "stbl");
+
+    private Mp4Faststart() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Reads bytes at an absolute position of an MP4 source, such as a file or a stored object.
+     */
+    @FunctionalInterface
+    public interface RangeReader {
+
+        /**
+         * Reads up to {@code target.remaining()} bytes starting at {@code position}, with the
+         * same contract as {@link FileChannel#read(ByteBuffer, long)}.
+         *
+         * @param target   the buffer to fill
+         * @param position the absolute position
+         * @return the number of bytes read, or -1 at the end of the source
+         * @throws IOException if the source cannot be read
+         */
+        int read(ByteBuffer target, long position) throws IOException;
+    }
+
+    /**
+     * A top-level box.
+     *
+     * @param type   the four-character box type
+     * @param offset the absolute offset of the box header
+     * @param size   the box size including its header
+     */
+    public record Box(String type, long offset, long size) {
+
+        /**
+         * Returns the offset just past the box.
+         *
+         * @return the end offset, exclusive
+         */
+        public long end() {
+            return offset + size;
+        }
+    }
+
+    /**
+     * Lists the top-level boxes, reading only their headers.
+     *
+     * @param reader   reader over the source
+     * @param fileSize the source size in bytes
+     * @return the boxes in file order, or an empty list if the source is not a well-formed MP4
+     * @throws IOException if the source cannot be read
+     */
+    public static List<Box> readTopLevelBoxes(final RangeReader reader, final long fileSize) throws IOException {
+        List<Box> boxes = new ArrayList<>();
+        ByteBuffer header = ByteBuffer.allocate(LARGE_BOX_HEADER_SIZE);
+        long position = 0;
+        while (position + BOX_HEADER_SIZE <= fileSize) {
+            header.clear().limit((int) Math.min(LARGE_BOX_HEADER_SIZE, fileSize - position));
+            readFully(reader, position, header);
+            long size = Integer.toUnsignedLong(header.getInt(0));
+            String type = new String(header.array(), TYPE_OFFSET, TYPE_LENGTH, StandardCharsets.ISO_8859_1);
+            if (size == 1) {
+                if (header.limit() < LARGE_BOX_HEADER_SIZE) {
+                    return Collections.emptyList();
+                }
+                size = header.getLong(BOX_HEADER_SIZE);
+            } else if (size == 0) {
+                size = fileSize - position;
+            }
+            if (size < BOX_HEADER_SIZE || position + size > fileSize || (boxes.isEmpty() && !"ftyp".equals(type))) {
+                return Collections.emptyList();
+            }
+            boxes.add(new Box(type, position, size));
+            position += size;
+        }
+        return boxes;
+    }
+
+    /**
+     * Tells whether the index of a plain (non-fragmented) MP4 sits behind its media data.
+     *
+     * @param boxes the top-level boxes
+     * @return true if rewriting would move {@code moov} in front of {@code mdat}
+     */
+    public static boolean needsFaststart(final List<Box> boxes) {
+        Box moov = find(boxes, "moov");
+        Box mdat = find(boxes, "mdat");
+        return moov != null && mdat != null && find(boxes, "moof") == null && moov.offset() > mdat.offset();
+    }
+
+    /**
+     * Reads the presentation duration from the movie header ({@code moov/mvhd}), fetching only
+     * box headers and the header fields.
+     *
+     * @param reader   reader over the source
+     * @param fileSize the source size in bytes
+     * @return the duration in seconds, or -1 if the source has no readable movie header
+     * @throws IOException if the source cannot be read
+     */
+    public static double readDurationSeconds(final RangeReader reader, final long fileSize) throws IOException {
+        Box moov = find(readTopLevelBoxes(reader, fileSize), "moov");
+        if (moov == null) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.allocate(MVHD_READ_SIZE);
+        long position = moov.offset() + BOX_HEADER_SIZE;
+        while (position + MVHD_READ_SIZE <= moov.end()) {
+            header.clear();
+            readFully(reader, position, header);
+            long size = Integer.toUnsignedLong(header.getInt(0));
+            String type = new String(header.array(), TYPE_OFFSET, TYPE_LENGTH, StandardCharsets.ISO_8859_1);
+            if ("mvhd".equals(type)) {
+                boolean wide = header.get(BOX_HEADER_SIZE) == 1;
+                int timescaleAt = wide ? MVHD_V1_TIMESCALE : MVHD_V0_TIMESCALE;
+                long timescale = Integer.toUnsignedLong(header.getInt(timescaleAt));
+                long duration = wide
+                        ? header.getLong(timescaleAt + TIMESCALE_SIZE)
+                        : Integer.toUnsignedLong(header.getInt(timescaleAt + TIMESCALE_SIZE));
+                return timescale > 0 && duration > 0 ? (double) duration / timescale : -1;
+            }
+            if (size < BOX_HEADER_SIZE) {
+                return -1;
+            }
+            position += size;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes a faststart copy of {@code source} to {@code target} if the source needs one.
+     * The target is only written when this method returns true.
+     *
+     * @param source the uploaded MP4
+     * @param target the file receiving the rewritten MP4
+     * @return true if the file was rewritten, false if it is already faststart or unsupported
+     * @throws IOException if either file cannot be accessed
+     */
+    public static boolean rewrite(final Path source, final Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long fileSize = in.size();
+            List<Box> boxes = readTopLevelBoxes(in::read, fileSize);
+            if (!needsFaststart(boxes)) {
+                return false;
+            }
+            Box moov = find(boxes, "moov");
+            Box mdat = find(boxes, "mdat");
+            if (moov.size() > MAX_MOOV_SIZE) {
+                return false;
+            }
+
+            ByteBuffer moovData = ByteBuffer.allocate((int) moov.size());
+            readFully(in::read, moov.offset(), moovData);
+            // moov is inserted where the first mdat starts; everything from there up to the old moov moves back
+            long insertAt = mdat.offset();
+            if (!patchChunkOffsets(moovData, 0, moovData.capacity(), insertAt, moov.offset(), moov.size())) {
+                return false;
+            }
+
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                copy(in, 0, insertAt, out);
+                moovData.rewind();
+                while (moovData.hasRemaining()) {
+                    out.write(moovData);
+                }
+                copy(in, insertAt, moov.offset() - insertAt, out);
+                copy(in, moov.end(), fileSize - moov.end(), out);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Shifts every chunk offset in the boxes of {@code [start, end)} that points into the moved region.
+     *
+     * @param moov       the {@code moov} box contents
+     * @param start      first byte of the boxes to scan
+     * @param end        end of the boxes to scan, exclusive
+     * @param insertAt   the absolute offset {@code moov} moves to
+     * @param moovOffset the absolute offset {@code moov} moves from
+     * @param shift      the number of bytes the moved region shifts by
+     * @return false if the box tree is malformed or a 32-bit offset would overflow
+     */
+    private static boolean patchChunkOffsets(final ByteBuffer moov, final int start, final int end,
+                                             final long insertAt, final long moovOffset, final long shift) {
+        int position = start;
+        while (position + BOX_HEADER_SIZE <= end) {
+            long size = Integer.toUnsignedLong(moov.getInt(position));
+            String type = new String(moov.array(), position + TYPE_OFFSET, TYPE_LENGTH, StandardCharsets.ISO_8859_1);
+            int headerSize = BOX_HEADER_SIZE;
+            if (size == 1) {
+                size = moov.getLong(position + BOX_HEADER_SIZE);
+                headerSize = LARGE_BOX_HEADER_SIZE;
+            }
+            if (size < headerSize || position + size > end) {
+                return false;
+            }
+            int boxEnd = (int) (position + size);
+            // The outer moov box is scanned as a container as well
+            if (CONTAINERS.contains(type)) {
+                if (!patchChunkOffsets(moov, position + headerSize, boxEnd, insertAt, moovOffset, shift)) {
+                    return false;
+                }
+            } else if ("stco".equals(type) || "co64".equals(type)) {
+                boolean wide = "co64".equals(type);
+                int entrySize = wide ? CO64_ENTRY_SIZE : STCO_ENTRY_SIZE;
+                int entries = position + headerSize + CHUNK_TABLE_PREAMBLE;
+                long count = Integer.toUnsignedLong(moov.getInt(entries - STCO_ENTRY_SIZE));
+                if (entries + count * entrySize > boxEnd) {
+                    return false;
+                }
+                for (int i = 0; i < count; i++) {
+                    int at = entries + i * entrySize;
+                    long offset = wide ? moov.getLong(at) : Integer.toUnsignedLong(moov.getInt(at));
+                    if (offset < insertAt || offset >= moovOffset) {
+                        continue;
+                    }
+                    long moved = offset + shift;
+                    if (wide) {
+                        moov.putLong(at, moved);
+                    } else if (moved > MAX_UINT32) {
+                        return false;
+                    } else {
+                        moov.putInt(at, (int) moved);
+                    }
+                }
+            }
+            position = boxEnd;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first top-level box of a type.
+     *
+     * @param boxes the boxes
+     * @param type  the box type
+     * @return the box, or null if absent
+     */
+    private static Box find(final List<Box> boxes, final String type) {
+        for (Box box : boxes) {
+            if (box.type().equals(type)) {
+                return box;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fills a buffer from a reader.
+     *
+     * @param reader   the source
+     * @param position the absolute start position
+     * @param target   the buffer to fill up to its limit
+     * @throws IOException if the source ends early or cannot be read
+     */
+    private static void readFully(final RangeReader reader, final long position, final ByteBuffer target)
+            throws IOException {
+        long at = position;
+        while (target.hasRemaining()) {
+            int read = reader.read(target, at);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of MP4 data at " + at);
+            }
+            at += read;
+        }
+    }
+
+    /**
+     * Copies a byte range between channels, letting the kernel move the data.
+     *
+     * @param in       the source channel
+     * @param position the first source byte
+     * @param count    the number of bytes
+     * @param out      the target channel, written at its current position
+     * @throws IOException if the copy fails
+     */
+    private static void copy(final FileChannel in, final long position, final long count, final FileChannel out)
+            throws IOException {
+        long copied = 0;
+        while (copied < count) {
+            copied += in.transferTo(position + copied, count - copied, out);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+-- Transactional outbox of media objects to delete from storage.
+-- Rows are inserted in the transaction that drops the last reference to an object, or by the orphan sweep,
+-- and removed by the cleanup worker once the object is gone; failed deletes are retried from next_attempt_at.
+
+CREATE TABLE IF NOT EXISTS storage_cleanup_task (
+    object_key      VARCHAR(1024) PRIMARY KEY,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP     NOT NULL,
+    last_error      VARCHAR(1024),
+    created_at      TIMESTAMP     NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_cleanup_task_due ON storage_cleanup_task (next_attempt_at);
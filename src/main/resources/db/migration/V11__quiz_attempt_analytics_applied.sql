@@ -0,0 +1,16 @@
+-- Marks the graded attempts already folded into quiz_analytics. The incremental update, the rebuild and the
+-- reconciler set it under the quiz_analytics row lock, so each attempt is counted exactly once.
+
+ALTER TABLE quiz_attempt ADD COLUMN IF NOT EXISTS analytics_applied BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Aggregates are maintained incrementally since V3, so graded attempts that exist today are already counted
+-- (or will be by the next rebuild, which recounts all of them).
+UPDATE quiz_attempt
+SET analytics_applied = TRUE
+WHERE percentage_score IS NOT NULL
+  AND status IN ('COMPLETED', 'TIMED_OUT');
+
+-- Serves the reconciler's scan for graded attempts whose asynchronous analytics update never landed.
+CREATE INDEX IF NOT EXISTS idx_quiz_attempt_analytics_pending
+    ON quiz_attempt (updated_at)
+    WHERE analytics_applied = FALSE AND percentage_score IS NOT NULL;
@@ -0,0 +1,18 @@
+-- Switch high-volume tables from IDENTITY to pooled sequences so Hibernate can batch inserts.
+-- INCREMENT BY must equal CommonConstants.ID_ALLOCATION_SIZE; each sequence starts one
+-- allocation block above the current maximum so the pooled optimizer never reuses an id.
+
+CREATE SEQUENCE IF NOT EXISTS user_response_seq INCREMENT BY 50;
+SELECT setval('user_response_seq', COALESCE((SELECT MAX(response_id) FROM user_response), 0) + 50, false);
+ALTER TABLE user_response ALTER COLUMN response_id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_response ALTER COLUMN response_id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS user_progress_seq INCREMENT BY 50;
+SELECT setval('user_progress_seq', COALESCE((SELECT MAX(progress_id) FROM user_progress), 0) + 50, false);
+ALTER TABLE user_progress ALTER COLUMN progress_id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_progress ALTER COLUMN progress_id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS quiz_activity_log_seq INCREMENT BY 50;
+SELECT setval('quiz_activity_log_seq', COALESCE((SELECT MAX(log_id) FROM quiz_activity_log), 0) + 50, false);
+ALTER TABLE quiz_activity_log ALTER COLUMN log_id DROP IDENTITY IF EXISTS;
+ALTER TABLE quiz_activity_log ALTER COLUMN log_id DROP DEFAULT;
@@ -0,0 +1,41 @@
+-- Store attempt totals in typed columns so reports and aggregates no longer parse score_details JSON.
+-- score_details stays in place for API clients that still read it.
+
+ALTER TABLE quiz_attempt
+    ADD COLUMN IF NOT EXISTS total_score      NUMERIC(10,2),
+    ADD COLUMN IF NOT EXISTS max_score        NUMERIC(10,2),
+    ADD COLUMN IF NOT EXISTS correct_count    INTEGER,
+    ADD COLUMN IF NOT EXISTS question_count   INTEGER,
+    ADD COLUMN IF NOT EXISTS percentage_score NUMERIC(5,2),
+    ADD COLUMN IF NOT EXISTS submission_type  VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS submitted_at     TIMESTAMP;
+
+-- Tolerant JSON parser for the backfill: rows holding malformed score_details are skipped, not fatal.
+CREATE OR REPLACE FUNCTION pg_temp.try_jsonb(value TEXT) RETURNS JSONB AS $$
+BEGIN
+    RETURN value::jsonb;
+EXCEPTION WHEN others THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+UPDATE quiz_attempt qa
+SET total_score      = (s.doc ->> 'totalScore')::numeric,
+    max_score        = (s.doc ->> 'maxPossibleScore')::numeric,
+    correct_count    = (s.doc ->> 'correctAnswers')::integer,
+    question_count   = (s.doc ->> 'totalQuestions')::integer,
+    percentage_score = (s.doc ->> 'percentageScore')::numeric,
+    submission_type  = s.doc ->> 'submissionType',
+    submitted_at     = CASE WHEN jsonb_typeof(s.doc -> 'submittedAt') = 'string'
+                            THEN (s.doc ->> 'submittedAt')::timestamp
+                            ELSE qa.finished_at END
+FROM (SELECT quiz_attempt_id, pg_temp.try_jsonb(score_details) AS doc
+      FROM quiz_attempt
+      WHERE score_details LIKE '{%' AND total_score IS NULL) s
+WHERE qa.quiz_attempt_id = s.quiz_attempt_id
+  AND jsonb_typeof(s.doc -> 'totalScore') = 'number'
+  AND jsonb_typeof(s.doc -> 'maxPossibleScore') = 'number';
+
+-- Serves per-quiz averages and pass rates over completed attempts without touching the heap.
+CREATE INDEX IF NOT EXISTS idx_quiz_attempt_quiz_status_score
+    ON quiz_attempt (quiz_id, status) INCLUDE (percentage_score, total_score);
@@ -0,0 +1,36 @@
+-- Precomputed per-quiz and per-question analytics, maintained incrementally on every graded submission.
+-- Existing quizzes are populated on demand through POST /api/service-api/quiz-analytics/{quizId}/rebuild.
+
+CREATE TABLE IF NOT EXISTS quiz_analytics (
+    quiz_id        BIGINT        NOT NULL PRIMARY KEY REFERENCES quiz (quiz_id) ON DELETE CASCADE,
+    attempt_count  BIGINT        NOT NULL DEFAULT 0,
+    pass_count     BIGINT        NOT NULL DEFAULT 0,
+    percentage_sum NUMERIC(16,2) NOT NULL DEFAULT 0,
+    updated_at     TIMESTAMP
+);
+
+-- Attempts per whole-percent bucket (0-100), used for the median.
+CREATE TABLE IF NOT EXISTS quiz_score_histogram (
+    quiz_id       BIGINT  NOT NULL REFERENCES quiz_analytics (quiz_id) ON DELETE CASCADE,
+    bucket        INTEGER NOT NULL,
+    attempt_count BIGINT  NOT NULL,
+    PRIMARY KEY (quiz_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS quiz_question_analytics (
+    question_id    BIGINT NOT NULL PRIMARY KEY REFERENCES quiz_question (question_id) ON DELETE CASCADE,
+    quiz_id        BIGINT NOT NULL REFERENCES quiz (quiz_id) ON DELETE CASCADE,
+    response_count BIGINT NOT NULL DEFAULT 0,
+    correct_count  BIGINT NOT NULL DEFAULT 0,
+    updated_at     TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_question_analytics_quiz_id ON quiz_question_analytics (quiz_id);
+
+-- Selections per answer option; free-text questions are not broken down.
+CREATE TABLE IF NOT EXISTS quiz_question_answer_analytics (
+    question_id    BIGINT       NOT NULL REFERENCES quiz_question_analytics (question_id) ON DELETE CASCADE,
+    answer         VARCHAR(255) NOT NULL,
+    response_count BIGINT       NOT NULL,
+    PRIMARY KEY (question_id, answer)
+);
@@ -0,0 +1,24 @@
+-- One row per (user, quiz) holding the attempts used and the attempt in progress.
+-- New attempts are admitted with a conditional UPDATE on this row instead of reading the attempt history.
+
+CREATE TABLE IF NOT EXISTS quiz_attempt_counter (
+    user_id           BIGINT    NOT NULL,
+    quiz_id           BIGINT    NOT NULL REFERENCES quiz (quiz_id) ON DELETE CASCADE,
+    attempts_used     INTEGER   NOT NULL DEFAULT 0,
+    last_attempt      BIGINT    NOT NULL DEFAULT 0,
+    active_attempt_id BIGINT,
+    updated_at        TIMESTAMP,
+    PRIMARY KEY (user_id, quiz_id)
+);
+
+-- Backfill from existing attempts. If duplicate IN_PROGRESS attempts already exist, the newest one becomes active.
+INSERT INTO quiz_attempt_counter (user_id, quiz_id, attempts_used, last_attempt, active_attempt_id, updated_at)
+SELECT qa.user_id,
+       qa.quiz_id,
+       COUNT(*),
+       MAX(qa.attempt),
+       MAX(qa.quiz_attempt_id) FILTER (WHERE qa.status = 'IN_PROGRESS'),
+       NOW()
+FROM quiz_attempt qa
+GROUP BY qa.user_id, qa.quiz_id
+ON CONFLICT (user_id, quiz_id) DO NOTHING;
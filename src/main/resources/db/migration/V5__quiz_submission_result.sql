@@ -0,0 +1,8 @@
+-- Final submission result per attempt, so a retried submit replays the original response instead of failing.
+
+CREATE TABLE IF NOT EXISTS quiz_submission_result (
+    quiz_attempt_id BIGINT      NOT NULL PRIMARY KEY REFERENCES quiz_attempt (quiz_attempt_id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(64),
+    result          TEXT        NOT NULL,
+    created_at      TIMESTAMP   NOT NULL
+);
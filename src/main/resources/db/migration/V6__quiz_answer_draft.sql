@@ -0,0 +1,9 @@
+-- Staging table for answers autosaved during an attempt; rows are promoted to user_response on submit.
+
+CREATE TABLE IF NOT EXISTS quiz_answer_draft (
+    quiz_attempt_id BIGINT    NOT NULL REFERENCES quiz_attempt (quiz_attempt_id) ON DELETE CASCADE,
+    question_id     BIGINT    NOT NULL REFERENCES quiz_question (question_id) ON DELETE CASCADE,
+    user_answer     TEXT      NOT NULL,
+    saved_at        TIMESTAMP NOT NULL,
+    PRIMARY KEY (quiz_attempt_id, question_id)
+);
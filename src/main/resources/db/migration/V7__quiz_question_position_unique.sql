@@ -0,0 +1,16 @@
+-- Question positions are unique per quiz. The check is deferred to commit so that range shifts and
+-- bulk reorders can move positions through each other within a single transaction.
+
+-- Close gaps and resolve duplicate positions left by the former per-row reordering.
+UPDATE quiz_question q
+SET question_position = r.new_position
+FROM (SELECT question_id,
+             ROW_NUMBER() OVER (PARTITION BY quiz_id ORDER BY question_position, question_id) AS new_position
+      FROM quiz_question) r
+WHERE q.question_id = r.question_id
+  AND q.question_position <> r.new_position;
+
+ALTER TABLE quiz_question DROP CONSTRAINT IF EXISTS uk_quiz_question_position;
+
+ALTER TABLE quiz_question
+    ADD CONSTRAINT uk_quiz_question_position UNIQUE (quiz_id, question_position) DEFERRABLE INITIALLY DEFERRED;
@@ -0,0 +1,21 @@
+-- Questions are ordered by sparse rank keys instead of dense positions. Keys are spaced by 65536
+-- (CommonConstants.QUESTION_RANK_GAP), so an insert or move takes a key between its neighbours and
+-- writes a single row. Positions shown to clients are derived from the key order.
+
+ALTER TABLE quiz_question ADD COLUMN IF NOT EXISTS rank_key BIGINT;
+
+UPDATE quiz_question q
+SET rank_key = r.new_rank * 65536
+FROM (SELECT question_id,
+             ROW_NUMBER() OVER (PARTITION BY quiz_id ORDER BY question_position, question_id) AS new_rank
+      FROM quiz_question) r
+WHERE q.question_id = r.question_id;
+
+ALTER TABLE quiz_question ALTER COLUMN rank_key SET NOT NULL;
+
+ALTER TABLE quiz_question DROP CONSTRAINT IF EXISTS uk_quiz_question_position;
+ALTER TABLE quiz_question DROP COLUMN IF EXISTS question_position;
+
+-- Deferred so the rebalancer and bulk reorders can swap keys within a single statement.
+ALTER TABLE quiz_question
+    ADD CONSTRAINT uk_quiz_question_rank_key UNIQUE (quiz_id, rank_key) DEFERRABLE INITIALLY DEFERRED;
@@ -0,0 +1,16 @@
+-- One row per stored media object with the SHA-256 of its uploaded bytes.
+-- Uploads whose digest is already stored in the same folder reuse the object instead of storing it again;
+-- ref_count is the number of course contents pointing at the object, which is deleted with the last one.
+-- Objects uploaded before this table existed are not tracked and stay owned by their single course content.
+
+CREATE TABLE IF NOT EXISTS media_object (
+    object_key     VARCHAR(1024) PRIMARY KEY,
+    folder         VARCHAR(255)  NOT NULL,
+    file_name      VARCHAR(1024) NOT NULL,
+    content_hash   CHAR(64)      NOT NULL,
+    content_length BIGINT        NOT NULL,
+    ref_count      INTEGER       NOT NULL DEFAULT 1,
+    created_at     TIMESTAMP     NOT NULL,
+    updated_at     TIMESTAMP     NOT NULL,
+    CONSTRAINT uk_media_object_folder_hash UNIQUE (folder, content_hash)
+);
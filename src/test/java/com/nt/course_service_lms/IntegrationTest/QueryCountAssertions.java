@@ -0,0 +1,31 @@
+package com.nt.course_service_lms.IntegrationTest;
+
+import com.nt.course_service_lms.config.QueryBudgetFilter;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions on the number of SQL statements an endpoint issued, read from the
+ * {@code X-Query-Count} header written by {@link QueryBudgetFilter}.
+ * Use them in integration tests to fail the build when an endpoint regresses into N+1 queries.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static long queryCount(final ResponseEntity<?> response) {
+        String header = response.getHeaders().getFirst(QueryBudgetFilter.QUERY_COUNT_HEADER);
+        assertThat(header)
+                .as("response carries the %s header", QueryBudgetFilter.QUERY_COUNT_HEADER)
+                .isNotNull();
+        return Long.parseLong(header);
+    }
+
+    public static void assertQueryCountAtMost(final ResponseEntity<?> response, final long maxStatements) {
+        assertThat(queryCount(response))
+                .as("SQL statements issued by the request")
+                .isLessThanOrEqualTo(maxStatements);
+    }
+}
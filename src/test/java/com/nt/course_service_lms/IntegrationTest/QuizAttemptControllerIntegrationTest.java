@@ -2,11 +2,13 @@ package com.nt.course_service_lms.IntegrationTest;
 
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptCreateInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
+import com.nt.course_service_lms.dto.outDTO.CourseQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByCourseIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByUserIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
 import com.nt.course_service_lms.dto.outDTO.StandardResponseOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptDetailsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.UserQuizAttemptReportOutDTO;
 import com.nt.course_service_lms.entity.Course;
 import com.nt.course_service_lms.entity.Quiz;
 import com.nt.course_service_lms.entity.QuizAttempt;
@@ -37,6 +39,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import static com.nt.course_service_lms.IntegrationTest.QueryCountAssertions.assertQueryCountAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
 
 
@@ -740,6 +743,7 @@ class QuizAttemptControllerIntegrationTest {
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().getMessage()).contains("User Attempt Details Fetched Successfully");
+        assertQueryCountAtMost(response, 5);
     }
 
 
@@ -762,6 +766,58 @@ class QuizAttemptControllerIntegrationTest {
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().getMessage()).contains("User Attempt Details Fetched Successfully");
+        assertQueryCountAtMost(response, 5);
+    }
+
+
+    @Test
+    @Order(27)
+    void shouldGetCompactQuizAttemptReportByUserId() {
+        HttpEntity<Void> entity = new HttpEntity<>(createAdminHeaders());
+
+
+        ResponseEntity<StandardResponseOutDTO<UserQuizAttemptReportOutDTO>> response = restTemplate.exchange(
+                getBaseUrl() + "/quiz-attempt-details/" + testUserId + "/compact",
+                HttpMethod.GET,
+                entity,
+                new ParameterizedTypeReference<StandardResponseOutDTO<UserQuizAttemptReportOutDTO>>() {
+                }
+        );
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getData().getQuestions()).isNotNull();
+        assertThat(response.getBody().getData().getCourses()).isNotNull();
+        assertQueryCountAtMost(response, 5);
+    }
+
+
+    @Test
+    @Order(28)
+    void shouldGetCompactQuizAttemptReportByCourseId() {
+        HttpEntity<Void> entity = new HttpEntity<>(createAdminHeaders());
+
+
+        ResponseEntity<StandardResponseOutDTO<CourseQuizAttemptReportOutDTO>> response = restTemplate.exchange(
+                getBaseUrl() + "/quiz-attempt-details/course/" + testCourseId + "/compact",
+                HttpMethod.GET,
+                entity,
+                new ParameterizedTypeReference<StandardResponseOutDTO<CourseQuizAttemptReportOutDTO>>() {
+                }
+        );
+
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        CourseQuizAttemptReportOutDTO report = response.getBody().getData();
+        assertThat(report.getUsers()).isNotNull();
+        report.getUsers().stream()
+                .flatMap(user -> user.getUserQuizAttemptDetailsOutDTOS().stream())
+                .flatMap(attempt -> attempt.getUserResponses().stream())
+                .forEach(answer -> {
+                    assertThat(answer.getQuestionText()).isNull();
+                    assertThat(report.getQuestions()).containsKey(answer.getQuestionId());
+                });
+        assertQueryCountAtMost(response, 5);
     }
 
 
@@ -769,7 +825,7 @@ class QuizAttemptControllerIntegrationTest {
 
 
     @Test
-    @Order(27)
+    @Order(29)
     void shouldDeleteQuizAttemptSuccessfully() {
         // Create a temporary attempt for deletion
         QuizAttempt tempAttempt = QuizAttempt.builder()
@@ -810,7 +866,7 @@ class QuizAttemptControllerIntegrationTest {
 
 
     @Test
-    @Order(28)
+    @Order(30)
     void shouldReturn404WhenDeletingNonExistingAttempt() {
         HttpEntity<Void> entity = new HttpEntity<>(createAdminHeaders());
 
@@ -831,7 +887,7 @@ class QuizAttemptControllerIntegrationTest {
 
 
     @Test
-    @Order(29)
+    @Order(31)
     void shouldHandleInvalidPathVariable() {
         HttpEntity<Void> entity = new HttpEntity<>(createAdminHeaders());
 
@@ -853,7 +909,7 @@ class QuizAttemptControllerIntegrationTest {
 
 
     @Test
-    @Order(30)
+    @Order(32)
     void cleanUpTestData() {
         // Clean up quiz attempts
         quizAttemptRepository.deleteAll();
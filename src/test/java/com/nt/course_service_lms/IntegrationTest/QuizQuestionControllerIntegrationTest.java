@@ -1,5 +1,6 @@
 package com.nt.course_service_lms.IntegrationTest;
 
+import com.nt.course_service_lms.constants.CommonConstants;
 import com.nt.course_service_lms.dto.inDTO.QuizQuestionInDTO;
 import com.nt.course_service_lms.dto.inDTO.UpdateQuizQuestionInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
@@ -129,6 +130,7 @@ class QuizQuestionControllerIntegrationTest {
                 .explanation("The correct syntax is 'int x;' to declare an integer variable.")
                 .required(true)
                 .position(1)
+                .rankKey(1 * CommonConstants.QUESTION_RANK_GAP)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -145,6 +147,7 @@ class QuizQuestionControllerIntegrationTest {
                 .explanation("class, interface, and abstract are Java keywords.")
                 .required(true)
                 .position(2)
+                .rankKey(2 * CommonConstants.QUESTION_RANK_GAP)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
@@ -161,6 +164,7 @@ class QuizQuestionControllerIntegrationTest {
                 .explanation("String objects cannot be modified after creation, StringBuilder allows modification.")
                 .required(false)
                 .position(3)
+                .rankKey(3 * CommonConstants.QUESTION_RANK_GAP)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
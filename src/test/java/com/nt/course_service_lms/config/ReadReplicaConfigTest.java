@@ -0,0 +1,103 @@
+package com.nt.course_service_lms.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadReplicaConfigTest {
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager requestEntityManager;
+    private JpaTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = h2("config_primary");
+        DataSource replica = h2("config_replica");
+        tagDatabase(primary, "primary");
+        tagDatabase(replica, "replica");
+
+        Map<String, Object> properties = new HashMap<>();
+        new ReadReplicaConfig().replicaConnectionHandlingCustomizer().customize(properties);
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, 60_000L)));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan("com.nt.course_service_lms.config");
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+
+        // Same binding as the open-in-view interceptor: one entity manager for the whole request
+        requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+        ReadRoutingContext.beginRequest();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        EntityManagerFactoryUtils.closeEntityManager(requestEntityManager);
+        factoryBean.destroy();
+        ReadRoutingContext.clear();
+    }
+
+    @Test
+    void writeAfterReadOnlyTransactionInSameRequest_UsesPrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        String readFrom = readOnly.execute(status -> whichDatabase());
+        String writtenTo = readWrite.execute(status -> {
+            requestEntityManager.createNativeQuery("INSERT INTO db_role VALUES ('written')").executeUpdate();
+            return whichDatabase();
+        });
+
+        assertEquals("replica", readFrom);
+        assertEquals("primary", writtenTo);
+    }
+
+    private String whichDatabase() {
+        return (String) requestEntityManager.createNativeQuery("SELECT role FROM db_role ORDER BY role")
+                .setMaxResults(1)
+                .getSingleResult();
+    }
+
+    private static DataSource h2(final String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static void tagDatabase(final DataSource dataSource, final String role) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS db_role (role VARCHAR(20))");
+            statement.execute("DELETE FROM db_role");
+            statement.execute("INSERT INTO db_role VALUES ('" + role + "')");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.nt.course_service_lms.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        tagDatabase(primary, "primary");
+        tagDatabase(replica, "replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, replica, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        ReadRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() throws SQLException {
+        startTransaction(true);
+
+        assertEquals("replica", whichDatabase(routingDataSource));
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() throws SQLException {
+        startTransaction(false);
+
+        assertEquals("primary", whichDatabase(routingDataSource));
+    }
+
+    @Test
+    void noTransaction_UsesPrimary() throws SQLException {
+        assertEquals("primary", whichDatabase(routingDataSource));
+    }
+
+    @Test
+    void readYourWritesOverride_UsesPrimary() throws SQLException {
+        ReadRoutingContext.forcePrimary();
+        startTransaction(true);
+
+        assertEquals("primary", whichDatabase(routingDataSource));
+    }
+
+    @Test
+    void readAfterWriteInSameRequest_UsesPrimary() throws SQLException {
+        ReadRoutingContext.beginRequest();
+        startTransaction(false);
+        whichDatabase(routingDataSource);
+
+        startTransaction(true);
+
+        assertEquals("primary", whichDatabase(routingDataSource));
+    }
+
+    @Test
+    void readAfterWriteOutsideRequest_UsesReplica() throws SQLException {
+        startTransaction(false);
+        whichDatabase(routingDataSource);
+
+        startTransaction(true);
+
+        assertEquals("replica", whichDatabase(routingDataSource));
+    }
+
+    @Test
+    void replicaUnavailable_FallsBackToPrimary() throws SQLException {
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        routingDataSource = new ReplicaRoutingDataSource(primary, broken, 60_000L);
+        startTransaction(true);
+
+        assertEquals("primary", whichDatabase(routingDataSource));
+        assertFalse(routingDataSource.isReplicaAvailable());
+    }
+
+    private static void startTransaction(final boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static DataSource h2(final String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static void tagDatabase(final DataSource dataSource, final String role) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS db_role (role VARCHAR(20))");
+            statement.execute("DELETE FROM db_role");
+            statement.execute("INSERT INTO db_role VALUES ('" + role + "')");
+        }
+    }
+
+    private static String whichDatabase(final DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT role FROM db_role")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
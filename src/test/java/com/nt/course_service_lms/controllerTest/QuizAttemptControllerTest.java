@@ -6,6 +6,8 @@ import com.nt.course_service_lms.controller.QuizAttemptController;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptCreateInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizStartOutDTO;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.service.QuizAttemptService;
 import org.junit.jupiter.api.BeforeEach;
@@ -117,6 +119,29 @@ class QuizAttemptControllerTest {
                 .andExpect(jsonPath("$.quizAttemptId").value(1L));
     }
 
+    @Test
+    void startQuizAttempt_ShouldReturnAttemptQuestionsAndDeadline() throws Exception {
+        // Given
+        QuizStartOutDTO started = QuizStartOutDTO.builder()
+                .attempt(quizAttemptOutDTO)
+                .questions(Collections.singletonList(QuizQuestionOutDTO.builder().questionId(5L).build()))
+                .timeLimit(30)
+                .deadline(LocalDateTime.now().plusMinutes(30))
+                .build();
+        when(quizAttemptService.startQuizAttempt(any(QuizAttemptCreateInDTO.class))).thenReturn(started);
+
+        // When & Then
+        mockMvc.perform(post("/api/service-api/quiz-attempt/start")
+                        .header("X-Test-Role", "EMPLOYEE")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quizAttemptCreateInDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attempt.quizAttemptId").value(1L))
+                .andExpect(jsonPath("$.questions[0].questionId").value(5L))
+                .andExpect(jsonPath("$.timeLimit").value(30))
+                .andExpect(jsonPath("$.deadline").exists());
+    }
+
     // UPDATE QUIZ ATTEMPT TESTS
     @Test
     void updateQuizAttempt_ShouldReturnUpdatedAttempt_WhenAdminAccess() throws Exception {
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nt.course_service_lms.config.JwtUtil;
 import com.nt.course_service_lms.config.TestSecurityConfig;
 import com.nt.course_service_lms.controller.QuizQuestionController;
+import com.nt.course_service_lms.dto.inDTO.QuestionReorderInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizQuestionInDTO;
 import com.nt.course_service_lms.dto.inDTO.UpdateQuizQuestionInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
@@ -211,6 +212,28 @@ class QuizQuestionControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void reorderQuestions_ShouldReturnOrderedQuestions_WhenValidInput() throws Exception {
+        when(quizQuestionService.reorderQuestions(anyLong(), any(QuestionReorderInDTO.class)))
+                .thenReturn(List.of(quizQuestionOutDTO));
+
+        mockMvc.perform(put("/api/service-api/quiz-questions/quiz/1/reorder")
+                        .header("X-Test-Role", "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new QuestionReorderInDTO(List.of(2L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    void reorderQuestions_ShouldReturnBadRequest_WhenListEmpty() throws Exception {
+        mockMvc.perform(put("/api/service-api/quiz-questions/quiz/1/reorder")
+                        .header("X-Test-Role", "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new QuestionReorderInDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteQuestion_ShouldReturnSuccess_WhenQuestionExists() throws Exception {
         doNothing().when(quizQuestionService).deleteQuestion(1L);
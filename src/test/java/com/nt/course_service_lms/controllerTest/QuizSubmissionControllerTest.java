@@ -186,7 +186,7 @@ class QuizSubmissionControllerTest {
     // SUBMIT QUIZ TESTS
     @Test
     void submitQuiz_ShouldReturnResult_WhenValidInput() throws Exception {
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"))).thenReturn(quizSubmissionResultOutDTO);
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"), any())).thenReturn(quizSubmissionResultOutDTO);
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
                         .header("X-Test-Role", "ADMIN")
@@ -196,9 +196,23 @@ class QuizSubmissionControllerTest {
                 .andExpect(jsonPath("$.data.totalScore").value(85.0));
     }
 
+    @Test
+    void submitQuiz_ShouldPassIdempotencyKey_WhenHeaderPresent() throws Exception {
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"), eq("retry-key-1")))
+                .thenReturn(quizSubmissionResultOutDTO);
+
+        mockMvc.perform(post("/api/service-api/quiz-submissions/1")
+                        .header("X-Test-Role", "EMPLOYEE")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(quizSubmissionInDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalScore").value(85.0));
+    }
+
     @Test
     void submitQuiz_ShouldReturnResult_WhenEmployeeRole() throws Exception {
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"))).thenReturn(quizSubmissionResultOutDTO);
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"), any())).thenReturn(quizSubmissionResultOutDTO);
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
                         .header("X-Test-Role", "EMPLOYEE")
@@ -211,7 +225,7 @@ class QuizSubmissionControllerTest {
     @Test
     void submitQuiz_ShouldReturnResult_WhenCustomSubmissionType() throws Exception {
         quizSubmissionResultOutDTO.setSubmissionType("AUTO_SAVE");
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("AUTO_SAVE"))).thenReturn(quizSubmissionResultOutDTO);
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("AUTO_SAVE"), any())).thenReturn(quizSubmissionResultOutDTO);
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
                         .header("X-Test-Role", "ADMIN")
@@ -224,7 +238,7 @@ class QuizSubmissionControllerTest {
 
     @Test
     void submitQuiz_ShouldReturnResult_WhenDefaultSubmissionType() throws Exception {
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"))).thenReturn(quizSubmissionResultOutDTO);
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"), any())).thenReturn(quizSubmissionResultOutDTO);
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
                         .header("X-Test-Role", "ADMIN")
@@ -262,7 +276,7 @@ class QuizSubmissionControllerTest {
 
     @Test
     void submitQuiz_ShouldReturnNotFound_WhenQuizAttemptNotExists() throws Exception {
-        when(quizSubmissionService.submitQuiz(eq(999L), anyList(), anyString()))
+        when(quizSubmissionService.submitQuiz(eq(999L), anyList(), anyString(), any()))
                 .thenThrow(new ResourceNotFoundException("Quiz attempt not found"));
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/999")
@@ -274,7 +288,7 @@ class QuizSubmissionControllerTest {
 
     @Test
     void submitQuiz_ShouldReturnBadRequest_WhenQuizAttemptNotInProgress() throws Exception {
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), anyString()))
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), anyString(), any()))
                 .thenThrow(new ResourceNotValidException("Quiz attempt is not in progress"));
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
@@ -290,7 +304,7 @@ class QuizSubmissionControllerTest {
         QuizSubmissionInDTO emptySubmission = QuizSubmissionInDTO.builder().userResponses(Collections.emptyList()).build();
         quizSubmissionResultOutDTO.setTotalScore(BigDecimal.ZERO);
 
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"))).thenReturn(quizSubmissionResultOutDTO);
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), eq("MANUAL"), any())).thenReturn(quizSubmissionResultOutDTO);
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
                         .header("X-Test-Role", "ADMIN")
@@ -303,7 +317,7 @@ class QuizSubmissionControllerTest {
     @Test
     void submitQuiz_ShouldReturnResult_WhenNullUserResponses() throws Exception {
         QuizSubmissionInDTO nullSubmission = QuizSubmissionInDTO.builder().userResponses(null).build();
-        when(quizSubmissionService.submitQuiz(eq(1L), any(), eq("MANUAL"))).thenReturn(quizSubmissionResultOutDTO);
+        when(quizSubmissionService.submitQuiz(eq(1L), any(), eq("MANUAL"), any())).thenReturn(quizSubmissionResultOutDTO);
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
                         .header("X-Test-Role", "ADMIN")
@@ -324,7 +338,7 @@ class QuizSubmissionControllerTest {
     // ERROR HANDLING TESTS
     @Test
     void submitQuiz_ShouldReturnInternalServerError_WhenUnexpectedError() throws Exception {
-        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), anyString()))
+        when(quizSubmissionService.submitQuiz(eq(1L), anyList(), anyString(), any()))
                 .thenThrow(new RuntimeException("Unexpected error"));
 
         mockMvc.perform(post("/api/service-api/quiz-submissions/1")
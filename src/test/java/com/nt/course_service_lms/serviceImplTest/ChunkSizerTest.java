@@ -0,0 +1,137 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.service.serviceImpl.ChunkSizer;
+import com.nt.course_service_lms.service.serviceImpl.LocalMediaStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static com.nt.course_service_lms.constants.S3Constants.DEFAULT_CHUNK_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChunkSizerTest {
+
+    private static final long MB = 1024L * 1024;
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    @TempDir
+    Path root;
+
+    private LocalMediaStore store;
+    private MediaStreamingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ChunkSizer chunkSizer;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalMediaStore(root);
+        properties = new MediaStreamingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        chunkSizer = new ChunkSizer(store, properties, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    void unknownViewer_shouldGetDefaultChunkForOtherContent() {
+        long size = chunkSizer.chunkSize(null, "audio/talk.mp3", "audio/mpeg", 100 * MB, 0);
+
+        assertEquals(5 * MB, size);
+        assertEquals(1L, meterRegistry.get("lms.media.chunk.size")
+                .tag("kind", "other").tag("basis", "default").summary().count());
+    }
+
+    @Test
+    void measuredViewer_shouldGetWhatMovesInTargetTime() {
+        chunkSizer.recordTransfer("viewer", MB, SECOND_NANOS);
+
+        assertEquals(2 * MB, chunkSizer.chunkSize("viewer", "audio/talk.mp3", "audio/mpeg", 100 * MB, 0));
+    }
+
+    @Test
+    void throughput_shouldBeSmoothedAndClamped() {
+        chunkSizer.recordTransfer("viewer", MB, SECOND_NANOS);
+        chunkSizer.recordTransfer("viewer", 2 * MB, SECOND_NANOS);
+
+        assertEquals(1.3 * MB, chunkSizer.getThroughput("viewer"), 1.0);
+
+        chunkSizer.recordTransfer("fast", 100 * MB, SECOND_NANOS);
+        assertEquals(16 * MB, chunkSizer.chunkSize("fast", "audio/talk.mp3", "audio/mpeg", 1000 * MB, 0));
+    }
+
+    @Test
+    void smallTransfers_shouldNotBeMeasured() {
+        chunkSizer.recordTransfer("viewer", 1024, SECOND_NANOS);
+
+        assertEquals(0.0, chunkSizer.getThroughput("viewer"));
+    }
+
+    @Test
+    void pdfChunks_shouldEndOnPageBoundary() {
+        assertEquals(256 * 1024, chunkSizer.chunkSize(null, "pdf/notes.pdf", "application/pdf", 10 * MB, 0));
+
+        long size = chunkSizer.chunkSize(null, "pdf/notes.pdf", "application/pdf", 10 * MB, 1000);
+        assertEquals(0, (1000 + size) % (64 * 1024));
+
+        chunkSizer.recordTransfer("viewer", 50 * MB, SECOND_NANOS);
+        assertEquals(MB, chunkSizer.chunkSize("viewer", "pdf/notes.pdf", "application/pdf", 10 * MB, 0));
+    }
+
+    @Test
+    void videoChunks_shouldFollowBitrate() throws IOException {
+        byte[] video = mp4(4 * (int) MB, 40);
+        store.put("video/lecture.mp4", new ByteArrayInputStream(video), video.length, "video/mp4");
+        long bytesPerSecond = (long) (video.length / 40.0);
+
+        assertEquals(bytesPerSecond * 10,
+                chunkSizer.chunkSize(null, "video/lecture.mp4", "video/mp4", video.length, 0));
+
+        chunkSizer.recordTransfer("slow", 64 * 1024, SECOND_NANOS);
+        assertEquals(bytesPerSecond * 4,
+                chunkSizer.chunkSize("slow", "video/lecture.mp4", "video/mp4", video.length, 0));
+    }
+
+    @Test
+    void measuredStream_shouldRecordThroughputOnClose() throws IOException {
+        InputStream input = chunkSizer.measure("viewer", new ByteArrayInputStream(new byte[128 * 1024]));
+
+        input.readAllBytes();
+        input.close();
+
+        assertTrue(chunkSizer.getThroughput("viewer") > 0);
+    }
+
+    @Test
+    void disabledChunking_shouldUseFixedChunk() {
+        properties.getChunking().setEnabled(false);
+        chunkSizer.recordTransfer("viewer", MB, SECOND_NANOS);
+
+        assertEquals(DEFAULT_CHUNK_SIZE, chunkSizer.chunkSize("viewer", "pdf/notes.pdf", "application/pdf", 10 * MB, 0));
+    }
+
+    private static byte[] mp4(final int mediaBytes, final int seconds) {
+        ByteBuffer mvhd = ByteBuffer.allocate(100).putInt(0).putInt(0).putInt(0).putInt(1000).putInt(seconds * 1000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(box("ftyp", "isom\0\0\0\0".getBytes(StandardCharsets.US_ASCII)));
+        out.writeBytes(box("moov", box("mvhd", mvhd.array())));
+        out.writeBytes(box("mdat", new byte[mediaBytes]));
+        return out.toByteArray();
+    }
+
+    private static byte[] box(final String type, final byte[] payload) {
+        return ByteBuffer.allocate(8 + payload.length)
+                .putInt(8 + payload.length)
+                .put(type.getBytes(StandardCharsets.US_ASCII))
+                .put(payload)
+                .array();
+    }
+}
@@ -218,6 +218,7 @@ import com.nt.course_service_lms.repository.CourseRepository;
 import com.nt.course_service_lms.repository.UserProgressRepository;
 import com.nt.course_service_lms.service.serviceImpl.CourseContentImpl;
 import com.nt.course_service_lms.service.serviceImpl.S3FileService;
+import com.nt.course_service_lms.service.serviceImpl.StorageCleanupWorker;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -259,6 +260,9 @@ class CourseContentImplTest {
     @Mock
     private UserProgressRepository userProgressRepository;
 
+    @Mock
+    private StorageCleanupWorker storageCleanupWorker;
+
     @InjectMocks
     private CourseContentImpl courseContentService;
 
@@ -553,12 +557,10 @@ class CourseContentImplTest {
     // ==================== DELETE COURSE CONTENT TESTS ====================
 
     @Test
-    void testDeleteCourseContent_success_fileDeletedFromS3() {
+    void testDeleteCourseContent_success_fileDeletionScheduled() {
         // Arrange
         savedCourseContent.setResourceLink("test-file.mp4");
         when(courseContentRepository.findById(CONTENT_ID)).thenReturn(Optional.of(savedCourseContent));
-        when(s3FileService.deleteFile(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink()))
-                .thenReturn(true);
 
         // Act
         String result = courseContentService.deleteCourseContent(CONTENT_ID);
@@ -566,30 +568,46 @@ class CourseContentImplTest {
         // Assert
         assertNotNull(result);
         verify(courseContentRepository).findById(CONTENT_ID);
-        verify(s3FileService).deleteFile(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink());
+        verify(storageCleanupWorker).scheduleDeletion(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink());
+        verify(s3FileService, never()).deleteFile(anyString());
         verify(userProgressRepository).deleteByContentId(CONTENT_ID);
         verify(courseContentRepository).delete(savedCourseContent);
     }
 
     @Test
-    void testDeleteCourseContent_success_fileNotInS3() {
+    void testDeleteCourseContent_success_progressDeletedInBulk() {
         // Arrange
         savedCourseContent.setResourceLink("test-file.mp4");
         when(courseContentRepository.findById(CONTENT_ID)).thenReturn(Optional.of(savedCourseContent));
-        when(s3FileService.deleteFile(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink()))
-                .thenReturn(false);
+        when(userProgressRepository.deleteByContentId(CONTENT_ID)).thenReturn(3);
 
         // Act
         String result = courseContentService.deleteCourseContent(CONTENT_ID);
 
         // Assert
         assertNotNull(result);
-        verify(courseContentRepository).findById(CONTENT_ID);
-        verify(s3FileService).deleteFile(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink());
         verify(userProgressRepository).deleteByContentId(CONTENT_ID);
         verify(courseContentRepository).delete(savedCourseContent);
     }
 
+    @Test
+    void testDeleteCourseContent_sharedFile_keptInS3() {
+        // Arrange
+        savedCourseContent.setResourceLink("test-file.mp4");
+        String fileS3 = CONTENT_TYPE + "/" + savedCourseContent.getResourceLink();
+        when(courseContentRepository.findById(CONTENT_ID)).thenReturn(Optional.of(savedCourseContent));
+        when(s3FileService.releaseReference(fileS3)).thenReturn(true);
+
+        // Act
+        String result = courseContentService.deleteCourseContent(CONTENT_ID);
+
+        // Assert
+        assertNotNull(result);
+        verify(s3FileService).releaseReference(fileS3);
+        verify(storageCleanupWorker, never()).scheduleDeletion(anyString());
+        verify(courseContentRepository).delete(savedCourseContent);
+    }
+
     @Test
     void testDeleteCourseContent_contentNotFound() {
         // Arrange
@@ -607,12 +625,12 @@ class CourseContentImplTest {
     }
 
     @Test
-    void testDeleteCourseContent_s3DeleteThrowsException() {
+    void testDeleteCourseContent_scheduleDeletionThrowsException() {
         // Arrange
         savedCourseContent.setResourceLink("test-file.mp4");
         when(courseContentRepository.findById(CONTENT_ID)).thenReturn(Optional.of(savedCourseContent));
-        when(s3FileService.deleteFile(anyString()))
-                .thenThrow(new RuntimeException("S3 delete failed"));
+        when(storageCleanupWorker.scheduleDeletion(anyString()))
+                .thenThrow(new RuntimeException("Outbox insert failed"));
 
         // Act & Assert
         RuntimeException exception = assertThrows(
@@ -620,7 +638,7 @@ class CourseContentImplTest {
                 () -> courseContentService.deleteCourseContent(CONTENT_ID)
         );
 
-        verify(s3FileService).deleteFile(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink());
+        verify(storageCleanupWorker).scheduleDeletion(CONTENT_TYPE + "/" + savedCourseContent.getResourceLink());
         verify(courseContentRepository, never()).delete(any());
     }
 
@@ -844,14 +862,13 @@ class CourseContentImplTest {
         contentWithNullLink.setResourceLink(null); // Null resource link
 
         when(courseContentRepository.findById(CONTENT_ID)).thenReturn(Optional.of(contentWithNullLink));
-        when(s3FileService.deleteFile(CONTENT_TYPE + "/" + null)).thenReturn(false);
 
         // Act
         String result = courseContentService.deleteCourseContent(CONTENT_ID);
 
         // Assert
         assertNotNull(result);
-        verify(s3FileService).deleteFile(CONTENT_TYPE + "/" + null);
+        verify(storageCleanupWorker, never()).scheduleDeletion(anyString());
         verify(userProgressRepository).deleteByContentId(CONTENT_ID);
         verify(courseContentRepository).delete(contentWithNullLink);
     }
@@ -0,0 +1,121 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.service.serviceImpl.FakeS3AsyncClient;
+import com.nt.course_service_lms.service.serviceImpl.LocalMediaStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.ResponsePublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FakeS3AsyncClientTest {
+
+    private static final String KEY = "video/lecture.mp4";
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path root;
+
+    private FakeS3AsyncClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        LocalMediaStore store = new LocalMediaStore(root);
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        store.put(KEY, new ByteArrayInputStream(bytes), bytes.length, "video/mp4");
+        client = new FakeS3AsyncClient(store, 1, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void headObject_shouldReturnSizeAndContentType() throws Exception {
+        HeadObjectResponse head = client.headObject(HeadObjectRequest.builder().bucket("b").key(KEY).build())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(20L, head.contentLength());
+        assertEquals("video/mp4", head.contentType());
+    }
+
+    @Test
+    void headObject_shouldFailWithNoSuchKeyForMissingObject() {
+        CompletableFuture<HeadObjectResponse> head =
+                client.headObject(HeadObjectRequest.builder().bucket("b").key("video/missing.mp4").build());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> head.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NoSuchKeyException.class, e.getCause());
+    }
+
+    @Test
+    void getObject_shouldStreamRequestedRange() throws Exception {
+        ResponseBytes<GetObjectResponse> bytes = client.getObject(
+                GetObjectRequest.builder().bucket("b").key(KEY).range("bytes=5-14").build(),
+                AsyncResponseTransformer.toBytes()).get(5, TimeUnit.SECONDS);
+
+        assertEquals("56789abcde", bytes.asUtf8String());
+        assertEquals(10L, bytes.response().contentLength());
+        assertEquals("bytes 5-14/20", bytes.response().contentRange());
+    }
+
+    @Test
+    void getObject_shouldEmitOnlyRequestedBuffers() throws Exception {
+        ResponsePublisher<GetObjectResponse> publisher = client.getObject(
+                GetObjectRequest.builder().bucket("b").key(KEY).range("bytes=0-19").build(),
+                AsyncResponseTransformer.toPublisher()).get(5, TimeUnit.SECONDS);
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch first = new CountDownLatch(1);
+
+        publisher.subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(final Subscription s) {
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer buffer) {
+                received.incrementAndGet();
+                first.countDown();
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, received.get());
+    }
+}
@@ -0,0 +1,129 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.service.MediaStore;
+import com.nt.course_service_lms.service.serviceImpl.LocalMediaStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalMediaStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalMediaStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalMediaStore(root);
+    }
+
+    @Test
+    void put_shouldStoreObjectReadableByRange() throws IOException {
+        put("video/lecture.mp4", "0123456789");
+
+        try (InputStream in = store.get("video/lecture.mp4", 2, 5)) {
+            assertEquals("2345", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = store.get("video/lecture.mp4")) {
+            assertEquals("0123456789", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void get_shouldClampRangeToObjectSize() throws IOException {
+        put("pdf/notes.pdf", "abc");
+
+        try (InputStream in = store.get("pdf/notes.pdf", 1, 100)) {
+            assertEquals("bc", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void get_shouldThrowFileNotFoundForMissingObject() {
+        assertThrows(FileNotFoundException.class, () -> store.get("video/missing.mp4", 0, 1));
+    }
+
+    @Test
+    void head_shouldReturnSizeAndContentType() throws IOException {
+        put("pdf/notes.pdf", "abcdef");
+
+        Optional<MediaStore.ObjectInfo> info = store.head("pdf/notes.pdf");
+
+        assertTrue(info.isPresent());
+        assertEquals(6L, info.get().contentLength());
+        assertEquals("application/pdf", info.get().contentType());
+        assertTrue(store.head("pdf/other.pdf").isEmpty());
+    }
+
+    @Test
+    void multipartUpload_shouldAssemblePartsInOrder() throws IOException {
+        MediaStore.MultipartUpload upload = store.startMultipartUpload("video/big.mp4", "video/mp4");
+        upload.uploadPart(2, "world!!".getBytes(StandardCharsets.UTF_8), 5);
+        upload.uploadPart(1, "hello ".getBytes(StandardCharsets.UTF_8), 6);
+
+        assertTrue(store.head("video/big.mp4").isEmpty());
+        upload.complete();
+
+        try (InputStream in = store.get("video/big.mp4")) {
+            assertArrayEquals("hello world".getBytes(StandardCharsets.UTF_8), in.readAllBytes());
+        }
+        assertEquals(List.of("video/big.mp4"), store.list("", 10));
+    }
+
+    @Test
+    void multipartUpload_abortShouldLeaveNoObject() throws IOException {
+        MediaStore.MultipartUpload upload = store.startMultipartUpload("video/aborted.mp4", "video/mp4");
+        upload.uploadPart(1, new byte[]{1, 2, 3}, 3);
+
+        upload.abort();
+
+        assertTrue(store.head("video/aborted.mp4").isEmpty());
+        assertTrue(store.list("", 10).isEmpty());
+    }
+
+    @Test
+    void list_shouldFilterByPrefixSortAndLimit() throws IOException {
+        put("video/b.mp4", "b");
+        put("video/a.mp4", "a");
+        put("pdf/c.pdf", "c");
+
+        assertEquals(List.of("video/a.mp4", "video/b.mp4"), store.list("video/", 10));
+        assertEquals(List.of("pdf/c.pdf"), store.list("", 1));
+    }
+
+    @Test
+    void delete_shouldReportWhetherObjectExisted() throws IOException {
+        put("pdf/notes.pdf", "abc");
+
+        assertTrue(store.delete("pdf/notes.pdf"));
+        assertFalse(store.delete("pdf/notes.pdf"));
+    }
+
+    @Test
+    void keysEscapingTheRootShouldBeRejected() {
+        assertThrows(ResourceNotValidException.class, () -> store.head("../outside.pdf"));
+        assertThrows(ResourceNotValidException.class, () -> put("video/../../outside.mp4", "x"));
+    }
+
+    private void put(final String key, final String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        store.put(key, new ByteArrayInputStream(bytes), bytes.length, null);
+    }
+}
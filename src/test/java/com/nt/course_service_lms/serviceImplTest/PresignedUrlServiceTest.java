@@ -0,0 +1,122 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.dto.outDTO.MediaUrlOutDTO;
+import com.nt.course_service_lms.service.serviceImpl.PresignedUrlService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PresignedUrlServiceTest {
+
+    private static final String KEY = "video/lecture.mp4";
+
+    private S3Presigner presigner;
+    private MediaStreamingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private PresignedUrlService service;
+
+    @BeforeEach
+    void setUp() {
+        // Points at a local S3-compatible store such as MinIO; signing itself needs no network
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("minio", "minio123")))
+                .endpointOverride(URI.create("http://localhost:9000"))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        properties = new MediaStreamingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        service = new PresignedUrlService(provider(presigner), "lms-media", properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+    }
+
+    @Test
+    void presign_shouldSignGetUrlAgainstConfiguredEndpoint() {
+        MediaUrlOutDTO url = service.presign(KEY, "user-1");
+
+        assertTrue(url.getUrl().startsWith("http://localhost:9000/lms-media/video/lecture.mp4?"));
+        assertTrue(url.getUrl().contains("X-Amz-Signature="));
+        assertTrue(url.getUrl().contains("X-Amz-Expires=360"));
+        assertTrue(url.getExpiresAt().isAfter(Instant.now().plus(Duration.ofSeconds(300))));
+    }
+
+    @Test
+    void presign_shouldReuseUrlForSameViewerWithinWindow() {
+        properties.getDelivery().setSigningWindowSeconds(86_400);
+
+        MediaUrlOutDTO first = service.presign(KEY, "user-1");
+        MediaUrlOutDTO second = service.presign(KEY, "user-1");
+
+        assertSame(first, second);
+        assertEquals(1.0, count("signed"));
+        assertEquals(1.0, count("hit"));
+    }
+
+    @Test
+    void presign_shouldSignSeparatelyPerViewerAndObject() {
+        service.presign(KEY, "user-1");
+        service.presign(KEY, "user-2");
+        service.presign("pdf/notes.pdf", "user-1");
+
+        assertEquals(3.0, count("signed"));
+        assertEquals(0.0, count("hit"));
+    }
+
+    @Test
+    void presign_shouldStillSignWhenCacheIsFull() {
+        properties.getDelivery().setMaxCachedUrls(0);
+
+        service.presign(KEY, "user-1");
+        service.presign(KEY, "user-1");
+
+        assertEquals(2.0, count("signed"));
+    }
+
+    @Test
+    void withoutPresigner_shouldBeUnavailable() {
+        PresignedUrlService local = new PresignedUrlService(provider(null), "", properties, meterRegistry);
+
+        assertFalse(local.isAvailable());
+        assertThrows(IllegalStateException.class, () -> local.presign(KEY, "user-1"));
+    }
+
+    @Test
+    void unlistedContentType_shouldBeProxied() {
+        assertEquals(MediaStreamingProperties.DeliveryMode.PROXY, properties.getDelivery().modeFor("audio"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<S3Presigner> provider(final S3Presigner presigner) {
+        ObjectProvider<S3Presigner> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(presigner);
+        return provider;
+    }
+
+    private double count(final String result) {
+        return meterRegistry.get("lms.media.presign").tag("result", result).counter().count();
+    }
+}
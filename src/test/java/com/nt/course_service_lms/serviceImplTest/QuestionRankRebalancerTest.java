@@ -0,0 +1,90 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.constants.CommonConstants;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.repository.QuizRepository;
+import com.nt.course_service_lms.service.serviceImpl.QuestionRankRebalancer;
+import com.nt.course_service_lms.service.serviceImpl.QuizCacheService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionRankRebalancerTest {
+
+    private static final long GAP = CommonConstants.QUESTION_RANK_GAP;
+
+    @Mock
+    private QuizQuestionRepository quizQuestionRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizCacheService quizCacheService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private QuestionRankRebalancer questionRankRebalancer;
+
+    @Test
+    void respace_assignsEvenlySpacedKeysInGivenOrder() {
+        QuizQuestion first = QuizQuestion.builder().questionId(7L).quizId(1L).rankKey(10L).build();
+        QuizQuestion second = QuizQuestion.builder().questionId(3L).quizId(1L).rankKey(11L).build();
+
+        Map<Long, Long> rankKeys = questionRankRebalancer.respace(1L, List.of(first, second));
+
+        assertEquals(Map.of(7L, GAP, 3L, 2 * GAP), rankKeys);
+        verify(quizQuestionRepository).applyRankKeys(eq(1L), eq(rankKeys), any(LocalDateTime.class));
+        verify(quizCacheService).evictQuizQuestions(1L);
+    }
+
+    @Test
+    void rebalanceQuiz_respacesCurrentOrderUnderQuizLock() {
+        QuizQuestion only = QuizQuestion.builder().questionId(5L).quizId(1L).rankKey(3L).build();
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(List.of(only));
+
+        questionRankRebalancer.rebalanceQuiz(1L);
+
+        verify(quizQuestionRepository).applyRankKeys(eq(1L), eq(Map.of(5L, GAP)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void rebalanceQuiz_skipsDeletedQuiz() {
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.empty());
+
+        questionRankRebalancer.rebalanceQuiz(1L);
+
+        verify(quizQuestionRepository, never()).applyRankKeys(anyLong(), any(), any());
+    }
+
+    @Test
+    void rebalanceCrowdedQuizzes_doesNothingWhenAllGapsAreWide() {
+        when(quizQuestionRepository.findQuizIdsWithRankGapBelow(CommonConstants.QUESTION_RANK_MIN_GAP))
+                .thenReturn(List.of());
+
+        questionRankRebalancer.rebalanceCrowdedQuizzes();
+
+        verify(quizRepository, never()).lockForQuestionOrdering(anyLong());
+    }
+}
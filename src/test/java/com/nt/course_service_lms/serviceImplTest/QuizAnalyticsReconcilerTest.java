@@ -0,0 +1,107 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.converters.UserResponseConverter;
+import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+import com.nt.course_service_lms.entity.QuizAttempt;
+import com.nt.course_service_lms.entity.UserResponse;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.UserResponseRepository;
+import com.nt.course_service_lms.service.QuizAnalyticsService;
+import com.nt.course_service_lms.service.serviceImpl.QuizAnalyticsReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuizAnalyticsReconcilerTest {
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private UserResponseRepository userResponseRepository;
+
+    @Mock
+    private UserResponseConverter userResponseConverter;
+
+    @Mock
+    private QuizAnalyticsService quizAnalyticsService;
+
+    private QuizAnalyticsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new QuizAnalyticsReconciler(quizAttemptRepository, userResponseRepository,
+                userResponseConverter, quizAnalyticsService, 300000L, 100);
+    }
+
+    private QuizAttempt gradedAttempt(final Long quizAttemptId) {
+        return QuizAttempt.builder()
+                .quizAttemptId(quizAttemptId)
+                .quizId(1L)
+                .userId(2L)
+                .attempt(1L)
+                .percentageScore(new BigDecimal("75.00"))
+                .build();
+    }
+
+    @Test
+    void reconcile_shouldDoNothingWithoutPendingAttempts() {
+        when(quizAttemptRepository.findAnalyticsPending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, reconciler.reconcile());
+
+        verify(quizAnalyticsService, never()).recordSubmission(any());
+    }
+
+    @Test
+    void reconcile_shouldReapplyPendingAttemptWithItsResponses() {
+        UserResponse stored = new UserResponse();
+        UserResponseOutDTO converted = new UserResponseOutDTO();
+        when(quizAttemptRepository.findAnalyticsPending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(gradedAttempt(5L)));
+        when(userResponseRepository.findByUserIdAndQuizIdAndAttempt(2L, 1L, 1L)).thenReturn(List.of(stored));
+        when(userResponseConverter.convertToOutDTO(stored)).thenReturn(converted);
+
+        assertEquals(1, reconciler.reconcile());
+
+        ArgumentCaptor<QuizSubmittedEvent> event = ArgumentCaptor.forClass(QuizSubmittedEvent.class);
+        verify(quizAnalyticsService).recordSubmission(event.capture());
+        assertEquals(5L, event.getValue().quizAttemptId());
+        assertEquals(1L, event.getValue().quizId());
+        assertEquals(new BigDecimal("75.00"), event.getValue().percentageScore());
+        assertEquals(List.of(converted), event.getValue().responses());
+    }
+
+    @Test
+    void reconcile_shouldContinueAfterFailedAttempt() {
+        when(quizAttemptRepository.findAnalyticsPending(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(gradedAttempt(5L), gradedAttempt(6L)));
+        when(userResponseRepository.findByUserIdAndQuizIdAndAttempt(2L, 1L, 1L)).thenReturn(List.of());
+        doThrow(new IllegalStateException("lock timeout"))
+                .doNothing()
+                .when(quizAnalyticsService).recordSubmission(any());
+
+        assertEquals(1, reconciler.reconcile());
+
+        verify(quizAnalyticsService, times(2)).recordSubmission(any());
+    }
+}
@@ -0,0 +1,236 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.course_service_lms.dto.outDTO.QuestionAnalyticsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizAnalyticsOutDTO;
+import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+import com.nt.course_service_lms.entity.Quiz;
+import com.nt.course_service_lms.entity.QuizAnalytics;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.entity.QuizQuestionAnalytics;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.repository.QuizAnalyticsRepository;
+import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.QuizQuestionAnalyticsRepository;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.repository.QuizRepository;
+import com.nt.course_service_lms.repository.UserResponseRepository;
+import com.nt.course_service_lms.service.serviceImpl.QuizAnalyticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuizAnalyticsServiceImplTest {
+
+    @Mock
+    private QuizAnalyticsRepository quizAnalyticsRepository;
+
+    @Mock
+    private QuizQuestionAnalyticsRepository quizQuestionAnalyticsRepository;
+
+    @Mock
+    private QuizRepository quizRepository;
+
+    @Mock
+    private QuizQuestionRepository quizQuestionRepository;
+
+    @Mock
+    private QuizAttemptRepository quizAttemptRepository;
+
+    @Mock
+    private UserResponseRepository userResponseRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private QuizAnalyticsServiceImpl service;
+
+    private Quiz quiz;
+    private QuizQuestion mcq;
+    private QuizQuestion shortAnswer;
+
+    @BeforeEach
+    void setUp() {
+        quiz = new Quiz();
+        quiz.setQuizId(1L);
+        quiz.setPassingScore(BigDecimal.valueOf(60));
+
+        mcq = new QuizQuestion();
+        mcq.setQuestionId(10L);
+        mcq.setQuizId(1L);
+        mcq.setQuestionType("MCQ_MULTIPLE");
+
+        shortAnswer = new QuizQuestion();
+        shortAnswer.setQuestionId(11L);
+        shortAnswer.setQuizId(1L);
+        shortAnswer.setQuestionType("SHORT_ANSWER");
+    }
+
+    private QuizAnalytics analytics(final long attempts, final long passed, final String sum, final Map<Integer, Long> histogram) {
+        return QuizAnalytics.builder()
+                .quizId(1L)
+                .attemptCount(attempts)
+                .passCount(passed)
+                .percentageSum(new BigDecimal(sum))
+                .scoreHistogram(new HashMap<>(histogram))
+                .build();
+    }
+
+    private UserResponseOutDTO response(final Long questionId, final boolean correct, final String answer) {
+        UserResponseOutDTO dto = new UserResponseOutDTO();
+        dto.setQuestionId(questionId);
+        dto.setIsCorrect(correct);
+        dto.setUserAnswer(answer);
+        return dto;
+    }
+
+    @Test
+    void recordSubmission_shouldFoldScoreAndResponsesIntoAggregates() {
+        QuizAnalytics existing = analytics(1, 0, "40.00", Map.of(40, 1L));
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAnalyticsRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(quizAttemptRepository.markAnalyticsApplied(5L)).thenReturn(1);
+        when(quizQuestionRepository.findByQuizId(1L)).thenReturn(List.of(mcq, shortAnswer));
+        when(quizQuestionAnalyticsRepository.findByQuizIdOrderByQuestionId(1L)).thenReturn(new ArrayList<>());
+        when(quizQuestionAnalyticsRepository.saveAll(anyCollection())).thenAnswer(i -> new ArrayList<>(i.getArgument(0)));
+
+        List<UserResponseOutDTO> responses = List.of(
+                response(10L, true, "[\"A\", \"C\"]"),
+                response(11L, false, "\"free text\""));
+        service.recordSubmission(new QuizSubmittedEvent(5L, 1L, new BigDecimal("80.50"), responses));
+
+        assertEquals(2, existing.getAttemptCount());
+        assertEquals(1, existing.getPassCount());
+        assertEquals(new BigDecimal("120.50"), existing.getPercentageSum());
+        assertEquals(1L, existing.getScoreHistogram().get(80));
+    }
+
+    @Test
+    void recordSubmission_shouldSkipAttemptAlreadyApplied() {
+        QuizAnalytics existing = analytics(1, 0, "40.00", Map.of(40, 1L));
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAnalyticsRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(quizAttemptRepository.markAnalyticsApplied(5L)).thenReturn(0);
+
+        service.recordSubmission(new QuizSubmittedEvent(5L, 1L, new BigDecimal("80.50"),
+                List.of(response(10L, true, "\"A\""))));
+
+        assertEquals(1, existing.getAttemptCount());
+        assertEquals(new BigDecimal("40.00"), existing.getPercentageSum());
+        verify(quizQuestionAnalyticsRepository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void recordSubmission_shouldCreateMissingAggregateRowInCurrentTransaction() {
+        QuizAnalytics created = analytics(0, 0, "0", Map.of());
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAnalyticsRepository.findForUpdate(1L)).thenReturn(Optional.empty(), Optional.of(created));
+        when(quizAttemptRepository.markAnalyticsApplied(5L)).thenReturn(1);
+
+        service.recordSubmission(new QuizSubmittedEvent(5L, 1L, new BigDecimal("70.00"), List.of()));
+
+        verify(quizAnalyticsRepository).insertIfAbsent(eq(1L), any());
+        assertEquals(1, created.getAttemptCount());
+        assertEquals(1, created.getPassCount());
+    }
+
+    @Test
+    void getQuizAnalytics_shouldServeAveragesMedianAndPassRate() {
+        QuizAnalytics stored = analytics(4, 3, "280.00", Map.of(40, 1L, 70, 1L, 80, 1L, 90, 1L));
+        QuizQuestionAnalytics questionStats = QuizQuestionAnalytics.builder()
+                .questionId(10L)
+                .quizId(1L)
+                .responseCount(4)
+                .correctCount(1)
+                .answerCounts(new HashMap<>(Map.of("A", 3L, "C", 2L)))
+                .build();
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAnalyticsRepository.findWithHistogramByQuizId(1L)).thenReturn(Optional.of(stored));
+        when(quizQuestionAnalyticsRepository.findByQuizIdOrderByQuestionId(1L)).thenReturn(List.of(questionStats));
+
+        QuizAnalyticsOutDTO result = service.getQuizAnalytics(1L);
+
+        assertEquals(4L, result.getAttemptCount());
+        assertEquals(new BigDecimal("70.00"), result.getAverageScore());
+        assertEquals(new BigDecimal("75.0"), result.getMedianScore());
+        assertEquals(new BigDecimal("0.7500"), result.getPassRate());
+        QuestionAnalyticsOutDTO question = result.getQuestions().get(0);
+        assertEquals(new BigDecimal("0.2500"), question.getCorrectRatio());
+        assertEquals(3L, question.getAnswerDistribution().get("A"));
+    }
+
+    @Test
+    void getQuizAnalytics_shouldReturnEmptyAggregatesBeforeFirstSubmission() {
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAnalyticsRepository.findWithHistogramByQuizId(1L)).thenReturn(Optional.empty());
+        when(quizQuestionAnalyticsRepository.findByQuizIdOrderByQuestionId(1L)).thenReturn(List.of());
+
+        QuizAnalyticsOutDTO result = service.getQuizAnalytics(1L);
+
+        assertEquals(0L, result.getAttemptCount());
+        assertNull(result.getAverageScore());
+        assertNull(result.getPassRate());
+    }
+
+    @Test
+    void getQuizAnalytics_shouldThrowWhenQuizMissing() {
+        when(quizRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getQuizAnalytics(1L));
+    }
+
+    @Test
+    void rebuildQuizAnalytics_shouldRecomputeFromAttemptsAndResponses() {
+        QuizAnalytics existing = analytics(9, 9, "900.00", Map.of(100, 9L));
+        QuizQuestionAnalytics stale = QuizQuestionAnalytics.builder()
+                .questionId(99L)
+                .quizId(1L)
+                .responseCount(5)
+                .build();
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(quizAnalyticsRepository.findForUpdate(1L)).thenReturn(Optional.of(existing));
+        when(quizAttemptRepository.findAppliedPercentagesByQuizId(1L))
+                .thenReturn(List.of(new BigDecimal("50.00"), new BigDecimal("65.00")));
+        when(quizQuestionRepository.findByQuizId(1L)).thenReturn(List.of(mcq));
+        when(quizQuestionAnalyticsRepository.findByQuizIdOrderByQuestionId(1L)).thenReturn(new ArrayList<>(List.of(stale)));
+        when(userResponseRepository.findAppliedAnswerRowsByQuizId(1L)).thenReturn(List.<Object[]>of(
+                new Object[]{10L, true, "\"B\""},
+                new Object[]{10L, false, "\"A\""}));
+        when(quizQuestionAnalyticsRepository.saveAll(anyCollection())).thenAnswer(i -> new ArrayList<>(i.getArgument(0)));
+
+        QuizAnalyticsOutDTO result = service.rebuildQuizAnalytics(1L);
+
+        assertEquals(2L, result.getAttemptCount());
+        assertEquals(new BigDecimal("0.5000"), result.getPassRate());
+        assertEquals(1, result.getQuestions().size());
+        QuestionAnalyticsOutDTO question = result.getQuestions().get(0);
+        assertEquals(10L, question.getQuestionId());
+        assertEquals(2L, question.getResponseCount());
+        assertEquals(1L, question.getAnswerDistribution().get("B"));
+        verify(quizAttemptRepository).markGradedAnalyticsApplied(1L);
+    }
+}
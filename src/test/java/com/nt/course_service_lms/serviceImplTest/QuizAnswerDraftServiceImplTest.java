@@ -0,0 +1,132 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.dto.inDTO.AnswerDraftInDTO;
+import com.nt.course_service_lms.dto.outDTO.AnswerDraftOutDTO;
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
+import com.nt.course_service_lms.entity.QuizAttempt;
+import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.repository.QuizAnswerDraftRepository;
+import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.service.serviceImpl.QuizAnswerDraftServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuizAnswerDraftServiceImplTest {
+
+    @Mock
+    private QuizAnswerDraftRepository draftRepository;
+
+    @Mock
+    private QuizAttemptRepository attemptRepository;
+
+    @Mock
+    private QuizQuestionRepository questionRepository;
+
+    @InjectMocks
+    private QuizAnswerDraftServiceImpl service;
+
+    private QuizAttempt attempt;
+
+    @BeforeEach
+    void setUp() {
+        attempt = new QuizAttempt();
+        attempt.setQuizAttemptId(5L);
+        attempt.setQuizId(2L);
+        attempt.setStatus("IN_PROGRESS");
+    }
+
+    private QuizQuestion question(final Long id) {
+        QuizQuestion question = new QuizQuestion();
+        question.setQuestionId(id);
+        question.setQuizId(2L);
+        return question;
+    }
+
+    @Test
+    void saveDrafts_shouldUpdateExistingAndInsertNewDrafts() {
+        QuizAnswerDraft existing = QuizAnswerDraft.builder()
+                .quizAttemptId(5L).questionId(10L).userAnswer("A").savedAt(LocalDateTime.now().minusMinutes(1)).build();
+        when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+        when(questionRepository.findByQuizId(2L)).thenReturn(List.of(question(10L), question(11L)));
+        when(draftRepository.findByQuizAttemptIdOrderByQuestionId(5L)).thenReturn(new ArrayList<>(List.of(existing)));
+
+        List<AnswerDraftOutDTO> result = service.saveDrafts(5L, List.of(
+                new AnswerDraftInDTO(11L, "C"),
+                new AnswerDraftInDTO(10L, "B"),
+                new AnswerDraftInDTO(11L, "D")));
+
+        assertEquals(2, result.size());
+        assertEquals(10L, result.get(0).getQuestionId());
+        assertEquals("B", result.get(0).getUserAnswer());
+        assertEquals("D", result.get(1).getUserAnswer());
+        assertEquals("B", existing.getUserAnswer());
+        verify(attemptRepository).lockForSubmission(5L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QuizAnswerDraft>> captor = ArgumentCaptor.forClass(List.class);
+        verify(draftRepository).persistAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(11L, captor.getValue().get(0).getQuestionId());
+    }
+
+    @Test
+    void saveDrafts_shouldRejectSubmittedAttempt() {
+        attempt.setStatus("COMPLETED");
+        when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+
+        assertThrows(ResourceNotValidException.class,
+                () -> service.saveDrafts(5L, List.of(new AnswerDraftInDTO(10L, "A"))));
+        verify(draftRepository, never()).persistAll(any());
+    }
+
+    @Test
+    void saveDrafts_shouldRejectQuestionOfAnotherQuiz() {
+        when(attemptRepository.findById(5L)).thenReturn(Optional.of(attempt));
+        when(questionRepository.findByQuizId(2L)).thenReturn(List.of(question(10L)));
+
+        assertThrows(ResourceNotValidException.class,
+                () -> service.saveDrafts(5L, List.of(new AnswerDraftInDTO(99L, "A"))));
+        verify(draftRepository, never()).persistAll(any());
+    }
+
+    @Test
+    void saveDrafts_shouldThrowWhenAttemptMissing() {
+        when(attemptRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.saveDrafts(5L, List.of(new AnswerDraftInDTO(10L, "A"))));
+    }
+
+    @Test
+    void getDrafts_shouldReturnDraftsInQuestionOrder() {
+        when(attemptRepository.existsById(5L)).thenReturn(true);
+        when(draftRepository.findByQuizAttemptIdOrderByQuestionId(5L)).thenReturn(List.of(
+                QuizAnswerDraft.builder().quizAttemptId(5L).questionId(10L).userAnswer("A").build(),
+                QuizAnswerDraft.builder().quizAttemptId(5L).questionId(11L).userAnswer("B").build()));
+
+        List<AnswerDraftOutDTO> result = service.getDrafts(5L);
+
+        assertEquals(2, result.size());
+        assertEquals("B", result.get(1).getUserAnswer());
+    }
+}
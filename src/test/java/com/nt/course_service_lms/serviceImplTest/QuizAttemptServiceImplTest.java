@@ -2,12 +2,19 @@ package com.nt.course_service_lms.serviceImplTest;
 
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptCreateInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizAttemptUpdateInDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizAttemptDetailsByCourseIDOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
+import com.nt.course_service_lms.dto.outDTO.QuizStartOutDTO;
 import com.nt.course_service_lms.entity.Quiz;
 import com.nt.course_service_lms.entity.QuizAttempt;
+import com.nt.course_service_lms.entity.QuizAttemptCounter;
+import com.nt.course_service_lms.entity.QuizQuestion;
 import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.repository.QuizAttemptCounterRepository;
 import com.nt.course_service_lms.repository.QuizAttemptRepository;
+import com.nt.course_service_lms.repository.QuizQuestionRepository;
 import com.nt.course_service_lms.repository.QuizRepository;
+import com.nt.course_service_lms.service.serviceImpl.QuestionPoolService;
 import com.nt.course_service_lms.service.serviceImpl.QuizAttemptServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +27,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -27,9 +35,15 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +59,15 @@ class QuizAttemptServiceImplTest {
     @Mock
     private QuizRepository quizRepo;
 
+    @Mock
+    private QuizAttemptCounterRepository counterRepo;
+
+    @Mock
+    private QuizQuestionRepository questionRepo;
+
+    @Mock
+    private QuestionPoolService questionPoolService;
+
     private QuizAttemptCreateInDTO createDTO;
     private QuizAttemptUpdateInDTO updateDTO;
     private Quiz quiz;
@@ -85,42 +108,116 @@ class QuizAttemptServiceImplTest {
 
     @Test
     void createQuizAttempt_shouldReturnExistingActiveAttempt() {
+        activeAttempt.setQuizAttemptId(7L);
+        QuizAttemptCounter counter = QuizAttemptCounter.builder()
+                .userId(1L).quizId(2L).attemptsUsed(1).lastAttempt(1L).activeAttemptId(7L).build();
         when(quizRepo.findById(2L)).thenReturn(Optional.of(quiz));
-        when(attemptRepo.findActiveAttemptByUserAndQuiz(1L, 2L)).thenReturn(Optional.of(activeAttempt));
+        when(counterRepo.claimAttempt(eq(1L), eq(2L), eq(3), any(LocalDateTime.class))).thenReturn(0);
+        when(counterRepo.existsByUserIdAndQuizId(1L, 2L)).thenReturn(true);
+        when(counterRepo.findByUserIdAndQuizId(1L, 2L)).thenReturn(Optional.of(counter));
+        when(attemptRepo.findById(7L)).thenReturn(Optional.of(activeAttempt));
 
         QuizAttemptOutDTO result = service.createQuizAttempt(createDTO);
 
         assertEquals(2L, result.getQuizId());
         assertEquals(1L, result.getUserId());
-        assertEquals(2, result.getAttemptsLeft());
+        assertEquals(3, result.getAttemptsLeft());
+        verify(attemptRepo, never()).save(any());
     }
 
     @Test
     void createQuizAttempt_shouldCreateNewWhenNoneActiveAndAllowed() {
-        QuizAttempt latest = new QuizAttempt();
-        latest.setAttempt(1L);
-
+        QuizAttemptCounter counter = QuizAttemptCounter.builder()
+                .userId(1L).quizId(2L).attemptsUsed(2).lastAttempt(2L).build();
+        savedAttempt.setQuizAttemptId(8L);
         when(quizRepo.findById(2L)).thenReturn(Optional.of(quiz));
-        when(attemptRepo.findActiveAttemptByUserAndQuiz(1L, 2L)).thenReturn(Optional.empty());
-        when(attemptRepo.findTopByUserIdAndQuizIdOrderByAttemptDesc(1L, 2L)).thenReturn(latest);
+        when(counterRepo.claimAttempt(eq(1L), eq(2L), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        when(counterRepo.findByUserIdAndQuizId(1L, 2L)).thenReturn(Optional.of(counter));
         when(attemptRepo.save(any())).thenReturn(savedAttempt);
 
         QuizAttemptOutDTO result = service.createQuizAttempt(createDTO);
 
         assertEquals(2L, result.getAttempt());
+        assertEquals(2, result.getAttemptsLeft());
+        assertEquals(8L, counter.getActiveAttemptId());
+        verify(attemptRepo, never()).findByUserIdAndQuizIdOrderByAttemptDesc(anyLong(), anyLong());
+    }
+
+    @Test
+    void startQuizAttempt_shouldAdmitAndReturnQuestionsWithoutAnswers() {
+        quiz.setTimeLimit(30);
+        QuizQuestion question = new QuizQuestion();
+        question.setQuestionId(5L);
+        question.setQuizId(2L);
+        question.setCorrectAnswer("[\"A\"]");
+        question.setExplanation("Because A");
+        List<QuizQuestion> questions = List.of(question);
+        QuizAttemptCounter counter = QuizAttemptCounter.builder()
+                .userId(1L).quizId(2L).attemptsUsed(2).lastAttempt(2L).build();
+        savedAttempt.setQuizAttemptId(8L);
+        savedAttempt.setStartedAt(now);
+        when(quizRepo.findById(2L)).thenReturn(Optional.of(quiz));
+        when(questionRepo.findByQuizIdOrderByPosition(2L)).thenReturn(questions);
+        when(counterRepo.claimAttempt(eq(1L), eq(2L), eq(3), any(LocalDateTime.class))).thenReturn(1);
+        when(counterRepo.findByUserIdAndQuizId(1L, 2L)).thenReturn(Optional.of(counter));
+        when(attemptRepo.save(any())).thenReturn(savedAttempt);
+        when(questionPoolService.selectQuestions(quiz, questions, 2L)).thenReturn(questions);
+
+        QuizStartOutDTO result = service.startQuizAttempt(createDTO);
+
+        assertEquals(8L, result.getAttempt().getQuizAttemptId());
+        assertEquals(2, result.getAttempt().getAttemptsLeft());
+        assertEquals(1, result.getQuestions().size());
+        assertEquals(5L, result.getQuestions().get(0).getQuestionId());
+        assertNull(result.getQuestions().get(0).getCorrectAnswer());
+        assertNull(result.getQuestions().get(0).getExplanation());
+        assertEquals(now.plusMinutes(30), result.getDeadline());
+        verify(questionPoolService, never()).getQuestionsForAttempt(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void startQuizAttempt_withoutQuestions_shouldNotConsumeAttempt() {
+        when(quizRepo.findById(2L)).thenReturn(Optional.of(quiz));
+        when(questionRepo.findByQuizIdOrderByPosition(2L)).thenReturn(List.of());
+
+        assertThrows(ResourceNotValidException.class, () -> service.startQuizAttempt(createDTO));
+
+        verify(counterRepo, never()).claimAttempt(anyLong(), anyLong(), anyInt(), any(LocalDateTime.class));
+        verify(attemptRepo, never()).save(any());
+    }
+
+    @Test
+    void createQuizAttempt_shouldCreateCounterOnFirstStart() {
+        QuizAttemptCounter counter = QuizAttemptCounter.builder()
+                .userId(1L).quizId(2L).attemptsUsed(1).lastAttempt(1L).build();
+        savedAttempt.setAttempt(1L);
+        when(quizRepo.findById(2L)).thenReturn(Optional.of(quiz));
+        when(counterRepo.claimAttempt(eq(1L), eq(2L), eq(3), any(LocalDateTime.class))).thenReturn(0, 1);
+        when(counterRepo.existsByUserIdAndQuizId(1L, 2L)).thenReturn(false);
+        when(counterRepo.findByUserIdAndQuizId(1L, 2L)).thenReturn(Optional.of(counter));
+        when(attemptRepo.save(any())).thenReturn(savedAttempt);
+
+        QuizAttemptOutDTO result = service.createQuizAttempt(createDTO);
+
+        assertEquals(1L, result.getAttempt());
+        assertEquals(3, result.getAttemptsLeft());
+        verify(counterRepo).insertIfAbsent(eq(1L), eq(2L), any(LocalDateTime.class));
+        verify(counterRepo, never()).saveAndFlush(any(QuizAttemptCounter.class));
     }
 
     @Test
     void createQuizAttempt_shouldThrowIfOverLimit() {
         quiz.setAttemptsAllowed(1);
-        QuizAttempt existing = new QuizAttempt();
-        existing.setAttempt(1L);
+        QuizAttemptCounter counter = QuizAttemptCounter.builder()
+                .userId(1L).quizId(2L).attemptsUsed(1).lastAttempt(1L).build();
 
         when(quizRepo.findById(2L)).thenReturn(Optional.of(quiz));
-        when(attemptRepo.findActiveAttemptByUserAndQuiz(1L, 2L)).thenReturn(Optional.empty());
-        when(attemptRepo.findTopByUserIdAndQuizIdOrderByAttemptDesc(1L, 2L)).thenReturn(existing);
+        when(counterRepo.claimAttempt(eq(1L), eq(2L), eq(1), any(LocalDateTime.class))).thenReturn(0);
+        when(counterRepo.existsByUserIdAndQuizId(1L, 2L)).thenReturn(true);
+        when(counterRepo.findByUserIdAndQuizId(1L, 2L)).thenReturn(Optional.of(counter));
 
         assertThrows(ResourceNotValidException.class, () -> service.createQuizAttempt(createDTO));
+        verify(attemptRepo, never()).save(any());
     }
 
     @Test
@@ -138,6 +235,33 @@ class QuizAttemptServiceImplTest {
         assertNotNull(result.getFinishedAt());
     }
 
+    @Test
+    void updateQuizAttempt_shouldCopyTypedScoreColumns() {
+        QuizAttempt existing = new QuizAttempt();
+        existing.setQuizAttemptId(1L);
+        existing.setStatus("IN_PROGRESS");
+        updateDTO.setTotalScore(BigDecimal.valueOf(8));
+        updateDTO.setMaxScore(BigDecimal.TEN);
+        updateDTO.setCorrectCount(4);
+        updateDTO.setQuestionCount(5);
+        updateDTO.setPercentageScore(BigDecimal.valueOf(80));
+        updateDTO.setSubmissionType("MANUAL");
+        updateDTO.setSubmittedAt(now);
+
+        when(attemptRepo.findById(1L)).thenReturn(Optional.of(existing));
+        when(attemptRepo.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        service.updateQuizAttempt(1L, updateDTO);
+
+        assertEquals(BigDecimal.valueOf(8), existing.getTotalScore());
+        assertEquals(BigDecimal.TEN, existing.getMaxScore());
+        assertEquals(4, existing.getCorrectCount());
+        assertEquals(5, existing.getQuestionCount());
+        assertEquals(BigDecimal.valueOf(80), existing.getPercentageScore());
+        assertEquals("MANUAL", existing.getSubmissionType());
+        assertEquals(now, existing.getSubmittedAt());
+    }
+
     @Test
     void updateQuizAttempt_shouldThrowIfInvalidTransition() {
         QuizAttempt existing = new QuizAttempt();
@@ -234,6 +358,7 @@ class QuizAttemptServiceImplTest {
         when(attemptRepo.existsById(1L)).thenReturn(true);
         service.deleteQuizAttempt(1L);
         verify(attemptRepo).deleteById(1L);
+        verify(counterRepo).releaseDeletedAttempt(eq(1L), any(LocalDateTime.class));
     }
 
     @Test
@@ -244,4 +369,55 @@ class QuizAttemptServiceImplTest {
         Optional<QuizAttemptOutDTO> result = service.getLatestAttemptByUserAndQuiz(1L, 2L);
         assertTrue(result.isPresent());
     }
+
+    @Test
+    void getQuizAttemptDetailsByCourseID_shouldFoldSortedRowsByAttempt() {
+        List<Object[]> rows = Arrays.asList(
+                courseReportRow(10L, 1L, 5L, 100L),
+                courseReportRow(10L, 1L, 5L, 101L),
+                courseReportRow(11L, 2L, 5L, 102L),
+                courseReportRow(12L, 1L, 6L, null));
+        when(attemptRepo.findQuizAttemptDetailsByCourseId(3L)).thenReturn(rows);
+
+        List<QuizAttemptDetailsByCourseIDOutDTO> result = service.getQuizAttemptDetailsByCourseID(3L, "ADMIN");
+
+        assertEquals(2, result.size());
+        QuizAttemptDetailsByCourseIDOutDTO first = result.get(0);
+        assertEquals(1L, first.getUserId());
+        assertEquals(2, first.getUserQuizAttemptDetailsOutDTOS().size());
+        assertEquals(2, first.getUserQuizAttemptDetailsOutDTOS().get(0).getUserResponses().size());
+        assertEquals(12L, first.getUserQuizAttemptDetailsOutDTOS().get(1).getQuizAttempt().getQuizAttemptId());
+        assertTrue(first.getUserQuizAttemptDetailsOutDTOS().get(1).getUserResponses().isEmpty());
+        assertEquals(2L, result.get(1).getUserId());
+        assertEquals(1, result.get(1).getUserQuizAttemptDetailsOutDTOS().get(0).getUserResponses().size());
+    }
+
+    @Test
+    void getQuizAttemptDetailsByCourseID_shouldCheckEachQuizOnceForNonAdmins() {
+        List<Object[]> rows = Arrays.asList(
+                courseReportRow(10L, 1L, 5L, 100L),
+                courseReportRow(11L, 2L, 5L, 101L),
+                courseReportRow(12L, 1L, 6L, 102L));
+        when(attemptRepo.findQuizAttemptDetailsByCourseId(3L)).thenReturn(rows);
+        when(attemptRepo.shouldShowQuizResults(anyLong())).thenReturn(true);
+
+        service.getQuizAttemptDetailsByCourseID(3L, "USER");
+
+        verify(attemptRepo, times(1)).shouldShowQuizResults(5L);
+        verify(attemptRepo, times(1)).shouldShowQuizResults(6L);
+    }
+
+    private Object[] courseReportRow(final Long quizAttemptId, final Long userId, final Long quizId, final Long responseId) {
+        Object[] row = new Object[30];
+        row[0] = quizAttemptId;
+        row[1] = 1L;
+        row[2] = quizId;
+        row[4] = userId;
+        row[5] = "user" + userId;
+        row[12] = "COMPLETED";
+        row[13] = responseId;
+        row[14] = responseId != null ? 1000L + responseId : null;
+        row[19] = BigDecimal.ONE;
+        return row;
+    }
 }
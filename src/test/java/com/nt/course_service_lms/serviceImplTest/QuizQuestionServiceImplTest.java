@@ -2,6 +2,8 @@ package com.nt.course_service_lms.serviceImplTest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.course_service_lms.constants.CommonConstants;
+import com.nt.course_service_lms.dto.inDTO.QuestionReorderInDTO;
 import com.nt.course_service_lms.dto.inDTO.QuizQuestionInDTO;
 import com.nt.course_service_lms.dto.inDTO.UpdateQuizQuestionInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizQuestionOutDTO;
@@ -10,18 +12,23 @@ import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.exception.ResourceNotValidException;
 import com.nt.course_service_lms.repository.QuizQuestionRepository;
 import com.nt.course_service_lms.repository.QuizRepository;
+import com.nt.course_service_lms.service.serviceImpl.QuestionRankRebalancer;
+import com.nt.course_service_lms.service.serviceImpl.QuizCacheService;
 import com.nt.course_service_lms.service.serviceImpl.QuizQuestionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -29,14 +36,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class QuizQuestionServiceImplTest {
 
+    private static final long GAP = CommonConstants.QUESTION_RANK_GAP;
+
     @Mock
     private QuizQuestionRepository quizQuestionRepository;
 
@@ -46,6 +58,12 @@ class QuizQuestionServiceImplTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private QuizCacheService quizCacheService;
+
+    @Mock
+    private QuestionRankRebalancer questionRankRebalancer;
+
     @InjectMocks
     private QuizQuestionServiceImpl quizQuestionService;
 
@@ -80,6 +98,7 @@ class QuizQuestionServiceImplTest {
         question.setQuizId(1L);
         question.setQuestionText("Old Text");
         question.setPosition(1);
+        question.setRankKey(GAP);
         question.setOptions("[\"OOP\"]");
         question.setCorrectAnswer("\"OOP\"");
         question.setQuestionType("MCQ_SINGLE");
@@ -90,20 +109,32 @@ class QuizQuestionServiceImplTest {
 
     @Test
     void createQuestion_success() throws JsonProcessingException {
-        when(quizRepository.existsById(1L)).thenReturn(true);
-        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(Arrays.asList());
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.countByQuizId(1L)).thenReturn(2L);
+        when(quizQuestionRepository.findMaxRankKeyByQuizId(1L)).thenReturn(2 * GAP);
         when(quizQuestionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         QuizQuestionOutDTO out = quizQuestionService.createQuestion(questionInDTO);
 
         assertNotNull(out);
-        verify(quizQuestionRepository).save(any());
+        assertEquals(3, out.getPosition());
+        ArgumentCaptor<QuizQuestion> saved = ArgumentCaptor.forClass(QuizQuestion.class);
+        verify(quizQuestionRepository).save(saved.capture());
+        assertEquals(3 * GAP, saved.getValue().getRankKey());
+        verify(quizCacheService).evictQuizQuestions(1L);
+    }
+
+    @Test
+    void createQuestion_quizNotFound_throwsException() {
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> quizQuestionService.createQuestion(questionInDTO));
+        verify(quizQuestionRepository, never()).save(any());
     }
 
     @Test
     void createQuestion_invalidJson_throwsException() throws JsonProcessingException {
-        when(quizRepository.existsById(1L)).thenReturn(true);
-        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(Arrays.asList());
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
         doThrow(JsonProcessingException.class).when(objectMapper).readTree(anyString());
 
         assertThrows(ResourceNotValidException.class, () -> quizQuestionService.createQuestion(questionInDTO));
@@ -111,7 +142,7 @@ class QuizQuestionServiceImplTest {
 
     @Test
     void getAllQuestions_returnsList() {
-        when(quizQuestionRepository.findAll()).thenReturn(Arrays.asList(question));
+        when(quizQuestionRepository.findAllOrderByQuizIdAndPosition()).thenReturn(Arrays.asList(question));
         List<QuizQuestionOutDTO> result = quizQuestionService.getAllQuestions();
         assertEquals(1, result.size());
     }
@@ -147,16 +178,19 @@ class QuizQuestionServiceImplTest {
     @Test
     void updateQuestion_success() throws JsonProcessingException {
         when(quizQuestionRepository.findById(1L)).thenReturn(Optional.of(question));
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
         when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(Arrays.asList(question));
         when(quizQuestionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
 
         QuizQuestionOutDTO result = quizQuestionService.updateQuestion(1L, updateInDTO);
         assertEquals("Updated Text", result.getQuestionText());
+        assertEquals(GAP, question.getRankKey());
     }
 
     @Test
     void updateQuestion_invalidJson_throwsException() throws JsonProcessingException {
         when(quizQuestionRepository.findById(1L)).thenReturn(Optional.of(question));
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
         when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(Arrays.asList(question));
         doThrow(JsonProcessingException.class).when(objectMapper).readTree(anyString());
         assertThrows(ResourceNotValidException.class, () -> quizQuestionService.updateQuestion(1L, updateInDTO));
@@ -165,10 +199,124 @@ class QuizQuestionServiceImplTest {
     @Test
     void deleteQuestion_success() {
         when(quizQuestionRepository.findById(1L)).thenReturn(Optional.of(question));
-        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(new ArrayList<>());
 
         assertDoesNotThrow(() -> quizQuestionService.deleteQuestion(1L));
         verify(quizQuestionRepository).delete(question);
+        verify(quizQuestionRepository, never()).applyRankKeys(anyLong(), any(), any());
+        verify(quizCacheService).evictQuizQuestions(1L);
+    }
+
+    @Test
+    void updateQuestion_movingUp_takesMidpointBetweenNeighbours() throws JsonProcessingException {
+        List<QuizQuestion> ordered = quizWithQuestions(4);
+        QuizQuestion moved = ordered.get(3);
+        updateInDTO.setPosition(2);
+        when(quizQuestionRepository.findById(4L)).thenReturn(Optional.of(moved));
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(ordered);
+        when(quizQuestionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        QuizQuestionOutDTO result = quizQuestionService.updateQuestion(4L, updateInDTO);
+
+        assertEquals(2, result.getPosition());
+        assertEquals(GAP + GAP / 2, moved.getRankKey());
+        verify(quizQuestionRepository).save(moved);
+        verify(quizQuestionRepository, never()).applyRankKeys(anyLong(), any(), any());
+        verify(questionRankRebalancer, never()).respace(anyLong(), any());
+    }
+
+    @Test
+    void updateQuestion_movingToEnd_ranksAfterLastQuestion() throws JsonProcessingException {
+        List<QuizQuestion> ordered = quizWithQuestions(3);
+        QuizQuestion moved = ordered.get(0);
+        updateInDTO.setPosition(3);
+        when(quizQuestionRepository.findById(1L)).thenReturn(Optional.of(moved));
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(ordered);
+        when(quizQuestionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        quizQuestionService.updateQuestion(1L, updateInDTO);
+
+        assertEquals(4 * GAP, moved.getRankKey());
+        verify(questionRankRebalancer, never()).respace(anyLong(), any());
+    }
+
+    @Test
+    void updateQuestion_noGapLeft_respacesQuiz() throws JsonProcessingException {
+        List<QuizQuestion> ordered = quizWithQuestions(3);
+        ordered.get(1).setRankKey(GAP + 1);
+        QuizQuestion moved = ordered.get(2);
+        updateInDTO.setPosition(2);
+        when(quizQuestionRepository.findById(3L)).thenReturn(Optional.of(moved));
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(ordered);
+        when(questionRankRebalancer.respace(eq(1L), any())).thenReturn(Map.of(1L, GAP, 3L, 2 * GAP, 2L, 3 * GAP));
+        when(quizQuestionRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        quizQuestionService.updateQuestion(3L, updateInDTO);
+
+        assertEquals(2 * GAP, moved.getRankKey());
+        verify(questionRankRebalancer).respace(1L, List.of(ordered.get(0), moved, ordered.get(1)));
+    }
+
+    @Test
+    void updateQuestion_positionOutOfRange_throwsException() {
+        updateInDTO.setPosition(3);
+        when(quizQuestionRepository.findById(1L)).thenReturn(Optional.of(question));
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(Arrays.asList(question));
+
+        assertThrows(ResourceNotValidException.class, () -> quizQuestionService.updateQuestion(1L, updateInDTO));
+        verify(quizQuestionRepository, never()).save(any());
+    }
+
+    @Test
+    void reorderQuestions_partialOrder_reusesOccupiedSlots() {
+        QuizQuestion second = QuizQuestion.builder().questionId(2L).quizId(1L).rankKey(3 * GAP).build();
+        QuizQuestion third = QuizQuestion.builder().questionId(3L).quizId(1L).rankKey(5 * GAP).build();
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdAndQuestionIdIn(1L, List.of(3L, 2L)))
+                .thenReturn(Arrays.asList(second, third));
+        when(quizQuestionRepository.applyRankKeys(eq(1L), any(), any(LocalDateTime.class))).thenReturn(2);
+        when(quizQuestionRepository.findByQuizIdOrderByPosition(1L)).thenReturn(Arrays.asList(question));
+
+        List<QuizQuestionOutDTO> result = quizQuestionService.reorderQuestions(1L,
+                new QuestionReorderInDTO(List.of(3L, 2L)));
+
+        assertEquals(1, result.size());
+        ArgumentCaptor<Map<Long, Long>> rankKeys = ArgumentCaptor.forClass(Map.class);
+        verify(quizQuestionRepository).applyRankKeys(eq(1L), rankKeys.capture(), any(LocalDateTime.class));
+        assertEquals(Map.of(3L, 3 * GAP, 2L, 5 * GAP), rankKeys.getValue());
+        verify(quizQuestionRepository, never()).save(any());
+        verify(quizCacheService).evictQuizQuestions(1L);
+    }
+
+    @Test
+    void reorderQuestions_duplicateIds_throwsException() {
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+
+        assertThrows(ResourceNotValidException.class, () -> quizQuestionService.reorderQuestions(1L,
+                new QuestionReorderInDTO(List.of(2L, 2L))));
+        verify(quizQuestionRepository, never()).applyRankKeys(anyLong(), any(), any());
+    }
+
+    @Test
+    void reorderQuestions_foreignQuestion_throwsException() {
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.of(1L));
+        when(quizQuestionRepository.findByQuizIdAndQuestionIdIn(1L, List.of(1L, 99L)))
+                .thenReturn(Arrays.asList(question));
+
+        assertThrows(ResourceNotValidException.class, () -> quizQuestionService.reorderQuestions(1L,
+                new QuestionReorderInDTO(List.of(1L, 99L))));
+        verify(quizQuestionRepository, never()).applyRankKeys(anyLong(), any(), any());
+    }
+
+    @Test
+    void reorderQuestions_quizNotFound_throwsException() {
+        when(quizRepository.lockForQuestionOrdering(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> quizQuestionService.reorderQuestions(1L,
+                new QuestionReorderInDTO(List.of(1L))));
     }
 
     @Test
@@ -176,5 +324,23 @@ class QuizQuestionServiceImplTest {
         when(quizQuestionRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> quizQuestionService.deleteQuestion(1L));
     }
-}
 
+    private List<QuizQuestion> quizWithQuestions(final int count) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            questions.add(QuizQuestion.builder()
+                    .questionId((long) i)
+                    .quizId(1L)
+                    .questionText("Question " + i)
+                    .questionType("MCQ_SINGLE")
+                    .options("[\"A\",\"B\"]")
+                    .correctAnswer("\"A\"")
+                    .points(new BigDecimal("1"))
+                    .required(true)
+                    .rankKey(i * GAP)
+                    .position(i)
+                    .build());
+        }
+        return questions;
+    }
+}
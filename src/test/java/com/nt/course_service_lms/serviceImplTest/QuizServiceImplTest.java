@@ -10,6 +10,7 @@ import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.repository.CourseContentRepository;
 import com.nt.course_service_lms.repository.CourseRepository;
 import com.nt.course_service_lms.repository.QuizRepository;
+import com.nt.course_service_lms.service.serviceImpl.QuizCacheService;
 import com.nt.course_service_lms.service.serviceImpl.QuizServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,6 +45,8 @@ class QuizServiceImplTest {
     private CourseContentRepository courseContentRepository;
     @Mock
     private QuizConverter quizConverter;
+    @Mock
+    private QuizCacheService quizCacheService;
 
     @InjectMocks
     private QuizServiceImpl quizService;
@@ -244,6 +247,7 @@ class QuizServiceImplTest {
         when(quizConverter.toOutDTO(any())).thenReturn(outDTO);
         QuizOutDTO result = quizService.updateQuiz(1L, updateDTO);
         assertEquals("Java Quiz", result.getTitle());
+        verify(quizCacheService).evictQuiz(1L);
     }
 
     @Test
@@ -273,6 +277,7 @@ class QuizServiceImplTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         quizService.deleteQuiz(1L);
         verify(quizRepository).save(quiz);
+        verify(quizCacheService).evictQuiz(1L);
         assertFalse(quiz.getIsActive());
     }
 
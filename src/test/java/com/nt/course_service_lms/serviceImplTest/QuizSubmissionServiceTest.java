@@ -7,12 +7,18 @@ import com.nt.course_service_lms.dto.inDTO.UserResponseInDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizAttemptOutDTO;
 import com.nt.course_service_lms.dto.outDTO.QuizSubmissionResultOutDTO;
 import com.nt.course_service_lms.dto.outDTO.UserResponseOutDTO;
+import com.nt.course_service_lms.entity.QuizAnswerDraft;
 import com.nt.course_service_lms.entity.QuizAttempt;
 import com.nt.course_service_lms.entity.QuizQuestion;
+import com.nt.course_service_lms.entity.QuizSubmissionResult;
+import com.nt.course_service_lms.event.QuizSubmittedEvent;
+import com.nt.course_service_lms.exception.ResourceAlreadyExistsException;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
 import com.nt.course_service_lms.exception.ResourceNotValidException;
+import com.nt.course_service_lms.repository.QuizAnswerDraftRepository;
 import com.nt.course_service_lms.repository.QuizAttemptRepository;
 import com.nt.course_service_lms.repository.QuizQuestionRepository;
+import com.nt.course_service_lms.repository.QuizSubmissionResultRepository;
 import com.nt.course_service_lms.service.QuizAttemptService;
 import com.nt.course_service_lms.service.UserResponseService;
 import com.nt.course_service_lms.service.serviceImpl.QuizSubmissionService;
@@ -21,9 +27,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -60,6 +68,15 @@ class QuizSubmissionServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private QuizSubmissionResultRepository quizSubmissionResultRepository;
+
+    @Mock
+    private QuizAnswerDraftRepository quizAnswerDraftRepository;
+
     @InjectMocks
     private QuizSubmissionService quizSubmissionService;
 
@@ -195,6 +212,40 @@ class QuizSubmissionServiceTest {
             verify(userResponseService).countCorrectAnswers(100L, 10L, 1L);
             verify(quizQuestionRepository).findAllById(anySet());
             verify(quizAttemptService).updateQuizAttempt(eq(quizAttemptId), any(QuizAttemptUpdateInDTO.class));
+            verify(eventPublisher).publishEvent(any(QuizSubmittedEvent.class));
+            verify(quizAttemptRepository).lockForSubmission(quizAttemptId);
+            verify(quizSubmissionResultRepository).save(any(QuizSubmissionResult.class));
+        }
+
+        @Test
+        @DisplayName("Should store totals in the typed score columns")
+        void shouldStoreTotalsInTypedScoreColumns() throws JsonProcessingException {
+            // Given
+            Long quizAttemptId = 1L;
+
+            when(quizAttemptRepository.findById(quizAttemptId)).thenReturn(Optional.of(mockQuizAttempt));
+            when(userResponseService.createUserResponse(mockUserResponses)).thenReturn(mockUserResponsesOut);
+            when(userResponseService.getTotalScore(100L, 10L, 1L)).thenReturn(BigDecimal.valueOf(5));
+            when(userResponseService.countCorrectAnswers(100L, 10L, 1L)).thenReturn(1L);
+            when(quizQuestionRepository.findAllById(anySet())).thenReturn(mockQuestions);
+            when(objectMapper.writeValueAsString(any())).thenReturn("{\"totalScore\":5}");
+            when(quizAttemptService.updateQuizAttempt(eq(quizAttemptId), any(QuizAttemptUpdateInDTO.class)))
+                    .thenReturn(mockQuizAttemptOut);
+
+            // When
+            quizSubmissionService.submitQuiz(quizAttemptId, mockUserResponses, "AUTO_TIMEOUT");
+
+            // Then
+            ArgumentCaptor<QuizAttemptUpdateInDTO> captor = ArgumentCaptor.forClass(QuizAttemptUpdateInDTO.class);
+            verify(quizAttemptService).updateQuizAttempt(eq(quizAttemptId), captor.capture());
+            QuizAttemptUpdateInDTO update = captor.getValue();
+            assertThat(update.getTotalScore()).isEqualByComparingTo(BigDecimal.valueOf(5));
+            assertThat(update.getMaxScore()).isEqualByComparingTo(BigDecimal.valueOf(10));
+            assertThat(update.getCorrectCount()).isEqualTo(1);
+            assertThat(update.getQuestionCount()).isEqualTo(2);
+            assertThat(update.getPercentageScore()).isEqualByComparingTo(BigDecimal.valueOf(50.00));
+            assertThat(update.getSubmissionType()).isEqualTo("AUTO_TIMEOUT");
+            assertThat(update.getSubmittedAt()).isEqualTo(update.getFinishedAt());
         }
 
         @Test
@@ -352,6 +403,124 @@ class QuizSubmissionServiceTest {
 
     }
 
+    @Nested
+    @DisplayName("Autosaved Draft Tests")
+    class AutosavedDraftTests {
+
+        @Test
+        @DisplayName("Should promote drafts not overridden by the submitted answers")
+        void shouldPromoteDraftsNotOverriddenBySubmission() throws JsonProcessingException {
+            LocalDateTime savedAt = LocalDateTime.now().minusMinutes(5);
+            when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(mockQuizAttempt));
+            when(quizAnswerDraftRepository.findByQuizAttemptIdOrderByQuestionId(1L)).thenReturn(List.of(
+                    QuizAnswerDraft.builder().quizAttemptId(1L).questionId(1L).userAnswer("C").savedAt(savedAt).build(),
+                    QuizAnswerDraft.builder().quizAttemptId(1L).questionId(3L).userAnswer("D").savedAt(savedAt).build()));
+            when(userResponseService.createUserResponse(any())).thenReturn(mockUserResponsesOut);
+            when(userResponseService.getTotalScore(100L, 10L, 1L)).thenReturn(BigDecimal.valueOf(5));
+            when(userResponseService.countCorrectAnswers(100L, 10L, 1L)).thenReturn(1L);
+            when(quizQuestionRepository.findAllById(anySet())).thenReturn(mockQuestions);
+            when(objectMapper.writeValueAsString(any())).thenReturn("{\"totalScore\":5}");
+            when(quizAttemptService.updateQuizAttempt(eq(1L), any(QuizAttemptUpdateInDTO.class)))
+                    .thenReturn(mockQuizAttemptOut);
+
+            quizSubmissionService.submitQuiz(1L, List.of(mockUserResponses.get(0)), "MANUAL");
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<UserResponseInDTO>> captor = ArgumentCaptor.forClass(List.class);
+            verify(userResponseService).createUserResponse(captor.capture());
+            assertThat(captor.getValue()).extracting(UserResponseInDTO::getQuestionId).containsExactly(1L, 3L);
+            assertThat(captor.getValue()).extracting(UserResponseInDTO::getUserAnswer).containsExactly("A", "D");
+            assertThat(captor.getValue().get(1).getAttempt()).isEqualTo(1L);
+            verify(quizAnswerDraftRepository).deleteByQuizAttemptId(1L);
+        }
+
+        @Test
+        @DisplayName("Should grade autosaved drafts on a timeout submission without responses")
+        void shouldGradeDraftsOnTimeoutWithoutResponses() throws JsonProcessingException {
+            when(quizAttemptRepository.findById(1L)).thenReturn(Optional.of(mockQuizAttempt));
+            when(quizAnswerDraftRepository.findByQuizAttemptIdOrderByQuestionId(1L)).thenReturn(List.of(
+                    QuizAnswerDraft.builder().quizAttemptId(1L).questionId(2L).userAnswer("B")
+                            .savedAt(LocalDateTime.now()).build()));
+            when(userResponseService.createUserResponse(any())).thenReturn(mockUserResponsesOut);
+            when(userResponseService.getTotalScore(100L, 10L, 1L)).thenReturn(BigDecimal.ZERO);
+            when(userResponseService.countCorrectAnswers(100L, 10L, 1L)).thenReturn(0L);
+            when(quizQuestionRepository.findAllById(anySet())).thenReturn(mockQuestions);
+            when(objectMapper.writeValueAsString(any())).thenReturn("{\"totalScore\":0}");
+            when(quizAttemptService.updateQuizAttempt(eq(1L), any(QuizAttemptUpdateInDTO.class)))
+                    .thenReturn(mockQuizAttemptOut);
+
+            QuizSubmissionResultOutDTO result = quizSubmissionService.submitQuizOnTimeout(1L, null);
+
+            assertThat(result.getUserResponses()).isEqualTo(mockUserResponsesOut);
+            verify(quizAnswerDraftRepository).deleteByQuizAttemptId(1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotent Submission Tests")
+    class IdempotentSubmissionTests {
+
+        @Test
+        @DisplayName("Should replay the stored result when a submitted attempt is retried")
+        void shouldReplayStoredResultOnRetry() throws JsonProcessingException {
+            QuizSubmissionResultOutDTO stored = QuizSubmissionResultOutDTO.builder()
+                    .quizAttempt(mockQuizAttemptOut)
+                    .totalScore(BigDecimal.valueOf(5))
+                    .build();
+            when(quizSubmissionResultRepository.findById(1L)).thenReturn(Optional.of(QuizSubmissionResult.builder()
+                    .quizAttemptId(1L)
+                    .idempotencyKey("key-1")
+                    .result("{\"totalScore\":5}")
+                    .build()));
+            when(objectMapper.readValue("{\"totalScore\":5}", QuizSubmissionResultOutDTO.class)).thenReturn(stored);
+
+            QuizSubmissionResultOutDTO result = quizSubmissionService.submitQuiz(1L, mockUserResponses, "MANUAL", "key-1");
+
+            assertThat(result).isSameAs(stored);
+            verify(quizAttemptRepository, never()).lockForSubmission(any());
+            verify(userResponseService, never()).createUserResponse(any());
+            verify(quizAttemptService, never()).updateQuizAttempt(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a retry carrying a different idempotency key")
+        void shouldRejectDifferentIdempotencyKey() {
+            when(quizSubmissionResultRepository.findById(1L)).thenReturn(Optional.of(QuizSubmissionResult.builder()
+                    .quizAttemptId(1L)
+                    .idempotencyKey("key-1")
+                    .result("{}")
+                    .build()));
+
+            assertThatThrownBy(() -> quizSubmissionService.submitQuiz(1L, mockUserResponses, "MANUAL", "key-2"))
+                    .isInstanceOf(ResourceAlreadyExistsException.class);
+            verify(userResponseService, never()).createUserResponse(any());
+        }
+
+        @Test
+        @DisplayName("Should replay a result committed by a concurrent duplicate while waiting for the lock")
+        void shouldReplayResultCommittedWhileWaitingForLock() throws JsonProcessingException {
+            QuizSubmissionResultOutDTO stored = QuizSubmissionResultOutDTO.builder().build();
+            when(quizSubmissionResultRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(
+                    QuizSubmissionResult.builder().quizAttemptId(1L).result("{}").build()));
+            when(objectMapper.readValue("{}", QuizSubmissionResultOutDTO.class)).thenReturn(stored);
+
+            QuizSubmissionResultOutDTO result = quizSubmissionService.submitQuiz(1L, mockUserResponses, "MANUAL", "key-1");
+
+            assertThat(result).isSameAs(stored);
+            verify(quizAttemptRepository).lockForSubmission(1L);
+            verify(quizAttemptRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an oversized idempotency key")
+        void shouldRejectOversizedIdempotencyKey() {
+            String key = "k".repeat(65);
+
+            assertThatThrownBy(() -> quizSubmissionService.submitQuiz(1L, mockUserResponses, "MANUAL", key))
+                    .isInstanceOf(ResourceNotValidException.class);
+        }
+    }
+
     @Nested
     @DisplayName("Submit Quiz On Timeout Tests")
     class SubmitQuizOnTimeoutTests {
@@ -0,0 +1,147 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.config.MediaStreamingProperties;
+import com.nt.course_service_lms.service.serviceImpl.ChunkSizer;
+import com.nt.course_service_lms.service.serviceImpl.LocalMediaStore;
+import com.nt.course_service_lms.service.serviceImpl.RangePrefetcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.LongUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RangePrefetcherTest {
+
+    private static final String KEY = "video/lecture.mp4";
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path root;
+
+    private LocalMediaStore store;
+    private MediaStreamingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RangePrefetcher prefetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalMediaStore(root);
+        byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+        store.put(KEY, new ByteArrayInputStream(bytes), bytes.length, "video/mp4");
+
+        properties = new MediaStreamingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        prefetcher = new RangePrefetcher(store, properties, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    void sequentialViewer_shouldBeServedFromReadAhead() throws IOException {
+        prefetcher.readAhead("viewer", KEY, 0, 4, CONTENT.length(), next -> 5);
+
+        Optional<InputStream> next = prefetcher.take("viewer", KEY, 5, 9);
+
+        assertTrue(next.isPresent());
+        assertEquals("56789", new String(next.get().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(1.0, count("hit"));
+        assertEquals(0L, prefetcher.getBufferedBytes());
+    }
+
+    @Test
+    void readAhead_shouldContinueWhileViewerStaysSequential() throws IOException {
+        prefetcher.readAhead("viewer", KEY, 0, 4, CONTENT.length(), next -> 5);
+        prefetcher.take("viewer", KEY, 5, 9);
+        prefetcher.readAhead("viewer", KEY, 5, 9, CONTENT.length(), next -> 5);
+
+        Optional<InputStream> next = prefetcher.take("viewer", KEY, 10, 14);
+
+        assertTrue(next.isPresent());
+        assertEquals("abcde", new String(next.get().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(2.0, count("hit"));
+    }
+
+    @Test
+    void growingAdaptiveChunks_shouldStillBeServedFromReadAhead() throws IOException {
+        MediaStreamingProperties.Chunking chunking = properties.getChunking();
+        chunking.setMinBytes(1);
+        chunking.setDefaultBytes(4);
+        chunking.setMinSampleBytes(1);
+        ChunkSizer chunkSizer = new ChunkSizer(store, properties, meterRegistry, Runnable::run);
+
+        assertEquals("0123", serveOpenEnded(chunkSizer, 0));
+        // The first transfer is measured, so the sizer now picks 8-byte chunks
+        chunkSizer.recordTransfer("viewer", 4, 1_000_000_000L);
+
+        assertEquals("4567", serveOpenEnded(chunkSizer, 4));
+        assertEquals("89abcdef", serveOpenEnded(chunkSizer, 8));
+        assertEquals(2.0, count("hit"));
+        assertEquals(0.0, count("cancelled"));
+    }
+
+    @Test
+    void seek_shouldCancelReadAheadAndMiss() {
+        prefetcher.readAhead("viewer", KEY, 0, 4, CONTENT.length(), next -> 5);
+
+        Optional<InputStream> next = prefetcher.take("viewer", KEY, 15, 19);
+        prefetcher.readAhead("viewer", KEY, 15, 19, CONTENT.length(), next -> 5);
+
+        assertTrue(next.isEmpty());
+        assertEquals(1.0, count("cancelled"));
+        assertEquals(1.0, count("miss"));
+        assertEquals(0L, prefetcher.getBufferedBytes());
+    }
+
+    @Test
+    void readAhead_shouldBeRejectedAboveMemoryCap() {
+        properties.getPrefetch().setMaxBufferedBytes(4);
+
+        prefetcher.readAhead("viewer", KEY, 0, 4, CONTENT.length(), next -> 5);
+
+        assertTrue(prefetcher.take("viewer", KEY, 5, 9).isEmpty());
+        assertEquals(1.0, count("rejected"));
+        assertEquals(0L, prefetcher.getBufferedBytes());
+    }
+
+    @Test
+    void viewersShouldNotShareReadAheads() {
+        prefetcher.readAhead("viewer", KEY, 0, 4, CONTENT.length(), next -> 5);
+
+        assertTrue(prefetcher.take("other", KEY, 5, 9).isEmpty());
+        assertTrue(prefetcher.take(null, KEY, 5, 9).isEmpty());
+    }
+
+    @Test
+    void disabledPrefetch_shouldNotFetchAhead() {
+        properties.getPrefetch().setEnabled(false);
+
+        prefetcher.readAhead("viewer", KEY, 0, 4, CONTENT.length(), next -> 5);
+
+        assertTrue(prefetcher.take("viewer", KEY, 5, 9).isEmpty());
+        assertEquals(0L, prefetcher.getBufferedBytes());
+    }
+
+    private String serveOpenEnded(final ChunkSizer chunkSizer, final long start) throws IOException {
+        LongUnaryOperator chunkSizeAt = at -> chunkSizer.chunkSize("viewer", KEY, null, CONTENT.length(), at);
+        long length = prefetcher.pendingLength("viewer", KEY, start).orElseGet(() -> chunkSizeAt.applyAsLong(start));
+        long end = start + length - 1;
+        Optional<InputStream> prefetched = prefetcher.take("viewer", KEY, start, end);
+        InputStream input = prefetched.isPresent() ? prefetched.get() : store.get(KEY, start, end);
+        prefetcher.readAhead("viewer", KEY, start, end, CONTENT.length(), chunkSizeAt);
+        try (input) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private double count(final String result) {
+        return meterRegistry.get("lms.media.prefetch").tag("result", result).counter().count();
+    }
+}
@@ -669,8 +669,12 @@
 
 package com.nt.course_service_lms.serviceImplTest;
 
+import com.nt.course_service_lms.entity.MediaObject;
 import com.nt.course_service_lms.exception.ResourceNotFoundException;
+import com.nt.course_service_lms.repository.MediaObjectRepository;
+import com.nt.course_service_lms.service.MediaStore;
 import com.nt.course_service_lms.service.serviceImpl.S3FileService;
+import com.nt.course_service_lms.service.serviceImpl.S3MediaStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -704,7 +708,11 @@ import software.amazon.awssdk.services.s3.model.UploadPartResponse;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -712,6 +720,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -725,6 +736,9 @@ class S3FileServiceTest {
     @Mock
     private S3Client s3Client;
 
+    @Mock
+    private MediaObjectRepository mediaObjectRepository;
+
     @InjectMocks
     private S3FileService s3FileService;
 
@@ -740,8 +754,7 @@ class S3FileServiceTest {
     void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
 
-        // Set bucket name using ReflectionTestUtils
-        ReflectionTestUtils.setField(s3FileService, "bucketName", bucketName);
+        ReflectionTestUtils.setField(s3FileService, "mediaStore", new S3MediaStore(s3Client, bucketName));
 
         // Create test files
         smallFile = new MockMultipartFile(
@@ -1065,8 +1078,8 @@ class S3FileServiceTest {
         RuntimeException exception = assertThrows(RuntimeException.class,
                 () -> s3FileService.deleteFile("test-file.pdf"));
 
-        assertTrue(exception.getMessage().contains("S3 error while deleting file"));
-        assertTrue(exception.getMessage().contains("AccessDenied"));
+        assertTrue(exception.getMessage().contains("Unexpected error while deleting file"));
+        assertTrue(exception.getMessage().contains("Access denied"));
         verify(s3Client).deleteObject(any(DeleteObjectRequest.class));
     }
 
@@ -1152,7 +1165,7 @@ class S3FileServiceTest {
         when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(headResponse);
 
         // Act
-        HeadObjectResponse result = s3FileService.getFileMetadata("test-file.pdf");
+        MediaStore.ObjectInfo result = s3FileService.getFileMetadata("test-file.pdf");
 
         // Assert
         assertNotNull(result);
@@ -1352,12 +1365,110 @@ class S3FileServiceTest {
                         .message("Internal error")
                         .build());
 
-        // Act
-        boolean result = s3FileService.deleteFile("test-file.pdf");
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> s3FileService.deleteFile("test-file.pdf"));
 
-        // Assert
-        assertFalse(result); // Should return false when existence check fails
         verify(s3Client).headObject(any(HeadObjectRequest.class));
         verify(s3Client, never()).deleteObject(any(DeleteObjectRequest.class));
     }
+
+    // ==================== DEDUPLICATION TESTS ====================
+
+    @Test
+    void testUploadFile_duplicateContent_reusesStoredFile() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(s3FileService, "dedupEnabled", true);
+        MediaObject stored = MediaObject.builder()
+                .objectKey(testFolder + "/stored_small-test.pdf")
+                .folder(testFolder)
+                .fileName("stored_small-test.pdf")
+                .refCount(1)
+                .build();
+        when(mediaObjectRepository.findByFolderAndContentHash(eq(testFolder), anyString()))
+                .thenReturn(Optional.of(stored));
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(18L).build());
+        when(mediaObjectRepository.addReference(eq(stored.getObjectKey()), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        String result = s3FileService.uploadFile(smallFile, testFolder);
+
+        // Assert
+        assertEquals("stored_small-test.pdf", result);
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testUploadFile_newContent_registersHash() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(s3FileService, "dedupEnabled", true);
+        when(mediaObjectRepository.findByFolderAndContentHash(eq(testFolder), anyString())).thenReturn(Optional.empty());
+        when(mediaObjectRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyString(), anyLong(),
+                any(LocalDateTime.class))).thenReturn(1);
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(smallFile.getBytes()));
+
+        // Act
+        String result = s3FileService.uploadFile(smallFile, testFolder);
+
+        // Assert
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(mediaObjectRepository).insertIfAbsent(eq(testFolder + "/" + result), eq(testFolder), eq(result),
+                eq(expectedHash), eq(smallFile.getSize()), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testUploadFile_storedFileMissing_uploadsAgain() throws IOException {
+        // Arrange
+        ReflectionTestUtils.setField(s3FileService, "dedupEnabled", true);
+        MediaObject stored = MediaObject.builder()
+                .objectKey(testFolder + "/lost_small-test.pdf")
+                .folder(testFolder)
+                .fileName("lost_small-test.pdf")
+                .refCount(1)
+                .build();
+        when(mediaObjectRepository.findByFolderAndContentHash(eq(testFolder), anyString()))
+                .thenReturn(Optional.of(stored));
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenThrow(NoSuchKeyException.builder().message("File not found").build());
+        when(mediaObjectRepository.insertIfAbsent(anyString(), anyString(), anyString(), anyString(), anyLong(),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        String result = s3FileService.uploadFile(smallFile, testFolder);
+
+        // Assert
+        assertTrue(result.contains("small-test.pdf"));
+        verify(mediaObjectRepository).deleteById(stored.getObjectKey());
+        verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void testReleaseReference_untrackedFile_returnsFalse() {
+        // Arrange
+        when(mediaObjectRepository.removeReference(eq("PDF/file.pdf"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertFalse(s3FileService.releaseReference("PDF/file.pdf"));
+        verify(mediaObjectRepository, never()).deleteUnreferenced(anyString());
+    }
+
+    @Test
+    void testReleaseReference_lastReference_returnsFalse() {
+        // Arrange
+        when(mediaObjectRepository.removeReference(eq("PDF/file.pdf"), any(LocalDateTime.class))).thenReturn(1);
+        when(mediaObjectRepository.deleteUnreferenced("PDF/file.pdf")).thenReturn(1);
+
+        // Act & Assert
+        assertFalse(s3FileService.releaseReference("PDF/file.pdf"));
+    }
+
+    @Test
+    void testReleaseReference_stillReferenced_returnsTrue() {
+        // Arrange
+        when(mediaObjectRepository.removeReference(eq("PDF/file.pdf"), any(LocalDateTime.class))).thenReturn(1);
+        when(mediaObjectRepository.deleteUnreferenced("PDF/file.pdf")).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(s3FileService.releaseReference("PDF/file.pdf"));
+    }
 }
@@ -0,0 +1,139 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.config.StorageCleanupProperties;
+import com.nt.course_service_lms.entity.StorageCleanupTask;
+import com.nt.course_service_lms.repository.CourseContentRepository;
+import com.nt.course_service_lms.repository.MediaObjectRepository;
+import com.nt.course_service_lms.repository.StorageCleanupTaskRepository;
+import com.nt.course_service_lms.service.serviceImpl.S3FileService;
+import com.nt.course_service_lms.service.serviceImpl.StorageCleanupWorker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageCleanupWorkerTest {
+
+    private static final String KEY = "video/lecture.mp4";
+    private static final long RETRY_BASE_MS = 1000L;
+
+    @Mock
+    private StorageCleanupTaskRepository taskRepository;
+
+    @Mock
+    private CourseContentRepository courseContentRepository;
+
+    @Mock
+    private MediaObjectRepository mediaObjectRepository;
+
+    @Mock
+    private S3FileService s3FileService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StorageCleanupWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StorageCleanupProperties properties = new StorageCleanupProperties();
+        properties.setBatchSize(2);
+        properties.setRetryBaseMs(RETRY_BASE_MS);
+        properties.setRetryMaxMs(60_000L);
+        worker = new StorageCleanupWorker(taskRepository, courseContentRepository, mediaObjectRepository,
+                s3FileService, transactionManager, meterRegistry, properties);
+    }
+
+    private StorageCleanupTask task(final int attempts) {
+        return StorageCleanupTask.builder()
+                .objectKey(KEY)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusMinutes(1))
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+
+    @Test
+    void scheduleDeletion_reportsWhetherTaskWasQueued() {
+        when(taskRepository.enqueue(eq(KEY), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1, 0);
+
+        assertTrue(worker.scheduleDeletion(KEY));
+        assertFalse(worker.scheduleDeletion(KEY));
+    }
+
+    @Test
+    void processBatch_deletesObjectAndRemovesTask() {
+        StorageCleanupTask task = task(0);
+        when(taskRepository.lockDue(any(LocalDateTime.class), eq(2))).thenReturn(List.of(task));
+        when(s3FileService.deleteFile(KEY)).thenReturn(true);
+
+        assertEquals(1, worker.processBatch());
+
+        verify(courseContentRepository).existsByContentTypeAndResourceLink("video", "lecture.mp4");
+        verify(taskRepository).delete(task);
+        assertEquals(1.0, meterRegistry.get("lms.media.cleanup").tag("result", "deleted").counter().count());
+    }
+
+    @Test
+    void processBatch_referencedObject_dropsTaskWithoutDeleting() {
+        StorageCleanupTask task = task(0);
+        when(taskRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of(task));
+        when(courseContentRepository.existsByContentTypeAndResourceLink("video", "lecture.mp4")).thenReturn(true);
+
+        worker.processBatch();
+
+        verify(s3FileService, never()).deleteFile(anyString());
+        verify(taskRepository).delete(task);
+    }
+
+    @Test
+    void processBatch_failedDelete_schedulesRetryWithBackoff() {
+        StorageCleanupTask task = task(2);
+        when(taskRepository.lockDue(any(LocalDateTime.class), anyInt())).thenReturn(List.of(task));
+        when(s3FileService.deleteFile(KEY)).thenThrow(new RuntimeException("Access denied"));
+        LocalDateTime before = LocalDateTime.now();
+
+        worker.processBatch();
+
+        assertEquals(3, task.getAttempts());
+        assertEquals("Access denied", task.getLastError());
+        assertFalse(task.getNextAttemptAt().isBefore(before.plus(4 * RETRY_BASE_MS, ChronoUnit.MILLIS)));
+        verify(taskRepository, never()).delete(any(StorageCleanupTask.class));
+    }
+
+    @Test
+    void processDueTasks_drainsUntilBatchIsNotFull() {
+        when(taskRepository.lockDue(any(LocalDateTime.class), eq(2)))
+                .thenReturn(List.of(task(0), task(0)))
+                .thenReturn(List.of(task(0)));
+        when(s3FileService.deleteFile(KEY)).thenReturn(false);
+
+        worker.processDueTasks();
+
+        verify(taskRepository, times(2)).lockDue(any(LocalDateTime.class), eq(2));
+        verify(s3FileService, times(3)).deleteFile(KEY);
+    }
+}
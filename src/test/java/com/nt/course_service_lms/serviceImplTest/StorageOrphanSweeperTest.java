@@ -0,0 +1,84 @@
+package com.nt.course_service_lms.serviceImplTest;
+
+import com.nt.course_service_lms.repository.CourseContentRepository;
+import com.nt.course_service_lms.service.serviceImpl.S3FileService;
+import com.nt.course_service_lms.service.serviceImpl.StorageCleanupWorker;
+import com.nt.course_service_lms.service.serviceImpl.StorageOrphanSweeper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StorageOrphanSweeperTest {
+
+    private static final long GRACE_MS = 3_600_000L;
+
+    @Mock
+    private S3FileService s3FileService;
+
+    @Mock
+    private CourseContentRepository courseContentRepository;
+
+    @Mock
+    private StorageCleanupWorker storageCleanupWorker;
+
+    private StorageOrphanSweeper sweeper(final boolean enabled) {
+        return new StorageOrphanSweeper(s3FileService, courseContentRepository, storageCleanupWorker,
+                enabled, List.of("video"), GRACE_MS);
+    }
+
+    @Test
+    void sweep_queuesUnlinkedFilesAfterGracePeriod() {
+        when(courseContentRepository.findDistinctContentTypes()).thenReturn(List.of("video", "pdf"));
+        when(s3FileService.listFiles("video/", Integer.MAX_VALUE))
+                .thenReturn(List.of("video/linked.mp4", "video/orphan.mp4"));
+        when(s3FileService.listFiles("pdf/", Integer.MAX_VALUE)).thenReturn(List.of());
+        when(courseContentRepository.findResourceLinksByContentType("video")).thenReturn(List.of("linked.mp4"));
+        when(storageCleanupWorker.scheduleDeletion(eq("video/orphan.mp4"), any(LocalDateTime.class))).thenReturn(true);
+        LocalDateTime earliest = LocalDateTime.now().plusSeconds(GRACE_MS / 1000 - 1);
+
+        int queued = sweeper(true).sweep();
+
+        assertEquals(1, queued);
+        verify(storageCleanupWorker).scheduleDeletion(eq("video/orphan.mp4"),
+                argThat((LocalDateTime notBefore) -> notBefore.isAfter(earliest)));
+        verify(storageCleanupWorker, never()).scheduleDeletion(eq("video/linked.mp4"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void sweep_continuesWithNextFolderWhenListingFails() {
+        when(courseContentRepository.findDistinctContentTypes()).thenReturn(List.of("pdf"));
+        when(s3FileService.listFiles(anyString(), anyInt())).thenAnswer(invocation -> {
+            if ("pdf/".equals(invocation.getArgument(0))) {
+                throw new RuntimeException("Failed to list files under pdf/");
+            }
+            return List.of("video/orphan.mp4");
+        });
+        when(courseContentRepository.findResourceLinksByContentType("video")).thenReturn(List.of());
+        when(storageCleanupWorker.scheduleDeletion(eq("video/orphan.mp4"), any(LocalDateTime.class))).thenReturn(true);
+
+        assertEquals(1, sweeper(true).sweep());
+    }
+
+    @Test
+    void sweep_disabled_doesNothing() {
+        assertEquals(0, sweeper(false).sweep());
+
+        verifyNoInteractions(s3FileService, courseContentRepository, storageCleanupWorker);
+    }
+}
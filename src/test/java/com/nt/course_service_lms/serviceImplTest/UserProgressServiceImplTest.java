@@ -1,12 +1,18 @@
 package com.nt.course_service_lms.serviceImplTest;
 
 import com.nt.course_service_lms.converters.UserProgressConverter;
+import com.nt.course_service_lms.dto.inDTO.UserProgressBatchInDTO;
 import com.nt.course_service_lms.dto.outDTO.CourseContentOutDTO;
+import com.nt.course_service_lms.dto.outDTO.CoursePlayerContentOutDTO;
+import com.nt.course_service_lms.dto.outDTO.CoursePlayerOutDTO;
 import com.nt.course_service_lms.dto.outDTO.CourseProgressWithMetaDTO;
 import com.nt.course_service_lms.dto.outDTO.UserProgressOutDTO;
 import com.nt.course_service_lms.entity.CourseContent;
+import com.nt.course_service_lms.entity.Quiz;
 import com.nt.course_service_lms.entity.UserProgress;
+import com.nt.course_service_lms.exception.ResourceNotValidException;
 import com.nt.course_service_lms.repository.CourseContentRepository;
+import com.nt.course_service_lms.repository.QuizRepository;
 import com.nt.course_service_lms.repository.UserProgressRepository;
 import com.nt.course_service_lms.service.serviceImpl.UserProgressServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,13 +26,19 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +54,9 @@ class UserProgressServiceImplTest {
     @Mock
     private UserProgressConverter userProgressConverter;
 
+    @Mock
+    private QuizRepository quizRepository;
+
     @InjectMocks
     private UserProgressServiceImpl userProgressService;
 
@@ -121,6 +136,49 @@ class UserProgressServiceImplTest {
         verify(userProgressRepository, atLeastOnce()).save(any(UserProgress.class));
     }
 
+    @Test
+    void testUpdateProgressBatch_mergesPerContentAndRecomputesCourseOnce() {
+        UserProgressBatchInDTO batch = UserProgressBatchInDTO.builder()
+                .userId(1L)
+                .updates(List.of(
+                        UserProgressOutDTO.builder().courseId(101L).contentId(1001L).contentType("video")
+                                .lastPosition(30).contentCompletionPercentage(70.0).build(),
+                        UserProgressOutDTO.builder().courseId(101L).contentId(1001L).contentType("video")
+                                .lastPosition(55).contentCompletionPercentage(65.0).build(),
+                        UserProgressOutDTO.builder().courseId(101L).contentId(1002L).contentType("pdf")
+                                .lastPosition(10).contentCompletionPercentage(50.0).build()))
+                .build();
+        when(userProgressRepository.findProgressByUserIdAndCourseId(1L, 101L))
+                .thenReturn(Collections.singletonList(progressEntity));
+        when(userProgressConverter.toEntity(any(UserProgressOutDTO.class)))
+                .thenAnswer(invocation -> new UserProgressConverter().toEntity(invocation.getArgument(0)));
+        when(courseContentRepository.findByCourseId(101L))
+                .thenReturn(Arrays.asList(new CourseContent(), new CourseContent()));
+
+        Map<Long, Double> result = userProgressService.updateProgressBatch(batch);
+
+        assertEquals(Map.of(101L, 60.0), result);
+        assertEquals(55.0, progressEntity.getLastPosition());
+        assertEquals(70.0, progressEntity.getContentCompletionPercentage());
+        assertEquals(60.0, progressEntity.getCourseCompletionPercentage());
+        verify(userProgressConverter).toEntity(argThat(dto -> dto.getContentId() == 1002L && dto.getUserId() == 1L));
+        verify(userProgressRepository, times(1)).findProgressByUserIdAndCourseId(1L, 101L);
+        verify(userProgressRepository).saveAll(argThat(records -> records.spliterator().getExactSizeIfKnown() == 2));
+        verify(userProgressRepository, never()).save(any(UserProgress.class));
+    }
+
+    @Test
+    void testUpdateProgressBatch_missingCourseId_rejectsWholeBatch() {
+        UserProgressBatchInDTO batch = UserProgressBatchInDTO.builder()
+                .userId(1L)
+                .updates(List.of(progressDTO, UserProgressOutDTO.builder().contentId(1002L).build()))
+                .build();
+
+        assertThrows(ResourceNotValidException.class, () -> userProgressService.updateProgressBatch(batch));
+
+        verify(userProgressRepository, never()).saveAll(any());
+    }
+
     @Test
     void testGetUserCourseContent_withProgress() {
         CourseContent content = CourseContent.builder()
@@ -165,6 +223,55 @@ class UserProgressServiceImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void testGetCoursePlayer_joinsProgressAndQuizzesByContent() {
+        CourseContent started = CourseContent.builder().courseContentId(1001L).courseId(101L).title("Intro").build();
+        CourseContent notStarted = CourseContent.builder().courseContentId(1002L).courseId(101L).title("Next").build();
+        progressEntity.setAcknowledgement(true);
+        progressEntity.setFirstCompletedAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        UserProgress newer = UserProgress.builder().progressId(2L).contentId(1001L).lastPosition(10).build();
+        Quiz courseQuiz = Quiz.builder().quizId(1L).parentType("course").parentId(101L).title("Final").build();
+        Quiz contentQuiz = Quiz.builder().quizId(2L).parentType("course-content").parentId(1002L).title("Check").build();
+
+        when(courseContentRepository.findByCourseId(101L)).thenReturn(List.of(started, notStarted));
+        when(userProgressRepository.findProgressByUserIdAndCourseId(1L, 101L)).thenReturn(List.of(newer, progressEntity));
+        when(quizRepository.findActiveByCourseAndContents(101L, List.of(1001L, 1002L)))
+                .thenReturn(List.of(courseQuiz, contentQuiz));
+
+        CoursePlayerOutDTO result = userProgressService.getCoursePlayer(1L, 101L);
+
+        assertEquals(60.0, result.getCourseCompletionPercentage());
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), result.getFirstCompletedAt());
+        assertEquals(1, result.getQuizzes().size());
+        assertEquals("Final", result.getQuizzes().get(0).getTitle());
+
+        CoursePlayerContentOutDTO first = result.getContents().get(0);
+        assertEquals(60.0, first.getContentCompletionPercentage());
+        assertEquals(40, first.getLastPosition());
+        assertTrue(first.getAcknowledged());
+        assertTrue(first.getQuizzes().isEmpty());
+
+        CoursePlayerContentOutDTO second = result.getContents().get(1);
+        assertEquals(0.0, second.getContentCompletionPercentage());
+        assertEquals(0, second.getLastPosition());
+        assertNull(second.getAcknowledged());
+        assertEquals(2L, second.getQuizzes().get(0).getQuizId());
+    }
+
+    @Test
+    void testGetCoursePlayer_noContents_loadsCourseQuizzesOnly() {
+        when(courseContentRepository.findByCourseId(101L)).thenReturn(List.of());
+        when(userProgressRepository.findProgressByUserIdAndCourseId(1L, 101L)).thenReturn(List.of());
+        when(quizRepository.findByParentTypeAndParentIdAndIsActiveTrue("course", 101L)).thenReturn(List.of());
+
+        CoursePlayerOutDTO result = userProgressService.getCoursePlayer(1L, 101L);
+
+        assertTrue(result.getContents().isEmpty());
+        assertEquals(0.0, result.getCourseCompletionPercentage());
+        assertFalse(result.isCourseCompleted());
+        verify(quizRepository, never()).findActiveByCourseAndContents(any(), any());
+    }
+
     @Test
     void testCalculateCourseCompletion_success() {
         UserProgress p1 = UserProgress.builder().contentCompletionPercentage(90).build();
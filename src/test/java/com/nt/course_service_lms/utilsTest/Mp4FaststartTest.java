@@ -0,0 +1,188 @@
+package com.nt.course_service_lms.utilsTest;
+
+import com.nt.course_service_lms.utils.Mp4Faststart;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Mp4FaststartTest {
+
+    private static final byte[] FIRST_CHUNK = "first-chunk".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SECOND_CHUNK = "second".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void rewrite_shouldMoveMoovBeforeMdatAndShiftStcoOffsets() throws IOException {
+        byte[] ftyp = ftyp();
+        byte[] mdat = box("mdat", concat(FIRST_CHUNK, SECOND_CHUNK));
+        long firstChunk = ftyp.length + 8;
+        long secondChunk = firstChunk + FIRST_CHUNK.length;
+        byte[] moov = moov(stco(firstChunk, secondChunk));
+        Path source = write("tail.mp4", concat(ftyp, mdat, moov));
+        Path target = dir.resolve("faststart.mp4");
+
+        assertTrue(Mp4Faststart.rewrite(source, target));
+
+        List<Mp4Faststart.Box> boxes = boxes(target);
+        assertEquals(List.of("ftyp", "moov", "mdat"), boxes.stream().map(Mp4Faststart.Box::type).toList());
+        assertEquals(Files.size(source), Files.size(target));
+        assertFalse(Mp4Faststart.needsFaststart(boxes));
+
+        byte[] rewritten = Files.readAllBytes(target);
+        List<Long> offsets = chunkOffsets(rewritten, boxes.get(1), false);
+        assertEquals(List.of(firstChunk + moov.length, secondChunk + moov.length), offsets);
+        assertArrayEquals(FIRST_CHUNK, slice(rewritten, offsets.get(0), FIRST_CHUNK.length));
+        assertArrayEquals(SECOND_CHUNK, slice(rewritten, offsets.get(1), SECOND_CHUNK.length));
+    }
+
+    @Test
+    void rewrite_shouldShiftCo64Offsets() throws IOException {
+        byte[] ftyp = ftyp();
+        byte[] mdat = box("mdat", FIRST_CHUNK);
+        long firstChunk = ftyp.length + 8;
+        byte[] moov = moov(co64(firstChunk));
+        Path source = write("tail.mp4", concat(ftyp, mdat, moov));
+        Path target = dir.resolve("faststart.mp4");
+
+        assertTrue(Mp4Faststart.rewrite(source, target));
+
+        byte[] rewritten = Files.readAllBytes(target);
+        List<Long> offsets = chunkOffsets(rewritten, boxes(target).get(1), true);
+        assertEquals(List.of(firstChunk + moov.length), offsets);
+        assertArrayEquals(FIRST_CHUNK, slice(rewritten, offsets.get(0), FIRST_CHUNK.length));
+    }
+
+    @Test
+    void rewrite_shouldSkipFilesAlreadyInFaststartLayout() throws IOException {
+        byte[] ftyp = ftyp();
+        byte[] moov = moov(stco(0));
+        Path source = write("front.mp4", concat(ftyp, moov, box("mdat", FIRST_CHUNK)));
+
+        assertFalse(Mp4Faststart.rewrite(source, dir.resolve("out.mp4")));
+        assertFalse(Files.exists(dir.resolve("out.mp4")));
+    }
+
+    @Test
+    void rewrite_shouldSkipFragmentedFiles() throws IOException {
+        Path source = write("fragmented.mp4",
+                concat(ftyp(), box("mdat", FIRST_CHUNK), box("moof", new byte[0]), moov(stco(0))));
+
+        assertFalse(Mp4Faststart.rewrite(source, dir.resolve("out.mp4")));
+    }
+
+    @Test
+    void readTopLevelBoxes_shouldRejectNonMp4Content() throws IOException {
+        Path source = write("notes.pdf", "%PDF-1.7 not a video at all".getBytes(StandardCharsets.US_ASCII));
+
+        assertTrue(boxes(source).isEmpty());
+        assertFalse(Mp4Faststart.rewrite(source, dir.resolve("out.mp4")));
+    }
+
+    @Test
+    void readDurationSeconds_shouldReadMovieHeader() throws IOException {
+        ByteBuffer mvhd = ByteBuffer.allocate(100).putInt(0).putInt(0).putInt(0).putInt(1000).putInt(42_500);
+        Path source = write("lecture.mp4",
+                concat(ftyp(), box("mdat", FIRST_CHUNK), box("moov", concat(box("mvhd", mvhd.array()), stco(0)))));
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            assertEquals(42.5, Mp4Faststart.readDurationSeconds(channel::read, channel.size()));
+        }
+    }
+
+    @Test
+    void readDurationSeconds_shouldReturnMinusOneWithoutMovieHeader() throws IOException {
+        Path source = write("lecture.mp4", concat(ftyp(), box("mdat", FIRST_CHUNK), moov(stco(0))));
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            assertEquals(-1.0, Mp4Faststart.readDurationSeconds(channel::read, channel.size()));
+        }
+    }
+
+    private List<Mp4Faststart.Box> boxes(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return Mp4Faststart.readTopLevelBoxes(channel::read, channel.size());
+        }
+    }
+
+    private List<Long> chunkOffsets(final byte[] file, final Mp4Faststart.Box moov, final boolean wide) {
+        // moov > trak > mdia > minf > stbl > table, each header 8 bytes; table has version/flags and count
+        int table = (int) moov.offset() + 5 * 8;
+        ByteBuffer buffer = ByteBuffer.wrap(file);
+        int count = buffer.getInt(table + 12);
+        List<Long> offsets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int at = table + 16 + i * (wide ? 8 : 4);
+            offsets.add(wide ? buffer.getLong(at) : Integer.toUnsignedLong(buffer.getInt(at)));
+        }
+        return offsets;
+    }
+
+    private Path write(final String name, final byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content);
+    }
+
+    private static byte[] ftyp() {
+        return box("ftyp", concat("isom".getBytes(StandardCharsets.US_ASCII), new byte[4]));
+    }
+
+    private static byte[] moov(final byte[] chunkTable) {
+        return box("moov", box("trak", box("mdia", box("minf", box("stbl", chunkTable)))));
+    }
+
+    private static byte[] stco(final long... offsets) {
+        ByteBuffer payload = ByteBuffer.allocate(8 + offsets.length * 4);
+        payload.putInt(0).putInt(offsets.length);
+        for (long offset : offsets) {
+            payload.putInt((int) offset);
+        }
+        return box("stco", payload.array());
+    }
+
+    private static byte[] co64(final long... offsets) {
+        ByteBuffer payload = ByteBuffer.allocate(8 + offsets.length * 8);
+        payload.putInt(0).putInt(offsets.length);
+        for (long offset : offsets) {
+            payload.putLong(offset);
+        }
+        return box("co64", payload.array());
+    }
+
+    private static byte[] box(final String type, final byte[] payload) {
+        return ByteBuffer.allocate(8 + payload.length)
+                .putInt(8 + payload.length)
+                .put(type.getBytes(StandardCharsets.US_ASCII))
+                .put(payload)
+                .array();
+    }
+
+    private static byte[] concat(final byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] slice(final byte[] file, final long offset, final int length) {
+        byte[] bytes = new byte[length];
+        System.arraycopy(file, (int) offset, bytes, 0, length);
+        return bytes;
+    }
+}
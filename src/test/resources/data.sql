@@ -234,28 +234,28 @@ INSERT INTO quiz (parent_type, parent_id, title, description, time_limit, attemp
 ('bundle', 2, 'Management Excellence Assessment', 'Final assessment for management bundle', 60, 2, 75.00, false, true, 2);
 
 -- 12. Insert quiz questions
-INSERT INTO quiz_question (quiz_id, question_text, question_type, options, correct_answer, points, explanation, required, question_position) VALUES
+INSERT INTO quiz_question (quiz_id, question_text, question_type, options, correct_answer, points, explanation, required, rank_key) VALUES
 -- Data Science Quiz Questions
-(1, 'What is the primary purpose of data visualization?', 'MCQ_SINGLE', '["To make data look pretty", "To communicate insights from data", "To hide data complexity", "To increase file size"]', 'To communicate insights from data', 10.00, 'Data visualization helps communicate insights and patterns in data effectively', true, 1),
-(1, 'Which of the following are types of machine learning?', 'MCQ_MULTIPLE', '["Supervised learning", "Unsupervised learning", "Reinforcement learning", "Cognitive learning"]', '["Supervised learning", "Unsupervised learning", "Reinforcement learning"]', 15.00, 'These are the three main types of machine learning approaches', true, 2),
-(1, 'What does the term "correlation" mean in statistics?', 'SHORT_ANSWER', '[]', 'A statistical measure that describes the relationship between two variables', 10.00, 'Correlation measures the strength and direction of a linear relationship between variables', true, 3),
+(1, 'What is the primary purpose of data visualization?', 'MCQ_SINGLE', '["To make data look pretty", "To communicate insights from data", "To hide data complexity", "To increase file size"]', 'To communicate insights from data', 10.00, 'Data visualization helps communicate insights and patterns in data effectively', true, 65536),
+(1, 'Which of the following are types of machine learning?', 'MCQ_MULTIPLE', '["Supervised learning", "Unsupervised learning", "Reinforcement learning", "Cognitive learning"]', '["Supervised learning", "Unsupervised learning", "Reinforcement learning"]', 15.00, 'These are the three main types of machine learning approaches', true, 131072),
+(1, 'What does the term "correlation" mean in statistics?', 'SHORT_ANSWER', '[]', 'A statistical measure that describes the relationship between two variables', 10.00, 'Correlation measures the strength and direction of a linear relationship between variables', true, 196608),
 
 -- Web Development Quiz Questions
-(2, 'What is the Virtual DOM in React?', 'MCQ_SINGLE', '["A database", "A JavaScript representation of the real DOM", "A CSS framework", "A server technology"]', 'A JavaScript representation of the real DOM', 12.00, 'Virtual DOM is a programming concept where UI is kept in memory and synced with the real DOM', true, 1),
-(2, 'Which HTTP methods are commonly used in REST APIs?', 'MCQ_MULTIPLE', '["GET", "POST", "PUT", "DELETE", "PATCH"]', '["GET", "POST", "PUT", "DELETE"]', 15.00, 'These are the primary HTTP methods used in RESTful services', true, 2),
-(2, 'What is the purpose of middleware in Express.js?', 'SHORT_ANSWER', '[]', 'Functions that execute during the request-response cycle', 10.00, 'Middleware functions have access to request and response objects and can modify them', true, 3),
+(2, 'What is the Virtual DOM in React?', 'MCQ_SINGLE', '["A database", "A JavaScript representation of the real DOM", "A CSS framework", "A server technology"]', 'A JavaScript representation of the real DOM', 12.00, 'Virtual DOM is a programming concept where UI is kept in memory and synced with the real DOM', true, 65536),
+(2, 'Which HTTP methods are commonly used in REST APIs?', 'MCQ_MULTIPLE', '["GET", "POST", "PUT", "DELETE", "PATCH"]', '["GET", "POST", "PUT", "DELETE"]', 15.00, 'These are the primary HTTP methods used in RESTful services', true, 131072),
+(2, 'What is the purpose of middleware in Express.js?', 'SHORT_ANSWER', '[]', 'Functions that execute during the request-response cycle', 10.00, 'Middleware functions have access to request and response objects and can modify them', true, 196608),
 
 -- Project Management Quiz Questions
-(3, 'What is the critical path in project management?', 'MCQ_SINGLE', '["The shortest route", "The longest sequence of dependent tasks", "The most expensive tasks", "The least important tasks"]', 'The longest sequence of dependent tasks', 15.00, 'Critical path determines the minimum time needed to complete a project', true, 1),
-(3, 'Which are key components of risk management?', 'MCQ_MULTIPLE', '["Risk identification", "Risk assessment", "Risk mitigation", "Risk celebration"]', '["Risk identification", "Risk assessment", "Risk mitigation"]', 12.00, 'These are the main phases of the risk management process', true, 2),
+(3, 'What is the critical path in project management?', 'MCQ_SINGLE', '["The shortest route", "The longest sequence of dependent tasks", "The most expensive tasks", "The least important tasks"]', 'The longest sequence of dependent tasks', 15.00, 'Critical path determines the minimum time needed to complete a project', true, 65536),
+(3, 'Which are key components of risk management?', 'MCQ_MULTIPLE', '["Risk identification", "Risk assessment", "Risk mitigation", "Risk celebration"]', '["Risk identification", "Risk assessment", "Risk mitigation"]', 12.00, 'These are the main phases of the risk management process', true, 131072),
 
 -- Digital Marketing Quiz Questions
-(4, 'What does SEO stand for?', 'SHORT_ANSWER', '[]', 'Search Engine Optimization', 8.00, 'SEO is the practice of optimizing websites to rank higher in search engine results', true, 1),
-(4, 'Which metrics are important for measuring social media success?', 'MCQ_MULTIPLE', '["Engagement rate", "Reach", "Conversion rate", "Number of employees"]', '["Engagement rate", "Reach", "Conversion rate"]', 12.00, 'These metrics help measure the effectiveness of social media campaigns', true, 2),
+(4, 'What does SEO stand for?', 'SHORT_ANSWER', '[]', 'Search Engine Optimization', 8.00, 'SEO is the practice of optimizing websites to rank higher in search engine results', true, 65536),
+(4, 'Which metrics are important for measuring social media success?', 'MCQ_MULTIPLE', '["Engagement rate", "Reach", "Conversion rate", "Number of employees"]', '["Engagement rate", "Reach", "Conversion rate"]', 12.00, 'These metrics help measure the effectiveness of social media campaigns', true, 131072),
 
 -- Statistics Quick Check Questions
-(5, 'What is the mean of the dataset: 2, 4, 6, 8, 10?', 'SHORT_ANSWER', '[]', '6', 5.00, 'Mean = (2+4+6+8+10)/5 = 30/5 = 6', true, 1),
-(5, 'What type of data is "customer satisfaction rating (1-5)"?', 'MCQ_SINGLE', '["Nominal", "Ordinal", "Interval", "Ratio"]', 'Ordinal', 5.00, 'Ordinal data has a natural order but the intervals between values are not necessarily equal', true, 2);
+(5, 'What is the mean of the dataset: 2, 4, 6, 8, 10?', 'SHORT_ANSWER', '[]', '6', 5.00, 'Mean = (2+4+6+8+10)/5 = 30/5 = 6', true, 65536),
+(5, 'What type of data is "customer satisfaction rating (1-5)"?', 'MCQ_SINGLE', '["Nominal", "Ordinal", "Interval", "Ratio"]', 'Ordinal', 5.00, 'Ordinal data has a natural order but the intervals between values are not necessarily equal', true, 131072);
 
 -- 13. Insert quiz attempts
 INSERT INTO quiz_attempt (attempt, quiz_id, user_id, started_at, finished_at, score_details, status) VALUES
@@ -199,6 +199,13 @@ CREATE TABLE IF NOT EXISTS quiz_attempt (
     started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     finished_at TIMESTAMP,
     score_details TEXT,
+    total_score DECIMAL(10,2),
+    max_score DECIMAL(10,2),
+    correct_count INTEGER,
+    question_count INTEGER,
+    percentage_score DECIMAL(5,2),
+    submission_type VARCHAR(20),
+    submitted_at TIMESTAMP,
     status VARCHAR(20) NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -225,7 +232,7 @@ CREATE TABLE IF NOT EXISTS quiz_question (
     points DECIMAL(5,2) NOT NULL,
     explanation TEXT,
     required BOOLEAN NOT NULL,
-    question_position INTEGER NOT NULL,
+    rank_key BIGINT NOT NULL,
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
 
@@ -233,6 +240,10 @@ CREATE TABLE IF NOT EXISTS quiz_question (
     CONSTRAINT fk_quiz_question_quiz
         FOREIGN KEY (quiz_id) REFERENCES quiz(quiz_id),
 
+    -- Sparse rank keys order the questions of a quiz
+    CONSTRAINT uk_quiz_question_rank_key
+        UNIQUE (quiz_id, rank_key),
+
     -- Check constraint for question_type
     CONSTRAINT chk_quiz_question_type
         CHECK (question_type IN ('MCQ_SINGLE', 'MCQ_MULTIPLE', 'SHORT_ANSWER'))